@@ -0,0 +1,72 @@
+package fiap.com.br.Ocean.Clean.AI.Benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fiap.com.br.Ocean.Clean.AI.Planejamento.AgrupadorDbscan;
+
+/**
+ * DBSCAN em memória sobre resíduos sintéticos: 3/4 em focos gaussianos e o
+ * resto espalhado. Não inclui a leitura do banco nem a criação das missões.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class AgrupamentoBenchmark {
+
+    @Param({ "100000", "1000000", "3000000" })
+    private int residuos;
+
+    @Param({ "1", "0" })
+    private int paralelismo;
+
+    private int[] xs;
+    private int[] ys;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void gerar() {
+        Random random = new Random(42);
+        xs = new int[residuos];
+        ys = new int[residuos];
+        for (int i = 0; i < residuos; i++) {
+            if (i % 4 == 0) {
+                xs[i] = random.nextInt(100_000);
+                ys[i] = random.nextInt(100_000);
+            } else {
+                int foco = random.nextInt(400);
+                xs[i] = Math.max(0, 5_000 * (foco % 20) + 2_500 + (int) (random.nextGaussian() * 300));
+                ys[i] = Math.max(0, 5_000 * (foco / 20) + 2_500 + (int) (random.nextGaussian() * 300));
+            }
+        }
+        pool = new ForkJoinPool(paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public AgrupadorDbscan.Resultado agrupar() {
+        return new AgrupadorDbscan(pool, 50, 10).agrupar(xs, ys);
+    }
+}
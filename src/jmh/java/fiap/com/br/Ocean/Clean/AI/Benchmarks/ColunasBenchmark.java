@@ -0,0 +1,88 @@
+package fiap.com.br.Ocean.Clean.AI.Benchmarks;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fiap.com.br.Ocean.Clean.AI.Dto.ResiduoExportado;
+import fiap.com.br.Ocean.Clean.AI.Index.ColunasResiduos;
+import fiap.com.br.Ocean.Clean.AI.Index.ColunasResiduos.Agregado;
+import fiap.com.br.Ocean.Clean.AI.Index.ColunasResiduos.Filtro;
+
+/**
+ * Varreduras completas das {@link ColunasResiduos}, em milissegundos. Três
+ * quartos dos resíduos estão em 1000 missões, com ids consecutivos por
+ * missão, e o resto sem missão.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ColunasBenchmark {
+
+    @Param({ "1000000", "10000000" })
+    public int residuos;
+
+    private ColunasResiduos colunas;
+    private Filtro area;
+    private Filtro semMissao;
+
+    @Setup
+    public void carregar() {
+        Random random = new Random(42);
+        int porMissao = residuos * 3 / 4 / 1000;
+        colunas = new ColunasResiduos();
+        colunas.carregar(new Iterator<>() {
+            private long id;
+
+            @Override
+            public boolean hasNext() {
+                return id < residuos;
+            }
+
+            @Override
+            public ResiduoExportado next() {
+                id++;
+                Long missao = id <= (long) porMissao * 1000 ? 1 + (id - 1) / porMissao : null;
+                return new ResiduoExportado(id, random.nextInt(65_536), random.nextInt(65_536), missao);
+            }
+        });
+        area = new Filtro(ColunasResiduos.QUALQUER_MISSAO, 10_000, 10_000, 16_553, 16_553);
+        semMissao = new Filtro(ColunasResiduos.SEM_MISSAO, Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public Agregado resumirTodos() {
+        return colunas.resumir(Filtro.todos());
+    }
+
+    @Benchmark
+    public Agregado resumirArea() {
+        return colunas.resumir(area);
+    }
+
+    @Benchmark
+    public Agregado centroideSemMissao() {
+        return colunas.resumir(semMissao);
+    }
+
+    @Benchmark
+    public Map<Long, Agregado> porMissao() {
+        return colunas.porMissao(Filtro.todos());
+    }
+}
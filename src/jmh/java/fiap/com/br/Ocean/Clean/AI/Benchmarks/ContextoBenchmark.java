@@ -0,0 +1,25 @@
+package fiap.com.br.Ocean.Clean.AI.Benchmarks;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import fiap.com.br.Ocean.Clean.AI.OceanCleanAiApplication;
+
+/**
+ * Sobe a aplicação com o perfil de teste (H2 em memória), sem servidor web.
+ */
+final class ContextoBenchmark {
+
+    private ContextoBenchmark() {
+    }
+
+    static ConfigurableApplicationContext iniciar() {
+        return SpringApplication.run(OceanCleanAiApplication.class,
+            "--spring.profiles.active=test",
+            "--spring.main.web-application-type=none",
+            "--spring.main.banner-mode=off",
+            "--spring.jpa.show-sql=false",
+            "--spring.jpa.properties.hibernate.generate_statistics=false",
+            "--logging.level.root=WARN");
+    }
+}
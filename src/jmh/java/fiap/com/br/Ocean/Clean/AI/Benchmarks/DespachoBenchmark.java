@@ -0,0 +1,59 @@
+package fiap.com.br.Ocean.Clean.AI.Benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fiap.com.br.Ocean.Clean.AI.Planejamento.Despachante;
+
+/**
+ * Decisões de despacho concorrentes: cada operação escolhe e reserva o melhor
+ * drone para um alvo aleatório e em seguida libera o drone, como na chegada.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class DespachoBenchmark {
+
+    @Param({ "1000", "10000" })
+    private int drones;
+
+    private Despachante despachante;
+
+    @Setup(Level.Trial)
+    public void carregar() {
+        despachante = new Despachante(1024, 0, 0, 0.001, 15, 80, 5, 100);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (long id = 1; id <= drones; id++) {
+            despachante.atualizar(id, random.nextInt(30_000), random.nextInt(30_000), 40 + random.nextInt(61));
+        }
+    }
+
+    @Benchmark
+    public Despachante.Estado despachar() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long residuo = random.nextLong(1, Long.MAX_VALUE);
+        Despachante.Estado estado = despachante.atribuir(residuo, random.nextInt(30_000), random.nextInt(30_000));
+        if (estado != null) {
+            despachante.concluir(estado.id());
+        }
+        return estado;
+    }
+}
@@ -0,0 +1,101 @@
+package fiap.com.br.Ocean.Clean.AI.Benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+import fiap.com.br.Ocean.Clean.AI.Dto.EstadoDrone;
+import fiap.com.br.Ocean.Clean.AI.Models.ResiduoPlastico;
+
+/**
+ * JSON contra CBOR e Smile para o snapshot da frota ({@code GET /drones/frota})
+ * e para um lote de resíduos ({@code POST /residuos-plasticos/lote}). O
+ * tamanho de cada payload é impresso no setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormatosBenchmark {
+
+    @Param({ "json", "cbor", "smile" })
+    public String formato;
+
+    @Param({ "1000", "10000" })
+    public int itens;
+
+    private ObjectMapper mapper;
+    private ObjectReader leitorFrota;
+    private ObjectReader leitorResiduos;
+
+    private List<EstadoDrone> frota;
+    private List<ResiduoPlastico> residuos;
+    private byte[] frotaCodificada;
+    private byte[] residuosCodificados;
+
+    @Setup
+    public void preparar() throws IOException {
+        mapper = switch (formato) {
+            case "cbor" -> new CBORMapper();
+            case "smile" -> new SmileMapper();
+            default -> new ObjectMapper();
+        };
+        leitorFrota = mapper.readerForListOf(EstadoDrone.class);
+        leitorResiduos = mapper.readerForListOf(ResiduoPlastico.class);
+
+        Random random = new Random(42);
+        frota = new ArrayList<>(itens);
+        residuos = new ArrayList<>(itens);
+        for (int i = 0; i < itens; i++) {
+            frota.add(new EstadoDrone((long) i + 1, "Drone " + i, random.nextInt(65_536), random.nextInt(65_536),
+                random.nextInt(101), random.nextInt(500), (long) random.nextInt(50) + 1));
+            ResiduoPlastico residuo = new ResiduoPlastico();
+            residuo.setCoordenadaX(random.nextInt(65_536));
+            residuo.setCoordenadaY(random.nextInt(65_536));
+            residuos.add(residuo);
+        }
+        frotaCodificada = mapper.writeValueAsBytes(frota);
+        residuosCodificados = mapper.writeValueAsBytes(residuos);
+    }
+
+    @Benchmark
+    public byte[] codificarFrota() throws IOException {
+        return mapper.writeValueAsBytes(frota);
+    }
+
+    @Benchmark
+    public List<EstadoDrone> decodificarFrota() throws IOException {
+        return leitorFrota.readValue(frotaCodificada);
+    }
+
+    @Benchmark
+    public byte[] codificarResiduos() throws IOException {
+        return mapper.writeValueAsBytes(residuos);
+    }
+
+    @Benchmark
+    public List<ResiduoPlastico> decodificarResiduos() throws IOException {
+        return leitorResiduos.readValue(residuosCodificados);
+    }
+}
@@ -0,0 +1,84 @@
+package fiap.com.br.Ocean.Clean.AI.Benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import fiap.com.br.Ocean.Clean.AI.Models.ResiduoPlastico;
+import fiap.com.br.Ocean.Clean.AI.Repository.ResiduoPlasticoRepository;
+
+/**
+ * Gravação de resíduos plásticos: um {@code save()} por registro, cada um na
+ * própria transação, contra {@code saveAll()} em uma transação com inserts em
+ * batch. O resultado é por registro gravado.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GravacaoBenchmark {
+
+    private static final int REGISTROS = 1000;
+
+    private ConfigurableApplicationContext contexto;
+
+    private ResiduoPlasticoRepository repositorio;
+
+    private TransactionTemplate transacao;
+
+    @Setup
+    public void preparar() {
+        contexto = ContextoBenchmark.iniciar();
+        repositorio = contexto.getBean(ResiduoPlasticoRepository.class);
+        transacao = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+    }
+
+    @TearDown
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REGISTROS)
+    public void saveIndividual() {
+        for (ResiduoPlastico residuo : residuos()) {
+            repositorio.save(residuo);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REGISTROS)
+    public void saveAllEmBatch() {
+        List<ResiduoPlastico> residuos = residuos();
+        transacao.executeWithoutResult(status -> repositorio.saveAll(residuos));
+    }
+
+    private static List<ResiduoPlastico> residuos() {
+        List<ResiduoPlastico> residuos = new ArrayList<>(REGISTROS);
+        for (int i = 0; i < REGISTROS; i++) {
+            ResiduoPlastico residuo = new ResiduoPlastico();
+            residuo.setCoordenadaX(i);
+            residuo.setCoordenadaY(i % 100);
+            residuos.add(residuo);
+        }
+        return residuos;
+    }
+}
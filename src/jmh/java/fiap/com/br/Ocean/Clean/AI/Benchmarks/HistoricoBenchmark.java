@@ -0,0 +1,82 @@
+package fiap.com.br.Ocean.Clean.AI.Benchmarks;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import fiap.com.br.Ocean.Clean.AI.Service.HistoricoResiduoService;
+
+/**
+ * "Últimas 24h na área" com históricos de tamanhos diferentes: pela partição
+ * diária, como faz {@code GET /residuos-plasticos/recentes}, e filtrando só
+ * pelo instante da detecção, que não tem índice e varre a tabela inteira.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class HistoricoBenchmark {
+
+    private static final int POR_DIA = 2000;
+
+    private static final int LADO_AREA = 8191;
+
+    @Param({ "7", "90", "365" })
+    public int dias;
+
+    private ConfigurableApplicationContext contexto;
+
+    private HistoricoResiduoService historico;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup
+    public void preparar() {
+        contexto = ContextoBenchmark.iniciar();
+        historico = contexto.getBean(HistoricoResiduoService.class);
+        jdbcTemplate = contexto.getBean(JdbcTemplate.class);
+
+        // POR_DIA detecções por dia, espalhadas pelas 24h e pelo mapa
+        jdbcTemplate.update("INSERT INTO residuo_plastico (id_residuo, coordenadax, coordenaday, detectado_em) "
+            + "SELECT X, MOD(X * 7919, 65536), MOD(X * 104729, 65536), "
+            + "DATEADD('SECOND', -MOD(X * 37, 86400) - (X - 1) / ? * 86400, CURRENT_TIMESTAMP) "
+            + "FROM SYSTEM_RANGE(1, ?)", POR_DIA, (long) dias * POR_DIA);
+        jdbcTemplate.update("UPDATE residuo_plastico SET particao = CAST(FLOOR(EXTRACT(EPOCH FROM detectado_em) / 86400) AS INT)");
+    }
+
+    @TearDown
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public int porParticao() {
+        return historico.recentes(24, 0, 0, LADO_AREA, LADO_AREA, 10_000).size();
+    }
+
+    @Benchmark
+    public int soPeloInstante() {
+        Timestamp desde = Timestamp.from(Instant.now().minus(Duration.ofHours(24)));
+        return jdbcTemplate.queryForList("SELECT id_residuo, coordenadax, coordenaday, detectado_em FROM residuo_plastico "
+            + "WHERE detectado_em >= ? AND coordenadax BETWEEN 0 AND ? AND coordenaday BETWEEN 0 AND ? "
+            + "ORDER BY detectado_em DESC LIMIT 10000", desde, LADO_AREA, LADO_AREA).size();
+    }
+}
@@ -0,0 +1,111 @@
+package fiap.com.br.Ocean.Clean.AI.Benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import fiap.com.br.Ocean.Clean.AI.Controller.DroneController;
+import fiap.com.br.Ocean.Clean.AI.Models.Drone;
+import fiap.com.br.Ocean.Clean.AI.Repository.DroneRepository;
+import fiap.com.br.Ocean.Clean.AI.Service.DroneService;
+
+/**
+ * Mede só a montagem dos links HATEOAS de {@link DroneController#show} e
+ * {@link DroneController#index} na visão completa: repositório e serviço
+ * devolvem dados fixos em memória.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LinksBenchmark {
+
+    private static final int TAMANHO_PAGINA = 50;
+
+    private DroneController controller;
+
+    private Drone drone;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        drone = drone(42L);
+        List<Drone> pagina = new ArrayList<>();
+        for (long id = 1; id <= TAMANHO_PAGINA + 1; id++) {
+            pagina.add(drone(id));
+        }
+
+        DroneRepository repositorio = (DroneRepository) Proxy.newProxyInstance(
+            DroneRepository.class.getClassLoader(), new Class<?>[] { DroneRepository.class },
+            (proxy, metodo, argumentos) -> {
+                if (metodo.getName().equals("findPaginaApos")) {
+                    return new ArrayList<>(pagina);
+                }
+                throw new UnsupportedOperationException(metodo.getName());
+            });
+        DroneService servico = new DroneService() {
+            @Override
+            public Optional<Drone> getDroneById(Long id) {
+                return Optional.of(drone);
+            }
+        };
+
+        controller = new DroneController();
+        ReflectionTestUtils.setField(controller, "droneRepository", repositorio);
+        ReflectionTestUtils.setField(controller, "droneService", servico);
+    }
+
+    // o RequestContextHolder é por thread, então a requisição é registrada na thread do benchmark
+    @Setup(Level.Iteration)
+    public void registrarRequisicao() {
+        MockHttpServletRequest requisicao = new MockHttpServletRequest("GET", "/drones");
+        requisicao.setServerName("api.oceanclean.com");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(requisicao));
+    }
+
+    @TearDown(Level.Iteration)
+    public void removerRequisicao() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public EntityModel<?> show() {
+        return controller.show(42L, "completa");
+    }
+
+    @Benchmark
+    public ResponseEntity<CollectionModel<EntityModel<?>>> index() {
+        return controller.index(100L, TAMANHO_PAGINA, "completa");
+    }
+
+    private static Drone drone(long id) {
+        Drone drone = new Drone();
+        drone.setId_drone(id);
+        drone.setNome("Drone " + id);
+        drone.setNivelBateria(80);
+        return drone;
+    }
+}
@@ -0,0 +1,79 @@
+package fiap.com.br.Ocean.Clean.AI.Benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fiap.com.br.Ocean.Clean.AI.Planejamento.PlanejadorRotas;
+import fiap.com.br.Ocean.Clean.AI.Planejamento.PlanejadorRotas.Rota;
+import fiap.com.br.Ocean.Clean.AI.Planejamento.PlanejadorRotas.Veiculo;
+
+/**
+ * Planejamento de uma missão com resíduos espalhados uniformemente e 50
+ * drones, com os parâmetros padrão do {@code application.properties}. Não
+ * inclui a leitura do banco nem a gravação das rotas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class PlanejamentoBenchmark {
+
+    @Param({ "10000", "100000" })
+    private int residuos;
+
+    @Param({ "1", "0" })
+    private int paralelismo;
+
+    private long[] ids;
+    private int[] xs;
+    private int[] ys;
+    private List<Veiculo> veiculos;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void gerar() {
+        Random random = new Random(11);
+        ids = new long[residuos];
+        xs = new int[residuos];
+        ys = new int[residuos];
+        for (int i = 0; i < residuos; i++) {
+            ids[i] = i + 1;
+            xs[i] = random.nextInt(100_000);
+            ys[i] = random.nextInt(100_000);
+        }
+        veiculos = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            veiculos.add(new Veiculo(i + 1, random.nextInt(100_000), random.nextInt(100_000), 20 + random.nextInt(81)));
+        }
+        pool = new ForkJoinPool(paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public List<Rota> planejar() {
+        return new PlanejadorRotas(pool, 10, 50, 10).planejar(ids, xs, ys, veiculos);
+    }
+}
@@ -0,0 +1,97 @@
+package fiap.com.br.Ocean.Clean.AI.Benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fiap.com.br.Ocean.Clean.AI.Planejamento.DetectorProximidade;
+
+/**
+ * Uma verificação de proximidade da frota, em milissegundos: cada operação
+ * move todos os drones um passo e procura os pares a menos de 25 unidades.
+ * Com verificação a 10 Hz o orçamento é de 100 ms por operação. Em
+ * {@code focos} os drones se concentram em 10 focos de resíduos de raio
+ * 1000, com centenas de drones em cada um.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProximidadeBenchmark {
+
+    private static final int DISTANCIA = 25;
+
+    @Param({ "1000", "10000" })
+    public int drones;
+
+    @Param({ "uniforme", "focos" })
+    public String distribuicao;
+
+    private final Random random = new Random(42);
+    private final DetectorProximidade detector = new DetectorProximidade(DISTANCIA);
+    private int[] xs;
+    private int[] ys;
+
+    @Setup
+    public void posicionar() {
+        xs = new int[drones];
+        ys = new int[drones];
+        for (int i = 0; i < drones; i++) {
+            if (distribuicao.equals("focos")) {
+                int foco = i % 10;
+                double angulo = random.nextDouble() * 2 * Math.PI;
+                double raio = 1000 * Math.sqrt(random.nextDouble());
+                xs[i] = 5_000 + foco * 5_000 + (int) (raio * Math.cos(angulo));
+                ys[i] = 30_000 + (int) (raio * Math.sin(angulo));
+            } else {
+                xs[i] = random.nextInt(65_536);
+                ys[i] = random.nextInt(65_536);
+            }
+        }
+    }
+
+    @Benchmark
+    public int hashEspacial() {
+        mover();
+        int[] pares = new int[1];
+        detector.detectar(xs, ys, drones, (a, b, distancia2) -> pares[0]++);
+        return pares[0];
+    }
+
+    @Benchmark
+    public int todosComTodos() {
+        mover();
+        long limite = (long) DISTANCIA * DISTANCIA;
+        int pares = 0;
+        for (int a = 0; a < drones; a++) {
+            for (int b = a + 1; b < drones; b++) {
+                long dx = xs[a] - (long) xs[b];
+                long dy = ys[a] - (long) ys[b];
+                if (dx * dx + dy * dy <= limite) {
+                    pares++;
+                }
+            }
+        }
+        return pares;
+    }
+
+    private void mover() {
+        for (int i = 0; i < drones; i++) {
+            xs[i] += random.nextInt(5) - 2;
+            ys[i] += random.nextInt(5) - 2;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package fiap.com.br.Ocean.Clean.AI.Benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import fiap.com.br.Ocean.Clean.AI.Models.ResiduoPlastico;
+import fiap.com.br.Ocean.Clean.AI.Repository.ResiduoPlasticoRepository;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Leitura da tabela de resíduos plásticos no H2: {@code findAll} de uma vez
+ * contra a varredura por páginas keyset usada nas listagens, e o custo de uma
+ * única página.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class RepositorioBenchmark {
+
+    private static final int TAMANHO_PAGINA = 500;
+
+    @Param({ "10000", "100000", "1000000" })
+    public int linhas;
+
+    private ConfigurableApplicationContext contexto;
+
+    private ResiduoPlasticoRepository repositorio;
+
+    private EntityManager entityManager;
+
+    private TransactionTemplate leitura;
+
+    @Setup
+    public void preparar() {
+        contexto = ContextoBenchmark.iniciar();
+        repositorio = contexto.getBean(ResiduoPlasticoRepository.class);
+        entityManager = contexto.getBean(EntityManager.class);
+        leitura = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+        leitura.setReadOnly(true);
+
+        contexto.getBean(JdbcTemplate.class).update(
+            "INSERT INTO residuo_plastico (id_residuo, coordenadax, coordenaday) "
+                + "SELECT X, MOD(X, 10000), X / 10000 FROM SYSTEM_RANGE(1, ?)", linhas);
+    }
+
+    @TearDown
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public int findAll() {
+        return leitura.execute(status -> repositorio.findAll().size());
+    }
+
+    @Benchmark
+    public int paginasKeyset() {
+        return leitura.execute(status -> {
+            Pageable pagina = PageRequest.ofSize(TAMANHO_PAGINA);
+            int total = 0;
+            long apos = 0;
+            List<ResiduoPlastico> residuos;
+            do {
+                residuos = repositorio.findPaginaApos(apos, pagina);
+                total += residuos.size();
+                if (!residuos.isEmpty()) {
+                    apos = residuos.get(residuos.size() - 1).getId_residuo();
+                }
+                entityManager.clear();
+            } while (residuos.size() == TAMANHO_PAGINA);
+            return total;
+        });
+    }
+
+    @Benchmark
+    public int paginaUnica() {
+        return leitura.execute(status -> repositorio.findPaginaApos(linhas / 2L, PageRequest.ofSize(TAMANHO_PAGINA)).size());
+    }
+}
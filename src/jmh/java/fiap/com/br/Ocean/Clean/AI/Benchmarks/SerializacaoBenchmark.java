@@ -0,0 +1,116 @@
+package fiap.com.br.Ocean.Clean.AI.Benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import fiap.com.br.Ocean.Clean.AI.Dto.EstadoDrone;
+import fiap.com.br.Ocean.Clean.AI.Dto.MissaoVisao;
+import fiap.com.br.Ocean.Clean.AI.Dto.OperadorVisao;
+import fiap.com.br.Ocean.Clean.AI.Dto.ResiduoLocalizado;
+import fiap.com.br.Ocean.Clean.AI.Models.Drone;
+import fiap.com.br.Ocean.Clean.AI.Models.Missao;
+import fiap.com.br.Ocean.Clean.AI.Models.Operador;
+import fiap.com.br.Ocean.Clean.AI.Models.ResiduoPlastico;
+
+/**
+ * Serialização Jackson de um grafo Operador → Missão → ResíduoPlástico (mais
+ * os drones do operador), montado em memória, como entidades e como as
+ * projeções usadas por {@code GET /operadores/{id}}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializacaoBenchmark {
+
+    @Param({ "10" })
+    public int missoes;
+
+    @Param({ "10", "100", "1000" })
+    public int residuosPorMissao;
+
+    @Param({ "10" })
+    public int drones;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Operador operador;
+
+    private OperadorVisao operadorVisao;
+
+    @Setup
+    public void preparar() {
+        operador = new Operador();
+        operador.setId_operador(1L);
+        operador.setNome("Operador");
+        operador.setEmail("operador@oceanclean.com");
+        operador.setMissoes(new ArrayList<>());
+        operador.setDrones(new ArrayList<>());
+        long id = 1;
+        for (int m = 0; m < missoes; m++) {
+            Missao missao = new Missao();
+            missao.setId_missao(id++);
+            missao.setNome("Missão " + m);
+            missao.setOperador(operador);
+            List<ResiduoPlastico> residuos = new ArrayList<>();
+            for (int r = 0; r < residuosPorMissao; r++) {
+                ResiduoPlastico residuo = new ResiduoPlastico();
+                residuo.setId_residuo(id++);
+                residuo.setCoordenadaX(r);
+                residuo.setCoordenadaY(m);
+                residuo.setMissao(missao);
+                residuos.add(residuo);
+            }
+            missao.setResiduosPlasticos(residuos);
+            operador.getMissoes().add(missao);
+        }
+        for (int d = 0; d < drones; d++) {
+            Drone drone = new Drone();
+            drone.setId_drone(id++);
+            drone.setNome("Drone " + d);
+            drone.setNivelBateria(80);
+            drone.setOperador(operador);
+            operador.getDrones().add(drone);
+        }
+        operadorVisao = visao(operador);
+    }
+
+    @Benchmark
+    public byte[] operador() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(operador);
+    }
+
+    @Benchmark
+    public byte[] operadorVisao() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(operadorVisao);
+    }
+
+    private static OperadorVisao visao(Operador operador) {
+        List<MissaoVisao> missoes = operador.getMissoes().stream()
+            .map(missao -> new MissaoVisao(missao.getId_missao(), missao.getNome(), operador.getId_operador(),
+                missao.getResiduosPlasticos().stream()
+                    .map(r -> new ResiduoLocalizado(r.getId_residuo(), r.getCoordenadaX(), r.getCoordenadaY()))
+                    .toList()))
+            .toList();
+        List<EstadoDrone> drones = operador.getDrones().stream().map(EstadoDrone::de).toList();
+        return new OperadorVisao(operador.getId_operador(), operador.getNome(), operador.getEmail(), missoes, drones);
+    }
+}
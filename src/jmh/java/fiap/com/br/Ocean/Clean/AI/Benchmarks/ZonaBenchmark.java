@@ -0,0 +1,106 @@
+package fiap.com.br.Ocean.Clean.AI.Benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fiap.com.br.Ocean.Clean.AI.Index.ZonaIndex;
+import fiap.com.br.Ocean.Clean.AI.Index.ZonaIndex.Poligono;
+import fiap.com.br.Ocean.Clean.AI.Models.TipoZona;
+
+/**
+ * Classificação de posições em zonas, em pontos por segundo em uma thread:
+ * pela R-tree do {@link ZonaIndex} contra testar todos os polígonos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ZonaBenchmark {
+
+    private static final int PONTOS = 10_000;
+
+    @Param({ "100", "1000", "10000" })
+    public int zonas;
+
+    @Param({ "16" })
+    public int vertices;
+
+    private ZonaIndex indice;
+    private List<Poligono> poligonos;
+    private int[] xs;
+    private int[] ys;
+
+    @Setup
+    public void preparar() {
+        Random random = new Random(42);
+        poligonos = new ArrayList<>(zonas);
+        // área total coberta pelas zonas parecida em todos os cenários
+        int raio = (int) (65_536 / Math.sqrt(zonas));
+        for (int i = 1; i <= zonas; i++) {
+            int cx = random.nextInt(65_536);
+            int cy = random.nextInt(65_536);
+            int[] vx = new int[vertices];
+            int[] vy = new int[vertices];
+            for (int v = 0; v < vertices; v++) {
+                double angulo = 2 * Math.PI * v / vertices;
+                double r = raio * (0.4 + 0.6 * random.nextDouble());
+                vx[v] = (int) (cx + r * Math.cos(angulo));
+                vy[v] = (int) (cy + r * Math.sin(angulo));
+            }
+            poligonos.add(new Poligono(i, "Zona " + i, TipoZona.SETOR, vx, vy));
+        }
+        indice = new ZonaIndex();
+        indice.substituir(poligonos);
+
+        xs = new int[PONTOS];
+        ys = new int[PONTOS];
+        for (int i = 0; i < PONTOS; i++) {
+            xs[i] = random.nextInt(65_536);
+            ys[i] = random.nextInt(65_536);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PONTOS)
+    public long rtree() {
+        long soma = 0;
+        for (int i = 0; i < PONTOS; i++) {
+            Poligono zona = indice.classificar(xs[i], ys[i]);
+            soma += zona != null ? zona.getId() : 0;
+        }
+        return soma;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PONTOS)
+    public long varreduraLinear() {
+        long soma = 0;
+        for (int i = 0; i < PONTOS; i++) {
+            Poligono melhor = null;
+            for (Poligono zona : poligonos) {
+                if (zona.contem(xs[i], ys[i]) && (melhor == null || zona.getAreaDupla() < melhor.getAreaDupla())) {
+                    melhor = zona;
+                }
+            }
+            soma += melhor != null ? melhor.getId() : 0;
+        }
+        return soma;
+    }
+}
@@ -0,0 +1,73 @@
+package fiap.com.br.Ocean.Clean.AI.Controller;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Custo por item dos links de uma página de listagem: um
+ * {@code linkTo(methodOn(...))} por item contra {@link LinksListagem}, que
+ * resolve o link uma vez por página. O resultado é por item.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LinksListagemBenchmark {
+
+    private static final int ITENS = PaginacaoKeyset.TAMANHO_MAXIMO;
+
+    @Setup(Level.Iteration)
+    public void registrarRequisicao() {
+        MockHttpServletRequest requisicao = new MockHttpServletRequest("GET", "/operadores");
+        requisicao.setServerName("api.oceanclean.com");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(requisicao));
+    }
+
+    @TearDown(Level.Iteration)
+    public void removerRequisicao() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITENS)
+    public void linkToMethodOn(Blackhole blackhole) {
+        for (long id = 1; id <= ITENS; id++) {
+            blackhole.consume(linkTo(methodOn(OperadorController.class).show(id, null)).withSelfRel().expand());
+            blackhole.consume(linkTo(OperadorController.class).withRel("operadores"));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITENS)
+    public void linksListagem(Blackhole blackhole) {
+        LinksListagem links = LinksListagem.de(
+            id -> linkTo(methodOn(OperadorController.class).show(id, null)).withSelfRel().expand(),
+            linkTo(OperadorController.class).withRel("operadores"));
+        for (long id = 1; id <= ITENS; id++) {
+            blackhole.consume(links.self(id));
+            blackhole.consume(links.colecao());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package fiap.com.br.Ocean.Clean.AI.Config;
+
+import java.util.List;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Cria um cache Caffeine limitado por nome, com a especificação lida de
+ * {@code ocean.cache.<nome>} (ou {@code ocean.cache.padrao}). Nomes fora da
+ * lista são rejeitados em vez de virarem caches sem limite.
+ */
+@Configuration
+public class CacheConfiguracao {
+
+    public static final String DRONES = "drones";
+    public static final String MISSOES = "missoes";
+    public static final String OPERADORES = "operadores";
+    public static final String RESIDUOS_PLASTICOS = "residuosPlasticos";
+
+    public static final String ULTIMOS = "ultimos";
+    public static final String ORDEM_ALFABETICA = "ordemalfabetica";
+
+    private static final List<String> CACHES = List.of(DRONES, MISSOES, OPERADORES, RESIDUOS_PLASTICOS);
+
+    @Bean
+    public CacheManager cacheManager(Environment environment) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCacheNames(List.of());
+        String padrao = environment.getProperty("ocean.cache.padrao", "maximumSize=1000,expireAfterWrite=10m");
+        for (String nome : CACHES) {
+            String especificacao = environment.getProperty("ocean.cache." + nome, padrao);
+            cacheManager.registerCustomCache(nome, Caffeine.from(especificacao).recordStats().build());
+        }
+        return cacheManager;
+    }
+}
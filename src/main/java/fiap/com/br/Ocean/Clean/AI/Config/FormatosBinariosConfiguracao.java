@@ -0,0 +1,40 @@
+package fiap.com.br.Ocean.Clean.AI.Config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.hateoas.mediatype.hal.HalMediaTypeConfiguration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * CBOR e Smile como alternativas binárias ao JSON, escolhidas por
+ * {@code Accept} e {@code Content-Type}. Os mappers saem do mesmo builder do
+ * Spring Boot que configura o JSON, então os payloads têm os mesmos campos.
+ * Os conversores substituem os padrão do Spring MVC na mesma posição, depois
+ * do JSON, que continua sendo o formato de quem não pede outro.
+ * <p>
+ * Os dois mappers recebem o módulo HAL do Spring HATEOAS, configurado como o
+ * do {@code application/hal+json}, para que os modelos saiam com
+ * {@code _links} e {@code _embedded} também nos formatos binários.
+ */
+@Configuration
+public class FormatosBinariosConfiguracao {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType APPLICATION_SMILE = MediaType.valueOf(APPLICATION_SMILE_VALUE);
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter conversorCbor(Jackson2ObjectMapperBuilder builder, HalMediaTypeConfiguration hal) {
+        return new MappingJackson2CborHttpMessageConverter(hal.configureObjectMapper(builder.factory(new CBORFactory()).build()));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter conversorSmile(Jackson2ObjectMapperBuilder builder, HalMediaTypeConfiguration hal) {
+        return new MappingJackson2SmileHttpMessageConverter(hal.configureObjectMapper(builder.factory(new SmileFactory()).build()));
+    }
+}
@@ -0,0 +1,34 @@
+package fiap.com.br.Ocean.Clean.AI.Config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import fiap.com.br.Ocean.Clean.AI.Idempotencia.IdempotenciaFiltro;
+import fiap.com.br.Ocean.Clean.AI.Idempotencia.RespostasIdempotentes;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Chaves de idempotência nas criações de resíduos e drones, os registros
+ * que os drones reenviam quando a conexão cai antes da resposta.
+ */
+@Configuration
+public class IdempotenciaConfiguracao {
+
+    @Bean
+    public RespostasIdempotentes respostasIdempotentes(
+            @Value("${ocean.idempotencia.maximo-chaves:100000}") long maximoChaves,
+            @Value("${ocean.idempotencia.validade-ms:86400000}") long validadeMs) {
+        return new RespostasIdempotentes(maximoChaves, validadeMs);
+    }
+
+    @Bean
+    public FilterRegistrationBean<IdempotenciaFiltro> idempotenciaFiltro(RespostasIdempotentes respostasIdempotentes,
+            MeterRegistry meterRegistry) {
+        FilterRegistrationBean<IdempotenciaFiltro> registro =
+            new FilterRegistrationBean<>(new IdempotenciaFiltro(respostasIdempotentes, meterRegistry));
+        registro.addUrlPatterns("/residuos-plasticos", "/drones");
+        return registro;
+    }
+}
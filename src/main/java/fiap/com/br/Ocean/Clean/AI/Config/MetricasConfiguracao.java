@@ -0,0 +1,59 @@
+package fiap.com.br.Ocean.Clean.AI.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import fiap.com.br.Ocean.Clean.AI.Metricas.ContadorConsultas;
+import fiap.com.br.Ocean.Clean.AI.Metricas.MetricasRequisicaoInterceptor;
+import fiap.com.br.Ocean.Clean.AI.Metricas.SerializacaoCronometrada;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Métricas por requisição além das do actuator: comandos SQL executados e
+ * tempo de serialização do corpo da resposta. Os tempos dos controllers vêm
+ * de {@code @Timed} e os dos repositórios do
+ * {@code spring.data.repository.invocations} do Spring Boot.
+ */
+@Configuration
+public class MetricasConfiguracao implements WebMvcConfigurer {
+
+    @Autowired
+    private MetricasRequisicaoInterceptor metricasRequisicaoInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(metricasRequisicaoInterceptor);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer contadorConsultasHibernate(ContadorConsultas contadorConsultas) {
+        return propriedades -> propriedades.put(AvailableSettings.STATEMENT_INSPECTOR, contadorConsultas);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public SmartInitializingSingleton cronometrarSerializacao(
+            @Qualifier("requestMappingHandlerAdapter") RequestMappingHandlerAdapter adapter, MeterRegistry meterRegistry) {
+        return () -> {
+            // o Spring HATEOAS junta todos os handlers em um só, então todos são envolvidos
+            List<HandlerMethodReturnValueHandler> handlers = new ArrayList<>();
+            for (HandlerMethodReturnValueHandler handler : adapter.getReturnValueHandlers()) {
+                handlers.add(new SerializacaoCronometrada(handler, meterRegistry));
+            }
+            adapter.setReturnValueHandlers(handlers);
+        };
+    }
+}
@@ -0,0 +1,97 @@
+package fiap.com.br.Ocean.Clean.AI.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import fiap.com.br.Ocean.Clean.AI.Roteamento.LeituraDasEscritasFiltro;
+import fiap.com.br.Ocean.Clean.AI.Roteamento.ReplicasLeitura;
+import fiap.com.br.Ocean.Clean.AI.Roteamento.RoteadorLeituraEscrita;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Separa leituras e escritas quando há réplicas configuradas. O datasource
+ * da aplicação obtém a conexão só no primeiro comando, quando já se sabe se a
+ * transação é somente leitura: as {@code readOnly} (inclusive as consultas
+ * dos repositórios) vão para {@link ReplicasLeitura}, o resto para o
+ * primário, como decide o {@link RoteadorLeituraEscrita}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "ocean.datasource.leitura.habilitada", havingValue = "true")
+public class ReplicasLeituraConfiguracao {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimario(DataSourceProperties propriedades) {
+        return propriedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicasLeitura replicasLeitura(@Qualifier("dataSourcePrimario") DataSource primario,
+            DataSourceProperties propriedades, MeterRegistry meterRegistry,
+            @Value("${ocean.datasource.leitura.urls}") List<String> urls,
+            @Value("${ocean.datasource.leitura.username:${spring.datasource.username:}}") String usuario,
+            @Value("${ocean.datasource.leitura.password:${spring.datasource.password:}}") String senha,
+            @Value("${ocean.datasource.leitura.tamanho-pool:10}") int tamanhoPool,
+            @Value("${ocean.datasource.leitura.timeout-conexao-ms:1000}") long timeoutConexao,
+            @Value("${ocean.datasource.leitura.timeout-verificacao-s:2}") int timeoutVerificacao) {
+        List<HikariDataSource> replicas = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(usuario);
+            replica.setPassword(senha);
+            replica.setDriverClassName(propriedades.getDriverClassName());
+            replica.setReadOnly(true);
+            replica.setMaximumPoolSize(tamanhoPool);
+            // réplica fora do ar não impede a subida nem segura a requisição
+            replica.setInitializationFailTimeout(-1);
+            replica.setConnectionTimeout(timeoutConexao);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(replica);
+        }
+        return new ReplicasLeitura(primario, replicas, timeoutVerificacao, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("dataSourcePrimario") DataSource primario, ReplicasLeitura replicasLeitura) {
+        return new LazyConnectionDataSourceProxy(new RoteadorLeituraEscrita(primario, replicasLeitura));
+    }
+
+    /**
+     * Com o open-in-view a sessão vive a requisição inteira e, por padrão,
+     * segura a conexão da primeira transação; uma escrita depois de uma
+     * leitura usaria a conexão da réplica. Liberando a conexão ao fim de cada
+     * transação, cada uma escolhe a sua origem.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer conexaoPorTransacao() {
+        return propriedades -> propriedades.put(AvailableSettings.CONNECTION_HANDLING,
+            PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    public LeituraDasEscritasFiltro leituraDasEscritasFiltro(
+            @Value("${ocean.datasource.leitura.janela-escritas-ms:5000}") long janela) {
+        return new LeituraDasEscritasFiltro(janela);
+    }
+}
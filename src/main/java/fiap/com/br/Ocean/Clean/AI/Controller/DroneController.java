@@ -2,10 +2,12 @@ package fiap.com.br.Ocean.Clean.AI.Controller;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+import static org.springframework.http.HttpStatus.ACCEPTED;
 import static org.springframework.http.HttpStatus.CREATED;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static org.springframework.http.HttpStatus.NO_CONTENT;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -15,20 +17,41 @@ import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.Link;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import fiap.com.br.Ocean.Clean.AI.Dto.AlertaProximidade;
+import fiap.com.br.Ocean.Clean.AI.Dto.AlteracaoDrones;
+import fiap.com.br.Ocean.Clean.AI.Dto.DespachoDrone;
+import fiap.com.br.Ocean.Clean.AI.Dto.EstadoDrone;
+import fiap.com.br.Ocean.Clean.AI.Dto.ResultadoMassa;
+import fiap.com.br.Ocean.Clean.AI.Dto.TelemetriaDrone;
+import fiap.com.br.Ocean.Clean.AI.Dto.Visao;
+import fiap.com.br.Ocean.Clean.AI.Dto.ZonaPonto;
+import fiap.com.br.Ocean.Clean.AI.Index.EstadoFrota;
 import fiap.com.br.Ocean.Clean.AI.Models.Drone;
 import fiap.com.br.Ocean.Clean.AI.Repository.DroneRepository;
+import fiap.com.br.Ocean.Clean.AI.Service.DespachoService;
+import fiap.com.br.Ocean.Clean.AI.Service.DroneService;
+import fiap.com.br.Ocean.Clean.AI.Service.OperacaoMassaService;
+import fiap.com.br.Ocean.Clean.AI.Service.ProximidadeService;
+import fiap.com.br.Ocean.Clean.AI.Service.TelemetriaService;
+import fiap.com.br.Ocean.Clean.AI.Service.TransmissaoFrotaService;
+import fiap.com.br.Ocean.Clean.AI.Service.ZonaService;
+import io.micrometer.core.annotation.Timed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -40,6 +63,7 @@ import lombok.extern.slf4j.Slf4j;
 @RestController
 @RequestMapping("drones")
 @Slf4j
+@Timed("ocean.controller")
 @CacheConfig(cacheNames = "drones")
 @Tag(name = "drones")
 public class DroneController {
@@ -47,46 +71,205 @@ public class DroneController {
     @Autowired
    
     private DroneRepository droneRepository;
+
+    @Autowired
+    private DroneService droneService;
+
+    @Autowired
+    private TelemetriaService telemetriaService;
+
+    @Autowired
+    private EstadoFrota estadoFrota;
+
+    @Autowired
+    private TransmissaoFrotaService transmissaoFrotaService;
+
+    @Autowired
+    private DespachoService despachoService;
+
+    @Autowired
+    private OperacaoMassaService operacaoMassaService;
+
+    @Autowired
+    private ZonaService zonaService;
+
+    @Autowired
+    private ProximidadeService proximidadeService;
     
     @GetMapping("{id_drone}")
-    public Drone show(@PathVariable Long id_drone) {
-        var drone = droneRepository.findById(id_drone).orElseThrow(
-            () -> new IllegalArgumentException("drone não encontrado")
-        );
-
-        Link self = linkTo(methodOn(DroneController.class).show(id_drone)).withSelfRel();
+    @Operation(
+        summary = "Consultar um drone.",
+        description = "Com `visao=rasa` (padrão) retorna o último estado conhecido do drone a partir do estado em memória, com o `id_operador`, sem consultar o banco. Com `visao=completa` retorna a entidade com o operador."
+    )
+    public EntityModel<?> show(@PathVariable Long id_drone, @RequestParam(defaultValue = "rasa") String visao) {
+        Link self = linkTo(methodOn(DroneController.class).show(id_drone, null)).withSelfRel().expand();
         Link delete = linkTo(methodOn(DroneController.class).destroy(id_drone)).withRel("delete");
-        Link contents = linkTo(methodOn(DroneController.class).index()).withRel("contents");
+        Link contents = linkTo(DroneController.class).withRel("contents");
 
-        drone.add(self);
-        drone.add(delete);
-        drone.add(contents);
- 
-        return drone;
+        if (Visao.de(visao) == Visao.RASA) {
+            EstadoDrone estado = estadoFrota.buscar(id_drone).orElseThrow(
+                () -> new ResponseStatusException(NOT_FOUND, "Não existe drone com o id informado")
+            );
+            return EntityModel.of(estado, self, delete, contents);
+        }
+        var drone = droneService.getDroneById(id_drone).orElseThrow(
+            () -> new IllegalArgumentException("drone não encontrado")
+        );
+        // o drone vem do cache e é compartilhado, os links ficam no EntityModel
+        return EntityModel.of(drone, self, delete, contents);
     }
     
     @GetMapping
     @Operation(
         summary = "Listar todos os drones.",
-        description = "Retorna um array com todos os drones no formato do objeto."
+        description = "Retorna uma página de drones ordenados pelo id, a partir do cursor `apos`, com link `next` para a página seguinte. Com `visao=rasa` (padrão) a página vem do estado em memória da frota, sem consultar o banco; com `visao=completa` vem das entidades, com o operador."
     )
-    public ResponseEntity<CollectionModel<EntityModel<Drone>>> index() {
-        List<EntityModel<Drone>> drones = droneRepository.findAll().stream()
-            .map(drone -> EntityModel.of(drone, 
-                linkTo(methodOn(DroneController.class).show(drone.getId_drone())).withSelfRel(),
-                linkTo(methodOn(DroneController.class).index()).withRel("drones")))
-            .collect(Collectors.toList());
+    public ResponseEntity<CollectionModel<EntityModel<?>>> index(
+            @RequestParam(required = false) Long apos,
+            @RequestParam(defaultValue = "" + PaginacaoKeyset.TAMANHO_PADRAO) int tamanho,
+            @RequestParam(defaultValue = "rasa") String visao) {
+        Visao tipo = Visao.de(visao);
+        tamanho = PaginacaoKeyset.tamanho(tamanho);
+        LinksListagem links = LinksListagem.de(
+            id -> linkTo(methodOn(DroneController.class).show(id, null)).withSelfRel().expand(),
+            linkTo(DroneController.class).withRel("drones"));
+
+        List<EntityModel<?>> drones;
+        boolean temProxima;
+        Long ultimo;
+        if (tipo == Visao.RASA) {
+            List<EstadoDrone> pagina = estadoFrota.paginaApos(PaginacaoKeyset.inicio(apos), tamanho + 1);
+            temProxima = PaginacaoKeyset.temProxima(pagina, tamanho);
+            ultimo = pagina.isEmpty() ? null : pagina.get(pagina.size() - 1).id_drone();
+            drones = pagina.stream()
+                .map(estado -> EntityModel.of(estado, links.self(estado.id_drone()), links.colecao()))
+                .collect(Collectors.toList());
+        } else {
+            List<Drone> pagina = droneRepository.findPaginaApos(PaginacaoKeyset.inicio(apos), PaginacaoKeyset.limite(tamanho));
+            temProxima = PaginacaoKeyset.temProxima(pagina, tamanho);
+            ultimo = pagina.isEmpty() ? null : pagina.get(pagina.size() - 1).getId_drone();
+            drones = pagina.stream()
+                .map(drone -> EntityModel.of(drone, links.self(drone.getId_drone()), links.colecao()))
+                .collect(Collectors.toList());
+        }
 
-        return ResponseEntity.ok(CollectionModel.of(drones, linkTo(methodOn(DroneController.class).index()).withSelfRel()));
+        CollectionModel<EntityModel<?>> colecao = CollectionModel.of(drones, linkTo(methodOn(DroneController.class).index(apos, tamanho, visao)).withSelfRel().expand());
+        if (temProxima) {
+            colecao.add(linkTo(methodOn(DroneController.class).index(ultimo, tamanho, visao)).withRel(IanaLinkRelations.NEXT));
+        }
+        return ResponseEntity.ok(colecao);
     }
     
+    @GetMapping("frota")
+    @Operation(
+        summary = "Listar o estado atual da frota.",
+        description = "Retorna posição, bateria, resíduos coletados e operador de cada drone a partir do estado em memória, sem consultar o banco. Aceita filtro por operador."
+    )
+    public Collection<EstadoDrone> frota(@RequestParam(required = false) Long operador) {
+        return operador == null ? estadoFrota.todos() : estadoFrota.doOperador(operador);
+    }
+
+    @GetMapping(path = "stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+        summary = "Acompanhar a frota em tempo real (Server-Sent Events).",
+        description = "Envia primeiro o evento `frota` com a posição de todos os drones e depois, em lotes, o evento `posicoes` só com os drones cuja posição, bateria ou resíduos coletados mudaram, e `removidos` com os ids apagados. Estados intermediários de um cliente lento são descartados. Aceita filtro por operador."
+    )
+    public SseEmitter stream(@RequestParam(required = false) Long operador) {
+        return transmissaoFrotaService.assinar(operador);
+    }
+
+    @GetMapping("frota/{id_drone}")
+    @Operation(
+        summary = "Consultar o estado atual de um drone.",
+        description = "Retorna o último estado conhecido do drone a partir do estado em memória, incluindo telemetria ainda não gravada no banco."
+    )
+    public EstadoDrone estado(@PathVariable Long id_drone) {
+        return estadoFrota.buscar(id_drone).orElseThrow(
+            () -> new ResponseStatusException(NOT_FOUND, "Não existe drone com o id informado")
+        );
+    }
+
+    @GetMapping("frota/{id_drone}/zona")
+    @Operation(
+        summary = "Consultar a zona em que um drone está.",
+        description = "Retorna a posição atual do drone e a zona em que ela foi classificada quando a telemetria chegou. Fora de qualquer zona, os campos da zona vêm nulos."
+    )
+    public ZonaPonto zona(@PathVariable Long id_drone) {
+        return zonaService.zonaDoDrone(id_drone);
+    }
+
+    @GetMapping("frota/alertas")
+    @Operation(
+        summary = "Listar alertas de proximidade entre drones.",
+        description = "Retorna os pares de drones que estavam mais próximos que a distância de segurança na última verificação da frota, do mais próximo ao mais distante, com risco `COLISAO` abaixo da distância de colisão. Drones na base não são verificados. Aceita filtro por drone."
+    )
+    public List<AlertaProximidade> alertas(@RequestParam(required = false) Long id_drone) {
+        return proximidadeService.alertas(id_drone);
+    }
+
+    @GetMapping("despacho")
+    @Operation(
+        summary = "Listar drones em rota ou voltando à base.",
+        description = "Retorna a situação de despacho de cada drone ocupado, com o resíduo de destino e a bateria prevista ao voltar à base."
+    )
+    public List<DespachoDrone> despachos() {
+        return despachoService.ocupados();
+    }
+
+    @GetMapping("despacho/melhor")
+    @Operation(
+        summary = "Consultar o melhor drone para um resíduo.",
+        description = "Retorna o drone disponível com menor distância ao resíduo descontada a bateria, entre os que chegam ao resíduo e voltam à base com a reserva mínima. Não reserva o drone."
+    )
+    @ApiResponses(
+        value = {
+            @ApiResponse(responseCode = "200", description = "Drone encontrado."),
+            @ApiResponse(responseCode = "404", description = "Não existe resíduo com o `id` informado."),
+            @ApiResponse(responseCode = "409", description = "Nenhum drone disponível alcança o resíduo.")
+        }
+    )
+    public DespachoDrone melhorDrone(@RequestParam Long residuo) {
+        return despachoService.melhor(residuo);
+    }
+
+    @PostMapping("despacho")
+    @Operation(
+        summary = "Despachar um drone para um resíduo.",
+        description = "Reserva o melhor drone disponível para o resíduo. O drone volta a ficar disponível ao chegar ao resíduo, segundo a telemetria, e é recolhido à base se a bateria prevista ficar abaixo da reserva; nesse caso o resíduo é redistribuído."
+    )
+    @ApiResponses(
+        value = {
+            @ApiResponse(responseCode = "200", description = "Drone despachado."),
+            @ApiResponse(responseCode = "404", description = "Não existe resíduo com o `id` informado."),
+            @ApiResponse(responseCode = "409", description = "O resíduo já tem drone ou nenhum drone disponível o alcança.")
+        }
+    )
+    public DespachoDrone despachar(@RequestParam Long residuo) {
+        return despachoService.despachar(residuo);
+    }
+
+    @DeleteMapping("despacho/{id_drone}")
+    @Operation(
+        summary = "Encerrar a rota de um drone.",
+        description = "Libera o drone e o resíduo atribuído a ele sem esperar a telemetria de chegada."
+    )
+    @ApiResponses(
+        value = {
+            @ApiResponse(responseCode = "200", description = "Rota encerrada."),
+            @ApiResponse(responseCode = "404", description = "O drone informado não está em rota.")
+        }
+    )
+    public DespachoDrone concluirDespacho(@PathVariable Long id_drone) {
+        return despachoService.concluir(id_drone);
+    }
+
     @GetMapping("ultimos")
     @Operation(
         summary = "Listar os últimos 10 drones cadastrados.",
         description = "Retorna um array com todos os últimos 10 drones cadastrados no formato do objeto."
     )
     public List<Drone> getLast10() {
-        return droneRepository.findLast10();
+        return droneService.getLast10();
     }
     @GetMapping("ordemalfabetica")
     @Operation(
@@ -94,7 +277,7 @@ public class DroneController {
         description = "Retorna um array com todos os drones cadastrados em ordem alfabética e no formato do objeto."
     )
     public List<Drone> getOrderedByName() {
-        return droneRepository.findAllOrderedByName();
+        return droneService.getOrderedByName();
     }
 
     @PostMapping
@@ -113,10 +296,61 @@ public class DroneController {
         log.info("Registrando um novo drone {}", drone);
         Drone savedDrone = droneRepository.save(drone);
         EntityModel<Drone> droneModel = EntityModel.of(savedDrone);
-        droneModel.add(linkTo(methodOn(DroneController.class).show(savedDrone.getId_drone())).withSelfRel());
+        droneModel.add(linkTo(methodOn(DroneController.class).show(savedDrone.getId_drone(), null)).withSelfRel().expand());
         return ResponseEntity.created(droneModel.getRequiredLink(IanaLinkRelations.SELF).toUri()).body(droneModel);
     }  
 
+    @PostMapping("{id_drone}/telemetria")
+    @ResponseStatus(ACCEPTED)
+    @Operation(
+        summary = "Enviar telemetria de um drone.",
+        description = "Registra posição e nível de bateria em memória. Reports do mesmo drone são agrupados e apenas o último estado é gravado no banco a cada ciclo de flush."
+    )
+    @ApiResponses(
+        value = {
+            @ApiResponse(responseCode = "202", description = "Telemetria aceita."),
+            @ApiResponse(responseCode = "400", description = "Dados enviados são inválidos. Verifique o corpo da requisição."),
+            @ApiResponse(responseCode = "404", description = "Não existe drone com o `id` informado.")
+        }
+    )
+    public void telemetria(@PathVariable Long id_drone, @RequestBody @Valid TelemetriaDrone telemetria) {
+        if (!telemetriaService.registrar(id_drone, telemetria)) {
+            throw new ResponseStatusException(NOT_FOUND, "Não existe drone com o id informado");
+        }
+    }
+
+    @DeleteMapping
+    @Operation(
+        summary = "Deletar drones em massa.",
+        description = "Deleta os drones com os `ids` informados e/ou do `operador`, com comandos por conjunto em uma única transação. Retorna a quantidade de registros apagados."
+    )
+    @ApiResponses(
+        value = {
+            @ApiResponse(responseCode = "200", description = "Registros apagados. Verifique o campo `afetados`."),
+            @ApiResponse(responseCode = "400", description = "Nenhum filtro informado.")
+        }
+    )
+    public ResultadoMassa destroyEmMassa(@RequestParam(required = false) List<Long> ids, @RequestParam(required = false) Long operador) {
+        return operacaoMassaService.removerDrones(ids, operador);
+    }
+
+    @PatchMapping
+    @Operation(
+        summary = "Alterar drones em massa.",
+        description = "Aplica os campos não nulos do corpo (operador, nível de bateria, resíduos coletados) a todos os drones com os `ids` informados e/ou do `operador`, com comandos por conjunto em uma única transação. Retorna a quantidade de registros alterados."
+    )
+    @ApiResponses(
+        value = {
+            @ApiResponse(responseCode = "200", description = "Registros alterados. Verifique o campo `afetados`."),
+            @ApiResponse(responseCode = "400", description = "Nenhum filtro ou campo informado, ou dados inválidos."),
+            @ApiResponse(responseCode = "404", description = "O destino informado no corpo não existe.")
+        }
+    )
+    public ResultadoMassa updateEmMassa(@RequestParam(required = false) List<Long> ids, @RequestParam(required = false) Long operador,
+            @Valid @RequestBody AlteracaoDrones alteracao) {
+        return operacaoMassaService.alterarDrones(ids, operador, alteracao);
+    }
+
     @DeleteMapping("{id_drone}")
     @ResponseStatus(NO_CONTENT)
     @Operation(
@@ -159,7 +393,7 @@ public class DroneController {
 
         Drone updatedDrone = droneRepository.save(drone);
         EntityModel<Drone> droneModel = EntityModel.of(updatedDrone);
-        droneModel.add(linkTo(methodOn(DroneController.class).show(updatedDrone.getId_drone())).withSelfRel());
+        droneModel.add(linkTo(methodOn(DroneController.class).show(updatedDrone.getId_drone(), null)).withSelfRel().expand());
         return ResponseEntity.ok(droneModel);
     }
 
@@ -0,0 +1,53 @@
+package fiap.com.br.Ocean.Clean.AI.Controller;
+
+import java.util.function.LongFunction;
+
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+
+/**
+ * Links por item das listagens. O link de {@code show} é resolvido uma vez
+ * por requisição com um id marcador, e o de cada item é só o texto desse link
+ * com o id trocado, sem o proxy e a reflexão de um
+ * {@code linkTo(methodOn(...))} por linha. Por construção o resultado é o
+ * mesmo do {@code linkTo(methodOn(...))}.
+ */
+final class LinksListagem {
+
+    private static final long MARCADOR = Long.MIN_VALUE;
+
+    private final String prefixo;
+
+    private final String sufixo;
+
+    private final LinkRelation rel;
+
+    private final Link colecao;
+
+    private LinksListagem(String prefixo, String sufixo, LinkRelation rel, Link colecao) {
+        this.prefixo = prefixo;
+        this.sufixo = sufixo;
+        this.rel = rel;
+        this.colecao = colecao;
+    }
+
+    static LinksListagem de(LongFunction<Link> self, Link colecao) {
+        Link modelo = self.apply(MARCADOR);
+        String href = modelo.getHref();
+        String marcador = Long.toString(MARCADOR);
+        int posicao = href.lastIndexOf(marcador);
+        if (posicao < 0) {
+            throw new IllegalArgumentException("O link " + href + " não contém o id do item");
+        }
+        return new LinksListagem(href.substring(0, posicao), href.substring(posicao + marcador.length()),
+            modelo.getRel(), colecao);
+    }
+
+    Link self(Long id) {
+        return Link.of(prefixo + id + sufixo, rel);
+    }
+
+    Link colecao() {
+        return colecao;
+    }
+}
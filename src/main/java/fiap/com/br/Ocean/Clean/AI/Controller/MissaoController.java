@@ -2,6 +2,7 @@ package fiap.com.br.Ocean.Clean.AI.Controller;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.CREATED;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static org.springframework.http.HttpStatus.NO_CONTENT;
@@ -10,25 +11,43 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.Link;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import fiap.com.br.Ocean.Clean.AI.Dto.AgrupamentoResiduos;
+import fiap.com.br.Ocean.Clean.AI.Dto.AlteracaoMissoes;
+import fiap.com.br.Ocean.Clean.AI.Dto.PlanoMissao;
+import fiap.com.br.Ocean.Clean.AI.Dto.MissaoVisao;
+import fiap.com.br.Ocean.Clean.AI.Dto.ResultadoMassa;
+import fiap.com.br.Ocean.Clean.AI.Dto.Visao;
 import fiap.com.br.Ocean.Clean.AI.Models.Missao;
 import fiap.com.br.Ocean.Clean.AI.Repository.MissaoRepository;
+import fiap.com.br.Ocean.Clean.AI.Service.AgrupamentoService;
+import fiap.com.br.Ocean.Clean.AI.Service.MissaoService;
+import fiap.com.br.Ocean.Clean.AI.Service.ExportacaoService;
+import fiap.com.br.Ocean.Clean.AI.Service.ExportacaoService.Formato;
+import fiap.com.br.Ocean.Clean.AI.Service.OperacaoMassaService;
+import fiap.com.br.Ocean.Clean.AI.Service.PlanejamentoService;
+import io.micrometer.core.annotation.Timed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -39,6 +58,7 @@ import lombok.extern.slf4j.Slf4j;
 @RestController
 @RequestMapping("missoes")
 @Slf4j
+@Timed("ocean.controller")
 @CacheConfig(cacheNames = "missoes")
 @Tag(name = "missoes")
 public class MissaoController {
@@ -46,36 +66,92 @@ public class MissaoController {
     @Autowired
     private MissaoRepository missaoRepository;
 
+    @Autowired
+    private MissaoService missaoService;
+
+    @Autowired
+    private ExportacaoService exportacaoService;
+
+    @Autowired
+    private PlanejamentoService planejamentoService;
+
+    @Autowired
+    private AgrupamentoService agrupamentoService;
+
+    @Autowired
+    private OperacaoMassaService operacaoMassaService;
+
+    @Value("${ocean.agrupamento.raio:50}")
+    private double raioAgrupamento;
+
+    @Value("${ocean.agrupamento.minimo-residuos:10}")
+    private int minimoAgrupamento;
+
     @GetMapping("{id_missao}")
-    public Missao show(@PathVariable Long id_missao) {
-        var missao = missaoRepository.findById(id_missao).orElseThrow(
+    @Operation(
+        summary = "Consultar uma missão pelo ID.",
+        description = "Retorna a missão como projeção somente leitura. Com `visao=completa` (padrão) inclui os resíduos plásticos com um número fixo de consultas; com `visao=rasa` apenas os campos próprios."
+    )
+    public EntityModel<MissaoVisao> show(@PathVariable Long id_missao, @RequestParam(defaultValue = "completa") String visao) {
+        var missao = missaoService.buscarVisao(id_missao).orElseThrow(
             () -> new IllegalArgumentException("Missão não encontrada")
         );
+        if (Visao.de(visao) == Visao.COMPLETA) {
+            missao = missaoService.completar(List.of(missao)).get(0);
+        }
 
-        Link self = linkTo(methodOn(MissaoController.class).show(id_missao)).withSelfRel();
+        Link self = linkTo(methodOn(MissaoController.class).show(id_missao, null)).withSelfRel().expand();
         Link delete = linkTo(methodOn(MissaoController.class).destroy(id_missao)).withRel("delete");
-        Link contents = linkTo(methodOn(MissaoController.class).index()).withRel("contents");
+        Link contents = linkTo(MissaoController.class).withRel("contents");
 
-        missao.add(self);
-        missao.add(delete);
-        missao.add(contents);
-
-        return missao;
+        return EntityModel.of(missao, self, delete, contents);
     }
 
     @GetMapping
     @Operation(
         summary = "Listar todas as missões.",
-        description = "Retorna um array com todas as missões no formato do objeto."
+        description = "Retorna uma página de missões ordenadas pelo id, a partir do cursor `apos`, com link `next` para a página seguinte. Com `visao=rasa` (padrão) traz apenas os campos próprios; com `visao=completa` inclui os resíduos plásticos com um número fixo de consultas por página."
     )
-    public ResponseEntity<CollectionModel<EntityModel<Missao>>> index() {
-        List<EntityModel<Missao>> missoes = missaoRepository.findAll().stream()
-            .map(missao -> EntityModel.of(missao, 
-                linkTo(methodOn(MissaoController.class).show(missao.getId_missao())).withSelfRel(),
-                linkTo(methodOn(MissaoController.class).index()).withRel("missoes")))
+    public ResponseEntity<CollectionModel<EntityModel<MissaoVisao>>> index(
+            @RequestParam(required = false) Long apos,
+            @RequestParam(defaultValue = "" + PaginacaoKeyset.TAMANHO_PADRAO) int tamanho,
+            @RequestParam(defaultValue = "rasa") String visao) {
+        Visao tipo = Visao.de(visao);
+        tamanho = PaginacaoKeyset.tamanho(tamanho);
+        List<MissaoVisao> pagina = missaoService.listarVisoes(PaginacaoKeyset.inicio(apos), PaginacaoKeyset.limite(tamanho));
+        boolean temProxima = PaginacaoKeyset.temProxima(pagina, tamanho);
+        Long ultimo = pagina.isEmpty() ? null : pagina.get(pagina.size() - 1).id_missao();
+        if (tipo == Visao.COMPLETA) {
+            pagina = missaoService.completar(pagina);
+        }
+
+        LinksListagem links = LinksListagem.de(
+            id -> linkTo(methodOn(MissaoController.class).show(id, null)).withSelfRel().expand(),
+            linkTo(MissaoController.class).withRel("missoes"));
+        List<EntityModel<MissaoVisao>> missoes = pagina.stream()
+            .map(missao -> EntityModel.of(missao, links.self(missao.id_missao()), links.colecao()))
             .collect(Collectors.toList());
 
-        return ResponseEntity.ok(CollectionModel.of(missoes, linkTo(methodOn(MissaoController.class).index()).withSelfRel()));
+        CollectionModel<EntityModel<MissaoVisao>> colecao = CollectionModel.of(missoes, linkTo(methodOn(MissaoController.class).index(apos, tamanho, visao)).withSelfRel().expand());
+        if (temProxima) {
+            colecao.add(linkTo(methodOn(MissaoController.class).index(ultimo, tamanho, visao)).withRel(IanaLinkRelations.NEXT));
+        }
+        return ResponseEntity.ok(colecao);
+    }
+
+    @GetMapping("exportar")
+    @Operation(
+        summary = "Exportar missões em NDJSON ou CSV.",
+        description = "Transmite as missões direto de um cursor do banco, sem carregar a tabela em memória. Aceita filtro por operador."
+    )
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @RequestParam(defaultValue = "ndjson") String formato,
+            @RequestParam(required = false) Long operador) {
+        Formato tipo = Formato.de(formato);
+        return ResponseEntity.ok()
+            .contentType(tipo.getMediaType())
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=missoes." + tipo.getExtensao())
+            .body(exportacaoService.exportarMissoes(tipo, operador));
     }
 
     @PostMapping
@@ -94,10 +170,83 @@ public class MissaoController {
         log.info("Registrando uma nova missão {}", missao);
         Missao savedMissao = missaoRepository.save(missao);
         EntityModel<Missao> missaoModel = EntityModel.of(savedMissao);
-        missaoModel.add(linkTo(methodOn(MissaoController.class).show(savedMissao.getId_missao())).withSelfRel());
+        missaoModel.add(linkTo(methodOn(MissaoController.class).show(savedMissao.getId_missao(), null)).withSelfRel().expand());
         return ResponseEntity.created(missaoModel.getRequiredLink(IanaLinkRelations.SELF).toUri()).body(missaoModel);
     }
 
+    @PostMapping("{id_missao}/planejar")
+    @Operation(
+        summary = "Planejar a coleta dos resíduos de uma missão.",
+        description = "Agrupa os resíduos da missão entre os drones do operador, proporcionalmente ao nível de bateria, e ordena a rota de cada drone."
+    )
+    @ApiResponses(
+        value = {
+            @ApiResponse(responseCode = "200", description = "Plano calculado com sucesso."),
+            @ApiResponse(responseCode = "404", description = "Não existe missão com o `id` informado."),
+            @ApiResponse(responseCode = "409", description = "A missão não tem operador ou o operador não tem drones disponíveis.")
+        }
+    )
+    public PlanoMissao planejar(@PathVariable Long id_missao) {
+        return planejamentoService.planejar(id_missao);
+    }
+
+    @PostMapping("agrupar")
+    @Operation(
+        summary = "Detectar focos de resíduos sem missão.",
+        description = "Agrupa com DBSCAN os resíduos plásticos que ainda não têm missão: um foco reúne resíduos a até `raio` uns dos outros com pelo menos `minimo` vizinhos. Por padrão apenas propõe os focos; com `criar=true` cria uma missão por foco e vincula os resíduos a ela. A resposta traz o tempo de cada etapa e a vazão da execução."
+    )
+    @ApiResponses(
+        value = {
+            @ApiResponse(responseCode = "200", description = "Focos calculados (e missões criadas, se solicitado)."),
+            @ApiResponse(responseCode = "400", description = "Parâmetros `raio` ou `minimo` inválidos.")
+        }
+    )
+    public AgrupamentoResiduos agrupar(@RequestParam(required = false) Double raio,
+            @RequestParam(required = false) Integer minimo,
+            @RequestParam(defaultValue = "false") boolean criar) {
+        double raioUsado = raio != null ? raio : raioAgrupamento;
+        int minimoUsado = minimo != null ? minimo : minimoAgrupamento;
+        if (raioUsado < 2) {
+            throw new ResponseStatusException(BAD_REQUEST, "O parâmetro raio deve ser de ao menos 2");
+        }
+        if (minimoUsado < 1) {
+            throw new ResponseStatusException(BAD_REQUEST, "O parâmetro minimo deve ser positivo");
+        }
+        return agrupamentoService.agrupar(raioUsado, minimoUsado, criar);
+    }
+
+    @DeleteMapping
+    @Operation(
+        summary = "Deletar missões em massa.",
+        description = "Deleta as missões com os `ids` informados e/ou do `operador`, com comandos por conjunto em uma única transação. Retorna a quantidade de registros apagados."
+    )
+    @ApiResponses(
+        value = {
+            @ApiResponse(responseCode = "200", description = "Registros apagados. Verifique o campo `afetados`."),
+            @ApiResponse(responseCode = "400", description = "Nenhum filtro informado.")
+        }
+    )
+    public ResultadoMassa destroyEmMassa(@RequestParam(required = false) List<Long> ids, @RequestParam(required = false) Long operador) {
+        return operacaoMassaService.removerMissoes(ids, operador);
+    }
+
+    @PatchMapping
+    @Operation(
+        summary = "Alterar missões em massa.",
+        description = "Transfere para o operador do corpo todas as missões com os `ids` informados e/ou do `operador`, com comandos por conjunto em uma única transação. Retorna a quantidade de registros alterados."
+    )
+    @ApiResponses(
+        value = {
+            @ApiResponse(responseCode = "200", description = "Registros alterados. Verifique o campo `afetados`."),
+            @ApiResponse(responseCode = "400", description = "Nenhum filtro ou campo informado, ou dados inválidos."),
+            @ApiResponse(responseCode = "404", description = "O destino informado no corpo não existe.")
+        }
+    )
+    public ResultadoMassa updateEmMassa(@RequestParam(required = false) List<Long> ids, @RequestParam(required = false) Long operador,
+            @Valid @RequestBody AlteracaoMissoes alteracao) {
+        return operacaoMassaService.alterarMissoes(ids, operador, alteracao);
+    }
+
     @DeleteMapping("{id_missao}")
     @ResponseStatus(NO_CONTENT)
     @Operation(
@@ -140,7 +289,7 @@ public class MissaoController {
 
         Missao updatedMissao = missaoRepository.save(missao);
         EntityModel<Missao> missaoModel = EntityModel.of(updatedMissao);
-        missaoModel.add(linkTo(methodOn(MissaoController.class).show(updatedMissao.getId_missao())).withSelfRel());
+        missaoModel.add(linkTo(methodOn(MissaoController.class).show(updatedMissao.getId_missao(), null)).withSelfRel().expand());
         return ResponseEntity.ok(missaoModel);
     }
 
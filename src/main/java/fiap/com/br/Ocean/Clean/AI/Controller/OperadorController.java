@@ -23,12 +23,17 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
+import fiap.com.br.Ocean.Clean.AI.Dto.OperadorVisao;
+import fiap.com.br.Ocean.Clean.AI.Dto.Visao;
 import fiap.com.br.Ocean.Clean.AI.Models.Operador;
 import fiap.com.br.Ocean.Clean.AI.Repository.OperadorRepository;
+import fiap.com.br.Ocean.Clean.AI.Service.OperadorService;
+import io.micrometer.core.annotation.Timed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -39,6 +44,7 @@ import lombok.extern.slf4j.Slf4j;
 @RestController
 @RequestMapping("operadores")
 @Slf4j
+@Timed("ocean.controller")
 @CacheConfig(cacheNames = "operadores")
 @Tag(name = "operadores")
 public class OperadorController {
@@ -46,36 +52,59 @@ public class OperadorController {
     @Autowired
     private OperadorRepository operadorRepository;
 
+    @Autowired
+    private OperadorService operadorService;
+
     @GetMapping("{id_operador}")
-    public Operador show(@PathVariable Long id_operador) {
-        var operador = operadorRepository.findById(id_operador).orElseThrow(
+    @Operation(
+        summary = "Consultar um operador pelo ID.",
+        description = "Retorna o operador como projeção somente leitura. Com `visao=completa` (padrão) inclui missões, resíduos e drones com um número fixo de consultas; com `visao=rasa` apenas os campos próprios."
+    )
+    public EntityModel<OperadorVisao> show(@PathVariable Long id_operador, @RequestParam(defaultValue = "completa") String visao) {
+        var operador = operadorService.buscarVisao(id_operador).orElseThrow(
             () -> new IllegalArgumentException("Operador não encontrado")
         );
+        if (Visao.de(visao) == Visao.COMPLETA) {
+            operador = operadorService.completar(List.of(operador)).get(0);
+        }
 
-        Link self = linkTo(methodOn(OperadorController.class).show(id_operador)).withSelfRel();
+        Link self = linkTo(methodOn(OperadorController.class).show(id_operador, null)).withSelfRel().expand();
         Link delete = linkTo(methodOn(OperadorController.class).destroy(id_operador)).withRel("delete");
-        Link contents = linkTo(methodOn(OperadorController.class).index()).withRel("contents");
+        Link contents = linkTo(OperadorController.class).withRel("contents");
 
-        operador.add(self);
-        operador.add(delete);
-        operador.add(contents);
-
-        return operador;
+        return EntityModel.of(operador, self, delete, contents);
     }
 
     @GetMapping
     @Operation(
         summary = "Listar todos os operadores.",
-        description = "Retorna um array com todos os operadores no formato do objeto."
+        description = "Retorna uma página de operadores ordenados pelo id, a partir do cursor `apos`, com link `next` para a página seguinte. Com `visao=rasa` (padrão) traz apenas os campos próprios; com `visao=completa` inclui missões, resíduos e drones com um número fixo de consultas por página."
     )
-    public ResponseEntity<CollectionModel<EntityModel<Operador>>> index() {
-        List<EntityModel<Operador>> operadores = operadorRepository.findAll().stream()
-            .map(operador -> EntityModel.of(operador, 
-                linkTo(methodOn(OperadorController.class).show(operador.getId_operador())).withSelfRel(),
-                linkTo(methodOn(OperadorController.class).index()).withRel("operadores")))
+    public ResponseEntity<CollectionModel<EntityModel<OperadorVisao>>> index(
+            @RequestParam(required = false) Long apos,
+            @RequestParam(defaultValue = "" + PaginacaoKeyset.TAMANHO_PADRAO) int tamanho,
+            @RequestParam(defaultValue = "rasa") String visao) {
+        Visao tipo = Visao.de(visao);
+        tamanho = PaginacaoKeyset.tamanho(tamanho);
+        List<OperadorVisao> pagina = operadorService.listarVisoes(PaginacaoKeyset.inicio(apos), PaginacaoKeyset.limite(tamanho));
+        boolean temProxima = PaginacaoKeyset.temProxima(pagina, tamanho);
+        Long ultimo = pagina.isEmpty() ? null : pagina.get(pagina.size() - 1).id_operador();
+        if (tipo == Visao.COMPLETA) {
+            pagina = operadorService.completar(pagina);
+        }
+
+        LinksListagem links = LinksListagem.de(
+            id -> linkTo(methodOn(OperadorController.class).show(id, null)).withSelfRel().expand(),
+            linkTo(OperadorController.class).withRel("operadores"));
+        List<EntityModel<OperadorVisao>> operadores = pagina.stream()
+            .map(operador -> EntityModel.of(operador, links.self(operador.id_operador()), links.colecao()))
             .collect(Collectors.toList());
 
-        return ResponseEntity.ok(CollectionModel.of(operadores, linkTo(methodOn(OperadorController.class).index()).withSelfRel()));
+        CollectionModel<EntityModel<OperadorVisao>> colecao = CollectionModel.of(operadores, linkTo(methodOn(OperadorController.class).index(apos, tamanho, visao)).withSelfRel().expand());
+        if (temProxima) {
+            colecao.add(linkTo(methodOn(OperadorController.class).index(ultimo, tamanho, visao)).withRel(IanaLinkRelations.NEXT));
+        }
+        return ResponseEntity.ok(colecao);
     }
 
     @PostMapping
@@ -94,7 +123,7 @@ public class OperadorController {
         log.info("Registrando um novo operador {}", operador);
         Operador savedOperador = operadorRepository.save(operador);
         EntityModel<Operador> operadorModel = EntityModel.of(savedOperador);
-        operadorModel.add(linkTo(methodOn(OperadorController.class).show(savedOperador.getId_operador())).withSelfRel());
+        operadorModel.add(linkTo(methodOn(OperadorController.class).show(savedOperador.getId_operador(), null)).withSelfRel().expand());
         return ResponseEntity.created(operadorModel.getRequiredLink(IanaLinkRelations.SELF).toUri()).body(operadorModel);
     }
 
@@ -140,7 +169,7 @@ public class OperadorController {
 
         Operador updatedOperador = operadorRepository.save(operador);
         EntityModel<Operador> operadorModel = EntityModel.of(updatedOperador);
-        operadorModel.add(linkTo(methodOn(OperadorController.class).show(updatedOperador.getId_operador())).withSelfRel());
+        operadorModel.add(linkTo(methodOn(OperadorController.class).show(updatedOperador.getId_operador(), null)).withSelfRel().expand());
         return ResponseEntity.ok(operadorModel);
     }
 
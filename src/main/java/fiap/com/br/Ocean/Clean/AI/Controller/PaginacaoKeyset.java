@@ -0,0 +1,43 @@
+package fiap.com.br.Ocean.Clean.AI.Controller;
+
+import java.util.List;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Paginação por cursor nas colunas de id: cada página é buscada com
+ * {@code WHERE id > :apos ORDER BY id LIMIT tamanho + 1}, então o custo não
+ * cresce com a profundidade como no OFFSET. O registro extra só indica se há
+ * próxima página. Tamanhos fora de 1..{@value #TAMANHO_MAXIMO} são
+ * ajustados ao limite mais próximo.
+ */
+final class PaginacaoKeyset {
+
+    static final int TAMANHO_PADRAO = 50;
+    static final int TAMANHO_MAXIMO = 500;
+
+    private PaginacaoKeyset() {
+    }
+
+    static long inicio(Long apos) {
+        return apos == null ? 0L : apos;
+    }
+
+    static int tamanho(int pedido) {
+        return Math.max(1, Math.min(pedido, TAMANHO_MAXIMO));
+    }
+
+    /** @param tamanho já ajustado por {@link #tamanho(int)} */
+    static Pageable limite(int tamanho) {
+        return PageRequest.ofSize(tamanho + 1);
+    }
+
+    static <T> boolean temProxima(List<T> pagina, int tamanho) {
+        if (pagina.size() <= tamanho) {
+            return false;
+        }
+        pagina.subList(tamanho, pagina.size()).clear();
+        return true;
+    }
+}
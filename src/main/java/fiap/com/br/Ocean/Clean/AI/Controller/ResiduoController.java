@@ -2,33 +2,65 @@ package fiap.com.br.Ocean.Clean.AI.Controller;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.CREATED;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static org.springframework.http.HttpStatus.NO_CONTENT;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.Link;
+import org.springframework.http.MediaType;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import fiap.com.br.Ocean.Clean.AI.Config.FormatosBinariosConfiguracao;
+import fiap.com.br.Ocean.Clean.AI.Dto.AlteracaoResiduos;
+import fiap.com.br.Ocean.Clean.AI.Dto.DeteccaoResiduo;
+import fiap.com.br.Ocean.Clean.AI.Dto.HistoricoCelula;
+import fiap.com.br.Ocean.Clean.AI.Dto.MapaCalorNivel;
+import fiap.com.br.Ocean.Clean.AI.Dto.ResiduoLocalizado;
+import fiap.com.br.Ocean.Clean.AI.Dto.ResiduoVisao;
+import fiap.com.br.Ocean.Clean.AI.Dto.ResultadoCompactacao;
+import fiap.com.br.Ocean.Clean.AI.Dto.ResultadoLote;
+import fiap.com.br.Ocean.Clean.AI.Dto.ResultadoMassa;
+import fiap.com.br.Ocean.Clean.AI.Dto.ResumoResiduos;
+import fiap.com.br.Ocean.Clean.AI.Index.MapaCalor;
+import fiap.com.br.Ocean.Clean.AI.Index.ResiduoSpatialIndex;
 import fiap.com.br.Ocean.Clean.AI.Models.ResiduoPlastico;
 import fiap.com.br.Ocean.Clean.AI.Repository.ResiduoPlasticoRepository;
+import fiap.com.br.Ocean.Clean.AI.Service.AnaliseResiduoService;
+import fiap.com.br.Ocean.Clean.AI.Service.ExportacaoService;
+import fiap.com.br.Ocean.Clean.AI.Service.ExportacaoService.Formato;
+import fiap.com.br.Ocean.Clean.AI.Service.HistoricoResiduoService;
+import fiap.com.br.Ocean.Clean.AI.Service.IngestaoResiduoService;
+import fiap.com.br.Ocean.Clean.AI.Service.OperacaoMassaService;
+import fiap.com.br.Ocean.Clean.AI.Service.ResiduoPlasticoService;
+import io.micrometer.core.annotation.Timed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -39,6 +71,7 @@ import lombok.extern.slf4j.Slf4j;
 @RestController
 @RequestMapping("residuos-plasticos")
 @Slf4j
+@Timed("ocean.controller")
 @CacheConfig(cacheNames = "residuosPlasticos")
 @Tag(name = "residuosPlasticos")
 public class ResiduoController {
@@ -46,36 +79,200 @@ public class ResiduoController {
     @Autowired
     private ResiduoPlasticoRepository residuoPlasticoRepository;
 
+    @Autowired
+    private ResiduoPlasticoService residuoPlasticoService;
+
+    @Autowired
+    private ResiduoSpatialIndex residuoSpatialIndex;
+
+    @Autowired
+    private MapaCalor mapaCalor;
+
+    @Autowired
+    private IngestaoResiduoService ingestaoResiduoService;
+
+    @Autowired
+    private ExportacaoService exportacaoService;
+
+    @Autowired
+    private OperacaoMassaService operacaoMassaService;
+
+    @Autowired
+    private HistoricoResiduoService historicoResiduoService;
+
+    @Autowired
+    private AnaliseResiduoService analiseResiduoService;
+
     @GetMapping("{id_residuo}")
-    public ResiduoPlastico show(@PathVariable Long id_residuo) {
-        var residuo = residuoPlasticoRepository.findById(id_residuo).orElseThrow(
+    public EntityModel<ResiduoVisao> show(@PathVariable Long id_residuo) {
+        var residuo = residuoPlasticoService.getResiduoPlasticoById(id_residuo).orElseThrow(
             () -> new IllegalArgumentException("Resíduo plástico não encontrado")
         );
 
         Link self = linkTo(methodOn(ResiduoController.class).show(id_residuo)).withSelfRel();
         Link delete = linkTo(methodOn(ResiduoController.class).destroy(id_residuo)).withRel("delete");
-        Link contents = linkTo(methodOn(ResiduoController.class).index()).withRel("contents");
-
-        residuo.add(self);
-        residuo.add(delete);
-        residuo.add(contents);
+        Link contents = linkTo(ResiduoController.class).withRel("contents");
 
-        return residuo;
+        // o resíduo vem do cache e é compartilhado, os links ficam no EntityModel
+        return EntityModel.of(residuo, self, delete, contents);
     }
 
     @GetMapping
     @Operation(
         summary = "Listar todos os resíduos plásticos.",
-        description = "Retorna um array com todos os resíduos plásticos no formato do objeto."
+        description = "Retorna uma página de resíduos plásticos ordenados pelo id, a partir do cursor `apos`, com link `next` para a página seguinte."
     )
-    public ResponseEntity<CollectionModel<EntityModel<ResiduoPlastico>>> index() {
-        List<EntityModel<ResiduoPlastico>> residuos = residuoPlasticoRepository.findAll().stream()
-            .map(residuo -> EntityModel.of(residuo, 
-                linkTo(methodOn(ResiduoController.class).show(residuo.getId_residuo())).withSelfRel(),
-                linkTo(methodOn(ResiduoController.class).index()).withRel("residuosPlasticos")))
+    public ResponseEntity<CollectionModel<EntityModel<ResiduoPlastico>>> index(
+            @RequestParam(required = false) Long apos,
+            @RequestParam(defaultValue = "" + PaginacaoKeyset.TAMANHO_PADRAO) int tamanho) {
+        tamanho = PaginacaoKeyset.tamanho(tamanho);
+        List<ResiduoPlastico> pagina = residuoPlasticoRepository.findPaginaApos(PaginacaoKeyset.inicio(apos), PaginacaoKeyset.limite(tamanho));
+        boolean temProxima = PaginacaoKeyset.temProxima(pagina, tamanho);
+
+        LinksListagem links = LinksListagem.de(
+            id -> linkTo(methodOn(ResiduoController.class).show(id)).withSelfRel(),
+            linkTo(ResiduoController.class).withRel("residuosPlasticos"));
+        List<EntityModel<ResiduoPlastico>> residuos = pagina.stream()
+            .map(residuo -> EntityModel.of(residuo, links.self(residuo.getId_residuo()), links.colecao()))
             .collect(Collectors.toList());
 
-        return ResponseEntity.ok(CollectionModel.of(residuos, linkTo(methodOn(ResiduoController.class).index()).withSelfRel()));
+        CollectionModel<EntityModel<ResiduoPlastico>> colecao = CollectionModel.of(residuos, linkTo(methodOn(ResiduoController.class).index(apos, tamanho)).withSelfRel().expand());
+        if (temProxima) {
+            Long ultimo = pagina.get(pagina.size() - 1).getId_residuo();
+            colecao.add(linkTo(methodOn(ResiduoController.class).index(ultimo, tamanho)).withRel(IanaLinkRelations.NEXT));
+        }
+        return ResponseEntity.ok(colecao);
+    }
+
+    @GetMapping("proximos")
+    @Operation(
+        summary = "Listar os resíduos plásticos mais próximos de um ponto.",
+        description = "Retorna os `k` resíduos plásticos mais próximos das coordenadas informadas, ordenados pela distância, consultando o índice espacial em memória."
+    )
+    public List<ResiduoLocalizado> proximos(@RequestParam int x, @RequestParam int y, @RequestParam(defaultValue = "10") int k) {
+        if (k < 1 || k > 1000) {
+            throw new ResponseStatusException(BAD_REQUEST, "O parâmetro k deve estar entre 1 e 1000");
+        }
+        return residuoSpatialIndex.proximos(x, y, k);
+    }
+
+    @GetMapping("area")
+    @Operation(
+        summary = "Listar os resíduos plásticos dentro de uma área retangular.",
+        description = "Retorna até `limite` resíduos plásticos contidos no retângulo informado (limites inclusivos), consultando o índice espacial em memória."
+    )
+    public List<ResiduoLocalizado> area(@RequestParam int minX, @RequestParam int minY,
+            @RequestParam int maxX, @RequestParam int maxY,
+            @RequestParam(defaultValue = "10000") int limite) {
+        if (minX > maxX || minY > maxY) {
+            throw new ResponseStatusException(BAD_REQUEST, "Os limites mínimos devem ser menores ou iguais aos máximos");
+        }
+        if (limite < 1 || limite > 10000) {
+            throw new ResponseStatusException(BAD_REQUEST, "O parâmetro limite deve estar entre 1 e 10000");
+        }
+        return residuoSpatialIndex.area(minX, minY, maxX, maxY, limite);
+    }
+
+    @GetMapping("analise")
+    @Operation(
+        summary = "Resumir os resíduos plásticos.",
+        description = "Retorna quantidade, caixa envolvente e centróide dos resíduos plásticos, calculados em paralelo sobre a cópia em colunas em memória, sem consultar o banco. Aceita filtro por missão, só os sem missão e limites de coordenadas (inclusivos)."
+    )
+    public ResumoResiduos analise(
+            @RequestParam(required = false) Long missao,
+            @RequestParam(defaultValue = "false") boolean semMissao,
+            @RequestParam(defaultValue = "" + Integer.MIN_VALUE) int minX,
+            @RequestParam(defaultValue = "" + Integer.MIN_VALUE) int minY,
+            @RequestParam(defaultValue = "" + Integer.MAX_VALUE) int maxX,
+            @RequestParam(defaultValue = "" + Integer.MAX_VALUE) int maxY) {
+        return analiseResiduoService.resumir(missao, semMissao, minX, minY, maxX, maxY);
+    }
+
+    @GetMapping("analise/missoes")
+    @Operation(
+        summary = "Resumir os resíduos plásticos por missão.",
+        description = "Retorna quantidade, caixa envolvente e centróide dos resíduos de cada missão, em ordem de id, com os resíduos sem missão primeiro (`id_missao` nulo). Calculado sobre a cópia em colunas em memória. Aceita limites de coordenadas (inclusivos)."
+    )
+    public List<ResumoResiduos> analisePorMissao(
+            @RequestParam(defaultValue = "" + Integer.MIN_VALUE) int minX,
+            @RequestParam(defaultValue = "" + Integer.MIN_VALUE) int minY,
+            @RequestParam(defaultValue = "" + Integer.MAX_VALUE) int maxX,
+            @RequestParam(defaultValue = "" + Integer.MAX_VALUE) int maxY) {
+        return analiseResiduoService.porMissao(minX, minY, maxX, maxY);
+    }
+
+    @GetMapping("recentes")
+    @Operation(
+        summary = "Listar os resíduos plásticos detectados nas últimas horas em uma área.",
+        description = "Retorna até `limite` resíduos plásticos detectados nas últimas `horas` dentro do retângulo informado (limites inclusivos), do mais recente para o mais antigo. A consulta lê só as partições diárias da janela."
+    )
+    public List<DeteccaoResiduo> recentes(@RequestParam(defaultValue = "24") int horas,
+            @RequestParam(defaultValue = "" + Integer.MIN_VALUE) int minX,
+            @RequestParam(defaultValue = "" + Integer.MIN_VALUE) int minY,
+            @RequestParam(defaultValue = "" + Integer.MAX_VALUE) int maxX,
+            @RequestParam(defaultValue = "" + Integer.MAX_VALUE) int maxY,
+            @RequestParam(defaultValue = "1000") int limite) {
+        if (horas < 1) {
+            throw new ResponseStatusException(BAD_REQUEST, "O parâmetro horas deve ser positivo");
+        }
+        if (minX > maxX || minY > maxY) {
+            throw new ResponseStatusException(BAD_REQUEST, "Os limites mínimos devem ser menores ou iguais aos máximos");
+        }
+        if (limite < 1 || limite > 10000) {
+            throw new ResponseStatusException(BAD_REQUEST, "O parâmetro limite deve estar entre 1 e 10000");
+        }
+        return historicoResiduoService.recentes(horas, minX, minY, maxX, maxY, limite);
+    }
+
+    @GetMapping("historico")
+    @Operation(
+        summary = "Consultar o histórico compactado de detecções.",
+        description = "Retorna, por dia e por célula da grade, a quantidade de resíduos plásticos detectados nos dias já compactados pela política de retenção, entre `de` e `ate` (datas ISO, inclusivas)."
+    )
+    public List<HistoricoCelula> historico(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate) {
+        return historicoResiduoService.historico(de, ate);
+    }
+
+    @PostMapping("historico/compactar")
+    @Operation(
+        summary = "Aplicar a política de retenção ao histórico de detecções.",
+        description = "Compacta as partições diárias mais antigas que a retenção em contagens por célula e apaga as linhas brutas contadas pelos ids lidos, em blocos de `ocean.massa.tamanho-bloco`; resíduos gravados na partição depois da leitura ficam para a próxima execução. Resíduos ligados a missões são mantidos. Roda também de forma agendada."
+    )
+    public ResultadoCompactacao compactar() {
+        return historicoResiduoService.compactar();
+    }
+
+    @GetMapping("heatmap")
+    @Operation(
+        summary = "Consultar o mapa de calor de densidade dos resíduos plásticos.",
+        description = "Retorna a contagem de resíduos por célula em um nível da pirâmide do mapa de calor (0 é o mais detalhado, cada nível seguinte dobra o tamanho da célula). Sem `nivel`, usa o primeiro nível com no máximo 256x256 células. O mapa é mantido em memória e não consulta o banco."
+    )
+    public MapaCalorNivel heatmap(@RequestParam(required = false) Integer nivel) {
+        int escolhido = nivel != null ? nivel : mapaCalor.nivelAte(256);
+        if (escolhido < 0 || escolhido >= mapaCalor.quantidadeNiveis()) {
+            throw new ResponseStatusException(BAD_REQUEST, "O parâmetro nivel deve estar entre 0 e " + (mapaCalor.quantidadeNiveis() - 1));
+        }
+        return mapaCalor.nivel(escolhido);
+    }
+
+    @GetMapping("exportar")
+    @Operation(
+        summary = "Exportar resíduos plásticos em NDJSON ou CSV.",
+        description = "Transmite os resíduos plásticos direto de um cursor do banco, sem carregar a tabela em memória. Aceita filtro por missão e por limites de coordenadas."
+    )
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @RequestParam(defaultValue = "ndjson") String formato,
+            @RequestParam(required = false) Long missao,
+            @RequestParam(defaultValue = "0") int minX,
+            @RequestParam(defaultValue = "0") int minY,
+            @RequestParam(defaultValue = "" + Integer.MAX_VALUE) int maxX,
+            @RequestParam(defaultValue = "" + Integer.MAX_VALUE) int maxY) {
+        Formato tipo = Formato.de(formato);
+        return ResponseEntity.ok()
+            .contentType(tipo.getMediaType())
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=residuos-plasticos." + tipo.getExtensao())
+            .body(exportacaoService.exportarResiduos(tipo, missao, minX, minY, maxX, maxY));
     }
 
     @PostMapping
@@ -98,6 +295,53 @@ public class ResiduoController {
         return ResponseEntity.created(residuoModel.getRequiredLink(IanaLinkRelations.SELF).toUri()).body(residuoModel);
     }
 
+    @PostMapping(value = "lote", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE,
+        MediaType.APPLICATION_CBOR_VALUE, FormatosBinariosConfiguracao.APPLICATION_SMILE_VALUE })
+    @Operation(
+        summary = "Registrar resíduos plásticos em lote.",
+        description = "Recebe um array JSON, um corpo NDJSON ou a sequência equivalente em CBOR ou Smile com resíduos plásticos e grava os itens válidos em blocos transacionais com inserts em batch. Itens inválidos são reportados pelo índice sem rejeitar o restante do lote."
+    )
+    @ApiResponses(
+        value = {
+            @ApiResponse(responseCode = "200", description = "Lote processado. Verifique o campo `falhas` para itens rejeitados.")
+        }
+    )
+    public ResultadoLote registerLote(InputStream corpo, @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType tipo) throws IOException {
+        return ingestaoResiduoService.ingerir(corpo, tipo);
+    }
+
+    @DeleteMapping
+    @Operation(
+        summary = "Deletar resíduos plásticos em massa.",
+        description = "Deleta os resíduos plásticos com os `ids` informados e/ou da `missao`, com comandos por conjunto em uma única transação. Retorna a quantidade de registros apagados."
+    )
+    @ApiResponses(
+        value = {
+            @ApiResponse(responseCode = "200", description = "Registros apagados. Verifique o campo `afetados`."),
+            @ApiResponse(responseCode = "400", description = "Nenhum filtro informado.")
+        }
+    )
+    public ResultadoMassa destroyEmMassa(@RequestParam(required = false) List<Long> ids, @RequestParam(required = false) Long missao) {
+        return operacaoMassaService.removerResiduos(ids, missao);
+    }
+
+    @PatchMapping
+    @Operation(
+        summary = "Alterar resíduos plásticos em massa.",
+        description = "Move para a missão do corpo todos os resíduos plásticos com os `ids` informados e/ou da `missao`, com comandos por conjunto em uma única transação. Retorna a quantidade de registros alterados."
+    )
+    @ApiResponses(
+        value = {
+            @ApiResponse(responseCode = "200", description = "Registros alterados. Verifique o campo `afetados`."),
+            @ApiResponse(responseCode = "400", description = "Nenhum filtro ou campo informado, ou dados inválidos."),
+            @ApiResponse(responseCode = "404", description = "O destino informado no corpo não existe.")
+        }
+    )
+    public ResultadoMassa updateEmMassa(@RequestParam(required = false) List<Long> ids, @RequestParam(required = false) Long missao,
+            @Valid @RequestBody AlteracaoResiduos alteracao) {
+        return operacaoMassaService.alterarResiduos(ids, missao, alteracao);
+    }
+
     @DeleteMapping("{id_residuo}")
     @ResponseStatus(NO_CONTENT)
     @Operation(
@@ -135,8 +379,11 @@ public class ResiduoController {
     public ResponseEntity<EntityModel<ResiduoPlastico>> update(@PathVariable Long id_residuo, @Valid @RequestBody ResiduoPlastico residuo) {
         log.info("Atualizando resíduo plástico {} para {}", id_residuo, residuo);
 
-        verificarSeResiduoExiste(id_residuo);
+        ResiduoPlastico atual = buscarResiduo(id_residuo);
         residuo.setId_residuo(id_residuo);
+        // as colunas não são atualizáveis; a resposta mostra o que ficou gravado
+        residuo.setDetectadoEm(atual.getDetectadoEm());
+        residuo.setParticao(atual.getParticao());
 
         ResiduoPlastico updatedResiduo = residuoPlasticoRepository.save(residuo);
         EntityModel<ResiduoPlastico> residuoModel = EntityModel.of(updatedResiduo);
@@ -144,9 +391,9 @@ public class ResiduoController {
         return ResponseEntity.ok(residuoModel);
     }
 
-    private void verificarSeResiduoExiste(Long id_residuo) {
-        if (!residuoPlasticoRepository.existsById(id_residuo)) {
-            throw new ResponseStatusException(NOT_FOUND, "Não existe resíduo plástico com o id informado");
-        }
+    private ResiduoPlastico buscarResiduo(Long id_residuo) {
+        return residuoPlasticoRepository.findById(id_residuo).orElseThrow(
+            () -> new ResponseStatusException(NOT_FOUND, "Não existe resíduo plástico com o id informado")
+        );
     }
 }
@@ -0,0 +1,160 @@
+package fiap.com.br.Ocean.Clean.AI.Controller;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.HttpStatus.NO_CONTENT;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import fiap.com.br.Ocean.Clean.AI.Dto.ResiduoLocalizado;
+import fiap.com.br.Ocean.Clean.AI.Dto.ZonaPonto;
+import fiap.com.br.Ocean.Clean.AI.Models.Zona;
+import fiap.com.br.Ocean.Clean.AI.Repository.ResiduoPlasticoRepository;
+import fiap.com.br.Ocean.Clean.AI.Service.ZonaService;
+import io.micrometer.core.annotation.Timed;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("zonas")
+@Slf4j
+@Timed("ocean.controller")
+@Tag(name = "zonas")
+public class ZonaController {
+
+    @Autowired
+    private ZonaService zonaService;
+
+    @Autowired
+    private ResiduoPlasticoRepository residuoPlasticoRepository;
+
+    @GetMapping("{id_zona}")
+    public EntityModel<Zona> show(@PathVariable Long id_zona) {
+        return EntityModel.of(zonaService.buscar(id_zona),
+            linkTo(methodOn(ZonaController.class).show(id_zona)).withSelfRel(),
+            linkTo(methodOn(ZonaController.class).residuos(id_zona, null, PaginacaoKeyset.TAMANHO_PADRAO)).withRel("residuos"),
+            linkTo(ZonaController.class).withRel("contents"));
+    }
+
+    @GetMapping
+    @Operation(
+        summary = "Listar todas as zonas.",
+        description = "Retorna todas as zonas de operação com seus polígonos."
+    )
+    public CollectionModel<EntityModel<Zona>> index() {
+        List<EntityModel<Zona>> zonas = zonaService.listar().stream()
+            .map(zona -> EntityModel.of(zona, linkTo(methodOn(ZonaController.class).show(zona.getId_zona())).withSelfRel()))
+            .collect(Collectors.toList());
+        return CollectionModel.of(zonas, linkTo(methodOn(ZonaController.class).index()).withSelfRel());
+    }
+
+    @GetMapping("classificar")
+    @Operation(
+        summary = "Consultar a zona de um ponto.",
+        description = "Retorna a zona que contém as coordenadas informadas, consultando a R-tree de zonas em memória. Entre zonas sobrepostas vale a de menor área. Fora de qualquer zona, os campos da zona vêm nulos."
+    )
+    public ZonaPonto classificar(@RequestParam int x, @RequestParam int y) {
+        return zonaService.classificar(x, y);
+    }
+
+    @GetMapping("{id_zona}/residuos")
+    @Operation(
+        summary = "Listar os resíduos plásticos de uma zona.",
+        description = "Retorna uma página dos resíduos plásticos classificados na zona, ordenados pelo id, a partir do cursor `apos`, com link `next` para a página seguinte."
+    )
+    public ResponseEntity<CollectionModel<ResiduoLocalizado>> residuos(@PathVariable Long id_zona,
+            @RequestParam(required = false) Long apos,
+            @RequestParam(defaultValue = "" + PaginacaoKeyset.TAMANHO_PADRAO) int tamanho) {
+        zonaService.buscar(id_zona);
+        tamanho = PaginacaoKeyset.tamanho(tamanho);
+        List<ResiduoLocalizado> pagina = residuoPlasticoRepository.findLocalizacoesDaZonaApos(id_zona,
+            PaginacaoKeyset.inicio(apos), PaginacaoKeyset.limite(tamanho));
+        boolean temProxima = PaginacaoKeyset.temProxima(pagina, tamanho);
+
+        CollectionModel<ResiduoLocalizado> colecao = CollectionModel.of(pagina,
+            linkTo(methodOn(ZonaController.class).residuos(id_zona, apos, tamanho)).withSelfRel().expand());
+        if (temProxima) {
+            Long ultimo = pagina.get(pagina.size() - 1).id_residuo();
+            colecao.add(linkTo(methodOn(ZonaController.class).residuos(id_zona, ultimo, tamanho)).withRel(IanaLinkRelations.NEXT));
+        }
+        return ResponseEntity.ok(colecao);
+    }
+
+    @PostMapping
+    @ResponseStatus(CREATED)
+    @Operation(
+        summary = "Cadastrar uma nova zona.",
+        description = "Cria uma zona poligonal e reclassifica os resíduos plásticos e drones que ficam dentro dela."
+    )
+    @ApiResponses(
+        value = {
+            @ApiResponse(responseCode = "201", description = "Zona cadastrada com sucesso."),
+            @ApiResponse(responseCode = "400", description = "Dados enviados são inválidos ou o polígono não tem área.")
+        }
+    )
+    public ResponseEntity<EntityModel<Zona>> register(@RequestBody @Valid Zona zona) {
+        log.info("Cadastrando a zona {}", zona.getNome());
+        zona.setId_zona(null);
+        Zona salva = zonaService.salvar(zona);
+        EntityModel<Zona> zonaModel = EntityModel.of(salva);
+        zonaModel.add(linkTo(methodOn(ZonaController.class).show(salva.getId_zona())).withSelfRel());
+        return ResponseEntity.created(zonaModel.getRequiredLink(IanaLinkRelations.SELF).toUri()).body(zonaModel);
+    }
+
+    @PutMapping("{id_zona}")
+    @Operation(
+        summary = "Atualizar uma zona pelo ID.",
+        description = "Substitui os dados e o polígono da zona e reclassifica os resíduos plásticos e drones das áreas antiga e nova."
+    )
+    @ApiResponses(
+        value = {
+            @ApiResponse(responseCode = "200", description = "Zona alterada com sucesso."),
+            @ApiResponse(responseCode = "400", description = "Dados enviados são inválidos ou o polígono não tem área."),
+            @ApiResponse(responseCode = "404", description = "Não existe zona com o `id` informado.")
+        }
+    )
+    public EntityModel<Zona> update(@PathVariable Long id_zona, @RequestBody @Valid Zona zona) {
+        log.info("Atualizando a zona {}", id_zona);
+        zona.setId_zona(id_zona);
+        Zona salva = zonaService.salvar(zona);
+        return EntityModel.of(salva, linkTo(methodOn(ZonaController.class).show(id_zona)).withSelfRel());
+    }
+
+    @DeleteMapping("{id_zona}")
+    @ResponseStatus(NO_CONTENT)
+    @Operation(
+        summary = "Deletar uma zona pelo ID.",
+        description = "Remove a zona e reclassifica os resíduos plásticos e drones que estavam nela."
+    )
+    @ApiResponses(
+        value = {
+            @ApiResponse(responseCode = "204", description = "Zona apagada com sucesso."),
+            @ApiResponse(responseCode = "404", description = "Não existe zona com o `id` informado.")
+        }
+    )
+    public void destroy(@PathVariable Long id_zona) {
+        zonaService.remover(id_zona);
+    }
+}
@@ -0,0 +1,7 @@
+package fiap.com.br.Ocean.Clean.AI.Dto;
+
+import java.util.List;
+
+public record AgrupamentoResiduos(int residuos, int agrupamentos, int ruido, boolean missoesCriadas,
+        long leituraMs, long agrupamentoMs, long gravacaoMs, long residuosPorSegundo, List<FocoResiduos> focos) {
+}
@@ -0,0 +1,17 @@
+package fiap.com.br.Ocean.Clean.AI.Dto;
+
+import java.time.Instant;
+
+/**
+ * Dois drones mais próximos que a distância de segurança. {@code id_drone}
+ * é sempre o menor dos dois ids; {@code risco} é {@code COLISAO} abaixo da
+ * distância de colisão e {@code PROXIMIDADE} acima dela; {@code desde} é a
+ * primeira verificação em que o par apareceu sem interrupção.
+ */
+public record AlertaProximidade(
+    Long id_drone,
+    Long id_drone_proximo,
+    double distancia,
+    String risco,
+    Instant desde) {
+}
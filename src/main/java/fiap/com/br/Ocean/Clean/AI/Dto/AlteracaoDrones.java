@@ -0,0 +1,17 @@
+package fiap.com.br.Ocean.Clean.AI.Dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+/**
+ * Campos a alterar em vários drones de uma vez; campos nulos ficam como estão.
+ */
+public record AlteracaoDrones(
+    Long id_operador,
+    @Min(0) @Max(100) Integer nivelBateria,
+    @Min(0) Integer residuosColetados) {
+
+    public boolean vazia() {
+        return id_operador == null && nivelBateria == null && residuosColetados == null;
+    }
+}
@@ -0,0 +1,6 @@
+package fiap.com.br.Ocean.Clean.AI.Dto;
+
+import jakarta.validation.constraints.NotNull;
+
+public record AlteracaoMissoes(@NotNull Long id_operador) {
+}
@@ -0,0 +1,6 @@
+package fiap.com.br.Ocean.Clean.AI.Dto;
+
+import jakarta.validation.constraints.NotNull;
+
+public record AlteracaoResiduos(@NotNull Long id_missao) {
+}
@@ -0,0 +1,18 @@
+package fiap.com.br.Ocean.Clean.AI.Dto;
+
+/**
+ * Situação de um drone no despacho. {@code id_residuo}, {@code alvoX} e
+ * {@code alvoY} são nulos fora de rota; {@code bateriaPrevista} é a bateria
+ * estimada ao voltar à base.
+ */
+public record DespachoDrone(
+    Long id_drone,
+    String situacao,
+    int coordenadaX,
+    int coordenadaY,
+    int nivelBateria,
+    int bateriaPrevista,
+    Long id_residuo,
+    Integer alvoX,
+    Integer alvoY) {
+}
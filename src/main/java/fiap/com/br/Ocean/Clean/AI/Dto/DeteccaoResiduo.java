@@ -0,0 +1,6 @@
+package fiap.com.br.Ocean.Clean.AI.Dto;
+
+import java.time.Instant;
+
+public record DeteccaoResiduo(Long id_residuo, int coordenadaX, int coordenadaY, Instant detectadoEm) {
+}
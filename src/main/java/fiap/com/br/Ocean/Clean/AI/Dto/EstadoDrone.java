@@ -0,0 +1,31 @@
+package fiap.com.br.Ocean.Clean.AI.Dto;
+
+import fiap.com.br.Ocean.Clean.AI.Models.Drone;
+
+public record EstadoDrone(
+    Long id_drone,
+    String nome,
+    int coordenadaX,
+    int coordenadaY,
+    int nivelBateria,
+    int residuosColetados,
+    Long id_operador) {
+
+    public static EstadoDrone de(Drone drone) {
+        Long id_operador = drone.getOperador() != null ? drone.getOperador().getId_operador() : null;
+        return new EstadoDrone(drone.getId_drone(), drone.getNome(), drone.getCoordenadaX(), drone.getCoordenadaY(),
+            drone.getNivelBateria(), drone.getResiduosColetados(), id_operador);
+    }
+
+    public EstadoDrone comTelemetria(TelemetriaDrone telemetria) {
+        return new EstadoDrone(id_drone, nome, telemetria.coordenadaX(), telemetria.coordenadaY(),
+            telemetria.nivelBateria(), residuosColetados, id_operador);
+    }
+
+    public EstadoDrone comAlteracao(AlteracaoDrones alteracao) {
+        return new EstadoDrone(id_drone, nome, coordenadaX, coordenadaY,
+            alteracao.nivelBateria() != null ? alteracao.nivelBateria() : nivelBateria,
+            alteracao.residuosColetados() != null ? alteracao.residuosColetados() : residuosColetados,
+            alteracao.id_operador() != null ? alteracao.id_operador() : id_operador);
+    }
+}
@@ -0,0 +1,6 @@
+package fiap.com.br.Ocean.Clean.AI.Dto;
+
+import java.util.List;
+
+public record FalhaLote(int indice, List<String> erros) {
+}
@@ -0,0 +1,14 @@
+package fiap.com.br.Ocean.Clean.AI.Dto;
+
+/**
+ * Um agrupamento encontrado pela detecção de focos. {@code id_missao} só vem
+ * preenchido quando a missão foi criada; {@code vinculados} conta os resíduos
+ * que ainda estavam sem missão no momento da gravação.
+ */
+public record FocoResiduos(Long id_missao, String nome, int residuos, int vinculados,
+        int centroX, int centroY, int minX, int minY, int maxX, int maxY) {
+
+    public FocoResiduos comMissao(Long id_missao, int vinculados) {
+        return new FocoResiduos(id_missao, nome, residuos, vinculados, centroX, centroY, minX, minY, maxX, maxY);
+    }
+}
@@ -0,0 +1,10 @@
+package fiap.com.br.Ocean.Clean.AI.Dto;
+
+import java.time.LocalDate;
+
+/**
+ * Contagem compactada de um dia em uma célula; a célula cobre de
+ * {@code minX,minY} até antes de {@code minX+tamanhoCelula,minY+tamanhoCelula}.
+ */
+public record HistoricoCelula(LocalDate dia, int minX, int minY, long quantidade) {
+}
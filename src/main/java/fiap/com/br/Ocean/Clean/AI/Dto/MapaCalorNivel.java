@@ -0,0 +1,9 @@
+package fiap.com.br.Ocean.Clean.AI.Dto;
+
+/**
+ * Um nível da pirâmide do mapa de calor. {@code celulas} vem por linha:
+ * a célula (coluna, linha) está em {@code celulas[linha * colunas + coluna]}.
+ */
+public record MapaCalorNivel(int nivel, int tamanhoCelula, int colunas, int linhas,
+        long total, int foraDaArea, int[] celulas) {
+}
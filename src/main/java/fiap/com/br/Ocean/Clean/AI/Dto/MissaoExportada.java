@@ -0,0 +1,4 @@
+package fiap.com.br.Ocean.Clean.AI.Dto;
+
+public record MissaoExportada(Long id_missao, String nome, Long id_operador) {
+}
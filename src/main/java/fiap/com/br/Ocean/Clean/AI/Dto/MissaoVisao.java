@@ -0,0 +1,20 @@
+package fiap.com.br.Ocean.Clean.AI.Dto;
+
+import java.util.List;
+
+import org.springframework.hateoas.server.core.Relation;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Relation(itemRelation = "missao", collectionRelation = "missaos")
+public record MissaoVisao(Long id_missao, String nome, Long id_operador, List<ResiduoLocalizado> residuosPlasticos) {
+
+    public MissaoVisao(Long id_missao, String nome, Long id_operador) {
+        this(id_missao, nome, id_operador, null);
+    }
+
+    public MissaoVisao comResiduos(List<ResiduoLocalizado> residuos) {
+        return new MissaoVisao(id_missao, nome, id_operador, residuos);
+    }
+}
@@ -0,0 +1,20 @@
+package fiap.com.br.Ocean.Clean.AI.Dto;
+
+import java.util.List;
+
+import org.springframework.hateoas.server.core.Relation;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Relation(itemRelation = "operador", collectionRelation = "operadors")
+public record OperadorVisao(Long id_operador, String nome, String email, List<MissaoVisao> missoes, List<EstadoDrone> drones) {
+
+    public OperadorVisao(Long id_operador, String nome, String email) {
+        this(id_operador, nome, email, null, null);
+    }
+
+    public OperadorVisao comFilhos(List<MissaoVisao> missoes, List<EstadoDrone> drones) {
+        return new OperadorVisao(id_operador, nome, email, missoes, drones);
+    }
+}
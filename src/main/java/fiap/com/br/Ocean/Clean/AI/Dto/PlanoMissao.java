@@ -0,0 +1,6 @@
+package fiap.com.br.Ocean.Clean.AI.Dto;
+
+import java.util.List;
+
+public record PlanoMissao(Long id_missao, int residuos, long duracaoMs, List<RotaDrone> rotas) {
+}
@@ -0,0 +1,13 @@
+package fiap.com.br.Ocean.Clean.AI.Dto;
+
+/**
+ * Parte do {@link EstadoDrone} que muda durante a operação, enviada no stream
+ * da frota.
+ */
+public record PosicaoDrone(Long id_drone, int coordenadaX, int coordenadaY, int nivelBateria, int residuosColetados) {
+
+    public static PosicaoDrone de(EstadoDrone estado) {
+        return new PosicaoDrone(estado.id_drone(), estado.coordenadaX(), estado.coordenadaY(),
+            estado.nivelBateria(), estado.residuosColetados());
+    }
+}
@@ -0,0 +1,4 @@
+package fiap.com.br.Ocean.Clean.AI.Dto;
+
+public record ResiduoExportado(Long id_residuo, int coordenadaX, int coordenadaY, Long id_missao) {
+}
@@ -0,0 +1,7 @@
+package fiap.com.br.Ocean.Clean.AI.Dto;
+
+import org.springframework.hateoas.server.core.Relation;
+
+@Relation(collectionRelation = "residuos")
+public record ResiduoLocalizado(Long id_residuo, int coordenadaX, int coordenadaY) {
+}
@@ -0,0 +1,19 @@
+package fiap.com.br.Ocean.Clean.AI.Dto;
+
+import java.time.Instant;
+
+import org.springframework.hateoas.server.core.Relation;
+
+/**
+ * Detalhe de um resíduo só com colunas próprias e o id da missão, seguro
+ * para ficar no cache: não referencia entidades gerenciadas.
+ */
+@Relation(itemRelation = "residuoPlastico", collectionRelation = "residuoPlasticoes")
+public record ResiduoVisao(
+    Long id_residuo,
+    int coordenadaX,
+    int coordenadaY,
+    Long id_missao,
+    Instant detectadoEm,
+    Long id_zona) {
+}
@@ -0,0 +1,6 @@
+package fiap.com.br.Ocean.Clean.AI.Dto;
+
+import java.util.List;
+
+public record ResultadoLote(int recebidos, int inseridos, List<FalhaLote> falhas) {
+}
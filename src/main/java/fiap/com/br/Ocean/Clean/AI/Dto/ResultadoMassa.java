@@ -0,0 +1,4 @@
+package fiap.com.br.Ocean.Clean.AI.Dto;
+
+public record ResultadoMassa(int afetados) {
+}
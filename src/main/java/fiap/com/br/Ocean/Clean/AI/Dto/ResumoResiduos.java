@@ -0,0 +1,17 @@
+package fiap.com.br.Ocean.Clean.AI.Dto;
+
+/**
+ * Quantidade, caixa envolvente e centróide de um conjunto de resíduos.
+ * {@code id_missao} é nulo no resumo geral e no grupo dos resíduos sem
+ * missão; limites e centróide são nulos quando não há resíduos.
+ */
+public record ResumoResiduos(
+    Long id_missao,
+    long residuos,
+    Integer minX,
+    Integer minY,
+    Integer maxX,
+    Integer maxY,
+    Integer centroX,
+    Integer centroY) {
+}
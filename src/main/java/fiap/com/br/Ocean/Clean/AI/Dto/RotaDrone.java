@@ -0,0 +1,4 @@
+package fiap.com.br.Ocean.Clean.AI.Dto;
+
+public record RotaDrone(Long id_drone, int nivelBateria, double distancia, long[] residuos) {
+}
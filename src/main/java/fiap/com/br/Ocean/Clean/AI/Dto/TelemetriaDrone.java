@@ -0,0 +1,10 @@
+package fiap.com.br.Ocean.Clean.AI.Dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+public record TelemetriaDrone(
+    @Min(0) int coordenadaX,
+    @Min(0) int coordenadaY,
+    @Min(0) @Max(100) int nivelBateria) {
+}
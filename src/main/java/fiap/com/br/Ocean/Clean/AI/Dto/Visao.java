@@ -0,0 +1,20 @@
+package fiap.com.br.Ocean.Clean.AI.Dto;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+import java.util.Locale;
+
+import org.springframework.web.server.ResponseStatusException;
+
+public enum Visao {
+    RASA,
+    COMPLETA;
+
+    public static Visao de(String valor) {
+        try {
+            return valueOf(valor.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(BAD_REQUEST, "Visão inválida: " + valor + ". Use rasa ou completa");
+        }
+    }
+}
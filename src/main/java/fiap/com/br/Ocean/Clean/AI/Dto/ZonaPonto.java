@@ -0,0 +1,9 @@
+package fiap.com.br.Ocean.Clean.AI.Dto;
+
+import fiap.com.br.Ocean.Clean.AI.Models.TipoZona;
+
+/**
+ * Zona em que está um ponto; sem zona, os campos da zona vêm nulos.
+ */
+public record ZonaPonto(int coordenadaX, int coordenadaY, Long id_zona, String nome, TipoZona tipo) {
+}
@@ -0,0 +1,208 @@
+package fiap.com.br.Ocean.Clean.AI.Idempotencia;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import fiap.com.br.Ocean.Clean.AI.Idempotencia.RespostasIdempotentes.Resposta;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Chave de idempotência opcional nas criações. O cliente que repete um
+ * {@code POST} com o mesmo {@value #CABECALHO} recebe a resposta original,
+ * com {@value #CABECALHO_REPETIDA}, sem criar outro registro. Só respostas
+ * 2xx ficam guardadas; em erro a chave é liberada para uma nova tentativa.
+ * A mesma chave com outro corpo é rejeitada com 422 e, enquanto a primeira
+ * tentativa não termina, as repetições recebem 409.
+ */
+@Slf4j
+public class IdempotenciaFiltro extends OncePerRequestFilter {
+
+    public static final String CABECALHO = "Idempotency-Key";
+    public static final String CABECALHO_REPETIDA = "Idempotency-Replayed";
+
+    private static final int TAMANHO_MAXIMO_CHAVE = 255;
+
+    private final RespostasIdempotentes respostas;
+    private final Counter novas;
+    private final Counter repetidas;
+    private final Counter emAndamento;
+    private final Counter divergentes;
+
+    public IdempotenciaFiltro(RespostasIdempotentes respostas, MeterRegistry meterRegistry) {
+        this.respostas = respostas;
+        this.novas = contador(meterRegistry, "nova");
+        this.repetidas = contador(meterRegistry, "repetida");
+        this.emAndamento = contador(meterRegistry, "em_andamento");
+        this.divergentes = contador(meterRegistry, "divergente");
+        Gauge.builder("ocean.idempotencia.chaves", respostas, RespostasIdempotentes::tamanho)
+            .description("Chaves de idempotência guardadas")
+            .register(meterRegistry);
+    }
+
+    private static Counter contador(MeterRegistry meterRegistry, String resultado) {
+        return Counter.builder("ocean.idempotencia.requisicoes")
+            .description("Criações com chave de idempotência, por resultado da consulta")
+            .tag("resultado", resultado)
+            .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || request.getHeader(CABECALHO) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String chaveCliente = request.getHeader(CABECALHO).trim();
+        if (chaveCliente.isEmpty() || chaveCliente.length() > TAMANHO_MAXIMO_CHAVE) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST,
+                "O cabeçalho " + CABECALHO + " deve ter de 1 a " + TAMANHO_MAXIMO_CHAVE + " caracteres");
+            return;
+        }
+        // a mesma chave em endpoints diferentes são operações diferentes
+        String chave = request.getRequestURI() + ' ' + chaveCliente;
+        byte[] corpo = request.getInputStream().readAllBytes();
+        byte[] resumo = resumir(corpo);
+
+        Resposta existente = respostas.reservar(chave, resumo);
+        if (existente != null) {
+            repetir(existente, resumo, response);
+            return;
+        }
+        novas.increment();
+        ContentCachingResponseWrapper resposta = new ContentCachingResponseWrapper(response);
+        boolean guardada = false;
+        try {
+            chain.doFilter(new CorpoLido(request, corpo), resposta);
+            int status = resposta.getStatus();
+            if (status >= 200 && status < 300) {
+                respostas.concluir(chave, new Resposta(status, resposta.getContentType(),
+                    resposta.getHeader(HttpHeaders.LOCATION), resposta.getContentAsByteArray(), resumo));
+                guardada = true;
+            }
+        } finally {
+            if (!guardada) {
+                respostas.liberar(chave);
+            }
+            resposta.copyBodyToResponse();
+        }
+    }
+
+    private void repetir(Resposta existente, byte[] resumo, HttpServletResponse response) throws IOException {
+        if (!Arrays.equals(existente.resumoRequisicao(), resumo)) {
+            divergentes.increment();
+            response.sendError(422, "A chave de idempotência já foi usada com outro corpo de requisição");
+        } else if (existente.emAndamento()) {
+            emAndamento.increment();
+            response.sendError(HttpServletResponse.SC_CONFLICT, "Requisição com a mesma chave de idempotência ainda em andamento");
+        } else {
+            repetidas.increment();
+            log.debug("Repetindo a resposta guardada para a chave de idempotência");
+            response.setStatus(existente.status());
+            if (existente.contentType() != null) {
+                response.setContentType(existente.contentType());
+            }
+            if (existente.location() != null) {
+                response.setHeader(HttpHeaders.LOCATION, existente.location());
+            }
+            response.setHeader(CABECALHO_REPETIDA, "true");
+            response.setContentLength(existente.corpo().length);
+            response.getOutputStream().write(existente.corpo());
+        }
+    }
+
+    private static byte[] resumir(byte[] corpo) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(corpo);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Entrega ao controller o corpo já lido para calcular o resumo. */
+    private static class CorpoLido extends HttpServletRequestWrapper {
+
+        private final byte[] corpo;
+
+        CorpoLido(HttpServletRequest request, byte[] corpo) {
+            super(request);
+            this.corpo = corpo;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream entrada = new ByteArrayInputStream(corpo);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return entrada.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return entrada.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return entrada.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // o corpo já está todo em memória: pronto para ler e já no fim
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return corpo.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return corpo.length;
+        }
+    }
+}
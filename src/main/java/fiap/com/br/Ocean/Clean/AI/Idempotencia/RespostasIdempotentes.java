@@ -0,0 +1,79 @@
+package fiap.com.br.Ocean.Clean.AI.Idempotencia;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Respostas de criações já atendidas, por chave de idempotência, em memória.
+ * Limitado em quantidade de chaves e com validade desde a gravação; a chave
+ * é reservada antes de executar a requisição para que duas tentativas
+ * simultâneas não criem dois registros. As reservas ficam fora do cache, onde
+ * o limite ou a validade poderiam descartá-las com a requisição em curso; o
+ * tamanho delas é o de requisições simultâneas.
+ */
+public class RespostasIdempotentes {
+
+    /**
+     * Resposta guardada. {@code status} zero marca uma requisição ainda em
+     * andamento, sem corpo nem cabeçalhos.
+     */
+    public record Resposta(int status, String contentType, String location, byte[] corpo, byte[] resumoRequisicao) {
+
+        boolean emAndamento() {
+            return status == 0;
+        }
+    }
+
+    private final Cache<String, Resposta> respostas;
+    private final Map<String, Resposta> reservas = new ConcurrentHashMap<>();
+
+    public RespostasIdempotentes(long maximoChaves, long validadeMs) {
+        this.respostas = Caffeine.newBuilder()
+            .maximumSize(maximoChaves)
+            .expireAfterWrite(validadeMs, TimeUnit.MILLISECONDS)
+            .build();
+    }
+
+    /**
+     * Reserva a chave para uma nova execução.
+     *
+     * @return {@code null} se a chave foi reservada, ou a resposta (ou a
+     *         marca de andamento) já existente
+     */
+    public Resposta reservar(String chave, byte[] resumoRequisicao) {
+        Resposta guardada = respostas.getIfPresent(chave);
+        if (guardada != null) {
+            return guardada;
+        }
+        Resposta reserva = new Resposta(0, null, null, null, resumoRequisicao);
+        Resposta anterior = reservas.putIfAbsent(chave, reserva);
+        if (anterior != null) {
+            return anterior;
+        }
+        // concluída entre a consulta e a reserva: concluir() guarda antes de soltar a reserva
+        guardada = respostas.getIfPresent(chave);
+        if (guardada != null) {
+            reservas.remove(chave, reserva);
+            return guardada;
+        }
+        return null;
+    }
+
+    public void concluir(String chave, Resposta resposta) {
+        respostas.put(chave, resposta);
+        reservas.remove(chave);
+    }
+
+    /** Libera a chave para que o cliente possa tentar de novo. */
+    public void liberar(String chave) {
+        reservas.remove(chave);
+    }
+
+    public long tamanho() {
+        return respostas.estimatedSize() + reservas.size();
+    }
+}
@@ -0,0 +1,390 @@
+package fiap.com.br.Ocean.Clean.AI.Index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+import org.springframework.stereotype.Component;
+
+import fiap.com.br.Ocean.Clean.AI.Dto.ResiduoExportado;
+
+/**
+ * Cópia em colunas de id, posição e missão de cada resíduo plástico, para
+ * agregações sem carregar entidades: quatro vetores primitivos, 24 bytes por
+ * resíduo. As linhas ficam ordenadas pelo id, que o banco gera crescente,
+ * então a inclusão é quase sempre no fim e a busca por id é binária. Um
+ * resíduo removido vira lápide ({@link #REMOVIDO} na coluna de missão) até a
+ * próxima compactação.
+ * <p>
+ * Mantida em sincronia pelo
+ * {@link fiap.com.br.Ocean.Clean.AI.Listener.ResiduoPlasticoListener} e pela
+ * {@link fiap.com.br.Ocean.Clean.AI.Listener.AlteracaoEmMassa}. As varreduras
+ * dividem as linhas em blocos processados em paralelo sob o lock de leitura.
+ */
+@Component
+public class ColunasResiduos {
+
+    /** Missão dos resíduos sem missão. */
+    public static final long SEM_MISSAO = 0;
+
+    /** Filtro de missão que aceita qualquer uma, inclusive nenhuma. */
+    public static final long QUALQUER_MISSAO = -1;
+
+    private static final long REMOVIDO = Long.MIN_VALUE;
+    private static final int TAMANHO_BLOCO = 1 << 16;
+    private static final int CAPACIDADE_INICIAL = 1024;
+
+    /**
+     * Limites inclusivos; {@code missao} pode ser {@link #SEM_MISSAO} ou
+     * {@link #QUALQUER_MISSAO}.
+     */
+    public record Filtro(long missao, int minX, int minY, int maxX, int maxY) {
+
+        public static Filtro todos() {
+            return new Filtro(QUALQUER_MISSAO, Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Quantidade, caixa envolvente e soma das coordenadas dos resíduos
+     * agregados.
+     */
+    public static final class Agregado {
+
+        private long quantidade;
+        private int minX = Integer.MAX_VALUE;
+        private int minY = Integer.MAX_VALUE;
+        private int maxX = Integer.MIN_VALUE;
+        private int maxY = Integer.MIN_VALUE;
+        private long somaX;
+        private long somaY;
+
+        private void somar(int x, int y) {
+            quantidade++;
+            minX = Math.min(minX, x);
+            minY = Math.min(minY, y);
+            maxX = Math.max(maxX, x);
+            maxY = Math.max(maxY, y);
+            somaX += x;
+            somaY += y;
+        }
+
+        private Agregado juntar(Agregado outro) {
+            quantidade += outro.quantidade;
+            minX = Math.min(minX, outro.minX);
+            minY = Math.min(minY, outro.minY);
+            maxX = Math.max(maxX, outro.maxX);
+            maxY = Math.max(maxY, outro.maxY);
+            somaX += outro.somaX;
+            somaY += outro.somaY;
+            return this;
+        }
+
+        public long getQuantidade() {
+            return quantidade;
+        }
+
+        public int getMinX() {
+            return minX;
+        }
+
+        public int getMinY() {
+            return minY;
+        }
+
+        public int getMaxX() {
+            return maxX;
+        }
+
+        public int getMaxY() {
+            return maxY;
+        }
+
+        public int getCentroX() {
+            return (int) (somaX / quantidade);
+        }
+
+        public int getCentroY() {
+            return (int) (somaY / quantidade);
+        }
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] ids = new long[CAPACIDADE_INICIAL];
+    private int[] xs = new int[CAPACIDADE_INICIAL];
+    private int[] ys = new int[CAPACIDADE_INICIAL];
+    private long[] missoes = new long[CAPACIDADE_INICIAL];
+    // linhas ocupadas, inclusive lápides
+    private int linhas;
+    private int removidas;
+
+    // alterações recebidas durante uma carga, reaplicadas sobre o resultado dela
+    private List<Runnable> pendentes;
+
+    /**
+     * Troca o conteúdo pelos resíduos lidos, que devem vir ordenados pelo id.
+     * Alterações que chegam durante a leitura são reaplicadas ao final, então
+     * a carga pode correr junto com os listeners.
+     */
+    public void carregar(Iterator<ResiduoExportado> residuos) {
+        lock.writeLock().lock();
+        try {
+            pendentes = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        int n = 0;
+        long[] cIds = new long[CAPACIDADE_INICIAL];
+        int[] cXs = new int[CAPACIDADE_INICIAL];
+        int[] cYs = new int[CAPACIDADE_INICIAL];
+        long[] cMissoes = new long[CAPACIDADE_INICIAL];
+        try {
+            while (residuos.hasNext()) {
+                ResiduoExportado residuo = residuos.next();
+                if (n == cIds.length) {
+                    int capacidade = crescer(n);
+                    cIds = Arrays.copyOf(cIds, capacidade);
+                    cXs = Arrays.copyOf(cXs, capacidade);
+                    cYs = Arrays.copyOf(cYs, capacidade);
+                    cMissoes = Arrays.copyOf(cMissoes, capacidade);
+                }
+                cIds[n] = residuo.id_residuo();
+                cXs[n] = residuo.coordenadaX();
+                cYs[n] = residuo.coordenadaY();
+                cMissoes[n] = residuo.id_missao() != null ? residuo.id_missao() : SEM_MISSAO;
+                n++;
+            }
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendentes = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            ids = cIds;
+            xs = cXs;
+            ys = cYs;
+            missoes = cMissoes;
+            linhas = n;
+            removidas = 0;
+            List<Runnable> alteracoes = pendentes;
+            pendentes = null;
+            alteracoes.forEach(Runnable::run);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void gravar(long id, int x, int y, long missao) {
+        alterar(() -> gravarLinha(id, x, y, missao));
+    }
+
+    public void remover(long id) {
+        alterar(() -> removerLinha(id));
+    }
+
+    public void remover(Collection<Long> residuos) {
+        alterar(() -> residuos.forEach(this::removerLinha));
+    }
+
+    /**
+     * @param soSemMissao só vincula os resíduos que ainda não têm missão
+     */
+    public void vincular(Collection<Long> residuos, long missao, boolean soSemMissao) {
+        alterar(() -> {
+            for (long id : residuos) {
+                int linha = buscar(id);
+                if (linha >= 0 && missoes[linha] != REMOVIDO && (!soSemMissao || missoes[linha] == SEM_MISSAO)) {
+                    missoes[linha] = missao;
+                }
+            }
+        });
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return linhas - removidas;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Memória ocupada pelas colunas, inclusive a folga de capacidade.
+     */
+    public long bytes() {
+        lock.readLock().lock();
+        try {
+            return (long) ids.length * (Long.BYTES + Integer.BYTES + Integer.BYTES + Long.BYTES);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Agregado resumir(Filtro filtro) {
+        lock.readLock().lock();
+        try {
+            // cada bloco tem o próprio agregado, que pode ser alterado na junção
+            return blocos().mapToObj(bloco -> resumirBloco(filtro, bloco))
+                .reduce(Agregado::juntar).orElseGet(Agregado::new);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Agregado por missão dos resíduos que passam no filtro; os sem missão
+     * ficam na chave {@link #SEM_MISSAO}.
+     */
+    public Map<Long, Agregado> porMissao(Filtro filtro) {
+        lock.readLock().lock();
+        try {
+            return blocos().mapToObj(bloco -> agruparBloco(filtro, bloco))
+                .reduce((total, parcial) -> {
+                    parcial.forEach((missao, agregado) -> total.merge(missao, agregado, Agregado::juntar));
+                    return total;
+                }).orElseGet(HashMap::new);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private IntStream blocos() {
+        return IntStream.range(0, (linhas + TAMANHO_BLOCO - 1) / TAMANHO_BLOCO).parallel();
+    }
+
+    private Agregado resumirBloco(Filtro filtro, int bloco) {
+        Agregado agregado = new Agregado();
+        int fim = Math.min(linhas, (bloco + 1) * TAMANHO_BLOCO);
+        for (int i = bloco * TAMANHO_BLOCO; i < fim; i++) {
+            if (aceita(filtro, i)) {
+                agregado.somar(xs[i], ys[i]);
+            }
+        }
+        return agregado;
+    }
+
+    private Map<Long, Agregado> agruparBloco(Filtro filtro, int bloco) {
+        Map<Long, Agregado> grupos = new HashMap<>();
+        // resíduos de uma missão costumam ter ids próximos: evita o boxing e a busca no mapa
+        long missaoAtual = REMOVIDO;
+        Agregado atual = null;
+        int fim = Math.min(linhas, (bloco + 1) * TAMANHO_BLOCO);
+        for (int i = bloco * TAMANHO_BLOCO; i < fim; i++) {
+            if (!aceita(filtro, i)) {
+                continue;
+            }
+            if (missoes[i] != missaoAtual) {
+                missaoAtual = missoes[i];
+                atual = grupos.computeIfAbsent(missaoAtual, missao -> new Agregado());
+            }
+            atual.somar(xs[i], ys[i]);
+        }
+        return grupos;
+    }
+
+    private boolean aceita(Filtro filtro, int i) {
+        long missao = missoes[i];
+        return missao != REMOVIDO
+            && (filtro.missao() == QUALQUER_MISSAO || missao == filtro.missao())
+            && xs[i] >= filtro.minX() && xs[i] <= filtro.maxX()
+            && ys[i] >= filtro.minY() && ys[i] <= filtro.maxY();
+    }
+
+    private void alterar(Runnable alteracao) {
+        lock.writeLock().lock();
+        try {
+            alteracao.run();
+            if (pendentes != null) {
+                pendentes.add(alteracao);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void gravarLinha(long id, int x, int y, long missao) {
+        int linha = buscar(id);
+        if (linha < 0) {
+            linha = -linha - 1;
+            if (linhas == ids.length) {
+                int capacidade = crescer(linhas);
+                ids = Arrays.copyOf(ids, capacidade);
+                xs = Arrays.copyOf(xs, capacidade);
+                ys = Arrays.copyOf(ys, capacidade);
+                missoes = Arrays.copyOf(missoes, capacidade);
+            }
+            // fora de ordem só quando transações confirmam em ordem diferente da dos ids: desloca poucas linhas
+            int deslocadas = linhas - linha;
+            if (deslocadas > 0) {
+                System.arraycopy(ids, linha, ids, linha + 1, deslocadas);
+                System.arraycopy(xs, linha, xs, linha + 1, deslocadas);
+                System.arraycopy(ys, linha, ys, linha + 1, deslocadas);
+                System.arraycopy(missoes, linha, missoes, linha + 1, deslocadas);
+            }
+            linhas++;
+            ids[linha] = id;
+        } else if (missoes[linha] == REMOVIDO) {
+            removidas--;
+        }
+        xs[linha] = x;
+        ys[linha] = y;
+        missoes[linha] = missao;
+    }
+
+    private void removerLinha(long id) {
+        int linha = buscar(id);
+        if (linha < 0 || missoes[linha] == REMOVIDO) {
+            return;
+        }
+        missoes[linha] = REMOVIDO;
+        if (++removidas > CAPACIDADE_INICIAL && removidas > linhas / 4) {
+            compactar();
+        }
+    }
+
+    private void compactar() {
+        int destino = 0;
+        for (int i = 0; i < linhas; i++) {
+            if (missoes[i] != REMOVIDO) {
+                ids[destino] = ids[i];
+                xs[destino] = xs[i];
+                ys[destino] = ys[i];
+                missoes[destino] = missoes[i];
+                destino++;
+            }
+        }
+        linhas = destino;
+        removidas = 0;
+    }
+
+    /**
+     * @return a linha do id ou {@code -(ponto de inserção) - 1}
+     */
+    private int buscar(long id) {
+        // o caso comum, gravar o resíduo mais novo, não precisa de busca
+        if (linhas == 0 || ids[linhas - 1] < id) {
+            return -linhas - 1;
+        }
+        return Arrays.binarySearch(ids, 0, linhas, id);
+    }
+
+    private static int crescer(int capacidade) {
+        return capacidade + Math.max(CAPACIDADE_INICIAL, capacidade >> 1);
+    }
+}
@@ -0,0 +1,141 @@
+package fiap.com.br.Ocean.Clean.AI.Index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.UnaryOperator;
+
+import org.springframework.stereotype.Component;
+
+import fiap.com.br.Ocean.Clean.AI.Dto.EstadoDrone;
+import fiap.com.br.Ocean.Clean.AI.Dto.TelemetriaDrone;
+
+/**
+ * Último estado conhecido de cada drone como snapshot imutável. Leituras são
+ * um {@code get} no {@link ConcurrentHashMap}, sem lock; escritas trocam o
+ * snapshot inteiro de forma atômica.
+ */
+@Component
+public class EstadoFrota {
+
+    /**
+     * Avisado a cada troca de estado, na thread que fez a alteração.
+     * {@code anterior} é nulo para drones novos e {@code atual} para removidos.
+     */
+    @FunctionalInterface
+    public interface Ouvinte {
+        void alterado(EstadoDrone anterior, EstadoDrone atual);
+    }
+
+    private final ConcurrentHashMap<Long, EstadoDrone> estados = new ConcurrentHashMap<>();
+    private final List<Ouvinte> ouvintes = new CopyOnWriteArrayList<>();
+
+    public void adicionarOuvinte(Ouvinte ouvinte) {
+        ouvintes.add(ouvinte);
+    }
+
+    public Optional<EstadoDrone> buscar(Long id_drone) {
+        return Optional.ofNullable(estados.get(id_drone));
+    }
+
+    public Collection<EstadoDrone> todos() {
+        return estados.values();
+    }
+
+    public List<EstadoDrone> doOperador(Long id_operador) {
+        List<EstadoDrone> resultado = new ArrayList<>();
+        for (EstadoDrone estado : estados.values()) {
+            if (id_operador.equals(estado.id_operador())) {
+                resultado.add(estado);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Até {@code limite} drones com id maior que {@code apos}, em ordem de
+     * id. Percorre o mapa guardando só os {@code limite} menores ids.
+     */
+    public List<EstadoDrone> paginaApos(long apos, int limite) {
+        Comparator<EstadoDrone> porId = Comparator.comparingLong(EstadoDrone::id_drone);
+        PriorityQueue<EstadoDrone> menores = new PriorityQueue<>(limite + 1, porId.reversed());
+        for (EstadoDrone estado : estados.values()) {
+            if (estado.id_drone() > apos) {
+                menores.add(estado);
+                if (menores.size() > limite) {
+                    menores.poll();
+                }
+            }
+        }
+        List<EstadoDrone> pagina = new ArrayList<>(menores);
+        pagina.sort(porId);
+        return pagina;
+    }
+
+    public int tamanho() {
+        return estados.size();
+    }
+
+    /**
+     * Só inclui drones ainda desconhecidos: um estado já presente veio de uma
+     * alteração mais nova que a carga.
+     */
+    public void carregar(EstadoDrone estado) {
+        if (estados.putIfAbsent(estado.id_drone(), estado) == null) {
+            avisar(null, estado);
+        }
+    }
+
+    public void atualizar(EstadoDrone estado) {
+        avisar(estados.put(estado.id_drone(), estado), estado);
+    }
+
+    /**
+     * Aplica a telemetria somente se o drone já é conhecido.
+     *
+     * @return o novo estado, ou vazio se o drone não existe
+     */
+    public Optional<EstadoDrone> aplicarTelemetria(Long id_drone, TelemetriaDrone telemetria) {
+        return alterar(id_drone, estado -> estado.comTelemetria(telemetria));
+    }
+
+    /**
+     * Troca atomicamente o estado de um drone já conhecido pelo resultado de
+     * {@code alteracao}.
+     *
+     * @return o novo estado, ou vazio se o drone não existe
+     */
+    public Optional<EstadoDrone> alterar(Long id_drone, UnaryOperator<EstadoDrone> alteracao) {
+        EstadoDrone[] anterior = new EstadoDrone[1];
+        EstadoDrone novo = estados.computeIfPresent(id_drone, (id, atual) -> {
+            anterior[0] = atual;
+            return alteracao.apply(atual);
+        });
+        if (novo != null) {
+            avisar(anterior[0], novo);
+        }
+        return Optional.ofNullable(novo);
+    }
+
+    public void remover(Long id_drone) {
+        EstadoDrone anterior = estados.remove(id_drone);
+        if (anterior != null) {
+            avisar(anterior, null);
+        }
+    }
+
+    public void limpar() {
+        estados.clear();
+    }
+
+    private void avisar(EstadoDrone anterior, EstadoDrone atual) {
+        for (Ouvinte ouvinte : ouvintes) {
+            ouvinte.alterado(anterior, atual);
+        }
+    }
+}
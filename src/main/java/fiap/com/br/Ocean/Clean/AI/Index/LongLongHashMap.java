@@ -0,0 +1,133 @@
+package fiap.com.br.Ocean.Clean.AI.Index;
+
+import java.util.Arrays;
+
+/**
+ * Mapa long -> long com endereçamento aberto, sem boxing. A chave 0 é reservada
+ * como marcador de posição livre, o que é seguro para ids gerados pelo banco.
+ */
+public class LongLongHashMap {
+
+    private static final long LIVRE = 0L;
+
+    private long[] chaves;
+    private long[] valores;
+    private int tamanho;
+    private int limite;
+
+    public LongLongHashMap() {
+        this(16);
+    }
+
+    public LongLongHashMap(int capacidadeInicial) {
+        int capacidade = Integer.highestOneBit(Math.max(4, capacidadeInicial * 2 - 1));
+        alocar(capacidade);
+    }
+
+    public int size() {
+        return tamanho;
+    }
+
+    public boolean containsKey(long chave) {
+        return indiceDe(chave) >= 0;
+    }
+
+    public long get(long chave, long valorPadrao) {
+        int i = indiceDe(chave);
+        return i >= 0 ? valores[i] : valorPadrao;
+    }
+
+    public void put(long chave, long valor) {
+        verificarChave(chave);
+        int mascara = chaves.length - 1;
+        int i = misturar(chave) & mascara;
+        while (chaves[i] != LIVRE) {
+            if (chaves[i] == chave) {
+                valores[i] = valor;
+                return;
+            }
+            i = (i + 1) & mascara;
+        }
+        chaves[i] = chave;
+        valores[i] = valor;
+        if (++tamanho > limite) {
+            redimensionar();
+        }
+    }
+
+    public boolean remove(long chave) {
+        int i = indiceDe(chave);
+        if (i < 0) {
+            return false;
+        }
+        int mascara = chaves.length - 1;
+        // remoção por deslocamento para trás, mantendo as sequências de sondagem intactas
+        int vazio = i;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mascara;
+            if (chaves[j] == LIVRE) {
+                break;
+            }
+            int ideal = misturar(chaves[j]) & mascara;
+            boolean mover = vazio <= j ? (ideal <= vazio || ideal > j) : (ideal <= vazio && ideal > j);
+            if (mover) {
+                chaves[vazio] = chaves[j];
+                valores[vazio] = valores[j];
+                vazio = j;
+            }
+        }
+        chaves[vazio] = LIVRE;
+        tamanho--;
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(chaves, LIVRE);
+        tamanho = 0;
+    }
+
+    private int indiceDe(long chave) {
+        if (chave == LIVRE) {
+            return -1;
+        }
+        int mascara = chaves.length - 1;
+        int i = misturar(chave) & mascara;
+        while (chaves[i] != LIVRE) {
+            if (chaves[i] == chave) {
+                return i;
+            }
+            i = (i + 1) & mascara;
+        }
+        return -1;
+    }
+
+    private void redimensionar() {
+        long[] chavesAntigas = chaves;
+        long[] valoresAntigos = valores;
+        alocar(chaves.length * 2);
+        tamanho = 0;
+        for (int i = 0; i < chavesAntigas.length; i++) {
+            if (chavesAntigas[i] != LIVRE) {
+                put(chavesAntigas[i], valoresAntigos[i]);
+            }
+        }
+    }
+
+    private void alocar(int capacidade) {
+        chaves = new long[capacidade];
+        valores = new long[capacidade];
+        limite = (int) (capacidade * 0.7f);
+    }
+
+    private static void verificarChave(long chave) {
+        if (chave == LIVRE) {
+            throw new IllegalArgumentException("A chave 0 é reservada");
+        }
+    }
+
+    private static int misturar(long chave) {
+        long h = chave * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,244 @@
+package fiap.com.br.Ocean.Clean.AI.Index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import fiap.com.br.Ocean.Clean.AI.Dto.MapaCalorNivel;
+
+/**
+ * Mapa de densidade de resíduos em pirâmide: o nível 0 conta os resíduos por
+ * célula e cada nível seguinte soma blocos 2x2 do anterior, até sobrar uma
+ * única célula. Cada alteração toca uma célula por nível, então o mapa nunca
+ * precisa reler a tabela depois de carregado.
+ * <p>
+ * Entre {@link #iniciarRecarga} e {@link #substituir} as alterações continuam
+ * valendo no mapa atual e ficam guardadas para serem reaplicadas na contagem
+ * nova, que pode ter sido lida antes delas.
+ */
+@Component
+public class MapaCalor {
+
+    private final int tamanhoCelula;
+    private final int largura;
+    private final int altura;
+    private final int[] colunas;
+    private final int[] linhas;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int[][] niveis;
+    private int foraDaArea;
+    /** Alterações ({@code x}, {@code y}, {@code delta}) desde o início da recarga; {@code null} fora dela. */
+    private List<int[]> pendentes;
+
+    public MapaCalor(
+            @Value("${ocean.heatmap.tamanho-celula:64}") int tamanhoCelula,
+            @Value("${ocean.heatmap.largura:65536}") int largura,
+            @Value("${ocean.heatmap.altura:65536}") int altura) {
+        if (tamanhoCelula <= 0 || largura <= 0 || altura <= 0) {
+            throw new IllegalArgumentException("Tamanho de célula e dimensões do mapa de calor devem ser positivos");
+        }
+        this.tamanhoCelula = tamanhoCelula;
+        this.largura = largura;
+        this.altura = altura;
+
+        List<int[]> dimensoes = new ArrayList<>();
+        int c = dividirArredondandoParaCima(largura, tamanhoCelula);
+        int l = dividirArredondandoParaCima(altura, tamanhoCelula);
+        dimensoes.add(new int[] { c, l });
+        while (c > 1 || l > 1) {
+            c = dividirArredondandoParaCima(c, 2);
+            l = dividirArredondandoParaCima(l, 2);
+            dimensoes.add(new int[] { c, l });
+        }
+        this.colunas = new int[dimensoes.size()];
+        this.linhas = new int[dimensoes.size()];
+        this.niveis = new int[dimensoes.size()][];
+        for (int n = 0; n < dimensoes.size(); n++) {
+            colunas[n] = dimensoes.get(n)[0];
+            linhas[n] = dimensoes.get(n)[1];
+            niveis[n] = new int[colunas[n] * linhas[n]];
+        }
+    }
+
+    public void adicionar(int x, int y) {
+        lock.writeLock().lock();
+        try {
+            registrar(x, y, 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(int x, int y) {
+        lock.writeLock().lock();
+        try {
+            registrar(x, y, -1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void mover(int xAnterior, int yAnterior, int x, int y) {
+        // mesma célula (ou fora da área nas duas posições): nada muda no mapa
+        if (indiceBase(xAnterior, yAnterior) == indiceBase(x, y)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            registrar(xAnterior, yAnterior, -1);
+            registrar(x, y, 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Começa a guardar as alterações que a contagem da recarga pode não ter visto. */
+    public void iniciarRecarga() {
+        lock.writeLock().lock();
+        try {
+            pendentes = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Troca o conteúdo inteiro do mapa por uma contagem feita fora dele e
+     * reaplica as alterações guardadas desde {@link #iniciarRecarga}. Os
+     * níveis superiores são montados antes de pegar o lock.
+     */
+    public void substituir(Contagem contagem) {
+        if (contagem.celulas.length != colunas[0] * linhas[0]) {
+            throw new IllegalArgumentException("Contagem com dimensões diferentes do mapa de calor");
+        }
+        int[][] novos = new int[niveis.length][];
+        novos[0] = contagem.celulas.clone();
+        for (int n = 1; n < novos.length; n++) {
+            novos[n] = new int[colunas[n] * linhas[n]];
+            int[] abaixo = novos[n - 1];
+            for (int j = 0; j < linhas[n - 1]; j++) {
+                int base = (j >> 1) * colunas[n];
+                for (int i = 0; i < colunas[n - 1]; i++) {
+                    novos[n][base + (i >> 1)] += abaixo[j * colunas[n - 1] + i];
+                }
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            niveis = novos;
+            foraDaArea = contagem.foraDaArea;
+            if (pendentes != null) {
+                for (int[] alteracao : pendentes) {
+                    alterar(alteracao[0], alteracao[1], alteracao[2]);
+                }
+                pendentes = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Contagem novaContagem() {
+        return new Contagem(this);
+    }
+
+    public int quantidadeNiveis() {
+        return niveis.length;
+    }
+
+    /**
+     * Primeiro nível cuja grade cabe em {@code ladoMaximo} x {@code ladoMaximo}.
+     */
+    public int nivelAte(int ladoMaximo) {
+        for (int n = 0; n < niveis.length; n++) {
+            if (colunas[n] <= ladoMaximo && linhas[n] <= ladoMaximo) {
+                return n;
+            }
+        }
+        return niveis.length - 1;
+    }
+
+    public MapaCalorNivel nivel(int n) {
+        if (n < 0 || n >= niveis.length) {
+            throw new IllegalArgumentException("Nível do mapa de calor deve estar entre 0 e " + (niveis.length - 1));
+        }
+        lock.readLock().lock();
+        try {
+            int[] topo = niveis[niveis.length - 1];
+            return new MapaCalorNivel(n, tamanhoCelula << n, colunas[n], linhas[n],
+                topo[0], foraDaArea, niveis[n].clone());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Índice da célula no nível 0, ou -1 se o ponto está fora da área do mapa. */
+    int indiceBase(int x, int y) {
+        if (x < 0 || y < 0 || x >= largura || y >= altura) {
+            return -1;
+        }
+        return (y / tamanhoCelula) * colunas[0] + x / tamanhoCelula;
+    }
+
+    private void registrar(int x, int y, int delta) {
+        alterar(x, y, delta);
+        if (pendentes != null) {
+            pendentes.add(new int[] { x, y, delta });
+        }
+    }
+
+    private void alterar(int x, int y, int delta) {
+        if (x < 0 || y < 0 || x >= largura || y >= altura) {
+            foraDaArea += delta;
+            return;
+        }
+        int cx = x / tamanhoCelula;
+        int cy = y / tamanhoCelula;
+        for (int n = 0; n < niveis.length; n++) {
+            niveis[n][cy * colunas[n] + cx] += delta;
+            cx >>= 1;
+            cy >>= 1;
+        }
+    }
+
+    private static int dividirArredondandoParaCima(int valor, int divisor) {
+        return (int) (((long) valor + divisor - 1) / divisor);
+    }
+
+    /**
+     * Contagem parcial do nível 0, usada na reconstrução a partir do banco.
+     * Não é thread-safe: cada partição usa a sua e depois elas são somadas.
+     */
+    public static final class Contagem {
+
+        private final MapaCalor mapa;
+        private final int[] celulas;
+        private int foraDaArea;
+
+        private Contagem(MapaCalor mapa) {
+            this.mapa = mapa;
+            this.celulas = new int[mapa.colunas[0] * mapa.linhas[0]];
+        }
+
+        public void contar(int x, int y) {
+            int indice = mapa.indiceBase(x, y);
+            if (indice < 0) {
+                foraDaArea++;
+            } else {
+                celulas[indice]++;
+            }
+        }
+
+        public void somar(Contagem outra) {
+            for (int i = 0; i < celulas.length; i++) {
+                celulas[i] += outra.celulas[i];
+            }
+            foraDaArea += outra.foraDaArea;
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package fiap.com.br.Ocean.Clean.AI.Index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import fiap.com.br.Ocean.Clean.AI.Dto.ResiduoLocalizado;
+
+/**
+ * Grade uniforme em memória com a posição de cada resíduo plástico. Mantida em
+ * sincronia pelo {@link fiap.com.br.Ocean.Clean.AI.Listener.ResiduoPlasticoListener}
+ * e usada para consultas de vizinhança sem ir ao banco.
+ * <p>
+ * A carga inicial ({@link #iniciarCarga}, {@link #carregar},
+ * {@link #concluirCarga}) convive com os listeners: o que eles gravam ou
+ * removem durante a carga vale mais que a leitura, que pode estar atrasada.
+ */
+@Component
+public class ResiduoSpatialIndex {
+
+    /** Retorno de {@link #indexar} e {@link #remover} quando o id não estava indexado. */
+    public static final long AUSENTE = Long.MIN_VALUE;
+
+    private final int tamanhoCelula;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Celula> celulas = new HashMap<>();
+    private final LongLongHashMap posicoes = new LongLongHashMap(1024);
+
+    private int minCelulaX = Integer.MAX_VALUE;
+    private int minCelulaY = Integer.MAX_VALUE;
+    private int maxCelulaX = Integer.MIN_VALUE;
+    private int maxCelulaY = Integer.MIN_VALUE;
+
+    /** Ids removidos durante a carga; {@code null} fora dela. */
+    private Set<Long> removidosNaCarga;
+    private volatile boolean carregado;
+
+    public ResiduoSpatialIndex(@Value("${ocean.residuos.indice.tamanho-celula:64}") int tamanhoCelula) {
+        if (tamanhoCelula <= 0) {
+            throw new IllegalArgumentException("Tamanho de célula deve ser positivo");
+        }
+        this.tamanhoCelula = tamanhoCelula;
+    }
+
+    /**
+     * @return posição anterior empacotada (ver {@link #xDe}/{@link #yDe}) ou
+     *         {@link #AUSENTE}
+     */
+    public long indexar(long id, int x, int y) {
+        lock.writeLock().lock();
+        try {
+            long anterior = posicoes.get(id, AUSENTE);
+            if (anterior != AUSENTE) {
+                if (anterior == empacotar(x, y)) {
+                    return anterior;
+                }
+                removerDaCelula(id, xDe(anterior), yDe(anterior));
+            }
+            adicionarNaCelula(id, x, y);
+            return anterior;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void iniciarCarga() {
+        lock.writeLock().lock();
+        try {
+            removidosNaCarga = new HashSet<>();
+            carregado = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexa um resíduo lido na carga, a menos que um listener já o tenha
+     * indexado ou removido depois que a carga começou.
+     */
+    public void carregar(long id, int x, int y) {
+        lock.writeLock().lock();
+        try {
+            if (posicoes.get(id, AUSENTE) == AUSENTE && !removidosNaCarga.contains(id)) {
+                adicionarNaCelula(id, x, y);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void concluirCarga() {
+        lock.writeLock().lock();
+        try {
+            removidosNaCarga = null;
+            carregado = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Se a carga inicial terminou; antes disso a posição anterior de um resíduo pode faltar. */
+    public boolean carregado() {
+        return carregado;
+    }
+
+    /**
+     * @return posição anterior empacotada ou {@link #AUSENTE}
+     */
+    public long remover(long id) {
+        lock.writeLock().lock();
+        try {
+            long anterior = posicoes.get(id, AUSENTE);
+            if (anterior != AUSENTE) {
+                removerDaCelula(id, xDe(anterior), yDe(anterior));
+                posicoes.remove(id);
+            }
+            if (removidosNaCarga != null) {
+                removidosNaCarga.add(id);
+            }
+            return anterior;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void limpar() {
+        lock.writeLock().lock();
+        try {
+            celulas.clear();
+            posicoes.clear();
+            minCelulaX = Integer.MAX_VALUE;
+            minCelulaY = Integer.MAX_VALUE;
+            maxCelulaX = Integer.MIN_VALUE;
+            maxCelulaY = Integer.MIN_VALUE;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return posição empacotada do resíduo ou {@link #AUSENTE}
+     */
+    public long posicao(long id) {
+        lock.readLock().lock();
+        try {
+            return posicoes.get(id, AUSENTE);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return posicoes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<ResiduoLocalizado> proximos(int x, int y, int k) {
+        lock.readLock().lock();
+        try {
+            if (k <= 0 || posicoes.size() == 0) {
+                return List.of();
+            }
+            // heap de máximo pela distância: a raiz é o pior candidato aceito até agora
+            PriorityQueue<long[]> melhores = new PriorityQueue<>(k, (a, b) -> Long.compare(b[0], a[0]));
+            int cx = Math.floorDiv(x, tamanhoCelula);
+            int cy = Math.floorDiv(y, tamanhoCelula);
+            int raioMaximo = Math.max(
+                Math.max(Math.abs(cx - minCelulaX), Math.abs(maxCelulaX - cx)),
+                Math.max(Math.abs(cy - minCelulaY), Math.abs(maxCelulaY - cy)));
+
+            for (int raio = 0; raio <= raioMaximo; raio++) {
+                for (int i = cx - raio; i <= cx + raio; i++) {
+                    boolean borda = i == cx - raio || i == cx + raio;
+                    int passo = borda ? 1 : Math.max(1, 2 * raio);
+                    for (int j = cy - raio; j <= cy + raio; j += passo) {
+                        Celula celula = celulas.get(empacotar(i, j));
+                        if (celula != null) {
+                            celula.coletarProximos(x, y, k, melhores);
+                        }
+                    }
+                }
+                long alcance = (long) raio * tamanhoCelula;
+                if (melhores.size() == k && melhores.peek()[0] <= alcance * alcance) {
+                    break;
+                }
+            }
+
+            long[][] ordenados = melhores.toArray(new long[0][]);
+            Arrays.sort(ordenados, (a, b) -> Long.compare(a[0], b[0]));
+            List<ResiduoLocalizado> resultado = new ArrayList<>(ordenados.length);
+            for (long[] candidato : ordenados) {
+                resultado.add(new ResiduoLocalizado(candidato[1], (int) candidato[2], (int) candidato[3]));
+            }
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<ResiduoLocalizado> area(int minX, int minY, int maxX, int maxY, int limite) {
+        lock.readLock().lock();
+        try {
+            List<ResiduoLocalizado> resultado = new ArrayList<>();
+            if (minX > maxX || minY > maxY || posicoes.size() == 0) {
+                return resultado;
+            }
+            int cMinX = Math.max(Math.floorDiv(minX, tamanhoCelula), minCelulaX);
+            int cMinY = Math.max(Math.floorDiv(minY, tamanhoCelula), minCelulaY);
+            int cMaxX = Math.min(Math.floorDiv(maxX, tamanhoCelula), maxCelulaX);
+            int cMaxY = Math.min(Math.floorDiv(maxY, tamanhoCelula), maxCelulaY);
+            if (cMinX > cMaxX || cMinY > cMaxY) {
+                return resultado;
+            }
+
+            long celulasNaArea = (long) (cMaxX - cMinX + 1) * (cMaxY - cMinY + 1);
+            if (celulasNaArea > celulas.size()) {
+                for (Map.Entry<Long, Celula> entrada : celulas.entrySet()) {
+                    int i = xDe(entrada.getKey());
+                    int j = yDe(entrada.getKey());
+                    if (i >= cMinX && i <= cMaxX && j >= cMinY && j <= cMaxY
+                            && !entrada.getValue().coletarArea(minX, minY, maxX, maxY, limite, resultado)) {
+                        break;
+                    }
+                }
+                return resultado;
+            }
+
+            for (int i = cMinX; i <= cMaxX; i++) {
+                for (int j = cMinY; j <= cMaxY; j++) {
+                    Celula celula = celulas.get(empacotar(i, j));
+                    if (celula != null && !celula.coletarArea(minX, minY, maxX, maxY, limite, resultado)) {
+                        return resultado;
+                    }
+                }
+            }
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void adicionarNaCelula(long id, int x, int y) {
+        int cx = Math.floorDiv(x, tamanhoCelula);
+        int cy = Math.floorDiv(y, tamanhoCelula);
+        celulas.computeIfAbsent(empacotar(cx, cy), k -> new Celula()).adicionar(id, x, y);
+        posicoes.put(id, empacotar(x, y));
+        minCelulaX = Math.min(minCelulaX, cx);
+        minCelulaY = Math.min(minCelulaY, cy);
+        maxCelulaX = Math.max(maxCelulaX, cx);
+        maxCelulaY = Math.max(maxCelulaY, cy);
+    }
+
+    private void removerDaCelula(long id, int x, int y) {
+        long chave = empacotar(Math.floorDiv(x, tamanhoCelula), Math.floorDiv(y, tamanhoCelula));
+        Celula celula = celulas.get(chave);
+        if (celula != null && celula.remover(id) && celula.tamanho == 0) {
+            celulas.remove(chave);
+        }
+    }
+
+    static long empacotar(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    public static int xDe(long empacotado) {
+        return (int) (empacotado >> 32);
+    }
+
+    public static int yDe(long empacotado) {
+        return (int) empacotado;
+    }
+
+    private static final class Celula {
+
+        private long[] ids = new long[4];
+        private int[] xs = new int[4];
+        private int[] ys = new int[4];
+        private int tamanho;
+
+        void adicionar(long id, int x, int y) {
+            if (tamanho == ids.length) {
+                ids = Arrays.copyOf(ids, tamanho * 2);
+                xs = Arrays.copyOf(xs, tamanho * 2);
+                ys = Arrays.copyOf(ys, tamanho * 2);
+            }
+            ids[tamanho] = id;
+            xs[tamanho] = x;
+            ys[tamanho] = y;
+            tamanho++;
+        }
+
+        boolean remover(long id) {
+            for (int i = 0; i < tamanho; i++) {
+                if (ids[i] == id) {
+                    tamanho--;
+                    ids[i] = ids[tamanho];
+                    xs[i] = xs[tamanho];
+                    ys[i] = ys[tamanho];
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void coletarProximos(int x, int y, int k, PriorityQueue<long[]> melhores) {
+            for (int i = 0; i < tamanho; i++) {
+                long dx = xs[i] - (long) x;
+                long dy = ys[i] - (long) y;
+                long distancia = dx * dx + dy * dy;
+                if (melhores.size() < k) {
+                    melhores.add(new long[] { distancia, ids[i], xs[i], ys[i] });
+                } else if (distancia < melhores.peek()[0]) {
+                    melhores.poll();
+                    melhores.add(new long[] { distancia, ids[i], xs[i], ys[i] });
+                }
+            }
+        }
+
+        boolean coletarArea(int minX, int minY, int maxX, int maxY, int limite, List<ResiduoLocalizado> resultado) {
+            for (int i = 0; i < tamanho; i++) {
+                if (xs[i] >= minX && xs[i] <= maxX && ys[i] >= minY && ys[i] <= maxY) {
+                    if (resultado.size() >= limite) {
+                        return false;
+                    }
+                    resultado.add(new ResiduoLocalizado(ids[i], xs[i], ys[i]));
+                }
+            }
+            return true;
+        }
+    }
+}
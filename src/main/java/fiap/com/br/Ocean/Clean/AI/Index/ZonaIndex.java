@@ -0,0 +1,294 @@
+package fiap.com.br.Ocean.Clean.AI.Index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.ToLongFunction;
+
+import org.springframework.stereotype.Component;
+
+import fiap.com.br.Ocean.Clean.AI.Models.TipoZona;
+
+/**
+ * Zonas poligonais em uma R-tree montada de uma vez pelo método STR
+ * (sort-tile-recursive). As zonas mudam pouco e os pontos chegam na taxa da
+ * telemetria, então cada alteração remonta a árvore e troca o snapshot
+ * imutável de uma vez: a classificação de um ponto não usa lock.
+ */
+@Component
+public class ZonaIndex {
+
+    private static final int CAPACIDADE_NO = 16;
+
+    /**
+     * Polígono simples (sem autointerseção), com os vértices em ordem e sem
+     * repetir o primeiro no fim.
+     */
+    public static final class Poligono {
+
+        private final long id;
+        private final String nome;
+        private final TipoZona tipo;
+        private final int[] xs;
+        private final int[] ys;
+        private final int minX;
+        private final int minY;
+        private final int maxX;
+        private final int maxY;
+        private final long areaDupla;
+
+        public Poligono(long id, String nome, TipoZona tipo, int[] xs, int[] ys) {
+            if (xs.length != ys.length || xs.length < 3) {
+                throw new IllegalArgumentException("O polígono precisa de ao menos 3 vértices");
+            }
+            this.id = id;
+            this.nome = nome;
+            this.tipo = tipo;
+            this.xs = xs.clone();
+            this.ys = ys.clone();
+            int menorX = Integer.MAX_VALUE;
+            int menorY = Integer.MAX_VALUE;
+            int maiorX = Integer.MIN_VALUE;
+            int maiorY = Integer.MIN_VALUE;
+            long area = 0;
+            for (int i = 0, j = xs.length - 1; i < xs.length; j = i++) {
+                menorX = Math.min(menorX, xs[i]);
+                menorY = Math.min(menorY, ys[i]);
+                maiorX = Math.max(maiorX, xs[i]);
+                maiorY = Math.max(maiorY, ys[i]);
+                area += (long) xs[j] * ys[i] - (long) xs[i] * ys[j];
+            }
+            if (area == 0) {
+                throw new IllegalArgumentException("O polígono precisa ter área positiva");
+            }
+            this.minX = menorX;
+            this.minY = menorY;
+            this.maxX = maiorX;
+            this.maxY = maiorY;
+            this.areaDupla = Math.abs(area);
+        }
+
+        /**
+         * Regra par-ímpar com aritmética inteira exata: conta as arestas
+         * cruzadas por uma semirreta horizontal a partir do ponto.
+         */
+        public boolean contem(int x, int y) {
+            if (x < minX || x > maxX || y < minY || y > maxY) {
+                return false;
+            }
+            boolean dentro = false;
+            for (int i = 0, j = xs.length - 1; i < xs.length; j = i++) {
+                int yi = ys[i];
+                int yj = ys[j];
+                if ((yi > y) != (yj > y)) {
+                    long dy = (long) yj - yi;
+                    long esquerda = ((long) x - xs[i]) * dy;
+                    long direita = ((long) xs[j] - xs[i]) * ((long) y - yi);
+                    if (dy > 0 ? esquerda < direita : esquerda > direita) {
+                        dentro = !dentro;
+                    }
+                }
+            }
+            return dentro;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getNome() {
+            return nome;
+        }
+
+        public TipoZona getTipo() {
+            return tipo;
+        }
+
+        public int getMinX() {
+            return minX;
+        }
+
+        public int getMinY() {
+            return minY;
+        }
+
+        public int getMaxX() {
+            return maxX;
+        }
+
+        public int getMaxY() {
+            return maxY;
+        }
+
+        /**
+         * O dobro da área, que é inteiro para vértices inteiros.
+         */
+        public long getAreaDupla() {
+            return areaDupla;
+        }
+
+        /**
+         * Entre zonas sobrepostas vence a de menor área, a mais específica
+         * (uma área protegida dentro de um setor); no empate, o menor id.
+         */
+        private boolean maisEspecificaQue(Poligono outro) {
+            return outro == null || areaDupla < outro.areaDupla || (areaDupla == outro.areaDupla && id < outro.id);
+        }
+    }
+
+    private static final class No {
+
+        private final int minX;
+        private final int minY;
+        private final int maxX;
+        private final int maxY;
+        private final No[] filhos;
+        private final Poligono[] poligonos;
+
+        private No(int minX, int minY, int maxX, int maxY, No[] filhos, Poligono[] poligonos) {
+            this.minX = minX;
+            this.minY = minY;
+            this.maxX = maxX;
+            this.maxY = maxY;
+            this.filhos = filhos;
+            this.poligonos = poligonos;
+        }
+
+        private static No folha(List<Poligono> poligonos) {
+            return new No(
+                poligonos.stream().mapToInt(Poligono::getMinX).min().getAsInt(),
+                poligonos.stream().mapToInt(Poligono::getMinY).min().getAsInt(),
+                poligonos.stream().mapToInt(Poligono::getMaxX).max().getAsInt(),
+                poligonos.stream().mapToInt(Poligono::getMaxY).max().getAsInt(),
+                null, poligonos.toArray(Poligono[]::new));
+        }
+
+        private static No interno(List<No> filhos) {
+            return new No(
+                filhos.stream().mapToInt(no -> no.minX).min().getAsInt(),
+                filhos.stream().mapToInt(no -> no.minY).min().getAsInt(),
+                filhos.stream().mapToInt(no -> no.maxX).max().getAsInt(),
+                filhos.stream().mapToInt(no -> no.maxY).max().getAsInt(),
+                filhos.toArray(No[]::new), null);
+        }
+
+        private Poligono classificar(int x, int y, Poligono melhor) {
+            if (x < minX || x > maxX || y < minY || y > maxY) {
+                return melhor;
+            }
+            if (poligonos != null) {
+                for (Poligono poligono : poligonos) {
+                    if (poligono.maisEspecificaQue(melhor) && poligono.contem(x, y)) {
+                        melhor = poligono;
+                    }
+                }
+                return melhor;
+            }
+            for (No filho : filhos) {
+                melhor = filho.classificar(x, y, melhor);
+            }
+            return melhor;
+        }
+    }
+
+    private record Snapshot(No raiz, Map<Long, Poligono> poligonos) {
+    }
+
+    private volatile Snapshot snapshot = new Snapshot(null, Map.of());
+
+    /**
+     * @return a zona mais específica que contém o ponto, ou {@code null}
+     */
+    public Poligono classificar(int x, int y) {
+        No raiz = snapshot.raiz();
+        return raiz != null ? raiz.classificar(x, y, null) : null;
+    }
+
+    public Optional<Poligono> buscar(long id) {
+        return Optional.ofNullable(snapshot.poligonos().get(id));
+    }
+
+    public Collection<Poligono> todos() {
+        return snapshot.poligonos().values();
+    }
+
+    public int tamanho() {
+        return snapshot.poligonos().size();
+    }
+
+    public synchronized void substituir(Collection<Poligono> poligonos) {
+        Map<Long, Poligono> novos = new HashMap<>();
+        for (Poligono poligono : poligonos) {
+            novos.put(poligono.getId(), poligono);
+        }
+        publicar(novos);
+    }
+
+    /**
+     * @return a versão anterior da zona, ou {@code null} se é nova
+     */
+    public synchronized Poligono atualizar(Poligono poligono) {
+        Map<Long, Poligono> novos = new HashMap<>(snapshot.poligonos());
+        Poligono anterior = novos.put(poligono.getId(), poligono);
+        publicar(novos);
+        return anterior;
+    }
+
+    public synchronized Poligono remover(long id) {
+        Map<Long, Poligono> novos = new HashMap<>(snapshot.poligonos());
+        Poligono anterior = novos.remove(id);
+        if (anterior != null) {
+            publicar(novos);
+        }
+        return anterior;
+    }
+
+    private void publicar(Map<Long, Poligono> poligonos) {
+        snapshot = new Snapshot(construir(new ArrayList<>(poligonos.values())), Map.copyOf(poligonos));
+    }
+
+    private static No construir(List<Poligono> poligonos) {
+        if (poligonos.isEmpty()) {
+            return null;
+        }
+        List<No> nivel = new ArrayList<>();
+        for (List<Poligono> grupo : agrupar(poligonos, p -> (long) p.minX + p.maxX, p -> (long) p.minY + p.maxY)) {
+            nivel.add(No.folha(grupo));
+        }
+        while (nivel.size() > 1) {
+            List<No> acima = new ArrayList<>();
+            for (List<No> grupo : agrupar(nivel, no -> (long) no.minX + no.maxX, no -> (long) no.minY + no.maxY)) {
+                acima.add(No.interno(grupo));
+            }
+            nivel = acima;
+        }
+        return nivel.get(0);
+    }
+
+    /**
+     * Ordena pelo centro em x, corta em faixas verticais de
+     * {@code faixas * CAPACIDADE_NO} itens e, dentro de cada faixa, ordena
+     * pelo centro em y e corta em grupos de {@code CAPACIDADE_NO}: itens
+     * próximos ficam no mesmo nó e as caixas dos nós quase não se sobrepõem.
+     */
+    private static <T> List<List<T>> agrupar(List<T> itens, ToLongFunction<T> centroX, ToLongFunction<T> centroY) {
+        int nos = (itens.size() + CAPACIDADE_NO - 1) / CAPACIDADE_NO;
+        int faixas = (int) Math.ceil(Math.sqrt(nos));
+        int porFaixa = faixas * CAPACIDADE_NO;
+        List<T> ordenados = new ArrayList<>(itens);
+        ordenados.sort(Comparator.comparingLong(centroX));
+        List<List<T>> grupos = new ArrayList<>(nos);
+        for (int inicio = 0; inicio < ordenados.size(); inicio += porFaixa) {
+            List<T> faixa = new ArrayList<>(ordenados.subList(inicio, Math.min(inicio + porFaixa, ordenados.size())));
+            faixa.sort(Comparator.comparingLong(centroY));
+            for (int i = 0; i < faixa.size(); i += CAPACIDADE_NO) {
+                grupos.add(faixa.subList(i, Math.min(i + CAPACIDADE_NO, faixa.size())));
+            }
+        }
+        return grupos;
+    }
+}
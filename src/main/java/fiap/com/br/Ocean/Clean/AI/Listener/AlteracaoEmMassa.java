@@ -0,0 +1,97 @@
+package fiap.com.br.Ocean.Clean.AI.Listener;
+
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import fiap.com.br.Ocean.Clean.AI.Config.CacheConfiguracao;
+import fiap.com.br.Ocean.Clean.AI.Dto.EstadoDrone;
+import fiap.com.br.Ocean.Clean.AI.Dto.ResiduoLocalizado;
+import fiap.com.br.Ocean.Clean.AI.Index.ColunasResiduos;
+import fiap.com.br.Ocean.Clean.AI.Index.EstadoFrota;
+import fiap.com.br.Ocean.Clean.AI.Index.MapaCalor;
+import fiap.com.br.Ocean.Clean.AI.Index.ResiduoSpatialIndex;
+
+/**
+ * Faz pelos updates e deletes em massa o que os listeners das entidades fazem
+ * por registro, já que esses comandos não passam pelo ciclo de vida do JPA:
+ * limpa os caches afetados e, após o commit, atualiza índice espacial, mapa
+ * de calor e estado da frota.
+ */
+@Component
+public class AlteracaoEmMassa {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ResiduoSpatialIndex residuoSpatialIndex;
+
+    @Autowired
+    private MapaCalor mapaCalor;
+
+    @Autowired
+    private EstadoFrota estadoFrota;
+
+    @Autowired
+    private ColunasResiduos colunasResiduos;
+
+    public void residuosRemovidos(List<ResiduoLocalizado> residuos) {
+        residuosAlterados();
+        AposCommit.executar(() -> {
+            colunasResiduos.remover(residuos.stream().map(ResiduoLocalizado::id_residuo).toList());
+            for (ResiduoLocalizado residuo : residuos) {
+                long anterior = residuoSpatialIndex.remover(residuo.id_residuo());
+                if (anterior != ResiduoSpatialIndex.AUSENTE && residuoSpatialIndex.carregado()) {
+                    mapaCalor.remover(ResiduoSpatialIndex.xDe(anterior), ResiduoSpatialIndex.yDe(anterior));
+                }
+            }
+        });
+    }
+
+    /**
+     * Resíduos aparecem nas visões de missão e de operador.
+     */
+    public void residuosAlterados() {
+        InvalidacaoCache.limpar(cacheManager,
+            CacheConfiguracao.RESIDUOS_PLASTICOS, CacheConfiguracao.MISSOES, CacheConfiguracao.OPERADORES);
+    }
+
+    /**
+     * @param soSemMissao o update só alcançou os resíduos que não tinham missão
+     */
+    public void residuosVinculados(List<Long> ids, Long id_missao, boolean soSemMissao) {
+        residuosAlterados();
+        List<Long> vinculados = List.copyOf(ids);
+        AposCommit.executar(() -> colunasResiduos.vincular(vinculados, id_missao, soSemMissao));
+    }
+
+    public void dronesRemovidos(List<Long> ids) {
+        InvalidacaoCache.limpar(cacheManager, CacheConfiguracao.DRONES, CacheConfiguracao.OPERADORES);
+        AposCommit.executar(() -> ids.forEach(estadoFrota::remover));
+    }
+
+    /**
+     * Aplica a alteração sobre o estado em memória de cada drone, que pode
+     * ter telemetria mais nova que o banco.
+     */
+    public void dronesAlterados(List<Long> ids, UnaryOperator<EstadoDrone> alteracao) {
+        InvalidacaoCache.limpar(cacheManager, CacheConfiguracao.DRONES, CacheConfiguracao.OPERADORES);
+        AposCommit.executar(() -> {
+            for (Long id : ids) {
+                estadoFrota.alterar(id, alteracao);
+            }
+        });
+    }
+
+    /**
+     * O JSON dos resíduos traz a missão, então o cache de resíduos também é limpo.
+     */
+    public void missoesAlteradas() {
+        InvalidacaoCache.limpar(cacheManager,
+            CacheConfiguracao.MISSOES, CacheConfiguracao.OPERADORES, CacheConfiguracao.RESIDUOS_PLASTICOS);
+    }
+}
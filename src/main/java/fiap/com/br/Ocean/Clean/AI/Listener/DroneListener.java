@@ -0,0 +1,47 @@
+package fiap.com.br.Ocean.Clean.AI.Listener;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import fiap.com.br.Ocean.Clean.AI.Config.CacheConfiguracao;
+import fiap.com.br.Ocean.Clean.AI.Dto.EstadoDrone;
+import fiap.com.br.Ocean.Clean.AI.Index.EstadoFrota;
+import fiap.com.br.Ocean.Clean.AI.Models.Drone;
+import fiap.com.br.Ocean.Clean.AI.Service.TelemetriaService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+public class DroneListener {
+
+    @Autowired
+    private EstadoFrota estadoFrota;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @PostPersist
+    @PostUpdate
+    public void aposSalvar(Drone drone) {
+        removerDoCache(drone);
+        // o flush de telemetria grava um estado que o EstadoFrota já conhece (ou um mais novo)
+        if (TransactionSynchronizationManager.hasResource(TelemetriaService.GRAVACAO_TELEMETRIA)) {
+            return;
+        }
+        EstadoDrone estado = EstadoDrone.de(drone);
+        AposCommit.executar(() -> estadoFrota.atualizar(estado));
+    }
+
+    @PostRemove
+    public void aposRemover(Drone drone) {
+        removerDoCache(drone);
+        Long id = drone.getId_drone();
+        AposCommit.executar(() -> estadoFrota.remover(id));
+    }
+
+    private void removerDoCache(Drone drone) {
+        InvalidacaoCache.remover(cacheManager, CacheConfiguracao.DRONES,
+            drone.getId_drone(), CacheConfiguracao.ULTIMOS, CacheConfiguracao.ORDEM_ALFABETICA);
+    }
+}
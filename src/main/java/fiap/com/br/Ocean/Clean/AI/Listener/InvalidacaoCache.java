@@ -0,0 +1,41 @@
+package fiap.com.br.Ocean.Clean.AI.Listener;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+final class InvalidacaoCache {
+
+    private InvalidacaoCache() {
+    }
+
+    /**
+     * Remove as chaves na hora e de novo após o commit, para não deixar no
+     * cache um valor antigo lido por outra requisição antes do commit.
+     */
+    static void remover(CacheManager cacheManager, String nome, Object... chaves) {
+        Cache cache = cacheManager.getCache(nome);
+        for (Object chave : chaves) {
+            cache.evict(chave);
+        }
+        AposCommit.executar(() -> {
+            for (Object chave : chaves) {
+                cache.evict(chave);
+            }
+        });
+    }
+
+    /**
+     * Esvazia os caches inteiros, na hora e após o commit, para alterações em
+     * massa que não sabem quais chaves foram afetadas.
+     */
+    static void limpar(CacheManager cacheManager, String... nomes) {
+        for (String nome : nomes) {
+            cacheManager.getCache(nome).clear();
+        }
+        AposCommit.executar(() -> {
+            for (String nome : nomes) {
+                cacheManager.getCache(nome).clear();
+            }
+        });
+    }
+}
@@ -0,0 +1,21 @@
+package fiap.com.br.Ocean.Clean.AI.Listener;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+
+import fiap.com.br.Ocean.Clean.AI.Config.CacheConfiguracao;
+import fiap.com.br.Ocean.Clean.AI.Models.Missao;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+public class MissaoListener {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @PostUpdate
+    @PostRemove
+    public void aposAlterar(Missao missao) {
+        InvalidacaoCache.remover(cacheManager, CacheConfiguracao.MISSOES, missao.getId_missao());
+    }
+}
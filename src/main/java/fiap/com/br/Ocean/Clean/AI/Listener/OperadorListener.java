@@ -0,0 +1,23 @@
+package fiap.com.br.Ocean.Clean.AI.Listener;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+
+import fiap.com.br.Ocean.Clean.AI.Config.CacheConfiguracao;
+import fiap.com.br.Ocean.Clean.AI.Models.Operador;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+public class OperadorListener {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @PostUpdate
+    @PostRemove
+    public void aposAlterar(Operador operador) {
+        InvalidacaoCache.remover(cacheManager, CacheConfiguracao.OPERADORES, operador.getId_operador());
+        // as listagens de drones trazem nome e email do operador
+        InvalidacaoCache.remover(cacheManager, CacheConfiguracao.DRONES, CacheConfiguracao.ULTIMOS, CacheConfiguracao.ORDEM_ALFABETICA);
+    }
+}
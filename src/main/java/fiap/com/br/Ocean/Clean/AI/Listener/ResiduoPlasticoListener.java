@@ -0,0 +1,93 @@
+package fiap.com.br.Ocean.Clean.AI.Listener;
+
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+
+import fiap.com.br.Ocean.Clean.AI.Config.CacheConfiguracao;
+import fiap.com.br.Ocean.Clean.AI.Index.ColunasResiduos;
+import fiap.com.br.Ocean.Clean.AI.Index.MapaCalor;
+import fiap.com.br.Ocean.Clean.AI.Index.ResiduoSpatialIndex;
+import fiap.com.br.Ocean.Clean.AI.Index.ZonaIndex;
+import fiap.com.br.Ocean.Clean.AI.Models.ResiduoPlastico;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+public class ResiduoPlasticoListener {
+
+    @Autowired
+    private ResiduoSpatialIndex residuoSpatialIndex;
+
+    @Autowired
+    private MapaCalor mapaCalor;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ZonaIndex zonaIndex;
+
+    @Autowired
+    private ColunasResiduos colunasResiduos;
+
+    @PrePersist
+    public void antesDeInserir(ResiduoPlastico residuo) {
+        if (residuo.getDetectadoEm() == null) {
+            residuo.setDetectadoEm(Instant.now());
+        }
+        residuo.setParticao(ResiduoPlastico.particaoDe(residuo.getDetectadoEm()));
+        classificar(residuo);
+    }
+
+    // a detecção e a partição ficam as da inserção (colunas não atualizáveis)
+    @PreUpdate
+    public void antesDeAtualizar(ResiduoPlastico residuo) {
+        classificar(residuo);
+    }
+
+    private void classificar(ResiduoPlastico residuo) {
+        ZonaIndex.Poligono zona = zonaIndex.classificar(residuo.getCoordenadaX(), residuo.getCoordenadaY());
+        residuo.setId_zona(zona != null ? zona.getId() : null);
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void aposSalvar(ResiduoPlastico residuo) {
+        long id = residuo.getId_residuo();
+        InvalidacaoCache.remover(cacheManager, CacheConfiguracao.RESIDUOS_PLASTICOS, id);
+        int x = residuo.getCoordenadaX();
+        int y = residuo.getCoordenadaY();
+        long missao = residuo.getMissao() != null ? residuo.getMissao().getId_missao() : ColunasResiduos.SEM_MISSAO;
+        AposCommit.executar(() -> {
+            colunasResiduos.gravar(id, x, y, missao);
+            // a posição anterior vem do índice, assim o mapa de calor não precisa consultar o banco;
+            // com o índice ainda carregando ela pode faltar, e o mapa, carregado depois, lê o resíduo da tabela
+            long anterior = residuoSpatialIndex.indexar(id, x, y);
+            if (!residuoSpatialIndex.carregado()) {
+                return;
+            }
+            if (anterior == ResiduoSpatialIndex.AUSENTE) {
+                mapaCalor.adicionar(x, y);
+            } else {
+                mapaCalor.mover(ResiduoSpatialIndex.xDe(anterior), ResiduoSpatialIndex.yDe(anterior), x, y);
+            }
+        });
+    }
+
+    @PostRemove
+    public void aposRemover(ResiduoPlastico residuo) {
+        long id = residuo.getId_residuo();
+        InvalidacaoCache.remover(cacheManager, CacheConfiguracao.RESIDUOS_PLASTICOS, id);
+        AposCommit.executar(() -> {
+            colunasResiduos.remover(id);
+            long anterior = residuoSpatialIndex.remover(id);
+            if (anterior != ResiduoSpatialIndex.AUSENTE && residuoSpatialIndex.carregado()) {
+                mapaCalor.remover(ResiduoSpatialIndex.xDe(anterior), ResiduoSpatialIndex.yDe(anterior));
+            }
+        });
+    }
+}
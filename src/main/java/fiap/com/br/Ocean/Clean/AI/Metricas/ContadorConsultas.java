@@ -0,0 +1,38 @@
+package fiap.com.br.Ocean.Clean.AI.Metricas;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Conta os comandos SQL preparados pelo Hibernate na thread atual, incluindo
+ * os disparados por lazy loading. Só conta entre {@link #iniciar()} e
+ * {@link #finalizar()}, fora disso o custo é uma leitura de ThreadLocal.
+ */
+@Component
+public class ContadorConsultas implements StatementInspector {
+
+    private final ThreadLocal<int[]> contagem = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] atual = contagem.get();
+        if (atual != null) {
+            atual[0]++;
+        }
+        return sql;
+    }
+
+    public void iniciar() {
+        contagem.set(new int[1]);
+    }
+
+    /**
+     * @return comandos contados desde {@link #iniciar()}, ou -1 se a contagem
+     *         não foi iniciada nesta thread
+     */
+    public int finalizar() {
+        int[] atual = contagem.get();
+        contagem.remove();
+        return atual == null ? -1 : atual[0];
+    }
+}
@@ -0,0 +1,57 @@
+package fiap.com.br.Ocean.Clean.AI.Metricas;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Registra quantos comandos SQL cada requisição executou, por rota.
+ */
+@Component
+public class MetricasRequisicaoInterceptor implements AsyncHandlerInterceptor {
+
+    @Autowired
+    private ContadorConsultas contadorConsultas;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        contadorConsultas.iniciar();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        int consultas = contadorConsultas.finalizar();
+        if (consultas < 0) {
+            return;
+        }
+        DistributionSummary.builder("ocean.http.consultas.sql")
+            .description("Comandos SQL executados por requisição")
+            .tags("method", request.getMethod(), "uri", rota(request))
+            .publishPercentileHistogram()
+            .minimumExpectedValue(1.0)
+            .maximumExpectedValue(1000.0)
+            .register(meterRegistry)
+            .record(consultas);
+    }
+
+    /** Respostas assíncronas (SSE) não passam pelo afterCompletion nesta thread. */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        contadorConsultas.finalizar();
+    }
+
+    static String rota(HttpServletRequest request) {
+        Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return padrao == null ? "UNKNOWN" : padrao.toString();
+    }
+}
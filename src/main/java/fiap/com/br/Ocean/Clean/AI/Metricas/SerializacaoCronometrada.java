@@ -0,0 +1,72 @@
+package fiap.com.br.Ocean.Clean.AI.Metricas;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpEntity;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Envolve o handler que converte o retorno do controller em corpo da
+ * resposta, medindo o tempo de serialização (Jackson/HAL e escrita no buffer)
+ * separado do tempo do método do controller. Respostas sem corpo,
+ * {@link StreamingResponseBody} e {@link ResponseBodyEmitter} (SSE), escritos
+ * depois em outra thread, não são medidos.
+ */
+public class SerializacaoCronometrada implements HandlerMethodReturnValueHandler {
+
+    private final HandlerMethodReturnValueHandler delegado;
+
+    private final MeterRegistry meterRegistry;
+
+    public SerializacaoCronometrada(HandlerMethodReturnValueHandler delegado, MeterRegistry meterRegistry) {
+        this.delegado = delegado;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean supportsReturnType(MethodParameter returnType) {
+        return delegado.supportsReturnType(returnType);
+    }
+
+    @Override
+    public void handleReturnValue(Object returnValue, MethodParameter returnType, ModelAndViewContainer mavContainer,
+            NativeWebRequest webRequest) throws Exception {
+        if (!escreveCorpo(returnValue, returnType)) {
+            delegado.handleReturnValue(returnValue, returnType, mavContainer, webRequest);
+            return;
+        }
+        long inicio = System.nanoTime();
+        try {
+            delegado.handleReturnValue(returnValue, returnType, mavContainer, webRequest);
+        } finally {
+            HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+            Timer.builder("ocean.http.serializacao")
+                .description("Tempo para converter e escrever o corpo da resposta")
+                .tags("method", request.getMethod(), "uri", MetricasRequisicaoInterceptor.rota(request))
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static boolean escreveCorpo(Object valor, MethodParameter tipo) {
+        if (valor instanceof HttpEntity<?> entidade) {
+            valor = entidade.getBody();
+        } else if (!tipo.hasMethodAnnotation(ResponseBody.class)
+                && !AnnotatedElementUtils.hasAnnotation(tipo.getContainingClass(), ResponseBody.class)) {
+            return false;
+        }
+        return valor != null && !(valor instanceof StreamingResponseBody) && !(valor instanceof ResponseBodyEmitter);
+    }
+}
@@ -0,0 +1,24 @@
+package fiap.com.br.Ocean.Clean.AI.Models;
+
+import java.io.Serializable;
+
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Chave do histórico compactado: a partição (dia) e a célula da grade.
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CelulaHistorico implements Serializable {
+
+    private int particao;
+
+    private int celulaX;
+
+    private int celulaY;
+}
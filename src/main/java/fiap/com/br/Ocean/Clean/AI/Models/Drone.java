@@ -2,7 +2,11 @@ package fiap.com.br.Ocean.Clean.AI.Models;
 
 import org.springframework.hateoas.RepresentationModel;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import fiap.com.br.Ocean.Clean.AI.Listener.DroneListener;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -15,6 +19,7 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 
 @Entity
+@EntityListeners(DroneListener.class)
 @Data
 @EqualsAndHashCode(callSuper = false)
 public class Drone extends RepresentationModel<Drone>{
@@ -40,6 +45,7 @@ public class Drone extends RepresentationModel<Drone>{
     
     @ManyToOne
     @JoinColumn(name = "id_operador")
+    @JsonIgnoreProperties({"missoes", "drones"})
     private Operador operador;
 }
 
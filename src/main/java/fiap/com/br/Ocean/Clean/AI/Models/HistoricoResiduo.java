@@ -0,0 +1,23 @@
+package fiap.com.br.Ocean.Clean.AI.Models;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Quantidade de resíduos detectados em uma célula em um dia já compactado,
+ * que substitui as linhas de {@link ResiduoPlastico} da partição.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HistoricoResiduo {
+
+    @EmbeddedId
+    private CelulaHistorico celula;
+
+    private long quantidade;
+}
@@ -6,8 +6,11 @@ import org.springframework.hateoas.RepresentationModel;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
+import fiap.com.br.Ocean.Clean.AI.Listener.MissaoListener;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -19,6 +22,7 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 
 @Entity
+@EntityListeners(MissaoListener.class)
 @Data
 @EqualsAndHashCode(callSuper = false)
 public class Missao extends RepresentationModel<Missao> {
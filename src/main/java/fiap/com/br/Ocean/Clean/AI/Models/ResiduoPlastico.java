@@ -1,24 +1,41 @@
 package fiap.com.br.Ocean.Clean.AI.Models;
 
+import java.time.Instant;
+
 import org.springframework.hateoas.RepresentationModel;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import fiap.com.br.Ocean.Clean.AI.Listener.ResiduoPlasticoListener;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 import jakarta.validation.constraints.Min;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
 @Entity
+@EntityListeners(ResiduoPlasticoListener.class)
+@Table(indexes = {
+    @Index(name = "ix_residuo_particao", columnList = "particao, coordenadaX, coordenadaY"),
+    @Index(name = "ix_residuo_zona", columnList = "id_zona, id_residuo")
+})
 @Data
 @EqualsAndHashCode(callSuper = false)
 public class ResiduoPlastico extends RepresentationModel<ResiduoPlastico> {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "residuo_plastico_seq")
+    @SequenceGenerator(name = "residuo_plastico_seq", sequenceName = "ResiduoPlastico_SEQ", allocationSize = 50)
     private Long id_residuo;
 
     @Min(0)
@@ -31,4 +48,29 @@ public class ResiduoPlastico extends RepresentationModel<ResiduoPlastico> {
     @JoinColumn(name = "id_missao")
     private Missao missao;
 
+    /**
+     * Instante da detecção; sem valor, o da inserção. Não muda depois de
+     * gravado, senão o resíduo trocaria de partição.
+     */
+    @Column(updatable = false)
+    private Instant detectadoEm;
+
+    /**
+     * Partição do histórico: o dia UTC da detecção, em dias desde 1970-01-01.
+     * Calculada pelo listener na inserção, a partir de {@link #detectadoEm}.
+     */
+    @JsonIgnore
+    @Column(updatable = false)
+    private Integer particao;
+
+    /**
+     * Zona em que o resíduo foi detectado, classificada pelo listener a cada
+     * gravação e pelo {@code ZonaService} quando as zonas mudam.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long id_zona;
+
+    public static int particaoDe(Instant instante) {
+        return (int) Math.floorDiv(instante.getEpochSecond(), 86_400L);
+    }
 }
@@ -0,0 +1,7 @@
+package fiap.com.br.Ocean.Clean.AI.Models;
+
+public enum TipoZona {
+    AREA_PROTEGIDA,
+    ROTA_NAVEGACAO,
+    SETOR
+}
@@ -0,0 +1,20 @@
+package fiap.com.br.Ocean.Clean.AI.Models;
+
+import jakarta.persistence.Embeddable;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Vertice {
+
+    @Min(0)
+    private int x;
+
+    @Min(0)
+    private int y;
+}
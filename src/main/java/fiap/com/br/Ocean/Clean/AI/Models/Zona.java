@@ -0,0 +1,58 @@
+package fiap.com.br.Ocean.Clean.AI.Models;
+
+import java.util.List;
+
+import org.springframework.hateoas.RepresentationModel;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OrderColumn;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Entity
+@Data
+@EqualsAndHashCode(callSuper = false)
+public class Zona extends RepresentationModel<Zona> {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private Long id_zona;
+
+    @NotBlank(message = "Nome da zona é obrigatório")
+    private String nome;
+
+    @NotNull(message = "Tipo da zona é obrigatório")
+    @Enumerated(EnumType.STRING)
+    private TipoZona tipo;
+
+    @ManyToOne
+    @JoinColumn(name = "id_operador")
+    @JsonIgnoreProperties({"missoes", "drones"})
+    private Operador operador;
+
+    /**
+     * Vértices do polígono em ordem, sem repetir o primeiro no fim.
+     */
+    @ElementCollection
+    @CollectionTable(name = "zona_vertice", joinColumns = @JoinColumn(name = "id_zona"))
+    @OrderColumn(name = "ordem")
+    @NotNull(message = "Os vértices da zona são obrigatórios")
+    @Size(min = 3, message = "A zona precisa de ao menos 3 vértices")
+    @Valid
+    private List<Vertice> vertices;
+}
@@ -2,8 +2,12 @@ package fiap.com.br.Ocean.Clean.AI;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
+@EnableCaching
 public class OceanCleanAiApplication {
 
 	public static void main(String[] args) {
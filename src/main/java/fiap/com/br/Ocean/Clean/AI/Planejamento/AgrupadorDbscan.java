@@ -0,0 +1,389 @@
+package fiap.com.br.Ocean.Clean.AI.Planejamento;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntConsumer;
+
+import fiap.com.br.Ocean.Clean.AI.Index.LongLongHashMap;
+
+/**
+ * DBSCAN sobre uma grade com células de lado {@code raio / √2}, de modo que
+ * dois pontos da mesma célula estão sempre a no máximo {@code raio} um do
+ * outro. Assim:
+ * <ol>
+ * <li>células com pelo menos {@code minimo} pontos são inteiras de núcleos e as
+ * demais só contam vizinhos nas 20 células ao redor (5x5 sem os cantos);</li>
+ * <li>os núcleos de uma célula formam um único grupo, então a união é feita
+ * entre células (union-find sem lock) e basta achar um par de núcleos próximos
+ * entre duas células vizinhas;</li>
+ * <li>pontos de borda ficam com o grupo de qualquer núcleo ao alcance.</li>
+ * </ol>
+ * As células são numeradas por linha e coluna e os pontos copiados nessa
+ * ordem, então as varreduras andam em memória contígua. Cada etapa percorre
+ * as células em paralelo no {@link ForkJoinPool} recebido.
+ */
+public class AgrupadorDbscan {
+
+    public static final int RUIDO = -1;
+
+    private static final int LIMIAR_PARALELO = 256;
+
+    /**
+     * @param rotulos grupo de cada ponto, na ordem de entrada, de 0 a
+     *                {@code agrupamentos - 1}, ou {@link #RUIDO}
+     */
+    public record Resultado(int[] rotulos, int agrupamentos, int ruido) {
+    }
+
+    private final ForkJoinPool pool;
+    private final double raio;
+    private final int minimo;
+
+    public AgrupadorDbscan(ForkJoinPool pool, double raio, int minimo) {
+        if (raio < 2) {
+            throw new IllegalArgumentException("O raio do agrupamento deve ser de ao menos 2");
+        }
+        if (minimo < 1) {
+            throw new IllegalArgumentException("O mínimo de resíduos por agrupamento deve ser positivo");
+        }
+        this.pool = pool;
+        this.raio = raio;
+        this.minimo = minimo;
+    }
+
+    public Resultado agrupar(int[] xs, int[] ys) {
+        return new Execucao(xs, ys).executar();
+    }
+
+    private final class Execucao {
+
+        private final int[] xs;
+        private final int[] ys;
+        private final long raio2 = (long) Math.floor(raio * raio);
+        private final double lado = raio / Math.sqrt(2);
+
+        private int quantidadeCelulas;
+        // posição (linha, coluna) de cada célula, em ordem crescente
+        private long[] posicao;
+        // pontos da célula c nas posições inicio[c] .. inicio[c + 1] - 1 de px/py;
+        // ordem[k] é o índice original do ponto na posição k
+        private int[] inicio;
+        private int[] ordem;
+        private int[] px;
+        private int[] py;
+        private int[][] vizinhas;
+
+        private boolean[] nucleo;
+        private boolean[] temNucleo;
+        private AtomicIntegerArray pai;
+        private int[] rotulos;
+
+        Execucao(int[] xs, int[] ys) {
+            this.xs = xs;
+            this.ys = ys;
+        }
+
+        Resultado executar() {
+            int n = xs.length;
+            distribuirNasCelulas();
+
+            vizinhas = new int[quantidadeCelulas][];
+            pool.invoke(new PorCelulas(this::calcularVizinhas, 0, quantidadeCelulas));
+
+            nucleo = new boolean[n];
+            temNucleo = new boolean[quantidadeCelulas];
+            paraCadaCelula(this::marcarNucleos);
+
+            pai = new AtomicIntegerArray(quantidadeCelulas);
+            for (int c = 0; c < quantidadeCelulas; c++) {
+                pai.set(c, c);
+            }
+            paraCadaCelula(this::unirVizinhas);
+
+            rotulos = new int[n];
+            paraCadaCelula(this::rotular);
+
+            // raízes viram números de grupo consecutivos
+            int[] numero = new int[quantidadeCelulas];
+            Arrays.fill(numero, RUIDO);
+            int agrupamentos = 0;
+            int ruido = 0;
+            for (int i = 0; i < n; i++) {
+                int raiz = rotulos[i];
+                if (raiz == RUIDO) {
+                    ruido++;
+                    continue;
+                }
+                if (numero[raiz] == RUIDO) {
+                    numero[raiz] = agrupamentos++;
+                }
+                rotulos[i] = numero[raiz];
+            }
+            return new Resultado(rotulos, agrupamentos, ruido);
+        }
+
+        private void distribuirNasCelulas() {
+            int n = xs.length;
+            LongLongHashMap celulaPorPosicao = new LongLongHashMap(Math.max(16, n / 4));
+            int[] celulaDoPonto = new int[n];
+            int[] contagem = new int[16];
+            posicao = new long[16];
+            for (int i = 0; i < n; i++) {
+                long chave = posicao((int) Math.floor(xs[i] / lado), (int) Math.floor(ys[i] / lado));
+                int c = (int) celulaPorPosicao.get(chave, -1);
+                if (c < 0) {
+                    c = quantidadeCelulas++;
+                    if (c == contagem.length) {
+                        contagem = Arrays.copyOf(contagem, c * 2);
+                        posicao = Arrays.copyOf(posicao, c * 2);
+                    }
+                    celulaPorPosicao.put(chave, c);
+                    posicao[c] = chave;
+                }
+                celulaDoPonto[i] = c;
+                contagem[c]++;
+            }
+
+            // renumera as células na ordem das posições
+            posicao = Arrays.copyOf(posicao, quantidadeCelulas);
+            Arrays.parallelSort(posicao);
+            int[] novoIndice = new int[quantidadeCelulas];
+            inicio = new int[quantidadeCelulas + 1];
+            for (int c = 0; c < quantidadeCelulas; c++) {
+                int anterior = (int) celulaPorPosicao.get(posicao[c], -1);
+                novoIndice[anterior] = c;
+                inicio[c + 1] = inicio[c] + contagem[anterior];
+            }
+
+            int[] proxima = Arrays.copyOf(inicio, quantidadeCelulas);
+            ordem = new int[n];
+            px = new int[n];
+            py = new int[n];
+            for (int i = 0; i < n; i++) {
+                int k = proxima[novoIndice[celulaDoPonto[i]]]++;
+                ordem[k] = i;
+                px[k] = xs[i];
+                py[k] = ys[i];
+            }
+        }
+
+        /**
+         * Vizinhas de cada célula da faixa. As células estão ordenadas por linha
+         * e coluna, então em cada linha vizinha basta avançar um ponteiro; a
+         * busca binária só acontece quando a faixa muda de linha.
+         */
+        private void calcularVizinhas(int de, int ate) {
+            int[] ponteiro = new int[5];
+            int[] encontradas = new int[20];
+            int linhaAtual = 0;
+            for (int c = de; c < ate; c++) {
+                int cx = coluna(posicao[c]);
+                int cy = linha(posicao[c]);
+                if (c == de || cy != linhaAtual) {
+                    linhaAtual = cy;
+                    for (int dy = -2; dy <= 2; dy++) {
+                        int indice = Arrays.binarySearch(posicao, posicao(cx - 2, cy + dy));
+                        ponteiro[dy + 2] = indice >= 0 ? indice : -indice - 1;
+                    }
+                }
+                int quantidade = 0;
+                for (int dy = -2; dy <= 2; dy++) {
+                    int alcance = Math.abs(dy) == 2 ? 1 : 2;
+                    long menor = posicao(cx - alcance, cy + dy);
+                    long maior = posicao(cx + alcance, cy + dy);
+                    int p = ponteiro[dy + 2];
+                    while (p < quantidadeCelulas && posicao[p] < menor) {
+                        p++;
+                    }
+                    ponteiro[dy + 2] = p;
+                    for (int v = p; v < quantidadeCelulas && posicao[v] <= maior; v++) {
+                        if (v != c) {
+                            encontradas[quantidade++] = v;
+                        }
+                    }
+                }
+                vizinhas[c] = Arrays.copyOf(encontradas, quantidade);
+            }
+        }
+
+        private void marcarNucleos(int c) {
+            int de = inicio[c];
+            int ate = inicio[c + 1];
+            if (ate - de >= minimo) {
+                Arrays.fill(nucleo, de, ate, true);
+                temNucleo[c] = true;
+                return;
+            }
+            for (int k = de; k < ate; k++) {
+                if (contarVizinhos(vizinhas[c], k, ate - de) >= minimo) {
+                    nucleo[k] = true;
+                    temNucleo[c] = true;
+                }
+            }
+        }
+
+        private int contarVizinhos(int[] celulas, int p, int jaContados) {
+            int vizinhos = jaContados;
+            for (int v : celulas) {
+                for (int k = inicio[v]; k < inicio[v + 1]; k++) {
+                    if (alcanca(p, k) && ++vizinhos >= minimo) {
+                        return vizinhos;
+                    }
+                }
+            }
+            return vizinhos;
+        }
+
+        private void unirVizinhas(int c) {
+            if (!temNucleo[c]) {
+                return;
+            }
+            for (int v : vizinhas[c]) {
+                // cada par de células é tratado uma vez, pela de menor índice
+                if (v < c || !temNucleo[v] || encontrar(c) == encontrar(v)) {
+                    continue;
+                }
+                if (nucleosSeAlcancam(c, v)) {
+                    unir(c, v);
+                }
+            }
+        }
+
+        private boolean nucleosSeAlcancam(int a, int b) {
+            for (int p = inicio[a]; p < inicio[a + 1]; p++) {
+                if (!nucleo[p]) {
+                    continue;
+                }
+                for (int q = inicio[b]; q < inicio[b + 1]; q++) {
+                    if (nucleo[q] && alcanca(p, q)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private void rotular(int c) {
+            if (temNucleo[c]) {
+                // todo ponto da célula está ao alcance dos núcleos dela
+                int raiz = encontrar(c);
+                for (int k = inicio[c]; k < inicio[c + 1]; k++) {
+                    rotulos[ordem[k]] = raiz;
+                }
+                return;
+            }
+            for (int k = inicio[c]; k < inicio[c + 1]; k++) {
+                rotulos[ordem[k]] = grupoDaBorda(vizinhas[c], k);
+            }
+        }
+
+        private int grupoDaBorda(int[] celulas, int p) {
+            for (int v : celulas) {
+                if (!temNucleo[v]) {
+                    continue;
+                }
+                for (int q = inicio[v]; q < inicio[v + 1]; q++) {
+                    if (nucleo[q] && alcanca(p, q)) {
+                        return encontrar(v);
+                    }
+                }
+            }
+            return RUIDO;
+        }
+
+        private boolean alcanca(int p, int q) {
+            long dx = px[p] - (long) px[q];
+            long dy = py[p] - (long) py[q];
+            return dx * dx + dy * dy <= raio2;
+        }
+
+        private int encontrar(int c) {
+            while (true) {
+                int p = pai.get(c);
+                if (p == c) {
+                    return c;
+                }
+                int avo = pai.get(p);
+                if (p != avo) {
+                    pai.compareAndSet(c, p, avo);
+                }
+                c = p;
+            }
+        }
+
+        private void unir(int a, int b) {
+            while (true) {
+                a = encontrar(a);
+                b = encontrar(b);
+                if (a == b) {
+                    return;
+                }
+                // a raiz de maior índice passa a apontar para a de menor
+                if (a < b) {
+                    int troca = a;
+                    a = b;
+                    b = troca;
+                }
+                if (pai.compareAndSet(a, a, b)) {
+                    return;
+                }
+            }
+        }
+
+        private void paraCadaCelula(IntConsumer acao) {
+            pool.invoke(new PorCelulas((de, ate) -> {
+                for (int c = de; c < ate; c++) {
+                    acao.accept(c);
+                }
+            }, 0, quantidadeCelulas));
+        }
+    }
+
+    /**
+     * Linha nos 32 bits altos e coluna nos baixos, com o bit de sinal da coluna
+     * invertido para que a ordem dos longs siga a ordem das colunas. Nunca vale
+     * 0, que é reservado no {@link LongLongHashMap}: com raio de ao menos 2 a
+     * coluna não chega a {@code Integer.MIN_VALUE}.
+     */
+    private static long posicao(int cx, int cy) {
+        return ((long) cy << 32) | ((cx ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+    }
+
+    private static int coluna(long posicao) {
+        return (int) posicao ^ Integer.MIN_VALUE;
+    }
+
+    private static int linha(long posicao) {
+        return (int) (posicao >> 32);
+    }
+
+    @FunctionalInterface
+    private interface Faixa {
+        void processar(int de, int ate);
+    }
+
+    private static final class PorCelulas extends RecursiveAction {
+
+        private final Faixa faixa;
+        private final int inicio;
+        private final int fim;
+
+        PorCelulas(Faixa faixa, int inicio, int fim) {
+            this.faixa = faixa;
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+
+        @Override
+        protected void compute() {
+            if (fim - inicio > LIMIAR_PARALELO) {
+                int meio = (inicio + fim) >>> 1;
+                invokeAll(new PorCelulas(faixa, inicio, meio), new PorCelulas(faixa, meio, fim));
+                return;
+            }
+            faixa.processar(inicio, fim);
+        }
+    }
+}
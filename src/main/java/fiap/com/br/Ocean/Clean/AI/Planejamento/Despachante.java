@@ -0,0 +1,343 @@
+package fiap.com.br.Ocean.Clean.AI.Planejamento;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Escolhe o drone para cada resíduo pela distância até ele e pela bateria, e
+ * manda de volta à base quem não conseguiria terminar o trajeto com a reserva
+ * mínima.
+ * <p>
+ * Os drones disponíveis ficam em uma grade; cada célula é um
+ * {@link ConcurrentSkipListSet} ordenado da maior para a menor bateria, com
+ * inclusão e remoção em O(log n). A busca percorre anéis de células a partir
+ * do alvo e para quando nenhuma célula mais distante pode ter custo menor.
+ * As transições de estado de um drone são feitas em {@code compute} no seu
+ * próprio id, sem lock global: dois despachos que escolhem o mesmo drone
+ * (ou o mesmo resíduo) disputam a reserva e só um a leva.
+ */
+public class Despachante {
+
+    /**
+     * {@code RETORNANDO} cobre o voo até a base e a recarga, até a bateria
+     * chegar ao nível de liberação.
+     */
+    public enum Situacao { DISPONIVEL, EM_ROTA, RETORNANDO }
+
+    /**
+     * Estado de um drone no despacho. {@code residuo}, {@code alvoX} e
+     * {@code alvoY} só têm significado em {@link Situacao#EM_ROTA}.
+     */
+    public record Estado(long id, Situacao situacao, int x, int y, int bateria, long residuo, int alvoX, int alvoY) {
+    }
+
+    public record Mudanca(Estado anterior, Estado atual) {
+
+        public boolean recolhido() {
+            return emRota(anterior) && atual.situacao() == Situacao.RETORNANDO;
+        }
+
+        public boolean concluido() {
+            return emRota(anterior) && atual.situacao() == Situacao.DISPONIVEL;
+        }
+
+        private static boolean emRota(Estado estado) {
+            return estado != null && estado.situacao() == Situacao.EM_ROTA;
+        }
+    }
+
+    private static final Comparator<Estado> POR_BATERIA =
+        Comparator.comparingInt(Estado::bateria).reversed().thenComparingLong(Estado::id);
+    private static final int TENTATIVAS = 8;
+
+    private final int tamanhoCelula;
+    private final int baseX;
+    private final int baseY;
+    private final double consumoPorUnidade;
+    private final int bateriaReserva;
+    private final int bateriaLiberacao;
+    private final int toleranciaChegada;
+    private final double pesoBateria;
+    private final int anelMaximo;
+
+    private final ConcurrentHashMap<Long, Estado> estados = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, ConcurrentSkipListSet<Estado>> grade = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Long> atribuicoes = new ConcurrentHashMap<>();
+    private final AtomicInteger disponiveis = new AtomicInteger();
+
+    /**
+     * @param consumoPorUnidade pontos percentuais de bateria gastos por unidade
+     *                          de distância
+     * @param pesoBateria       distância que um ponto de bateria compensa na
+     *                          escolha do drone
+     */
+    public Despachante(int tamanhoCelula, int baseX, int baseY, double consumoPorUnidade,
+            int bateriaReserva, int bateriaLiberacao, int toleranciaChegada, double pesoBateria) {
+        if (tamanhoCelula <= 0) {
+            throw new IllegalArgumentException("Tamanho de célula deve ser positivo");
+        }
+        if (consumoPorUnidade <= 0) {
+            throw new IllegalArgumentException("Consumo de bateria deve ser positivo");
+        }
+        if (bateriaReserva < 0 || bateriaLiberacao < bateriaReserva || bateriaLiberacao > 100) {
+            throw new IllegalArgumentException("Reserva e liberação devem respeitar 0 <= reserva <= liberação <= 100");
+        }
+        this.tamanhoCelula = tamanhoCelula;
+        this.baseX = baseX;
+        this.baseY = baseY;
+        this.consumoPorUnidade = consumoPorUnidade;
+        this.bateriaReserva = bateriaReserva;
+        this.bateriaLiberacao = bateriaLiberacao;
+        this.toleranciaChegada = toleranciaChegada;
+        this.pesoBateria = pesoBateria;
+        // nenhum drone alcança um alvo a mais que (100 - reserva) / consumo
+        this.anelMaximo = (int) Math.min(Integer.MAX_VALUE / 2,
+            Math.ceil((100 - bateriaReserva) / consumoPorUnidade / tamanhoCelula) + 1);
+    }
+
+    /**
+     * Aplica posição e bateria reportadas. Um drone em rota que chega ao alvo
+     * fica livre; se a bateria prevista ao voltar à base fica abaixo da
+     * reserva ele é recolhido e o resíduo, liberado.
+     */
+    public Mudanca atualizar(long id, int x, int y, int bateria) {
+        Estado[] anterior = new Estado[1];
+        Estado atual = estados.compute(id, (chave, estado) -> {
+            anterior[0] = estado;
+            Estado novo;
+            if (estado != null && estado.situacao() == Situacao.EM_ROTA) {
+                if (distancia(x, y, estado.alvoX(), estado.alvoY()) <= toleranciaChegada) {
+                    novo = parado(id, x, y, bateria);
+                } else if (prevista(bateria, x, y, estado.alvoX(), estado.alvoY()) < bateriaReserva) {
+                    novo = new Estado(id, Situacao.RETORNANDO, x, y, bateria, 0, 0, 0);
+                } else {
+                    novo = new Estado(id, Situacao.EM_ROTA, x, y, bateria, estado.residuo(), estado.alvoX(), estado.alvoY());
+                }
+            } else if (estado != null && estado.situacao() == Situacao.RETORNANDO && bateria < bateriaLiberacao) {
+                novo = new Estado(id, Situacao.RETORNANDO, x, y, bateria, 0, 0, 0);
+            } else {
+                novo = parado(id, x, y, bateria);
+            }
+            tirarDaGrade(estado);
+            porNaGrade(novo);
+            liberarResiduo(estado, novo);
+            return novo;
+        });
+        return new Mudanca(anterior[0], atual);
+    }
+
+    /**
+     * @return o estado removido, ou {@code null} se o drone não era conhecido
+     */
+    public Estado remover(long id) {
+        Estado[] removido = new Estado[1];
+        estados.computeIfPresent(id, (chave, estado) -> {
+            tirarDaGrade(estado);
+            liberarResiduo(estado, null);
+            removido[0] = estado;
+            return null;
+        });
+        return removido[0];
+    }
+
+    /**
+     * Melhor drone disponível para um alvo, sem reservá-lo: menor distância
+     * descontada da bateria, entre os que chegam ao alvo e voltam à base com
+     * a reserva.
+     */
+    public Estado melhor(int x, int y) {
+        int cx = Math.floorDiv(x, tamanhoCelula);
+        int cy = Math.floorDiv(y, tamanhoCelula);
+        int total = disponiveis.get();
+        int vistos = 0;
+        Estado melhor = null;
+        double melhorCusto = Double.POSITIVE_INFINITY;
+        for (int anel = 0; anel <= anelMaximo && vistos < total; anel++) {
+            if (melhor != null && (anel - 1) * (double) tamanhoCelula - pesoBateria * 100 >= melhorCusto) {
+                break;
+            }
+            int lado = anel == 0 ? 1 : 2 * anel;
+            for (int borda = 0; borda < (anel == 0 ? 1 : 4); borda++) {
+                for (int passo = 0; passo < lado; passo++) {
+                    // perímetro do anel em quatro lados sem repetir os cantos
+                    int i;
+                    int j;
+                    switch (borda) {
+                        case 0 -> { i = -anel + passo; j = -anel; }
+                        case 1 -> { i = anel; j = -anel + passo; }
+                        case 2 -> { i = anel - passo; j = anel; }
+                        default -> { i = -anel; j = anel - passo; }
+                    }
+                    ConcurrentSkipListSet<Estado> celula = grade.get(chave(cx + i, cy + j));
+                    if (celula == null) {
+                        continue;
+                    }
+                    double distanciaCelula = distanciaCelula(x, y, cx + i, cy + j);
+                    for (Estado estado : celula) {
+                        vistos++;
+                        // ordenado por bateria: daqui em diante nenhum drone da célula ganha
+                        if (distanciaCelula - pesoBateria * estado.bateria() >= melhorCusto) {
+                            break;
+                        }
+                        if (prevista(estado.bateria(), estado.x(), estado.y(), x, y) < bateriaReserva) {
+                            continue;
+                        }
+                        double custo = distancia(estado.x(), estado.y(), x, y) - pesoBateria * estado.bateria();
+                        if (custo < melhorCusto) {
+                            melhor = estado;
+                            melhorCusto = custo;
+                        }
+                    }
+                }
+            }
+        }
+        return melhor;
+    }
+
+    /**
+     * Reserva o melhor drone para o resíduo.
+     *
+     * @return o drone em rota, ou {@code null} se não há drone que alcance o
+     *         alvo ou se o resíduo já foi atribuído
+     */
+    public Estado atribuir(long residuo, int x, int y) {
+        for (int tentativa = 0; tentativa < TENTATIVAS && !atribuicoes.containsKey(residuo); tentativa++) {
+            Estado candidato = melhor(x, y);
+            if (candidato == null) {
+                return null;
+            }
+            Estado[] reservado = new Estado[1];
+            estados.computeIfPresent(candidato.id(), (id, estado) -> {
+                // o resíduo é reservado junto com o drone, dentro do compute do drone
+                if (!estado.equals(candidato) || atribuicoes.putIfAbsent(residuo, id) != null) {
+                    return estado;
+                }
+                tirarDaGrade(estado);
+                reservado[0] = new Estado(id, Situacao.EM_ROTA, estado.x(), estado.y(), estado.bateria(), residuo, x, y);
+                return reservado[0];
+            });
+            if (reservado[0] != null) {
+                return reservado[0];
+            }
+            // outro despacho levou o drone ou o resíduo, ou chegou telemetria nova
+        }
+        return null;
+    }
+
+    /**
+     * Encerra a rota de um drone, que volta a ficar disponível na posição atual.
+     *
+     * @return {@code null} se o drone não estava em rota
+     */
+    public Mudanca concluir(long id) {
+        Estado[] anterior = new Estado[1];
+        Estado atual = estados.computeIfPresent(id, (chave, estado) -> {
+            if (estado.situacao() != Situacao.EM_ROTA) {
+                return estado;
+            }
+            anterior[0] = estado;
+            Estado novo = parado(id, estado.x(), estado.y(), estado.bateria());
+            porNaGrade(novo);
+            liberarResiduo(estado, novo);
+            return novo;
+        });
+        return anterior[0] == null ? null : new Mudanca(anterior[0], atual);
+    }
+
+    public Estado estado(long id) {
+        return estados.get(id);
+    }
+
+    public Long droneDoResiduo(long residuo) {
+        return atribuicoes.get(residuo);
+    }
+
+    /**
+     * Drones em rota ou voltando à base.
+     */
+    public List<Estado> ocupados() {
+        List<Estado> ocupados = new ArrayList<>();
+        for (Estado estado : estados.values()) {
+            if (estado.situacao() != Situacao.DISPONIVEL) {
+                ocupados.add(estado);
+            }
+        }
+        return ocupados;
+    }
+
+    public int disponiveis() {
+        return disponiveis.get();
+    }
+
+    public int emRota() {
+        return atribuicoes.size();
+    }
+
+    /**
+     * Bateria prevista ao chegar de volta à base, passando pelo alvo se o
+     * drone estiver em rota.
+     */
+    public int bateriaPrevista(Estado estado) {
+        if (estado.situacao() == Situacao.EM_ROTA) {
+            return (int) Math.floor(prevista(estado.bateria(), estado.x(), estado.y(), estado.alvoX(), estado.alvoY()));
+        }
+        return (int) Math.floor(estado.bateria() - consumoPorUnidade * distancia(estado.x(), estado.y(), baseX, baseY));
+    }
+
+    private Estado parado(long id, int x, int y, int bateria) {
+        boolean voltaABase = bateria - consumoPorUnidade * distancia(x, y, baseX, baseY) >= bateriaReserva;
+        return new Estado(id, voltaABase ? Situacao.DISPONIVEL : Situacao.RETORNANDO, x, y, bateria, 0, 0, 0);
+    }
+
+    private double prevista(int bateria, int x, int y, int alvoX, int alvoY) {
+        return bateria - consumoPorUnidade * (distancia(x, y, alvoX, alvoY) + distancia(alvoX, alvoY, baseX, baseY));
+    }
+
+    private void liberarResiduo(Estado anterior, Estado atual) {
+        if (anterior != null && anterior.situacao() == Situacao.EM_ROTA
+                && (atual == null || atual.situacao() != Situacao.EM_ROTA)) {
+            atribuicoes.remove(anterior.residuo(), anterior.id());
+        }
+    }
+
+    private void tirarDaGrade(Estado estado) {
+        if (estado != null && estado.situacao() == Situacao.DISPONIVEL) {
+            ConcurrentSkipListSet<Estado> celula = grade.get(chave(
+                Math.floorDiv(estado.x(), tamanhoCelula), Math.floorDiv(estado.y(), tamanhoCelula)));
+            if (celula != null && celula.remove(estado)) {
+                disponiveis.decrementAndGet();
+            }
+        }
+    }
+
+    private void porNaGrade(Estado estado) {
+        if (estado.situacao() == Situacao.DISPONIVEL) {
+            long chave = chave(Math.floorDiv(estado.x(), tamanhoCelula), Math.floorDiv(estado.y(), tamanhoCelula));
+            if (grade.computeIfAbsent(chave, c -> new ConcurrentSkipListSet<>(POR_BATERIA)).add(estado)) {
+                disponiveis.incrementAndGet();
+            }
+        }
+    }
+
+    private double distanciaCelula(int x, int y, int cx, int cy) {
+        long minX = (long) cx * tamanhoCelula;
+        long minY = (long) cy * tamanhoCelula;
+        long dx = Math.max(0, Math.max(minX - x, x - (minX + tamanhoCelula - 1)));
+        long dy = Math.max(0, Math.max(minY - y, y - (minY + tamanhoCelula - 1)));
+        return Math.sqrt((double) (dx * dx + dy * dy));
+    }
+
+    private static double distancia(int x1, int y1, int x2, int y2) {
+        double dx = (double) x1 - x2;
+        double dy = (double) y1 - y2;
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    private static long chave(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xffffffffL);
+    }
+}
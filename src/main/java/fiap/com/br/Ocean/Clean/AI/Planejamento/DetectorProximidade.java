@@ -0,0 +1,148 @@
+package fiap.com.br.Ocean.Clean.AI.Planejamento;
+
+import java.util.Arrays;
+
+/**
+ * Pares de pontos a no máximo {@code distancia} um do outro, por hash
+ * espacial: células de lado {@code distancia}, de modo que um par próximo
+ * sempre fica na mesma célula ou em células vizinhas.
+ * <p>
+ * A cada chamada os pontos são distribuídos em baldes (uma contagem e uma
+ * soma de prefixos, sem ordenar) e cada célula é comparada com ela mesma e
+ * com 4 das 8 vizinhas, a metade "à frente", então cada par de células é
+ * visitado uma vez. O custo fica perto de linear enquanto as células não
+ * concentram muitos pontos. Os vetores são reaproveitados entre chamadas:
+ * uma instância não deve ser usada por mais de uma thread ao mesmo tempo.
+ */
+public class DetectorProximidade {
+
+    @FunctionalInterface
+    public interface Consumidor {
+        /**
+         * @param a          índice do primeiro ponto, na ordem de entrada
+         * @param b          índice do segundo ponto
+         * @param distancia2 quadrado da distância entre os dois
+         */
+        void par(int a, int b, long distancia2);
+    }
+
+    // a própria célula e as vizinhas à direita e na linha de cima
+    private static final int[] VIZINHA_DX = { 0, 1, -1, 0, 1 };
+    private static final int[] VIZINHA_DY = { 0, 0, 1, 1, 1 };
+
+    private final int distancia;
+    private final long distancia2;
+
+    // pontos do balde b nas posições inicio[b] .. inicio[b + 1] - 1;
+    // ordem[k] é o índice original do ponto na posição k
+    private int[] inicio = new int[0];
+    private int[] proxima = new int[0];
+    private int[] ordem = new int[0];
+    private long[] celulas = new long[0];
+    private int[] px = new int[0];
+    private int[] py = new int[0];
+    private long[] celulaDoPonto = new long[0];
+    private int[] baldeDoPonto = new int[0];
+
+    public DetectorProximidade(int distancia) {
+        if (distancia < 1) {
+            throw new IllegalArgumentException("A distância de proximidade deve ser positiva");
+        }
+        this.distancia = distancia;
+        this.distancia2 = (long) distancia * distancia;
+    }
+
+    /**
+     * Entrega ao consumidor cada par dos {@code n} primeiros pontos a no
+     * máximo {@code distancia} um do outro, uma vez por par.
+     *
+     * @return quantidade de pares
+     */
+    public int detectar(int[] xs, int[] ys, int n, Consumidor consumidor) {
+        if (n < 2) {
+            return 0;
+        }
+        int baldes = Integer.highestOneBit(n * 2 - 1);
+        int mascara = baldes - 1;
+        reservar(n, baldes);
+
+        Arrays.fill(inicio, 0, baldes + 1, 0);
+        for (int i = 0; i < n; i++) {
+            long celula = celula(Math.floorDiv(xs[i], distancia), Math.floorDiv(ys[i], distancia));
+            int balde = misturar(celula) & mascara;
+            celulaDoPonto[i] = celula;
+            baldeDoPonto[i] = balde;
+            inicio[balde + 1]++;
+        }
+        for (int b = 0; b < baldes; b++) {
+            inicio[b + 1] += inicio[b];
+        }
+        System.arraycopy(inicio, 0, proxima, 0, baldes);
+        for (int i = 0; i < n; i++) {
+            int k = proxima[baldeDoPonto[i]]++;
+            ordem[k] = i;
+            celulas[k] = celulaDoPonto[i];
+            px[k] = xs[i];
+            py[k] = ys[i];
+        }
+
+        int pares = 0;
+        for (int k = 0; k < n; k++) {
+            int cx = coluna(celulas[k]);
+            int cy = linha(celulas[k]);
+            for (int v = 0; v < VIZINHA_DX.length; v++) {
+                long vizinha = celula(cx + VIZINHA_DX[v], cy + VIZINHA_DY[v]);
+                int balde = misturar(vizinha) & mascara;
+                // na própria célula só os pontos adiante, para não repetir pares
+                int de = v == 0 ? k + 1 : inicio[balde];
+                for (int q = de; q < inicio[balde + 1]; q++) {
+                    // baldes são compartilhados por células diferentes
+                    if (celulas[q] != vizinha) {
+                        continue;
+                    }
+                    long dx = px[k] - (long) px[q];
+                    long dy = py[k] - (long) py[q];
+                    long d2 = dx * dx + dy * dy;
+                    if (d2 <= distancia2) {
+                        consumidor.par(ordem[k], ordem[q], d2);
+                        pares++;
+                    }
+                }
+            }
+        }
+        return pares;
+    }
+
+    private void reservar(int n, int baldes) {
+        if (inicio.length < baldes + 1) {
+            inicio = new int[baldes + 1];
+            proxima = new int[baldes];
+        }
+        if (ordem.length < n) {
+            int capacidade = Math.max(n, ordem.length * 2);
+            ordem = new int[capacidade];
+            celulas = new long[capacidade];
+            px = new int[capacidade];
+            py = new int[capacidade];
+            celulaDoPonto = new long[capacidade];
+            baldeDoPonto = new int[capacidade];
+        }
+    }
+
+    private static long celula(int cx, int cy) {
+        return ((long) cy << 32) | (cx & 0xFFFFFFFFL);
+    }
+
+    private static int coluna(long celula) {
+        return (int) celula;
+    }
+
+    private static int linha(long celula) {
+        return (int) (celula >> 32);
+    }
+
+    private static int misturar(long celula) {
+        long h = celula * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,471 @@
+package fiap.com.br.Ocean.Clean.AI.Planejamento;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+import fiap.com.br.Ocean.Clean.AI.Dto.ResiduoLocalizado;
+import fiap.com.br.Ocean.Clean.AI.Index.ResiduoSpatialIndex;
+
+/**
+ * Divide um conjunto de resíduos entre drones e ordena a rota de cada um.
+ * <ol>
+ * <li>k-means com um centro por drone, partindo da posição de cada drone;</li>
+ * <li>atribuição final com capacidade proporcional ao nível de bateria, dando
+ * prioridade aos pontos com maior diferença entre o melhor e o segundo melhor
+ * centro;</li>
+ * <li>rota por vizinho mais próximo seguida de 2-opt com janela limitada.</li>
+ * </ol>
+ * As etapas paralelizáveis rodam no {@link ForkJoinPool} recebido.
+ */
+public class PlanejadorRotas {
+
+    public record Veiculo(long id, int x, int y, int bateria) {
+    }
+
+    public record Rota(long idVeiculo, long[] residuos, double distancia) {
+    }
+
+    private static final int LIMIAR_PARALELO = 4096;
+    private static final int LIMIAR_BUSCA_LINEAR = 256;
+
+    private final ForkJoinPool pool;
+    private final int iteracoesKMeans;
+    private final int janela2Opt;
+    private final int passadas2Opt;
+
+    public PlanejadorRotas(ForkJoinPool pool, int iteracoesKMeans, int janela2Opt, int passadas2Opt) {
+        this.pool = pool;
+        this.iteracoesKMeans = iteracoesKMeans;
+        this.janela2Opt = janela2Opt;
+        this.passadas2Opt = passadas2Opt;
+    }
+
+    public List<Rota> planejar(long[] ids, int[] xs, int[] ys, List<Veiculo> veiculos) {
+        int n = ids.length;
+        int k = veiculos.size();
+        if (k == 0) {
+            throw new IllegalArgumentException("É necessário ao menos um drone para planejar a missão");
+        }
+
+        double[] cx = new double[k];
+        double[] cy = new double[k];
+        for (int i = 0; i < k; i++) {
+            cx[i] = veiculos.get(i).x();
+            cy[i] = veiculos.get(i).y();
+        }
+
+        int[] atribuicao = new int[n];
+        for (int iteracao = 0; iteracao < iteracoesKMeans && n > 0; iteracao++) {
+            pool.invoke(new AtribuirMaisProximo(xs, ys, cx, cy, atribuicao, 0, n));
+            double[] somas = pool.invoke(new SomarCentros(xs, ys, atribuicao, k, 0, n));
+            boolean mudou = false;
+            for (int c = 0; c < k; c++) {
+                double quantidade = somas[3 * c + 2];
+                if (quantidade > 0) {
+                    double nx = somas[3 * c] / quantidade;
+                    double ny = somas[3 * c + 1] / quantidade;
+                    mudou |= Math.abs(nx - cx[c]) > 0.5 || Math.abs(ny - cy[c]) > 0.5;
+                    cx[c] = nx;
+                    cy[c] = ny;
+                }
+            }
+            if (!mudou) {
+                break;
+            }
+        }
+
+        int[] grupo = atribuirComCapacidade(xs, ys, cx, cy, capacidades(n, veiculos));
+
+        int[][] membros = agrupar(grupo, k);
+        OtimizarRota[] tarefas = new OtimizarRota[k];
+        for (int c = 0; c < k; c++) {
+            tarefas[c] = new OtimizarRota(veiculos.get(c), membros[c], ids, xs, ys);
+        }
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tarefas);
+            }
+        });
+
+        List<Rota> rotas = new ArrayList<>(k);
+        for (OtimizarRota tarefa : tarefas) {
+            rotas.add(tarefa.rota);
+        }
+        return rotas;
+    }
+
+    static int[] capacidades(int n, List<Veiculo> veiculos) {
+        int k = veiculos.size();
+        long pesoTotal = 0;
+        for (Veiculo veiculo : veiculos) {
+            pesoTotal += Math.max(1, veiculo.bateria());
+        }
+        int[] capacidade = new int[k];
+        double[] fracao = new double[k];
+        int distribuidos = 0;
+        for (int i = 0; i < k; i++) {
+            double ideal = (double) n * Math.max(1, veiculos.get(i).bateria()) / pesoTotal;
+            capacidade[i] = (int) ideal;
+            fracao[i] = ideal - capacidade[i];
+            distribuidos += capacidade[i];
+        }
+        while (distribuidos < n) {
+            int melhor = 0;
+            for (int i = 1; i < k; i++) {
+                if (fracao[i] > fracao[melhor]) {
+                    melhor = i;
+                }
+            }
+            capacidade[melhor]++;
+            fracao[melhor] = -1;
+            distribuidos++;
+        }
+        return capacidade;
+    }
+
+    private int[] atribuirComCapacidade(int[] xs, int[] ys, double[] cx, double[] cy, int[] capacidade) {
+        int n = xs.length;
+        int k = cx.length;
+        int[] preferido = new int[n];
+        long[] ordem = new long[n];
+        pool.invoke(new CalcularArrependimento(xs, ys, cx, cy, preferido, ordem, 0, n));
+        // ordem crescente de arrependimento: percorrida de trás para frente
+        Arrays.parallelSort(ordem);
+
+        int[] restante = capacidade.clone();
+        int[] grupo = new int[n];
+        for (int i = n - 1; i >= 0; i--) {
+            int ponto = (int) ordem[i];
+            int escolhido = preferido[ponto];
+            if (restante[escolhido] == 0) {
+                escolhido = -1;
+                double melhor = Double.MAX_VALUE;
+                for (int c = 0; c < k; c++) {
+                    if (restante[c] > 0) {
+                        double d = distancia2(xs[ponto], ys[ponto], cx[c], cy[c]);
+                        if (d < melhor) {
+                            melhor = d;
+                            escolhido = c;
+                        }
+                    }
+                }
+            }
+            restante[escolhido]--;
+            grupo[ponto] = escolhido;
+        }
+        return grupo;
+    }
+
+    private static int[][] agrupar(int[] grupo, int k) {
+        int[] tamanhos = new int[k];
+        for (int g : grupo) {
+            tamanhos[g]++;
+        }
+        int[][] membros = new int[k][];
+        for (int c = 0; c < k; c++) {
+            membros[c] = new int[tamanhos[c]];
+        }
+        int[] posicao = new int[k];
+        for (int i = 0; i < grupo.length; i++) {
+            membros[grupo[i]][posicao[grupo[i]]++] = i;
+        }
+        return membros;
+    }
+
+    private static double distancia2(double x1, double y1, double x2, double y2) {
+        double dx = x1 - x2;
+        double dy = y1 - y2;
+        return dx * dx + dy * dy;
+    }
+
+    private static double distancia(double x1, double y1, double x2, double y2) {
+        return Math.sqrt(distancia2(x1, y1, x2, y2));
+    }
+
+    private static final class AtribuirMaisProximo extends RecursiveAction {
+
+        private final int[] xs;
+        private final int[] ys;
+        private final double[] cx;
+        private final double[] cy;
+        private final int[] atribuicao;
+        private final int inicio;
+        private final int fim;
+
+        AtribuirMaisProximo(int[] xs, int[] ys, double[] cx, double[] cy, int[] atribuicao, int inicio, int fim) {
+            this.xs = xs;
+            this.ys = ys;
+            this.cx = cx;
+            this.cy = cy;
+            this.atribuicao = atribuicao;
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+
+        @Override
+        protected void compute() {
+            if (fim - inicio > LIMIAR_PARALELO) {
+                int meio = (inicio + fim) >>> 1;
+                invokeAll(new AtribuirMaisProximo(xs, ys, cx, cy, atribuicao, inicio, meio),
+                    new AtribuirMaisProximo(xs, ys, cx, cy, atribuicao, meio, fim));
+                return;
+            }
+            for (int i = inicio; i < fim; i++) {
+                int melhor = 0;
+                double menor = Double.MAX_VALUE;
+                for (int c = 0; c < cx.length; c++) {
+                    double d = distancia2(xs[i], ys[i], cx[c], cy[c]);
+                    if (d < menor) {
+                        menor = d;
+                        melhor = c;
+                    }
+                }
+                atribuicao[i] = melhor;
+            }
+        }
+    }
+
+    private static final class SomarCentros extends RecursiveTask<double[]> {
+
+        private final int[] xs;
+        private final int[] ys;
+        private final int[] atribuicao;
+        private final int k;
+        private final int inicio;
+        private final int fim;
+
+        SomarCentros(int[] xs, int[] ys, int[] atribuicao, int k, int inicio, int fim) {
+            this.xs = xs;
+            this.ys = ys;
+            this.atribuicao = atribuicao;
+            this.k = k;
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+
+        @Override
+        protected double[] compute() {
+            if (fim - inicio > LIMIAR_PARALELO) {
+                int meio = (inicio + fim) >>> 1;
+                SomarCentros esquerda = new SomarCentros(xs, ys, atribuicao, k, inicio, meio);
+                esquerda.fork();
+                double[] direita = new SomarCentros(xs, ys, atribuicao, k, meio, fim).compute();
+                double[] somas = esquerda.join();
+                for (int i = 0; i < somas.length; i++) {
+                    somas[i] += direita[i];
+                }
+                return somas;
+            }
+            double[] somas = new double[3 * k];
+            for (int i = inicio; i < fim; i++) {
+                int c = atribuicao[i];
+                somas[3 * c] += xs[i];
+                somas[3 * c + 1] += ys[i];
+                somas[3 * c + 2]++;
+            }
+            return somas;
+        }
+    }
+
+    private static final class CalcularArrependimento extends RecursiveAction {
+
+        private final int[] xs;
+        private final int[] ys;
+        private final double[] cx;
+        private final double[] cy;
+        private final int[] preferido;
+        private final long[] ordem;
+        private final int inicio;
+        private final int fim;
+
+        CalcularArrependimento(int[] xs, int[] ys, double[] cx, double[] cy, int[] preferido, long[] ordem, int inicio, int fim) {
+            this.xs = xs;
+            this.ys = ys;
+            this.cx = cx;
+            this.cy = cy;
+            this.preferido = preferido;
+            this.ordem = ordem;
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+
+        @Override
+        protected void compute() {
+            if (fim - inicio > LIMIAR_PARALELO) {
+                int meio = (inicio + fim) >>> 1;
+                invokeAll(new CalcularArrependimento(xs, ys, cx, cy, preferido, ordem, inicio, meio),
+                    new CalcularArrependimento(xs, ys, cx, cy, preferido, ordem, meio, fim));
+                return;
+            }
+            for (int i = inicio; i < fim; i++) {
+                int melhor = 0;
+                double primeiro = Double.MAX_VALUE;
+                double segundo = Double.MAX_VALUE;
+                for (int c = 0; c < cx.length; c++) {
+                    double d = distancia(xs[i], ys[i], cx[c], cy[c]);
+                    if (d < primeiro) {
+                        segundo = primeiro;
+                        primeiro = d;
+                        melhor = c;
+                    } else if (d < segundo) {
+                        segundo = d;
+                    }
+                }
+                float arrependimento = segundo == Double.MAX_VALUE ? 0f : (float) (segundo - primeiro);
+                preferido[i] = melhor;
+                // bits de float não negativo preservam a ordem numérica
+                ordem[i] = ((long) Float.floatToIntBits(arrependimento) << 32) | i;
+            }
+        }
+    }
+
+    private final class OtimizarRota extends RecursiveAction {
+
+        private final Veiculo veiculo;
+        private final int[] membros;
+        private final long[] ids;
+        private final int[] xs;
+        private final int[] ys;
+        private Rota rota;
+
+        OtimizarRota(Veiculo veiculo, int[] membros, long[] ids, int[] xs, int[] ys) {
+            this.veiculo = veiculo;
+            this.membros = membros;
+            this.ids = ids;
+            this.xs = xs;
+            this.ys = ys;
+        }
+
+        @Override
+        protected void compute() {
+            int m = membros.length;
+            // posição 0 é o próprio drone; as demais são os resíduos na ordem de visita
+            int[] px = new int[m + 1];
+            int[] py = new int[m + 1];
+            int[] ordem = vizinhoMaisProximo();
+            px[0] = veiculo.x();
+            py[0] = veiculo.y();
+            for (int i = 0; i < m; i++) {
+                px[i + 1] = xs[ordem[i]];
+                py[i + 1] = ys[ordem[i]];
+            }
+            int[] caminho = new int[m + 1];
+            for (int i = 0; i <= m; i++) {
+                caminho[i] = i;
+            }
+            doisOpt(caminho, px, py);
+
+            long[] residuos = new long[m];
+            double total = 0;
+            for (int i = 1; i <= m; i++) {
+                residuos[i - 1] = ids[ordem[caminho[i] - 1]];
+                total += distancia(px[caminho[i - 1]], py[caminho[i - 1]], px[caminho[i]], py[caminho[i]]);
+            }
+            rota = new Rota(veiculo.id(), residuos, total);
+        }
+
+        private int[] vizinhoMaisProximo() {
+            int m = membros.length;
+            int[] ordem = new int[m];
+            if (m <= LIMIAR_BUSCA_LINEAR) {
+                boolean[] visitado = new boolean[m];
+                int x = veiculo.x();
+                int y = veiculo.y();
+                for (int passo = 0; passo < m; passo++) {
+                    int melhor = -1;
+                    double menor = Double.MAX_VALUE;
+                    for (int j = 0; j < m; j++) {
+                        if (!visitado[j]) {
+                            double d = distancia2(x, y, xs[membros[j]], ys[membros[j]]);
+                            if (d < menor) {
+                                menor = d;
+                                melhor = j;
+                            }
+                        }
+                    }
+                    visitado[melhor] = true;
+                    ordem[passo] = membros[melhor];
+                    x = xs[membros[melhor]];
+                    y = ys[membros[melhor]];
+                }
+                return ordem;
+            }
+
+            int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+            for (int p : membros) {
+                minX = Math.min(minX, xs[p]);
+                minY = Math.min(minY, ys[p]);
+                maxX = Math.max(maxX, xs[p]);
+                maxY = Math.max(maxY, ys[p]);
+            }
+            // células com cerca de dois pontos cada
+            double area = Math.max(1.0, (double) (maxX - minX + 1) * (maxY - minY + 1));
+            int tamanhoCelula = (int) Math.max(1, Math.ceil(Math.sqrt(2.0 * area / m)));
+            ResiduoSpatialIndex grade = new ResiduoSpatialIndex(tamanhoCelula);
+            for (int j = 0; j < m; j++) {
+                grade.indexar(j + 1, xs[membros[j]], ys[membros[j]]);
+            }
+            int x = veiculo.x();
+            int y = veiculo.y();
+            for (int passo = 0; passo < m; passo++) {
+                ResiduoLocalizado proximo = grade.proximos(x, y, 1).get(0);
+                grade.remover(proximo.id_residuo());
+                ordem[passo] = membros[(int) (proximo.id_residuo() - 1)];
+                x = proximo.coordenadaX();
+                y = proximo.coordenadaY();
+            }
+            return ordem;
+        }
+
+        /**
+         * 2-opt em caminho aberto com início fixo: inverte {@code caminho[i+1..j]}
+         * quando trocar as arestas (i, i+1) e (j, j+1) encurta a rota.
+         */
+        private void doisOpt(int[] caminho, int[] px, int[] py) {
+            int ultimo = caminho.length - 1;
+            for (int passada = 0; passada < passadas2Opt; passada++) {
+                boolean melhorou = false;
+                for (int i = 0; i < ultimo - 1; i++) {
+                    int a = caminho[i];
+                    int b = caminho[i + 1];
+                    double ab = distancia(px[a], py[a], px[b], py[b]);
+                    int limite = Math.min(ultimo, i + janela2Opt);
+                    for (int j = i + 2; j <= limite; j++) {
+                        int c = caminho[j];
+                        double delta;
+                        if (j == ultimo) {
+                            // caminho aberto: não há aresta depois do último ponto
+                            delta = distancia(px[a], py[a], px[c], py[c]) - ab;
+                        } else {
+                            int d = caminho[j + 1];
+                            delta = distancia(px[a], py[a], px[c], py[c]) + distancia(px[b], py[b], px[d], py[d])
+                                - ab - distancia(px[c], py[c], px[d], py[d]);
+                        }
+                        if (delta < -1e-9) {
+                            inverter(caminho, i + 1, j);
+                            b = caminho[i + 1];
+                            ab = distancia(px[a], py[a], px[b], py[b]);
+                            melhorou = true;
+                        }
+                    }
+                }
+                if (!melhorou) {
+                    return;
+                }
+            }
+        }
+
+        private void inverter(int[] caminho, int inicio, int fim) {
+            while (inicio < fim) {
+                int temporario = caminho[inicio];
+                caminho[inicio++] = caminho[fim];
+                caminho[fim--] = temporario;
+            }
+        }
+    }
+}
@@ -1,16 +1,23 @@
 package fiap.com.br.Ocean.Clean.AI.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import fiap.com.br.Ocean.Clean.AI.Dto.EstadoDrone;
 import fiap.com.br.Ocean.Clean.AI.Models.Drone;
 import io.swagger.v3.oas.annotations.Hidden;
 
 @Hidden
 @Repository
+@Transactional(readOnly = true)
 public interface DroneRepository extends JpaRepository<Drone, Long> {
 
     @Query(value = "SELECT * FROM Drone ORDER BY id_drone DESC LIMIT 10", nativeQuery = true)
@@ -18,4 +25,16 @@ public interface DroneRepository extends JpaRepository<Drone, Long> {
 
     @Query("SELECT c FROM Drone c ORDER BY c.nome ASC")
     List<Drone> findAllOrderedByName();
-}
\ No newline at end of file
+
+    @Query("SELECT new fiap.com.br.Ocean.Clean.AI.Dto.EstadoDrone(d.id_drone, d.nome, d.coordenadaX, d.coordenadaY, "
+        + "d.nivelBateria, d.residuosColetados, o.id_operador) FROM Drone d LEFT JOIN d.operador o")
+    Stream<EstadoDrone> streamEstados();
+
+    @Query("SELECT new fiap.com.br.Ocean.Clean.AI.Dto.EstadoDrone(d.id_drone, d.nome, d.coordenadaX, d.coordenadaY, "
+        + "d.nivelBateria, d.residuosColetados, o.id_operador) FROM Drone d JOIN d.operador o "
+        + "WHERE o.id_operador IN :operadores ORDER BY d.id_drone ASC")
+    List<EstadoDrone> findEstadosDosOperadores(@Param("operadores") Collection<Long> operadores);
+
+    @Query("SELECT d FROM Drone d WHERE d.id_drone > :apos ORDER BY d.id_drone ASC")
+    List<Drone> findPaginaApos(@Param("apos") Long apos, Pageable pageable);
+}
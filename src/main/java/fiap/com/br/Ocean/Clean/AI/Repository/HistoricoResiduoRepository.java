@@ -0,0 +1,23 @@
+package fiap.com.br.Ocean.Clean.AI.Repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import fiap.com.br.Ocean.Clean.AI.Models.CelulaHistorico;
+import fiap.com.br.Ocean.Clean.AI.Models.HistoricoResiduo;
+import io.swagger.v3.oas.annotations.Hidden;
+
+@Hidden
+@Repository
+@Transactional(readOnly = true)
+public interface HistoricoResiduoRepository extends JpaRepository<HistoricoResiduo, CelulaHistorico> {
+
+    @Query("SELECT h FROM HistoricoResiduo h WHERE h.celula.particao BETWEEN :de AND :ate "
+        + "ORDER BY h.celula.particao ASC, h.celula.celulaY ASC, h.celula.celulaX ASC")
+    List<HistoricoResiduo> findEntre(@Param("de") int de, @Param("ate") int ate);
+}
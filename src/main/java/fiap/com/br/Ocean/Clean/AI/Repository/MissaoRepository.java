@@ -1,16 +1,30 @@
 package fiap.com.br.Ocean.Clean.AI.Repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import fiap.com.br.Ocean.Clean.AI.Dto.MissaoExportada;
+import fiap.com.br.Ocean.Clean.AI.Dto.MissaoVisao;
 import fiap.com.br.Ocean.Clean.AI.Models.Missao;
 import io.swagger.v3.oas.annotations.Hidden;
+import jakarta.persistence.QueryHint;
 
 @Hidden
 @Repository
+@Transactional(readOnly = true)
 public interface MissaoRepository extends JpaRepository<Missao, Long> {
     
     @Query(value = "SELECT * FROM Missao ORDER BY id_missao DESC LIMIT 10", nativeQuery = true)
@@ -18,5 +32,26 @@ public interface MissaoRepository extends JpaRepository<Missao, Long> {
 
     @Query("SELECT c FROM Missao c ORDER BY c.nome ASC")
     List<Missao> findAllOrderedByName();
-}
 
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new fiap.com.br.Ocean.Clean.AI.Dto.MissaoExportada(m.id_missao, m.nome, o.id_operador) "
+        + "FROM Missao m LEFT JOIN m.operador o "
+        + "WHERE (:operador IS NULL OR o.id_operador = :operador) "
+        + "ORDER BY m.id_missao ASC")
+    Stream<MissaoExportada> streamExportacao(@Param("operador") Long operador);
+
+    @Query("SELECT new fiap.com.br.Ocean.Clean.AI.Dto.MissaoVisao(m.id_missao, m.nome, o.id_operador) "
+        + "FROM Missao m LEFT JOIN m.operador o WHERE m.id_missao > :apos ORDER BY m.id_missao ASC")
+    List<MissaoVisao> findVisoesApos(@Param("apos") Long apos, Pageable pageable);
+
+    @Query("SELECT new fiap.com.br.Ocean.Clean.AI.Dto.MissaoVisao(m.id_missao, m.nome, o.id_operador) "
+        + "FROM Missao m LEFT JOIN m.operador o WHERE m.id_missao = :id")
+    Optional<MissaoVisao> findVisaoById(@Param("id") Long id);
+
+    @Query("SELECT new fiap.com.br.Ocean.Clean.AI.Dto.MissaoVisao(m.id_missao, m.nome, o.id_operador) "
+        + "FROM Missao m JOIN m.operador o WHERE o.id_operador IN :operadores ORDER BY m.id_missao ASC")
+    List<MissaoVisao> findVisoesDosOperadores(@Param("operadores") Collection<Long> operadores);
+}
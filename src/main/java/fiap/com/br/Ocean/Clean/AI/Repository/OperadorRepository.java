@@ -1,16 +1,22 @@
 package fiap.com.br.Ocean.Clean.AI.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import fiap.com.br.Ocean.Clean.AI.Dto.OperadorVisao;
 import fiap.com.br.Ocean.Clean.AI.Models.Operador;
 import io.swagger.v3.oas.annotations.Hidden;
 
 @Hidden
 @Repository
+@Transactional(readOnly = true)
 public interface OperadorRepository extends JpaRepository<Operador, Long> {
     
     @Query(value = "SELECT * FROM Operador ORDER BY id_operador DESC LIMIT 10", nativeQuery = true)
@@ -19,4 +25,11 @@ public interface OperadorRepository extends JpaRepository<Operador, Long> {
     @Query("SELECT c FROM Operador c ORDER BY c.nome ASC")
     List<Operador> findAllOrderedByName();
 
+    @Query("SELECT new fiap.com.br.Ocean.Clean.AI.Dto.OperadorVisao(o.id_operador, o.nome, o.email) FROM Operador o "
+        + "WHERE o.id_operador > :apos ORDER BY o.id_operador ASC")
+    List<OperadorVisao> findVisoesApos(@Param("apos") Long apos, Pageable pageable);
+
+    @Query("SELECT new fiap.com.br.Ocean.Clean.AI.Dto.OperadorVisao(o.id_operador, o.nome, o.email) FROM Operador o "
+        + "WHERE o.id_operador = :id")
+    Optional<OperadorVisao> findVisaoById(@Param("id") Long id);
 }
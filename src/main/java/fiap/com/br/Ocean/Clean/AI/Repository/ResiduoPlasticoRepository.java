@@ -1,12 +1,160 @@
 package fiap.com.br.Ocean.Clean.AI.Repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import fiap.com.br.Ocean.Clean.AI.Dto.DeteccaoResiduo;
+import fiap.com.br.Ocean.Clean.AI.Dto.ResiduoExportado;
+import fiap.com.br.Ocean.Clean.AI.Dto.ResiduoLocalizado;
+import fiap.com.br.Ocean.Clean.AI.Dto.ResiduoVisao;
+import fiap.com.br.Ocean.Clean.AI.Models.Missao;
 import fiap.com.br.Ocean.Clean.AI.Models.ResiduoPlastico;
 import io.swagger.v3.oas.annotations.Hidden;
+import jakarta.persistence.QueryHint;
 
 @Hidden
 @Repository
+@Transactional(readOnly = true)
 public interface ResiduoPlasticoRepository extends JpaRepository<ResiduoPlastico, Long> {
+
+    @Query("SELECT new fiap.com.br.Ocean.Clean.AI.Dto.ResiduoLocalizado(r.id_residuo, r.coordenadaX, r.coordenadaY) FROM ResiduoPlastico r")
+    Stream<ResiduoLocalizado> streamLocalizacoes();
+
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new fiap.com.br.Ocean.Clean.AI.Dto.ResiduoLocalizado(r.id_residuo, r.coordenadaX, r.coordenadaY) "
+        + "FROM ResiduoPlastico r WHERE r.id_residuo > :inicio AND r.id_residuo <= :fim")
+    Stream<ResiduoLocalizado> streamLocalizacoesEntre(@Param("inicio") long inicio, @Param("fim") long fim);
+
+    @Query("SELECT MAX(r.id_residuo) FROM ResiduoPlastico r")
+    Long findMaiorId();
+
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new fiap.com.br.Ocean.Clean.AI.Dto.ResiduoLocalizado(r.id_residuo, r.coordenadaX, r.coordenadaY) "
+        + "FROM ResiduoPlastico r WHERE r.missao IS NULL")
+    Stream<ResiduoLocalizado> streamLocalizacoesSemMissao();
+
+    /**
+     * Atualização em massa: não passa pelo {@code ResiduoPlasticoListener}, quem
+     * chama deve invalidar o cache de resíduos.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ResiduoPlastico r SET r.missao = :missao WHERE r.id_residuo IN :ids AND r.missao IS NULL")
+    int vincularSemMissao(@Param("missao") Missao missao, @Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new fiap.com.br.Ocean.Clean.AI.Dto.ResiduoLocalizado(r.id_residuo, r.coordenadaX, r.coordenadaY) "
+        + "FROM ResiduoPlastico r WHERE r.missao.id_missao = :missao")
+    List<ResiduoLocalizado> findLocalizacoesDaMissao(@Param("missao") Long missao);
+
+    @Query("SELECT new fiap.com.br.Ocean.Clean.AI.Dto.ResiduoExportado(r.id_residuo, r.coordenadaX, r.coordenadaY, m.id_missao) "
+        + "FROM ResiduoPlastico r JOIN r.missao m WHERE m.id_missao IN :missoes ORDER BY r.id_residuo ASC")
+    List<ResiduoExportado> findDasMissoes(@Param("missoes") Collection<Long> missoes);
+
+    @Query("SELECT new fiap.com.br.Ocean.Clean.AI.Dto.ResiduoExportado(r.id_residuo, r.coordenadaX, r.coordenadaY, m.id_missao) "
+        + "FROM ResiduoPlastico r JOIN r.missao m WHERE m.operador.id_operador IN :operadores ORDER BY r.id_residuo ASC")
+    List<ResiduoExportado> findDosOperadores(@Param("operadores") Collection<Long> operadores);
+
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new fiap.com.br.Ocean.Clean.AI.Dto.ResiduoExportado(r.id_residuo, r.coordenadaX, r.coordenadaY, m.id_missao) "
+        + "FROM ResiduoPlastico r LEFT JOIN r.missao m "
+        + "WHERE (:missao IS NULL OR m.id_missao = :missao) "
+        + "AND r.coordenadaX BETWEEN :minX AND :maxX AND r.coordenadaY BETWEEN :minY AND :maxY "
+        + "ORDER BY r.id_residuo ASC")
+    Stream<ResiduoExportado> streamExportacao(@Param("missao") Long missao,
+        @Param("minX") int minX, @Param("minY") int minY, @Param("maxX") int maxX, @Param("maxY") int maxY);
+
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new fiap.com.br.Ocean.Clean.AI.Dto.ResiduoExportado(r.id_residuo, r.coordenadaX, r.coordenadaY, m.id_missao) "
+        + "FROM ResiduoPlastico r LEFT JOIN r.missao m ORDER BY r.id_residuo ASC")
+    Stream<ResiduoExportado> streamColunas();
+
+    @Query("SELECT new fiap.com.br.Ocean.Clean.AI.Dto.ResiduoVisao(r.id_residuo, r.coordenadaX, r.coordenadaY, m.id_missao, r.detectadoEm, r.id_zona) "
+        + "FROM ResiduoPlastico r LEFT JOIN r.missao m WHERE r.id_residuo = :id")
+    Optional<ResiduoVisao> findVisao(@Param("id") Long id);
+
+    @Query("SELECT r FROM ResiduoPlastico r WHERE r.id_residuo > :apos ORDER BY r.id_residuo ASC")
+    List<ResiduoPlastico> findPaginaApos(@Param("apos") Long apos, Pageable pageable);
+
+    /**
+     * O filtro pela partição vem antes do instante: o índice
+     * {@code (particao, coordenadaX, coordenadaY)} restringe a leitura aos
+     * dias da janela, por maior que seja o histórico.
+     */
+    @Query("SELECT new fiap.com.br.Ocean.Clean.AI.Dto.DeteccaoResiduo(r.id_residuo, r.coordenadaX, r.coordenadaY, r.detectadoEm) "
+        + "FROM ResiduoPlastico r WHERE r.particao >= :particao AND r.detectadoEm >= :desde "
+        + "AND r.coordenadaX BETWEEN :minX AND :maxX AND r.coordenadaY BETWEEN :minY AND :maxY "
+        + "ORDER BY r.detectadoEm DESC")
+    List<DeteccaoResiduo> findDetectadosDesde(@Param("particao") int particao, @Param("desde") Instant desde,
+        @Param("minX") int minX, @Param("minY") int minY, @Param("maxX") int maxX, @Param("maxY") int maxY, Pageable pageable);
+
+    @Query("SELECT DISTINCT r.particao FROM ResiduoPlastico r WHERE r.particao < :limite AND r.missao IS NULL ORDER BY r.particao ASC")
+    List<Integer> findParticoesAntesDe(@Param("limite") int limite);
+
+    @Query("SELECT new fiap.com.br.Ocean.Clean.AI.Dto.ResiduoLocalizado(r.id_residuo, r.coordenadaX, r.coordenadaY) "
+        + "FROM ResiduoPlastico r WHERE r.particao = :particao AND r.missao IS NULL")
+    List<ResiduoLocalizado> findLocalizacoesDaParticao(@Param("particao") int particao);
+
+    /**
+     * Remove da partição os resíduos informados, que já foram contabilizados.
+     * Não passa pelo {@code ResiduoPlasticoListener}; quem chama sincroniza
+     * índice e caches.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ResiduoPlastico r WHERE r.id_residuo IN :ids AND r.particao = :particao AND r.missao IS NULL")
+    int deleteDaParticao(@Param("particao") int particao, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Resíduos gravados antes do histórico por data entram na partição do dia
+     * em que isto roda.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ResiduoPlastico r SET r.detectadoEm = :agora, r.particao = :particao WHERE r.particao IS NULL")
+    int datarSemParticao(@Param("agora") Instant agora, @Param("particao") int particao);
+
+    @Query("SELECT new fiap.com.br.Ocean.Clean.AI.Dto.ResiduoLocalizado(r.id_residuo, r.coordenadaX, r.coordenadaY) "
+        + "FROM ResiduoPlastico r WHERE r.id_zona = :zona AND r.id_residuo > :apos ORDER BY r.id_residuo ASC")
+    List<ResiduoLocalizado> findLocalizacoesDaZonaApos(@Param("zona") Long zona, @Param("apos") Long apos, Pageable pageable);
+
+    /**
+     * Reclassificação em massa: não passa pelo {@code ResiduoPlasticoListener},
+     * quem chama deve invalidar o cache de resíduos.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ResiduoPlastico r SET r.id_zona = :zona WHERE r.id_residuo IN :ids AND (r.id_zona IS NULL OR r.id_zona <> :zona)")
+    int classificarNaZona(@Param("zona") Long zona, @Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ResiduoPlastico r SET r.id_zona = NULL WHERE r.id_residuo IN :ids AND r.id_zona IS NOT NULL")
+    int desclassificar(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,28 @@
+package fiap.com.br.Ocean.Clean.AI.Repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import fiap.com.br.Ocean.Clean.AI.Models.Zona;
+import io.swagger.v3.oas.annotations.Hidden;
+
+/**
+ * Fora do Spring Data REST: toda alteração de zona passa pelo
+ * {@code ZonaService}, que mantém o {@code ZonaIndex} e reclassifica os
+ * resíduos afetados.
+ */
+@Hidden
+@Repository
+@Transactional(readOnly = true)
+@RepositoryRestResource(exported = false)
+public interface ZonaRepository extends JpaRepository<Zona, Long> {
+
+    @Override
+    @EntityGraph(attributePaths = "vertices")
+    List<Zona> findAll();
+}
@@ -0,0 +1,60 @@
+package fiap.com.br.Ocean.Clean.AI.Roteamento;
+
+import java.util.function.Supplier;
+
+/**
+ * Marca, na thread atual, que as leituras devem ir para o banco primário
+ * mesmo em transações somente leitura. Usado por quem não pode aceitar o
+ * atraso de replicação: cargas dos índices em memória e clientes dentro da
+ * janela de leitura das próprias escritas.
+ * <p>
+ * A conexão só é obtida no primeiro comando da transação, então marcar
+ * dentro de um método {@code @Transactional(readOnly = true)} já vale para
+ * ele.
+ */
+public final class ConsistenciaLeitura {
+
+    private static final ThreadLocal<Boolean> PRIMARIO = new ThreadLocal<>();
+
+    private ConsistenciaLeitura() {
+    }
+
+    public static boolean fixadaNoPrimario() {
+        return Boolean.TRUE.equals(PRIMARIO.get());
+    }
+
+    /**
+     * Fixa a thread no primário até o {@code close} da fixação devolvida,
+     * que restaura o estado anterior.
+     */
+    public static Fixacao fixarNoPrimario() {
+        Boolean anterior = PRIMARIO.get();
+        PRIMARIO.set(Boolean.TRUE);
+        return () -> {
+            if (anterior == null) {
+                PRIMARIO.remove();
+            } else {
+                PRIMARIO.set(anterior);
+            }
+        };
+    }
+
+    public static <T> T noPrimario(Supplier<T> leitura) {
+        try (Fixacao fixacao = fixarNoPrimario()) {
+            return leitura.get();
+        }
+    }
+
+    public static void noPrimario(Runnable leitura) {
+        noPrimario(() -> {
+            leitura.run();
+            return null;
+        });
+    }
+
+    public interface Fixacao extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,61 @@
+package fiap.com.br.Ocean.Clean.AI.Roteamento;
+
+import java.io.IOException;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Janela opcional de leitura das próprias escritas. Toda requisição que
+ * altera dados devolve o cabeçalho {@value #CABECALHO} com o instante da
+ * escrita; o cliente que reenviar esse valor tem as leituras servidas pelo
+ * primário até {@code janela} milissegundos depois, sem ver a réplica
+ * atrasada. Quem não reenvia continua lendo das réplicas.
+ */
+public class LeituraDasEscritasFiltro extends OncePerRequestFilter {
+
+    public static final String CABECALHO = "X-Escrita-Em";
+
+    private final long janela;
+
+    public LeituraDasEscritasFiltro(long janela) {
+        this.janela = janela;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long agora = System.currentTimeMillis();
+        if (!isLeitura(request.getMethod())) {
+            response.setHeader(CABECALHO, Long.toString(agora));
+        }
+        if (dentroDaJanela(request.getHeader(CABECALHO), agora)) {
+            try (ConsistenciaLeitura.Fixacao fixacao = ConsistenciaLeitura.fixarNoPrimario()) {
+                chain.doFilter(request, response);
+            }
+        } else {
+            chain.doFilter(request, response);
+        }
+    }
+
+    private boolean dentroDaJanela(String escritaEm, long agora) {
+        if (escritaEm == null) {
+            return false;
+        }
+        try {
+            long instante = Long.parseLong(escritaEm.trim());
+            // instantes no futuro não fixam o cliente no primário
+            return instante <= agora && agora - instante < janela;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static boolean isLeitura(String metodo) {
+        return "GET".equals(metodo) || "HEAD".equals(metodo) || "OPTIONS".equals(metodo);
+    }
+}
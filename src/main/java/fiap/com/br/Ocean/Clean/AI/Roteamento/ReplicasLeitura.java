@@ -0,0 +1,128 @@
+package fiap.com.br.Ocean.Clean.AI.Roteamento;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Origem das conexões somente leitura: distribui entre as réplicas em
+ * rodízio, pulando as que falharam na última verificação. Sem réplica
+ * saudável, ou com a thread fixada por {@link ConsistenciaLeitura}, a
+ * leitura vai para o primário.
+ * <p>
+ * Uma réplica que falha ao entregar conexão sai do rodízio na hora e só
+ * volta quando passa na verificação agendada.
+ */
+@Slf4j
+public class ReplicasLeitura extends AbstractDataSource implements AutoCloseable {
+
+    private static final class Replica {
+
+        private final HikariDataSource dataSource;
+        private volatile boolean saudavel = true;
+
+        Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+
+    private final DataSource primario;
+    private final List<Replica> replicas;
+    private final int timeoutVerificacao;
+    private final AtomicInteger proxima = new AtomicInteger();
+
+    private final Counter leiturasReplica;
+    private final Counter leiturasPrimario;
+
+    public ReplicasLeitura(DataSource primario, List<HikariDataSource> replicas, int timeoutVerificacao, MeterRegistry meterRegistry) {
+        this.primario = primario;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.timeoutVerificacao = timeoutVerificacao;
+        Gauge.builder("ocean.datasource.replicas.saudaveis", this, ReplicasLeitura::saudaveis)
+            .description("Réplicas de leitura no rodízio")
+            .register(meterRegistry);
+        leiturasReplica = leituras(meterRegistry, "replica");
+        leiturasPrimario = leituras(meterRegistry, "primario");
+    }
+
+    private static Counter leituras(MeterRegistry meterRegistry, String destino) {
+        return Counter.builder("ocean.datasource.leituras")
+            .description("Conexões somente leitura entregues, por destino")
+            .tag("destino", destino)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!ConsistenciaLeitura.fixadaNoPrimario() && !replicas.isEmpty()) {
+            int inicio = Math.floorMod(proxima.getAndIncrement(), replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get((inicio + i) % replicas.size());
+                if (!replica.saudavel) {
+                    continue;
+                }
+                try {
+                    Connection conexao = replica.dataSource.getConnection();
+                    leiturasReplica.increment();
+                    return conexao;
+                } catch (SQLException e) {
+                    replica.saudavel = false;
+                    log.warn("Réplica {} fora do rodízio: {}", replica.dataSource.getPoolName(), e.getMessage());
+                }
+            }
+        }
+        leiturasPrimario.increment();
+        return primario.getConnection();
+    }
+
+    /** Os pools das réplicas são abertos com as credenciais da configuração, como o Hikari. */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("As credenciais das réplicas vêm da configuração");
+    }
+
+    @Scheduled(fixedDelayString = "${ocean.datasource.leitura.intervalo-verificacao-ms:5000}")
+    public void verificar() {
+        for (Replica replica : replicas) {
+            boolean saudavel;
+            try (Connection conexao = replica.dataSource.getConnection()) {
+                saudavel = conexao.isValid(timeoutVerificacao);
+            } catch (SQLException e) {
+                saudavel = false;
+            }
+            if (saudavel != replica.saudavel) {
+                log.info("Réplica {} {}", replica.dataSource.getPoolName(), saudavel ? "voltou para o rodízio" : "saiu do rodízio");
+            }
+            replica.saudavel = saudavel;
+        }
+    }
+
+    public int saudaveis() {
+        int saudaveis = 0;
+        for (Replica replica : replicas) {
+            if (replica.saudavel) {
+                saudaveis++;
+            }
+        }
+        return saudaveis;
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+}
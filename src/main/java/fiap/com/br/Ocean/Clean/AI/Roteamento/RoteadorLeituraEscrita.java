@@ -0,0 +1,32 @@
+package fiap.com.br.Ocean.Clean.AI.Roteamento;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Escolhe a origem da conexão pela transação corrente: somente leitura vai
+ * para as réplicas, qualquer outra coisa (inclusive acesso fora de
+ * transação) para o primário. Precisa estar atrás de um
+ * {@code LazyConnectionDataSourceProxy}, porque o gerenciador de transações
+ * pede a conexão antes de marcar a transação como somente leitura.
+ */
+public class RoteadorLeituraEscrita extends AbstractRoutingDataSource {
+
+    private static final String LEITURA = "leitura";
+    private static final String ESCRITA = "escrita";
+
+    public RoteadorLeituraEscrita(DataSource primario, DataSource leitura) {
+        setTargetDataSources(Map.of(ESCRITA, primario, LEITURA, leitura));
+        setDefaultTargetDataSource(primario);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? LEITURA : ESCRITA;
+    }
+}
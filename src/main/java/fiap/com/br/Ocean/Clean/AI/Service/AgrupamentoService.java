@@ -0,0 +1,185 @@
+package fiap.com.br.Ocean.Clean.AI.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import fiap.com.br.Ocean.Clean.AI.Config.CacheConfiguracao;
+import fiap.com.br.Ocean.Clean.AI.Dto.AgrupamentoResiduos;
+import fiap.com.br.Ocean.Clean.AI.Dto.FocoResiduos;
+import fiap.com.br.Ocean.Clean.AI.Dto.ResiduoLocalizado;
+import fiap.com.br.Ocean.Clean.AI.Listener.AlteracaoEmMassa;
+import fiap.com.br.Ocean.Clean.AI.Models.Missao;
+import fiap.com.br.Ocean.Clean.AI.Planejamento.AgrupadorDbscan;
+import fiap.com.br.Ocean.Clean.AI.Repository.MissaoRepository;
+import fiap.com.br.Ocean.Clean.AI.Repository.ResiduoPlasticoRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class AgrupamentoService {
+
+    @Autowired
+    private ResiduoPlasticoRepository residuoPlasticoRepository;
+
+    @Autowired
+    private MissaoRepository missaoRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private AlteracaoEmMassa alteracaoEmMassa;
+
+    @Value("${ocean.agrupamento.tamanho-bloco:1000}")
+    private int tamanhoBloco;
+
+    private final ForkJoinPool pool;
+    private final TransactionTemplate leitura;
+
+    public AgrupamentoService(PlatformTransactionManager transactionManager,
+            @Value("${ocean.agrupamento.paralelismo:0}") int paralelismo) {
+        this.pool = new ForkJoinPool(paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors());
+        this.leitura = new TransactionTemplate(transactionManager);
+        this.leitura.setReadOnly(true);
+    }
+
+    /**
+     * Agrupa os resíduos sem missão com DBSCAN e devolve um foco por
+     * agrupamento. Com {@code criar}, cada foco vira uma missão em sua própria
+     * transação e os resíduos são vinculados a ela por update em massa.
+     */
+    @CacheEvict(cacheNames = CacheConfiguracao.RESIDUOS_PLASTICOS, allEntries = true, condition = "#criar")
+    public AgrupamentoResiduos agrupar(double raio, int minimo, boolean criar) {
+        AgrupadorDbscan agrupador = new AgrupadorDbscan(pool, raio, minimo);
+
+        long inicio = System.currentTimeMillis();
+        Localizacoes localizacoes = leitura.execute(status -> {
+            try (Stream<ResiduoLocalizado> residuos = residuoPlasticoRepository.streamLocalizacoesSemMissao()) {
+                Localizacoes acumuladas = new Localizacoes();
+                residuos.forEach(acumuladas::adicionar);
+                return acumuladas;
+            }
+        });
+        int n = localizacoes.tamanho;
+        long fimLeitura = System.currentTimeMillis();
+
+        AgrupadorDbscan.Resultado resultado = agrupador.agrupar(
+            Arrays.copyOf(localizacoes.xs, n), Arrays.copyOf(localizacoes.ys, n));
+        long fimAgrupamento = System.currentTimeMillis();
+
+        // ids de cada agrupamento contíguos em "membros", a partir de inicioGrupo[g]
+        int k = resultado.agrupamentos();
+        int[] rotulos = resultado.rotulos();
+        int[] inicioGrupo = new int[k + 1];
+        for (int i = 0; i < n; i++) {
+            if (rotulos[i] != AgrupadorDbscan.RUIDO) {
+                inicioGrupo[rotulos[i] + 1]++;
+            }
+        }
+        for (int g = 0; g < k; g++) {
+            inicioGrupo[g + 1] += inicioGrupo[g];
+        }
+        int[] proximo = Arrays.copyOf(inicioGrupo, k);
+        int[] membros = new int[n - resultado.ruido()];
+        for (int i = 0; i < n; i++) {
+            if (rotulos[i] != AgrupadorDbscan.RUIDO) {
+                membros[proximo[rotulos[i]]++] = i;
+            }
+        }
+
+        List<FocoResiduos> focos = new ArrayList<>(k);
+        for (int g = 0; g < k; g++) {
+            FocoResiduos foco = foco(localizacoes, membros, inicioGrupo[g], inicioGrupo[g + 1]);
+            focos.add(criar ? criarMissao(foco, localizacoes.ids, membros, inicioGrupo[g], inicioGrupo[g + 1]) : foco);
+        }
+        long fim = System.currentTimeMillis();
+
+        long duracao = fim - inicio;
+        long porSegundo = duracao > 0 ? n * 1000L / duracao : n;
+        log.info("Agrupamento de {} resíduos sem missão: {} focos, {} ruído; leitura {} ms, agrupamento {} ms, gravação {} ms ({} resíduos/s)",
+            n, k, resultado.ruido(), fimLeitura - inicio, fimAgrupamento - fimLeitura, fim - fimAgrupamento, porSegundo);
+        return new AgrupamentoResiduos(n, k, resultado.ruido(), criar,
+            fimLeitura - inicio, fimAgrupamento - fimLeitura, fim - fimAgrupamento, porSegundo, focos);
+    }
+
+    private FocoResiduos criarMissao(FocoResiduos foco, long[] ids, int[] membros, int de, int ate) {
+        return transactionTemplate.execute(status -> {
+            Missao missao = new Missao();
+            missao.setNome(foco.nome());
+            // flush antes do update em massa, que referencia a missão pela chave estrangeira
+            missao = missaoRepository.saveAndFlush(missao);
+
+            int vinculados = 0;
+            List<Long> bloco = new ArrayList<>(tamanhoBloco);
+            for (int m = de; m < ate; m++) {
+                bloco.add(ids[membros[m]]);
+                if (bloco.size() == tamanhoBloco || m == ate - 1) {
+                    vinculados += residuoPlasticoRepository.vincularSemMissao(missao, bloco);
+                    alteracaoEmMassa.residuosVinculados(bloco, missao.getId_missao(), true);
+                    bloco.clear();
+                }
+            }
+            return foco.comMissao(missao.getId_missao(), vinculados);
+        });
+    }
+
+    private static FocoResiduos foco(Localizacoes localizacoes, int[] membros, int de, int ate) {
+        int minX = Integer.MAX_VALUE;
+        int minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE;
+        int maxY = Integer.MIN_VALUE;
+        long somaX = 0;
+        long somaY = 0;
+        for (int m = de; m < ate; m++) {
+            int x = localizacoes.xs[membros[m]];
+            int y = localizacoes.ys[membros[m]];
+            minX = Math.min(minX, x);
+            minY = Math.min(minY, y);
+            maxX = Math.max(maxX, x);
+            maxY = Math.max(maxY, y);
+            somaX += x;
+            somaY += y;
+        }
+        int quantidade = ate - de;
+        int centroX = (int) (somaX / quantidade);
+        int centroY = (int) (somaY / quantidade);
+        return new FocoResiduos(null, "Foco de resíduos (" + centroX + ", " + centroY + ")", quantidade, 0,
+            centroX, centroY, minX, minY, maxX, maxY);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        pool.shutdown();
+    }
+
+    private static final class Localizacoes {
+
+        private long[] ids = new long[1024];
+        private int[] xs = new int[1024];
+        private int[] ys = new int[1024];
+        private int tamanho;
+
+        void adicionar(ResiduoLocalizado residuo) {
+            if (tamanho == ids.length) {
+                ids = Arrays.copyOf(ids, tamanho * 2);
+                xs = Arrays.copyOf(xs, tamanho * 2);
+                ys = Arrays.copyOf(ys, tamanho * 2);
+            }
+            ids[tamanho] = residuo.id_residuo();
+            xs[tamanho] = residuo.coordenadaX();
+            ys[tamanho] = residuo.coordenadaY();
+            tamanho++;
+        }
+    }
+}
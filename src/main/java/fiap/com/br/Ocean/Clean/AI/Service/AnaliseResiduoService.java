@@ -0,0 +1,112 @@
+package fiap.com.br.Ocean.Clean.AI.Service;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import fiap.com.br.Ocean.Clean.AI.Dto.ResiduoExportado;
+import fiap.com.br.Ocean.Clean.AI.Dto.ResumoResiduos;
+import fiap.com.br.Ocean.Clean.AI.Index.ColunasResiduos;
+import fiap.com.br.Ocean.Clean.AI.Index.ColunasResiduos.Agregado;
+import fiap.com.br.Ocean.Clean.AI.Index.ColunasResiduos.Filtro;
+import fiap.com.br.Ocean.Clean.AI.Repository.ResiduoPlasticoRepository;
+import fiap.com.br.Ocean.Clean.AI.Roteamento.ConsistenciaLeitura;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Contagens, caixas envolventes e centróides de resíduos calculados sobre as
+ * {@link ColunasResiduos}, sem consultar o banco nem carregar entidades.
+ */
+@Service
+@Slf4j
+public class AnaliseResiduoService {
+
+    @Autowired
+    private ColunasResiduos colunasResiduos;
+
+    @Autowired
+    private ResiduoPlasticoRepository residuoPlasticoRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @PostConstruct
+    public void registrar() {
+        Gauge.builder("ocean.residuos.colunas", colunasResiduos, ColunasResiduos::tamanho)
+            .description("Resíduos na cópia em colunas usada pelas agregações")
+            .register(meterRegistry);
+        Gauge.builder("ocean.residuos.colunas.memoria", colunasResiduos, ColunasResiduos::bytes)
+            .description("Memória ocupada pela cópia em colunas")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void carregarColunas() {
+        long inicio = System.currentTimeMillis();
+        // mantida pelos listeners a partir daqui, não pode partir de uma réplica atrasada
+        try (ConsistenciaLeitura.Fixacao fixacao = ConsistenciaLeitura.fixarNoPrimario();
+                Stream<ResiduoExportado> residuos = residuoPlasticoRepository.streamColunas()) {
+            colunasResiduos.carregar(residuos.iterator());
+        }
+        log.info("Colunas de resíduos carregadas com {} resíduos ({} bytes) em {} ms",
+            colunasResiduos.tamanho(), colunasResiduos.bytes(), System.currentTimeMillis() - inicio);
+    }
+
+    /**
+     * @param missao     só os resíduos dessa missão
+     * @param semMissao  só os resíduos sem missão
+     */
+    public ResumoResiduos resumir(Long missao, boolean semMissao, int minX, int minY, int maxX, int maxY) {
+        if (missao != null && semMissao) {
+            throw new ResponseStatusException(BAD_REQUEST, "Informe a missão ou semMissao, não os dois");
+        }
+        long filtroMissao = missao != null ? missao : semMissao ? ColunasResiduos.SEM_MISSAO : ColunasResiduos.QUALQUER_MISSAO;
+        Agregado agregado = colunasResiduos.resumir(filtro(filtroMissao, minX, minY, maxX, maxY));
+        return resumo(missao, agregado);
+    }
+
+    /**
+     * Um resumo por missão, em ordem de id; os resíduos sem missão vêm
+     * primeiro, com {@code id_missao} nulo.
+     */
+    public List<ResumoResiduos> porMissao(int minX, int minY, int maxX, int maxY) {
+        Map<Long, Agregado> grupos = colunasResiduos.porMissao(filtro(ColunasResiduos.QUALQUER_MISSAO, minX, minY, maxX, maxY));
+        List<ResumoResiduos> resumos = new ArrayList<>(grupos.size());
+        grupos.forEach((missao, agregado) ->
+            resumos.add(resumo(missao == ColunasResiduos.SEM_MISSAO ? null : missao, agregado)));
+        resumos.sort(Comparator.comparing(ResumoResiduos::id_missao, Comparator.nullsFirst(Comparator.naturalOrder())));
+        return resumos;
+    }
+
+    private static Filtro filtro(long missao, int minX, int minY, int maxX, int maxY) {
+        if (minX > maxX || minY > maxY) {
+            throw new ResponseStatusException(BAD_REQUEST, "Os limites mínimos devem ser menores ou iguais aos máximos");
+        }
+        return new Filtro(missao, minX, minY, maxX, maxY);
+    }
+
+    private static ResumoResiduos resumo(Long missao, Agregado agregado) {
+        if (agregado.getQuantidade() == 0) {
+            return new ResumoResiduos(missao, 0, null, null, null, null, null, null);
+        }
+        return new ResumoResiduos(missao, agregado.getQuantidade(),
+            agregado.getMinX(), agregado.getMinY(), agregado.getMaxX(), agregado.getMaxY(),
+            agregado.getCentroX(), agregado.getCentroY());
+    }
+}
@@ -0,0 +1,44 @@
+package fiap.com.br.Ocean.Clean.AI.Service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Carrega as estruturas em memória dos resíduos durante a subida do
+ * contexto. Na fase 0 roda antes do servidor web, que sobe numa fase bem
+ * mais alta, e antes das tarefas agendadas, que só começam com o contexto
+ * pronto; assim nenhuma requisição vê o índice ou o mapa de calor pela
+ * metade.
+ */
+@Component
+public class CargaInicialResiduos implements SmartLifecycle {
+
+    @Autowired
+    private ResiduoPlasticoService residuoPlasticoService;
+
+    private volatile boolean executando;
+
+    @Override
+    public void start() {
+        // o mapa de calor depende do índice: é dele que vem a posição anterior de cada resíduo
+        residuoPlasticoService.carregarIndiceEspacial();
+        residuoPlasticoService.carregarMapaCalor();
+        executando = true;
+    }
+
+    @Override
+    public void stop() {
+        executando = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executando;
+    }
+
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+}
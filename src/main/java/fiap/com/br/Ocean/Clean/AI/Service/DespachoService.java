@@ -0,0 +1,189 @@
+package fiap.com.br.Ocean.Clean.AI.Service;
+
+import static org.springframework.http.HttpStatus.CONFLICT;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import fiap.com.br.Ocean.Clean.AI.Dto.DespachoDrone;
+import fiap.com.br.Ocean.Clean.AI.Dto.EstadoDrone;
+import fiap.com.br.Ocean.Clean.AI.Index.EstadoFrota;
+import fiap.com.br.Ocean.Clean.AI.Index.ResiduoSpatialIndex;
+import fiap.com.br.Ocean.Clean.AI.Planejamento.Despachante;
+import fiap.com.br.Ocean.Clean.AI.Planejamento.Despachante.Estado;
+import fiap.com.br.Ocean.Clean.AI.Planejamento.Despachante.Mudanca;
+import fiap.com.br.Ocean.Clean.AI.Planejamento.Despachante.Situacao;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mantém o {@link Despachante} em dia com o {@link EstadoFrota}: cada
+ * telemetria pode concluir a rota de um drone ou recolhê-lo à base. Resíduos
+ * de drones recolhidos ou removidos entram em uma fila e são redistribuídos
+ * periodicamente entre os drones disponíveis.
+ */
+@Service
+@Slf4j
+public class DespachoService {
+
+    @Autowired
+    private EstadoFrota estadoFrota;
+
+    @Autowired
+    private ResiduoSpatialIndex residuoSpatialIndex;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Despachante despachante;
+    private final Queue<Long> aguardando = new ConcurrentLinkedQueue<>();
+
+    private Counter atribuicoes;
+    private Counter recolhimentos;
+    private Counter redistribuicoes;
+
+    public DespachoService(
+            @Value("${ocean.despacho.tamanho-celula:1024}") int tamanhoCelula,
+            @Value("${ocean.despacho.base-x:0}") int baseX,
+            @Value("${ocean.despacho.base-y:0}") int baseY,
+            @Value("${ocean.despacho.consumo-por-unidade:0.001}") double consumoPorUnidade,
+            @Value("${ocean.despacho.bateria-reserva:15}") int bateriaReserva,
+            @Value("${ocean.despacho.bateria-liberacao:80}") int bateriaLiberacao,
+            @Value("${ocean.despacho.tolerancia-chegada:5}") int toleranciaChegada,
+            @Value("${ocean.despacho.peso-bateria:100}") double pesoBateria) {
+        this.despachante = new Despachante(tamanhoCelula, baseX, baseY, consumoPorUnidade,
+            bateriaReserva, bateriaLiberacao, toleranciaChegada, pesoBateria);
+    }
+
+    @PostConstruct
+    public void registrar() {
+        estadoFrota.adicionarOuvinte(this::alterado);
+        Gauge.builder("ocean.despacho.disponiveis", despachante, Despachante::disponiveis)
+            .description("Drones disponíveis para despacho")
+            .register(meterRegistry);
+        Gauge.builder("ocean.despacho.em-rota", despachante, Despachante::emRota)
+            .description("Drones a caminho de um resíduo")
+            .register(meterRegistry);
+        Gauge.builder("ocean.despacho.aguardando", aguardando, Queue::size)
+            .description("Resíduos liberados esperando outro drone")
+            .register(meterRegistry);
+        atribuicoes = Counter.builder("ocean.despacho.atribuicoes")
+            .description("Resíduos atribuídos a um drone")
+            .register(meterRegistry);
+        recolhimentos = Counter.builder("ocean.despacho.recolhimentos")
+            .description("Drones em rota mandados de volta à base pela bateria prevista")
+            .register(meterRegistry);
+        redistribuicoes = Counter.builder("ocean.despacho.redistribuicoes")
+            .description("Resíduos liberados que foram atribuídos a outro drone")
+            .register(meterRegistry);
+    }
+
+    public DespachoDrone melhor(Long id_residuo) {
+        long posicao = posicao(id_residuo);
+        Estado estado = despachante.melhor(ResiduoSpatialIndex.xDe(posicao), ResiduoSpatialIndex.yDe(posicao));
+        if (estado == null) {
+            throw new ResponseStatusException(CONFLICT, "Nenhum drone disponível alcança o resíduo com a bateria de reserva");
+        }
+        return visao(estado);
+    }
+
+    public DespachoDrone despachar(Long id_residuo) {
+        long posicao = posicao(id_residuo);
+        if (despachante.droneDoResiduo(id_residuo) != null) {
+            throw new ResponseStatusException(CONFLICT, "O resíduo já foi atribuído a um drone");
+        }
+        Estado estado = despachante.atribuir(id_residuo, ResiduoSpatialIndex.xDe(posicao), ResiduoSpatialIndex.yDe(posicao));
+        if (estado == null) {
+            throw new ResponseStatusException(CONFLICT, "Nenhum drone disponível alcança o resíduo com a bateria de reserva");
+        }
+        atribuicoes.increment();
+        return visao(estado);
+    }
+
+    public DespachoDrone concluir(Long id_drone) {
+        Mudanca mudanca = despachante.concluir(id_drone);
+        if (mudanca == null) {
+            throw new ResponseStatusException(NOT_FOUND, "O drone informado não está em rota");
+        }
+        return visao(mudanca.atual());
+    }
+
+    /**
+     * Drones em rota ou voltando à base.
+     */
+    public List<DespachoDrone> ocupados() {
+        List<DespachoDrone> ocupados = new ArrayList<>();
+        for (Estado estado : despachante.ocupados()) {
+            ocupados.add(visao(estado));
+        }
+        return ocupados;
+    }
+
+    @Scheduled(fixedDelayString = "${ocean.despacho.intervalo-redistribuicao-ms:1000}")
+    public void redistribuir() {
+        for (int i = aguardando.size(); i > 0; i--) {
+            Long id_residuo = aguardando.poll();
+            if (id_residuo == null) {
+                return;
+            }
+            long posicao = residuoSpatialIndex.posicao(id_residuo);
+            if (posicao == ResiduoSpatialIndex.AUSENTE || despachante.droneDoResiduo(id_residuo) != null) {
+                continue;
+            }
+            if (despachante.atribuir(id_residuo, ResiduoSpatialIndex.xDe(posicao), ResiduoSpatialIndex.yDe(posicao)) == null) {
+                // sem drone agora: os demais também ficam para o próximo ciclo
+                aguardando.add(id_residuo);
+                return;
+            }
+            redistribuicoes.increment();
+        }
+    }
+
+    private void alterado(EstadoDrone anterior, EstadoDrone atual) {
+        if (atual == null) {
+            Estado removido = despachante.remover(anterior.id_drone());
+            if (removido != null && removido.situacao() == Situacao.EM_ROTA) {
+                aguardando.add(removido.residuo());
+            }
+            return;
+        }
+        if (anterior != null && anterior.coordenadaX() == atual.coordenadaX()
+                && anterior.coordenadaY() == atual.coordenadaY() && anterior.nivelBateria() == atual.nivelBateria()) {
+            return;
+        }
+        Mudanca mudanca = despachante.atualizar(atual.id_drone(), atual.coordenadaX(), atual.coordenadaY(), atual.nivelBateria());
+        if (mudanca.recolhido()) {
+            log.info("Drone {} recolhido à base com {}% de bateria; resíduo {} aguarda outro drone",
+                atual.id_drone(), atual.nivelBateria(), mudanca.anterior().residuo());
+            recolhimentos.increment();
+            aguardando.add(mudanca.anterior().residuo());
+        }
+    }
+
+    private long posicao(Long id_residuo) {
+        long posicao = residuoSpatialIndex.posicao(id_residuo);
+        if (posicao == ResiduoSpatialIndex.AUSENTE) {
+            throw new ResponseStatusException(NOT_FOUND, "Não existe resíduo com o id informado");
+        }
+        return posicao;
+    }
+
+    private DespachoDrone visao(Estado estado) {
+        boolean emRota = estado.situacao() == Situacao.EM_ROTA;
+        return new DespachoDrone(estado.id(), estado.situacao().name(), estado.x(), estado.y(), estado.bateria(),
+            despachante.bateriaPrevista(estado),
+            emRota ? estado.residuo() : null, emRota ? estado.alvoX() : null, emRota ? estado.alvoY() : null);
+    }
+}
@@ -1,31 +1,74 @@
 package fiap.com.br.Ocean.Clean.AI.Service;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import fiap.com.br.Ocean.Clean.AI.Config.CacheConfiguracao;
+import fiap.com.br.Ocean.Clean.AI.Dto.EstadoDrone;
+import fiap.com.br.Ocean.Clean.AI.Index.EstadoFrota;
 import fiap.com.br.Ocean.Clean.AI.Models.Drone;
 import fiap.com.br.Ocean.Clean.AI.Repository.DroneRepository;
+import fiap.com.br.Ocean.Clean.AI.Roteamento.ConsistenciaLeitura;
+import lombok.extern.slf4j.Slf4j;
 
 @Service
+@Slf4j
 public class DroneService {
     
     @Autowired
     private DroneRepository droneRepository;
 
+    @Autowired
+    private EstadoFrota estadoFrota;
+
     public Page<Drone> getAllDrones(Pageable pageable) {
         return droneRepository.findAll(pageable);
     }
 
+    /**
+     * A instância devolvida é compartilhada pelo cache: não altere nem
+     * adicione links nela.
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfiguracao.DRONES, unless = "#result == null")
     public Optional<Drone> getDroneById(Long id) {
         return droneRepository.findById(id);
     }
 
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfiguracao.DRONES, key = "'" + CacheConfiguracao.ULTIMOS + "'")
+    public List<Drone> getLast10() {
+        return droneRepository.findLast10();
+    }
+
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfiguracao.DRONES, key = "'" + CacheConfiguracao.ORDEM_ALFABETICA + "'")
+    public List<Drone> getOrderedByName() {
+        return droneRepository.findAllOrderedByName();
+    }
+
     public Drone addDrone(Drone drone) {
         return droneRepository.save(drone);
     }
 
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void carregarEstadoFrota() {
+        try (ConsistenciaLeitura.Fixacao fixacao = ConsistenciaLeitura.fixarNoPrimario();
+                Stream<EstadoDrone> estados = droneRepository.streamEstados()) {
+            estados.forEach(estadoFrota::carregar);
+        }
+        log.info("Estado da frota carregado com {} drones", estadoFrota.tamanho());
+    }
+
 }
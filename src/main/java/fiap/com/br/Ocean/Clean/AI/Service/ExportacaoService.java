@@ -0,0 +1,152 @@
+package fiap.com.br.Ocean.Clean.AI.Service;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import fiap.com.br.Ocean.Clean.AI.Dto.MissaoExportada;
+import fiap.com.br.Ocean.Clean.AI.Dto.ResiduoExportado;
+import fiap.com.br.Ocean.Clean.AI.Repository.MissaoRepository;
+import fiap.com.br.Ocean.Clean.AI.Repository.ResiduoPlasticoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class ExportacaoService {
+
+    public enum Formato {
+        NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+
+        private final MediaType mediaType;
+        private final String extensao;
+
+        Formato(MediaType mediaType, String extensao) {
+            this.mediaType = mediaType;
+            this.extensao = extensao;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public String getExtensao() {
+            return extensao;
+        }
+
+        public static Formato de(String valor) {
+            try {
+                return valueOf(valor.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(BAD_REQUEST, "Formato de exportação inválido: " + valor);
+            }
+        }
+    }
+
+    @Autowired
+    private ResiduoPlasticoRepository residuoPlasticoRepository;
+
+    @Autowired
+    private MissaoRepository missaoRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${ocean.exportacao.intervalo-limpeza:1000}")
+    private int intervaloLimpeza;
+
+    private final TransactionTemplate transacaoLeitura;
+
+    public ExportacaoService(PlatformTransactionManager transactionManager) {
+        this.transacaoLeitura = new TransactionTemplate(transactionManager);
+        this.transacaoLeitura.setReadOnly(true);
+    }
+
+    public StreamingResponseBody exportarResiduos(Formato formato, Long missao, int minX, int minY, int maxX, int maxY) {
+        return saida -> escrever(saida, formato,
+            () -> residuoPlasticoRepository.streamExportacao(missao, minX, minY, maxX, maxY),
+            "id_residuo,coordenadaX,coordenadaY,id_missao",
+            r -> r.id_residuo() + "," + r.coordenadaX() + "," + r.coordenadaY() + "," + valorCsv(r.id_missao()));
+    }
+
+    public StreamingResponseBody exportarMissoes(Formato formato, Long operador) {
+        return saida -> escrever(saida, formato,
+            () -> missaoRepository.streamExportacao(operador),
+            "id_missao,nome,id_operador",
+            (MissaoExportada m) -> m.id_missao() + "," + valorCsv(m.nome()) + "," + valorCsv(m.id_operador()));
+    }
+
+    /**
+     * Percorre o cursor dentro de uma transação somente leitura e escreve cada
+     * linha direto na resposta. A cada {@code intervaloLimpeza} linhas o contexto
+     * de persistência é limpo e o buffer é descarregado, mantendo a memória
+     * constante independente do tamanho da tabela.
+     */
+    private <T> void escrever(OutputStream saida, Formato formato, Supplier<Stream<T>> consulta,
+            String cabecalhoCsv, Function<T, String> linhaCsv) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), 64 * 1024);
+        long inicio = System.currentTimeMillis();
+        Long total = transacaoLeitura.execute(status -> {
+            long linhas = 0;
+            try (Stream<T> registros = consulta.get()) {
+                if (formato == Formato.CSV) {
+                    writer.write(cabecalhoCsv);
+                    writer.write('\n');
+                }
+                Iterator<T> cursor = registros.iterator();
+                while (cursor.hasNext()) {
+                    T registro = cursor.next();
+                    writer.write(formato == Formato.CSV ? linhaCsv.apply(registro) : objectMapper.writeValueAsString(registro));
+                    writer.write('\n');
+                    if (++linhas % intervaloLimpeza == 0) {
+                        entityManager.clear();
+                        writer.flush();
+                    }
+                }
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return linhas;
+        });
+        log.info("Exportação {} concluída: {} linhas em {} ms", formato, total, System.currentTimeMillis() - inicio);
+    }
+
+    private static String valorCsv(Object valor) {
+        if (valor == null) {
+            return "";
+        }
+        String texto = valor.toString();
+        if (texto.indexOf(',') < 0 && texto.indexOf('"') < 0 && texto.indexOf('\n') < 0 && texto.indexOf('\r') < 0) {
+            return texto;
+        }
+        return '"' + texto.replace("\"", "\"\"") + '"';
+    }
+}
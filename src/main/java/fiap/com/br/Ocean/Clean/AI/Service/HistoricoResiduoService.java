@@ -0,0 +1,158 @@
+package fiap.com.br.Ocean.Clean.AI.Service;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import fiap.com.br.Ocean.Clean.AI.Dto.DeteccaoResiduo;
+import fiap.com.br.Ocean.Clean.AI.Dto.HistoricoCelula;
+import fiap.com.br.Ocean.Clean.AI.Dto.ResiduoLocalizado;
+import fiap.com.br.Ocean.Clean.AI.Dto.ResultadoCompactacao;
+import fiap.com.br.Ocean.Clean.AI.Listener.AlteracaoEmMassa;
+import fiap.com.br.Ocean.Clean.AI.Models.CelulaHistorico;
+import fiap.com.br.Ocean.Clean.AI.Models.HistoricoResiduo;
+import fiap.com.br.Ocean.Clean.AI.Models.ResiduoPlastico;
+import fiap.com.br.Ocean.Clean.AI.Repository.HistoricoResiduoRepository;
+import fiap.com.br.Ocean.Clean.AI.Repository.ResiduoPlasticoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Histórico de detecções particionado por dia. As consultas recentes leem só
+ * as partições da janela; a retenção compacta cada partição mais antiga que
+ * {@code retencaoDias} em contagens por célula de {@code tamanhoCelula} e
+ * apaga as linhas contadas, por id, em blocos de {@code tamanhoBloco}.
+ * Resíduos ligados a uma missão ficam, já que a missão ainda os referencia.
+ */
+@Service
+@Slf4j
+public class HistoricoResiduoService {
+
+    @Autowired
+    private ResiduoPlasticoRepository residuoPlasticoRepository;
+
+    @Autowired
+    private HistoricoResiduoRepository historicoResiduoRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private AlteracaoEmMassa alteracaoEmMassa;
+
+    @Value("${ocean.historico.retencao-dias:30}")
+    private int retencaoDias;
+
+    @Value("${ocean.historico.tamanho-celula:1024}")
+    private int tamanhoCelula;
+
+    @Value("${ocean.massa.tamanho-bloco:1000}")
+    private int tamanhoBloco;
+
+    public List<DeteccaoResiduo> recentes(int horas, int minX, int minY, int maxX, int maxY, int limite) {
+        Instant desde = Instant.now().minus(Duration.ofHours(horas));
+        return residuoPlasticoRepository.findDetectadosDesde(ResiduoPlastico.particaoDe(desde), desde,
+            minX, minY, maxX, maxY, PageRequest.ofSize(limite));
+    }
+
+    public List<HistoricoCelula> historico(LocalDate de, LocalDate ate) {
+        if (de.isAfter(ate)) {
+            throw new ResponseStatusException(BAD_REQUEST, "O parâmetro de deve ser anterior ou igual a ate");
+        }
+        return historicoResiduoRepository.findEntre((int) de.toEpochDay(), (int) ate.toEpochDay()).stream()
+            .map(historico -> {
+                CelulaHistorico celula = historico.getCelula();
+                return new HistoricoCelula(LocalDate.ofEpochDay(celula.getParticao()),
+                    celula.getCelulaX() * tamanhoCelula, celula.getCelulaY() * tamanhoCelula, historico.getQuantidade());
+            })
+            .toList();
+    }
+
+    /**
+     * Cada partição é compactada em sua própria transação, então uma falha no
+     * meio preserva as já concluídas e a próxima execução continua de onde
+     * parou.
+     */
+    @Scheduled(cron = "${ocean.historico.cron-compactacao:0 30 3 * * *}")
+    public synchronized ResultadoCompactacao compactar() {
+        Instant agora = Instant.now();
+        int datados = transactionTemplate.execute(status ->
+            residuoPlasticoRepository.datarSemParticao(agora, ResiduoPlastico.particaoDe(agora)));
+        if (datados > 0) {
+            alteracaoEmMassa.residuosAlterados();
+            log.info("Histórico: {} resíduos sem data de detecção entraram na partição de hoje", datados);
+        }
+
+        int limite = ResiduoPlastico.particaoDe(agora) - retencaoDias;
+        List<Integer> particoes = residuoPlasticoRepository.findParticoesAntesDe(limite);
+        int removidos = 0;
+        int celulas = 0;
+        for (int particao : particoes) {
+            int[] resultado = transactionTemplate.execute(status -> compactar(particao));
+            removidos += resultado[0];
+            celulas += resultado[1];
+        }
+        if (!particoes.isEmpty()) {
+            log.info("Histórico: {} partições compactadas em {} células, {} resíduos removidos", particoes.size(), celulas, removidos);
+        }
+        return new ResultadoCompactacao(particoes.size(), removidos, celulas);
+    }
+
+    /**
+     * As contagens saem das mesmas linhas que o {@code DELETE} remove: ele
+     * recebe os ids lidos, já que a sequência entrega ids fora de ordem e um
+     * limite pelo maior id apagaria resíduos gravados depois da leitura. Uma
+     * partição compactada de novo (detecções atrasadas) soma às células que
+     * já existem.
+     */
+    private int[] compactar(int particao) {
+        List<ResiduoLocalizado> residuos = residuoPlasticoRepository.findLocalizacoesDaParticao(particao);
+        if (residuos.isEmpty()) {
+            return new int[] { 0, 0 };
+        }
+        Map<CelulaHistorico, Long> contagens = new HashMap<>();
+        List<Long> ids = new ArrayList<>(residuos.size());
+        for (ResiduoLocalizado residuo : residuos) {
+            contagens.merge(new CelulaHistorico(particao, residuo.coordenadaX() / tamanhoCelula, residuo.coordenadaY() / tamanhoCelula),
+                1L, Long::sum);
+            ids.add(residuo.id_residuo());
+        }
+        Map<CelulaHistorico, HistoricoResiduo> existentes = new HashMap<>();
+        for (HistoricoResiduo historico : historicoResiduoRepository.findEntre(particao, particao)) {
+            existentes.put(historico.getCelula(), historico);
+        }
+        contagens.forEach((celula, quantidade) -> {
+            HistoricoResiduo historico = existentes.get(celula);
+            if (historico != null) {
+                historico.setQuantidade(historico.getQuantidade() + quantidade);
+            } else {
+                entityManager.persist(new HistoricoResiduo(celula, quantidade));
+            }
+        });
+
+        int removidos = 0;
+        for (int inicio = 0; inicio < ids.size(); inicio += tamanhoBloco) {
+            removidos += residuoPlasticoRepository.deleteDaParticao(particao, ids.subList(inicio, Math.min(inicio + tamanhoBloco, ids.size())));
+        }
+        alteracaoEmMassa.residuosRemovidos(residuos);
+        return new int[] { removidos, contagens.size() };
+    }
+}
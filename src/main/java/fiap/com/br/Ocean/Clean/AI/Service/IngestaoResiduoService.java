@@ -0,0 +1,149 @@
+package fiap.com.br.Ocean.Clean.AI.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import fiap.com.br.Ocean.Clean.AI.Config.FormatosBinariosConfiguracao;
+import fiap.com.br.Ocean.Clean.AI.Dto.FalhaLote;
+import fiap.com.br.Ocean.Clean.AI.Dto.ResultadoLote;
+import fiap.com.br.Ocean.Clean.AI.Models.ResiduoPlastico;
+import fiap.com.br.Ocean.Clean.AI.Repository.ResiduoPlasticoRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class IngestaoResiduoService {
+
+    @Autowired
+    private ResiduoPlasticoRepository residuoPlasticoRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter conversorCbor;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter conversorSmile;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${ocean.residuos.lote.tamanho-bloco:1000}")
+    private int tamanhoBloco;
+
+    /**
+     * Lê um array JSON ou NDJSON (ou o mesmo em CBOR ou Smile, conforme o
+     * {@code tipo}) item a item, sem materializar o corpo inteiro, e grava
+     * cada bloco de {@code tamanhoBloco} resíduos válidos em uma única
+     * transação com inserts em batch.
+     */
+    public ResultadoLote ingerir(InputStream corpo, MediaType tipo) throws IOException {
+        List<FalhaLote> falhas = new ArrayList<>();
+        List<ResiduoPlastico> bloco = new ArrayList<>(tamanhoBloco);
+        List<Integer> indicesDoBloco = new ArrayList<>(tamanhoBloco);
+        int recebidos = 0;
+        int inseridos = 0;
+
+        try (MappingIterator<ResiduoPlastico> itens = leitor(tipo).readerFor(ResiduoPlastico.class).readValues(corpo)) {
+            while (true) {
+                int indice = recebidos;
+                ResiduoPlastico residuo;
+                try {
+                    if (!itens.hasNextValue()) {
+                        break;
+                    }
+                    residuo = itens.nextValue();
+                } catch (JsonParseException e) {
+                    falhas.add(new FalhaLote(indice, List.of("Conteúdo malformado, leitura interrompida: " + e.getOriginalMessage())));
+                    break;
+                } catch (JsonMappingException e) {
+                    recebidos++;
+                    falhas.add(new FalhaLote(indice, List.of(e.getOriginalMessage())));
+                    continue;
+                }
+                recebidos++;
+
+                Set<ConstraintViolation<ResiduoPlastico>> violacoes = validator.validate(residuo);
+                if (!violacoes.isEmpty()) {
+                    falhas.add(new FalhaLote(indice, violacoes.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.toList())));
+                    continue;
+                }
+
+                residuo.setId_residuo(null);
+                bloco.add(residuo);
+                indicesDoBloco.add(indice);
+                if (bloco.size() == tamanhoBloco) {
+                    inseridos += gravarBloco(bloco, indicesDoBloco, falhas);
+                }
+            }
+        }
+        if (!bloco.isEmpty()) {
+            inseridos += gravarBloco(bloco, indicesDoBloco, falhas);
+        }
+
+        log.info("Lote de resíduos processado: {} recebidos, {} inseridos, {} falhas", recebidos, inseridos, falhas.size());
+        return new ResultadoLote(recebidos, inseridos, falhas);
+    }
+
+    private ObjectMapper leitor(MediaType tipo) {
+        if (MediaType.APPLICATION_CBOR.isCompatibleWith(tipo)) {
+            return conversorCbor.getObjectMapper();
+        }
+        if (FormatosBinariosConfiguracao.APPLICATION_SMILE.isCompatibleWith(tipo)) {
+            return conversorSmile.getObjectMapper();
+        }
+        return objectMapper;
+    }
+
+    private int gravarBloco(List<ResiduoPlastico> bloco, List<Integer> indices, List<FalhaLote> falhas) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> residuoPlasticoRepository.saveAll(bloco));
+            return bloco.size();
+        } catch (RuntimeException e) {
+            // o bloco inteiro foi revertido: regrava item a item para isolar os registros com problema
+            log.warn("Falha ao gravar bloco de {} resíduos, gravando individualmente: {}", bloco.size(), e.getMessage());
+            int gravados = 0;
+            for (int i = 0; i < bloco.size(); i++) {
+                ResiduoPlastico residuo = bloco.get(i);
+                residuo.setId_residuo(null);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> residuoPlasticoRepository.save(residuo));
+                    gravados++;
+                } catch (RuntimeException erroItem) {
+                    falhas.add(new FalhaLote(indices.get(i), List.of(NestedExceptionUtils.getMostSpecificCause(erroItem).getMessage())));
+                }
+            }
+            return gravados;
+        } finally {
+            bloco.clear();
+            indices.clear();
+        }
+    }
+}
@@ -1,13 +1,24 @@
 package fiap.com.br.Ocean.Clean.AI.Service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import fiap.com.br.Ocean.Clean.AI.Config.CacheConfiguracao;
+import fiap.com.br.Ocean.Clean.AI.Dto.MissaoVisao;
+import fiap.com.br.Ocean.Clean.AI.Dto.ResiduoExportado;
+import fiap.com.br.Ocean.Clean.AI.Dto.ResiduoLocalizado;
 import fiap.com.br.Ocean.Clean.AI.Models.Missao;
 import fiap.com.br.Ocean.Clean.AI.Repository.MissaoRepository;
+import fiap.com.br.Ocean.Clean.AI.Repository.ResiduoPlasticoRepository;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -16,6 +27,9 @@ public class MissaoService {
     @Autowired
     private MissaoRepository missaoRepository;
 
+    @Autowired
+    private ResiduoPlasticoRepository residuoPlasticoRepository;
+
     public Page<Missao> getAllMissoes(Pageable pageable) {
         return missaoRepository.findAll(pageable);
     }
@@ -27,4 +41,41 @@ public class MissaoService {
     public Missao addMissao(Missao missao) {
         return missaoRepository.save(missao);
     }
+
+    @Transactional(readOnly = true)
+    public List<MissaoVisao> listarVisoes(long apos, Pageable limite) {
+        return missaoRepository.findVisoesApos(apos, limite);
+    }
+
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfiguracao.MISSOES, unless = "#result == null")
+    public Optional<MissaoVisao> buscarVisao(Long id) {
+        return missaoRepository.findVisaoById(id);
+    }
+
+    /**
+     * Preenche os resíduos de todas as missões com uma única consulta, em vez
+     * de uma por missão.
+     */
+    @Transactional(readOnly = true)
+    public List<MissaoVisao> completar(List<MissaoVisao> missoes) {
+        if (missoes.isEmpty()) {
+            return missoes;
+        }
+        List<Long> ids = missoes.stream().map(MissaoVisao::id_missao).toList();
+        return comResiduos(missoes, residuoPlasticoRepository.findDasMissoes(ids));
+    }
+
+    static List<MissaoVisao> comResiduos(List<MissaoVisao> missoes, List<ResiduoExportado> residuos) {
+        Map<Long, List<ResiduoLocalizado>> porMissao = new HashMap<>();
+        for (ResiduoExportado residuo : residuos) {
+            porMissao.computeIfAbsent(residuo.id_missao(), id -> new ArrayList<>())
+                .add(new ResiduoLocalizado(residuo.id_residuo(), residuo.coordenadaX(), residuo.coordenadaY()));
+        }
+        List<MissaoVisao> completas = new ArrayList<>(missoes.size());
+        for (MissaoVisao missao : missoes) {
+            completas.add(missao.comResiduos(porMissao.getOrDefault(missao.id_missao(), List.of())));
+        }
+        return completas;
+    }
 }
@@ -0,0 +1,269 @@
+package fiap.com.br.Ocean.Clean.AI.Service;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import fiap.com.br.Ocean.Clean.AI.Dto.AlteracaoDrones;
+import fiap.com.br.Ocean.Clean.AI.Dto.AlteracaoMissoes;
+import fiap.com.br.Ocean.Clean.AI.Dto.AlteracaoResiduos;
+import fiap.com.br.Ocean.Clean.AI.Dto.ResiduoLocalizado;
+import fiap.com.br.Ocean.Clean.AI.Dto.ResultadoMassa;
+import fiap.com.br.Ocean.Clean.AI.Listener.AlteracaoEmMassa;
+import fiap.com.br.Ocean.Clean.AI.Models.Drone;
+import fiap.com.br.Ocean.Clean.AI.Models.Missao;
+import fiap.com.br.Ocean.Clean.AI.Models.Operador;
+import fiap.com.br.Ocean.Clean.AI.Models.ResiduoPlastico;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaDelete;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Remoções e alterações de muitos registros com comandos {@code DELETE} e
+ * {@code UPDATE} por conjunto, em uma transação. Os registros afetados são
+ * lidos antes por projeção e os comandos rodam por id em blocos de até
+ * {@code tamanhoBloco}, o limite de itens de um {@code IN} no Oracle; assim o
+ * que muda no banco é exatamente o que é sincronizado nos caches e índices em
+ * memória por {@link AlteracaoEmMassa}.
+ */
+@Service
+@Slf4j
+public class OperacaoMassaService {
+
+    /**
+     * Atributo do id e caminho até o id do pai usado como filtro.
+     */
+    private record Tabela<T>(Class<T> tipo, String id, String pai, String idPai) {
+    }
+
+    private static final Tabela<Drone> DRONES = new Tabela<>(Drone.class, "id_drone", "operador", "id_operador");
+    private static final Tabela<Missao> MISSOES = new Tabela<>(Missao.class, "id_missao", "operador", "id_operador");
+    private static final Tabela<ResiduoPlastico> RESIDUOS = new Tabela<>(ResiduoPlastico.class, "id_residuo", "missao", "id_missao");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private AlteracaoEmMassa alteracaoEmMassa;
+
+    @Value("${ocean.massa.tamanho-bloco:1000}")
+    private int tamanhoBloco;
+
+    @Transactional
+    public ResultadoMassa removerResiduos(List<Long> ids, Long id_missao) {
+        exigirFiltro(ids, id_missao, "missao");
+        List<ResiduoLocalizado> residuos = localizacoes(ids, id_missao);
+        int afetados = 0;
+        for (List<Long> bloco : blocos(residuos.stream().map(ResiduoLocalizado::id_residuo).toList())) {
+            afetados += remover(RESIDUOS, bloco);
+        }
+        alteracaoEmMassa.residuosRemovidos(residuos);
+        log.info("Remoção em massa: {} resíduos", afetados);
+        return new ResultadoMassa(afetados);
+    }
+
+    @Transactional
+    public ResultadoMassa alterarResiduos(List<Long> ids, Long id_missao, AlteracaoResiduos alteracao) {
+        exigirFiltro(ids, id_missao, "missao");
+        Missao destino = referencia(Missao.class, alteracao.id_missao(), "Não existe missão com o id informado");
+        List<Long> residuos = selecionar(RESIDUOS, ids, id_missao);
+        int afetados = alterar(RESIDUOS, residuos,
+            (update, raiz) -> update.set(raiz.<Missao>get("missao"), destino));
+        alteracaoEmMassa.residuosVinculados(residuos, destino.getId_missao(), false);
+        return new ResultadoMassa(afetados);
+    }
+
+    /**
+     * Como na remoção individual, que propaga para os resíduos da missão, os
+     * resíduos das missões removidas também são apagados.
+     */
+    @Transactional
+    public ResultadoMassa removerMissoes(List<Long> ids, Long id_operador) {
+        exigirFiltro(ids, id_operador, "operador");
+        List<Long> missoes = selecionar(MISSOES, ids, id_operador);
+        List<ResiduoLocalizado> residuos = new ArrayList<>();
+        int afetados = 0;
+        for (List<Long> bloco : blocos(missoes)) {
+            List<ResiduoLocalizado> daMissao = localizacoesDasMissoes(bloco);
+            for (List<Long> residuosBloco : blocos(daMissao.stream().map(ResiduoLocalizado::id_residuo).toList())) {
+                remover(RESIDUOS, residuosBloco);
+            }
+            residuos.addAll(daMissao);
+            afetados += remover(MISSOES, bloco);
+        }
+        alteracaoEmMassa.residuosRemovidos(residuos);
+        alteracaoEmMassa.missoesAlteradas();
+        log.info("Remoção em massa: {} missões e {} resíduos", afetados, residuos.size());
+        return new ResultadoMassa(afetados);
+    }
+
+    @Transactional
+    public ResultadoMassa alterarMissoes(List<Long> ids, Long id_operador, AlteracaoMissoes alteracao) {
+        exigirFiltro(ids, id_operador, "operador");
+        Operador destino = referencia(Operador.class, alteracao.id_operador(), "Não existe operador com o id informado");
+        int afetados = alterar(MISSOES, selecionar(MISSOES, ids, id_operador),
+            (update, raiz) -> update.set(raiz.<Operador>get("operador"), destino));
+        alteracaoEmMassa.missoesAlteradas();
+        return new ResultadoMassa(afetados);
+    }
+
+    @Transactional
+    public ResultadoMassa removerDrones(List<Long> ids, Long id_operador) {
+        exigirFiltro(ids, id_operador, "operador");
+        List<Long> drones = selecionar(DRONES, ids, id_operador);
+        int afetados = 0;
+        for (List<Long> bloco : blocos(drones)) {
+            afetados += remover(DRONES, bloco);
+        }
+        alteracaoEmMassa.dronesRemovidos(drones);
+        log.info("Remoção em massa: {} drones", afetados);
+        return new ResultadoMassa(afetados);
+    }
+
+    @Transactional
+    public ResultadoMassa alterarDrones(List<Long> ids, Long id_operador, AlteracaoDrones alteracao) {
+        exigirFiltro(ids, id_operador, "operador");
+        if (alteracao.vazia()) {
+            throw new ResponseStatusException(BAD_REQUEST, "Informe ao menos um campo a alterar");
+        }
+        Operador destino = alteracao.id_operador() != null
+            ? referencia(Operador.class, alteracao.id_operador(), "Não existe operador com o id informado")
+            : null;
+        List<Long> drones = selecionar(DRONES, ids, id_operador);
+        int afetados = alterar(DRONES, drones, (update, raiz) -> {
+            if (destino != null) {
+                update.set(raiz.<Operador>get("operador"), destino);
+            }
+            if (alteracao.nivelBateria() != null) {
+                update.set(raiz.<Integer>get("nivelBateria"), alteracao.nivelBateria());
+            }
+            if (alteracao.residuosColetados() != null) {
+                update.set(raiz.<Integer>get("residuosColetados"), alteracao.residuosColetados());
+            }
+        });
+        alteracaoEmMassa.dronesAlterados(drones, estado -> estado.comAlteracao(alteracao));
+        return new ResultadoMassa(afetados);
+    }
+
+    private static void exigirFiltro(List<Long> ids, Long pai, String parametro) {
+        if ((ids == null || ids.isEmpty()) && pai == null) {
+            throw new ResponseStatusException(BAD_REQUEST, "Informe os ids ou o parâmetro " + parametro);
+        }
+    }
+
+    private <T> T referencia(Class<T> tipo, Long id, String mensagem) {
+        T entidade = entityManager.find(tipo, id);
+        if (entidade == null) {
+            throw new ResponseStatusException(NOT_FOUND, mensagem);
+        }
+        return entidade;
+    }
+
+    /**
+     * Ids que atendem aos dois filtros; a lista de ids, se houver, é
+     * consultada em blocos.
+     */
+    private <T> List<Long> selecionar(Tabela<T> tabela, List<Long> ids, Long pai) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        List<Long> selecionados = new ArrayList<>();
+        for (List<Long> bloco : blocosDoFiltro(ids)) {
+            CriteriaQuery<Long> consulta = cb.createQuery(Long.class);
+            Root<T> raiz = consulta.from(tabela.tipo());
+            consulta.select(raiz.<Long>get(tabela.id())).where(filtro(cb, raiz, tabela, bloco, pai));
+            selecionados.addAll(entityManager.createQuery(consulta).getResultList());
+        }
+        return selecionados;
+    }
+
+    private List<ResiduoLocalizado> localizacoes(List<Long> ids, Long id_missao) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        List<ResiduoLocalizado> residuos = new ArrayList<>();
+        for (List<Long> bloco : blocosDoFiltro(ids)) {
+            CriteriaQuery<ResiduoLocalizado> consulta = cb.createQuery(ResiduoLocalizado.class);
+            Root<ResiduoPlastico> raiz = consulta.from(ResiduoPlastico.class);
+            consulta.select(localizacao(cb, raiz)).where(filtro(cb, raiz, RESIDUOS, bloco, id_missao));
+            residuos.addAll(entityManager.createQuery(consulta).getResultList());
+        }
+        return residuos;
+    }
+
+    private List<ResiduoLocalizado> localizacoesDasMissoes(List<Long> missoes) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ResiduoLocalizado> consulta = cb.createQuery(ResiduoLocalizado.class);
+        Root<ResiduoPlastico> raiz = consulta.from(ResiduoPlastico.class);
+        consulta.select(localizacao(cb, raiz)).where(raiz.get("missao").get("id_missao").in(missoes));
+        return entityManager.createQuery(consulta).getResultList();
+    }
+
+    private static CompoundSelection<ResiduoLocalizado> localizacao(CriteriaBuilder cb, Root<ResiduoPlastico> raiz) {
+        return cb.construct(ResiduoLocalizado.class, raiz.get("id_residuo"), raiz.get("coordenadaX"), raiz.get("coordenadaY"));
+    }
+
+    private static <T> Predicate filtro(CriteriaBuilder cb, Root<T> raiz, Tabela<T> tabela, List<Long> ids, Long pai) {
+        List<Predicate> condicoes = new ArrayList<>(2);
+        if (ids != null) {
+            condicoes.add(raiz.get(tabela.id()).in(ids));
+        }
+        if (pai != null) {
+            condicoes.add(cb.equal(raiz.get(tabela.pai()).get(tabela.idPai()), pai));
+        }
+        return cb.and(condicoes.toArray(Predicate[]::new));
+    }
+
+    private <T> int remover(Tabela<T> tabela, List<Long> ids) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaDelete<T> delete = cb.createCriteriaDelete(tabela.tipo());
+        Root<T> raiz = delete.from(tabela.tipo());
+        delete.where(raiz.get(tabela.id()).in(ids));
+        return entityManager.createQuery(delete).executeUpdate();
+    }
+
+    private <T> int alterar(Tabela<T> tabela, List<Long> ids, BiConsumer<CriteriaUpdate<T>, Root<T>> campos) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        int afetados = 0;
+        for (List<Long> bloco : blocos(ids)) {
+            CriteriaUpdate<T> update = cb.createCriteriaUpdate(tabela.tipo());
+            Root<T> raiz = update.from(tabela.tipo());
+            campos.accept(update, raiz);
+            update.where(raiz.get(tabela.id()).in(bloco));
+            afetados += entityManager.createQuery(update).executeUpdate();
+        }
+        return afetados;
+    }
+
+    /**
+     * Sem lista de ids o filtro é só pelo pai, em uma única consulta.
+     */
+    private List<List<Long>> blocosDoFiltro(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            List<List<Long>> semIds = new ArrayList<>(1);
+            semIds.add(null);
+            return semIds;
+        }
+        return blocos(ids.stream().distinct().toList());
+    }
+
+    private List<List<Long>> blocos(List<Long> ids) {
+        List<List<Long>> blocos = new ArrayList<>((ids.size() + tamanhoBloco - 1) / tamanhoBloco);
+        for (int inicio = 0; inicio < ids.size(); inicio += tamanhoBloco) {
+            blocos.add(ids.subList(inicio, Math.min(ids.size(), inicio + tamanhoBloco)));
+        }
+        return blocos;
+    }
+}
@@ -1,14 +1,27 @@
 package fiap.com.br.Ocean.Clean.AI.Service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import fiap.com.br.Ocean.Clean.AI.Config.CacheConfiguracao;
+import fiap.com.br.Ocean.Clean.AI.Dto.EstadoDrone;
+import fiap.com.br.Ocean.Clean.AI.Dto.MissaoVisao;
+import fiap.com.br.Ocean.Clean.AI.Dto.OperadorVisao;
 import fiap.com.br.Ocean.Clean.AI.Models.Operador;
+import fiap.com.br.Ocean.Clean.AI.Repository.DroneRepository;
+import fiap.com.br.Ocean.Clean.AI.Repository.MissaoRepository;
 import fiap.com.br.Ocean.Clean.AI.Repository.OperadorRepository;
+import fiap.com.br.Ocean.Clean.AI.Repository.ResiduoPlasticoRepository;
 
 @Service
 public class OperadorService {
@@ -16,6 +29,15 @@ public class OperadorService {
     @Autowired
     private OperadorRepository operadorRepository;
 
+    @Autowired
+    private MissaoRepository missaoRepository;
+
+    @Autowired
+    private DroneRepository droneRepository;
+
+    @Autowired
+    private ResiduoPlasticoRepository residuoPlasticoRepository;
+
     public Page<Operador> getAllOperadores(Pageable pageable) {
         return operadorRepository.findAll(pageable);
     }
@@ -28,4 +50,46 @@ public class OperadorService {
         return operadorRepository.save(operador);
     }
 
+    @Transactional(readOnly = true)
+    public List<OperadorVisao> listarVisoes(long apos, Pageable limite) {
+        return operadorRepository.findVisoesApos(apos, limite);
+    }
+
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfiguracao.OPERADORES, unless = "#result == null")
+    public Optional<OperadorVisao> buscarVisao(Long id) {
+        return operadorRepository.findVisaoById(id);
+    }
+
+    /**
+     * Carrega missões, resíduos e drones de todos os operadores com três
+     * consultas filtradas pelos ids dos operadores, independente de quantos
+     * filhos cada um tenha.
+     */
+    @Transactional(readOnly = true)
+    public List<OperadorVisao> completar(List<OperadorVisao> operadores) {
+        if (operadores.isEmpty()) {
+            return operadores;
+        }
+        List<Long> ids = operadores.stream().map(OperadorVisao::id_operador).toList();
+        List<MissaoVisao> missoes = MissaoService.comResiduos(
+            missaoRepository.findVisoesDosOperadores(ids), residuoPlasticoRepository.findDosOperadores(ids));
+
+        Map<Long, List<MissaoVisao>> missoesPorOperador = new HashMap<>();
+        for (MissaoVisao missao : missoes) {
+            missoesPorOperador.computeIfAbsent(missao.id_operador(), id -> new ArrayList<>()).add(missao);
+        }
+        Map<Long, List<EstadoDrone>> dronesPorOperador = new HashMap<>();
+        for (EstadoDrone drone : droneRepository.findEstadosDosOperadores(ids)) {
+            dronesPorOperador.computeIfAbsent(drone.id_operador(), id -> new ArrayList<>()).add(drone);
+        }
+
+        List<OperadorVisao> completos = new ArrayList<>(operadores.size());
+        for (OperadorVisao operador : operadores) {
+            completos.add(operador.comFilhos(
+                missoesPorOperador.getOrDefault(operador.id_operador(), List.of()),
+                dronesPorOperador.getOrDefault(operador.id_operador(), List.of())));
+        }
+        return completos;
+    }
 }
@@ -0,0 +1,114 @@
+package fiap.com.br.Ocean.Clean.AI.Service;
+
+import static org.springframework.http.HttpStatus.CONFLICT;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import fiap.com.br.Ocean.Clean.AI.Dto.EstadoDrone;
+import fiap.com.br.Ocean.Clean.AI.Dto.PlanoMissao;
+import fiap.com.br.Ocean.Clean.AI.Dto.ResiduoLocalizado;
+import fiap.com.br.Ocean.Clean.AI.Dto.RotaDrone;
+import fiap.com.br.Ocean.Clean.AI.Index.EstadoFrota;
+import fiap.com.br.Ocean.Clean.AI.Models.Missao;
+import fiap.com.br.Ocean.Clean.AI.Planejamento.PlanejadorRotas;
+import fiap.com.br.Ocean.Clean.AI.Planejamento.PlanejadorRotas.Rota;
+import fiap.com.br.Ocean.Clean.AI.Planejamento.PlanejadorRotas.Veiculo;
+import fiap.com.br.Ocean.Clean.AI.Repository.MissaoRepository;
+import fiap.com.br.Ocean.Clean.AI.Repository.ResiduoPlasticoRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class PlanejamentoService {
+
+    @Autowired
+    private MissaoRepository missaoRepository;
+
+    @Autowired
+    private ResiduoPlasticoRepository residuoPlasticoRepository;
+
+    @Autowired
+    private EstadoFrota estadoFrota;
+
+    @Value("${ocean.planejamento.bateria-minima:20}")
+    private int bateriaMinima;
+
+    private final ForkJoinPool pool;
+    private final PlanejadorRotas planejador;
+
+    public PlanejamentoService(
+            @Value("${ocean.planejamento.paralelismo:0}") int paralelismo,
+            @Value("${ocean.planejamento.iteracoes-kmeans:10}") int iteracoesKMeans,
+            @Value("${ocean.planejamento.janela-2opt:50}") int janela2Opt,
+            @Value("${ocean.planejamento.passadas-2opt:10}") int passadas2Opt) {
+        this.pool = new ForkJoinPool(paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors());
+        this.planejador = new PlanejadorRotas(pool, iteracoesKMeans, janela2Opt, passadas2Opt);
+    }
+
+    @Transactional(readOnly = true)
+    public PlanoMissao planejar(Long id_missao) {
+        Missao missao = missaoRepository.findById(id_missao).orElseThrow(
+            () -> new ResponseStatusException(NOT_FOUND, "Não existe missão com o id informado")
+        );
+        if (missao.getOperador() == null) {
+            throw new ResponseStatusException(CONFLICT, "A missão não possui operador para fornecer drones");
+        }
+
+        List<EstadoDrone> drones = new ArrayList<>();
+        for (EstadoDrone drone : estadoFrota.doOperador(missao.getOperador().getId_operador())) {
+            if (drone.nivelBateria() >= bateriaMinima) {
+                drones.add(drone);
+            }
+        }
+        if (drones.isEmpty()) {
+            throw new ResponseStatusException(CONFLICT, "O operador não possui drones com bateria suficiente");
+        }
+        drones.sort(Comparator.comparing(EstadoDrone::id_drone));
+
+        List<ResiduoLocalizado> residuos = residuoPlasticoRepository.findLocalizacoesDaMissao(id_missao);
+        long inicio = System.currentTimeMillis();
+
+        int n = residuos.size();
+        long[] ids = new long[n];
+        int[] xs = new int[n];
+        int[] ys = new int[n];
+        for (int i = 0; i < n; i++) {
+            ResiduoLocalizado residuo = residuos.get(i);
+            ids[i] = residuo.id_residuo();
+            xs[i] = residuo.coordenadaX();
+            ys[i] = residuo.coordenadaY();
+        }
+        List<Veiculo> veiculos = new ArrayList<>(drones.size());
+        Map<Long, EstadoDrone> porId = new HashMap<>();
+        for (EstadoDrone drone : drones) {
+            veiculos.add(new Veiculo(drone.id_drone(), drone.coordenadaX(), drone.coordenadaY(), drone.nivelBateria()));
+            porId.put(drone.id_drone(), drone);
+        }
+
+        List<RotaDrone> rotas = new ArrayList<>(veiculos.size());
+        for (Rota rota : planejador.planejar(ids, xs, ys, veiculos)) {
+            rotas.add(new RotaDrone(rota.idVeiculo(), porId.get(rota.idVeiculo()).nivelBateria(), rota.distancia(), rota.residuos()));
+        }
+        long duracao = System.currentTimeMillis() - inicio;
+        log.info("Missão {} planejada: {} resíduos em {} drones em {} ms", id_missao, n, rotas.size(), duracao);
+        return new PlanoMissao(id_missao, n, duracao, rotas);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        pool.shutdown();
+    }
+}
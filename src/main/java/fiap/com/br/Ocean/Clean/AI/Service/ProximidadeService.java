@@ -0,0 +1,159 @@
+package fiap.com.br.Ocean.Clean.AI.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import fiap.com.br.Ocean.Clean.AI.Dto.AlertaProximidade;
+import fiap.com.br.Ocean.Clean.AI.Dto.EstadoDrone;
+import fiap.com.br.Ocean.Clean.AI.Index.EstadoFrota;
+import fiap.com.br.Ocean.Clean.AI.Planejamento.DetectorProximidade;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Verifica a cada intervalo quais drones estão mais próximos que a distância
+ * de segurança, a partir das posições do {@link EstadoFrota}, e publica os
+ * alertas da última verificação. Drones dentro do raio da base estão
+ * pousados ou recarregando e não entram na verificação.
+ */
+@Service
+@Slf4j
+public class ProximidadeService {
+
+    public enum Risco { PROXIMIDADE, COLISAO }
+
+    private record Par(long id_drone, long id_drone_proximo) {
+    }
+
+    @Autowired
+    private EstadoFrota estadoFrota;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final DetectorProximidade detector;
+    private final long distanciaColisao2;
+    private final int baseX;
+    private final int baseY;
+    private final long raioBase2;
+
+    private long[] ids = new long[0];
+    private int[] xs = new int[0];
+    private int[] ys = new int[0];
+
+    private volatile Map<Par, AlertaProximidade> alertas = Map.of();
+
+    private final Map<Risco, Counter> novos = new EnumMap<>(Risco.class);
+    private Timer verificacoes;
+
+    public ProximidadeService(
+            @Value("${ocean.proximidade.distancia-seguranca:25}") int distanciaSeguranca,
+            @Value("${ocean.proximidade.distancia-colisao:5}") int distanciaColisao,
+            @Value("${ocean.proximidade.raio-base:50}") int raioBase,
+            @Value("${ocean.despacho.base-x:0}") int baseX,
+            @Value("${ocean.despacho.base-y:0}") int baseY) {
+        if (distanciaColisao < 0 || distanciaColisao > distanciaSeguranca) {
+            throw new IllegalArgumentException("A distância de colisão deve ficar entre 0 e a distância de segurança");
+        }
+        this.detector = new DetectorProximidade(distanciaSeguranca);
+        this.distanciaColisao2 = (long) distanciaColisao * distanciaColisao;
+        this.baseX = baseX;
+        this.baseY = baseY;
+        this.raioBase2 = (long) raioBase * raioBase;
+    }
+
+    @PostConstruct
+    public void registrar() {
+        for (Risco risco : Risco.values()) {
+            novos.put(risco, Counter.builder("ocean.proximidade.alertas")
+                .description("Pares de drones que entraram na distância de segurança ou de colisão")
+                .tag("risco", risco.name())
+                .register(meterRegistry));
+        }
+        Gauge.builder("ocean.proximidade.ativos", this, servico -> servico.alertas.size())
+            .description("Pares de drones em alerta na última verificação")
+            .register(meterRegistry);
+        verificacoes = Timer.builder("ocean.proximidade.verificacao")
+            .description("Duração de cada verificação de proximidade da frota")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${ocean.proximidade.intervalo-ms:100}")
+    public synchronized void verificar() {
+        long inicio = System.nanoTime();
+        int n = copiarPosicoes();
+        Map<Par, AlertaProximidade> anteriores = alertas;
+        Map<Par, AlertaProximidade> atuais = new HashMap<>();
+        Instant agora = Instant.now();
+        detector.detectar(xs, ys, n, (a, b, distancia2) -> {
+            Par par = ids[a] < ids[b] ? new Par(ids[a], ids[b]) : new Par(ids[b], ids[a]);
+            Risco risco = distancia2 <= distanciaColisao2 ? Risco.COLISAO : Risco.PROXIMIDADE;
+            AlertaProximidade anterior = anteriores.get(par);
+            // conta o par ao entrar em alerta e ao passar a risco de colisão
+            if (anterior == null || (risco == Risco.COLISAO && !risco.name().equals(anterior.risco()))) {
+                novos.get(risco).increment();
+                if (risco == Risco.COLISAO) {
+                    log.warn("Risco de colisão entre os drones {} e {}", par.id_drone(), par.id_drone_proximo());
+                }
+            }
+            atuais.put(par, new AlertaProximidade(par.id_drone(), par.id_drone_proximo(), Math.sqrt(distancia2),
+                risco.name(), anterior != null ? anterior.desde() : agora));
+        });
+        alertas = atuais;
+        verificacoes.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Alertas da última verificação, do par mais próximo ao mais distante.
+     *
+     * @param id_drone se informado, só os pares que incluem esse drone
+     */
+    public List<AlertaProximidade> alertas(Long id_drone) {
+        List<AlertaProximidade> resultado = new ArrayList<>();
+        for (AlertaProximidade alerta : alertas.values()) {
+            if (id_drone == null || id_drone.equals(alerta.id_drone()) || id_drone.equals(alerta.id_drone_proximo())) {
+                resultado.add(alerta);
+            }
+        }
+        resultado.sort(Comparator.comparingDouble(AlertaProximidade::distancia));
+        return resultado;
+    }
+
+    private int copiarPosicoes() {
+        int n = 0;
+        for (EstadoDrone estado : estadoFrota.todos()) {
+            long dx = estado.coordenadaX() - (long) baseX;
+            long dy = estado.coordenadaY() - (long) baseY;
+            if (dx * dx + dy * dy <= raioBase2) {
+                continue;
+            }
+            if (n == ids.length) {
+                int capacidade = Math.max(64, n * 2);
+                ids = Arrays.copyOf(ids, capacidade);
+                xs = Arrays.copyOf(xs, capacidade);
+                ys = Arrays.copyOf(ys, capacidade);
+            }
+            ids[n] = estado.id_drone();
+            xs[n] = estado.coordenadaX();
+            ys[n] = estado.coordenadaY();
+            n++;
+        }
+        return n;
+    }
+}
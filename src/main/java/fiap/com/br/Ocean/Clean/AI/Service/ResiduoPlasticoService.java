@@ -1,23 +1,136 @@
 package fiap.com.br.Ocean.Clean.AI.Service;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import fiap.com.br.Ocean.Clean.AI.Config.CacheConfiguracao;
+import fiap.com.br.Ocean.Clean.AI.Dto.ResiduoLocalizado;
+import fiap.com.br.Ocean.Clean.AI.Dto.ResiduoVisao;
+import fiap.com.br.Ocean.Clean.AI.Index.MapaCalor;
+import fiap.com.br.Ocean.Clean.AI.Index.ResiduoSpatialIndex;
 import fiap.com.br.Ocean.Clean.AI.Models.ResiduoPlastico;
 import fiap.com.br.Ocean.Clean.AI.Repository.ResiduoPlasticoRepository;
+import fiap.com.br.Ocean.Clean.AI.Roteamento.ConsistenciaLeitura;
+import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
 
 @Service
+@Slf4j
 public class ResiduoPlasticoService {
     
     @Autowired
     private ResiduoPlasticoRepository residuoPlasticoRepository;
 
+    @Autowired
+    private ResiduoSpatialIndex residuoSpatialIndex;
+
+    @Autowired
+    private MapaCalor mapaCalor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${ocean.heatmap.particoes:4}")
+    private int particoesMapaCalor;
+
     public List<ResiduoPlastico> getAllResiduoPlastico() {
         return residuoPlasticoRepository.findAll();
     }
 
+    /**
+     * O cache guarda a projeção, não a entidade: a entidade leva a missão e,
+     * por ela, a coleção preguiçosa de resíduos, que não pode ser lida fora
+     * da sessão e ficaria desatualizada quando a missão mudasse.
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfiguracao.RESIDUOS_PLASTICOS, unless = "#result == null")
+    public Optional<ResiduoVisao> getResiduoPlasticoById(Long id) {
+        return residuoPlasticoRepository.findVisao(id);
+    }
+
     public ResiduoPlastico addResiduoPlastico(ResiduoPlastico residuoPlastico) {
         return residuoPlasticoRepository.save(residuoPlastico);
     }
+
+    /**
+     * Chamado por {@link CargaInicialResiduos} antes de o servidor aceitar
+     * requisições. O que os listeners gravam ou removem durante a leitura
+     * prevalece sobre ela.
+     */
+    @Transactional(readOnly = true)
+    public void carregarIndiceEspacial() {
+        long inicio = System.currentTimeMillis();
+        residuoSpatialIndex.iniciarCarga();
+        // o índice é mantido pelos listeners a partir daqui, não pode partir de uma réplica atrasada
+        try (ConsistenciaLeitura.Fixacao fixacao = ConsistenciaLeitura.fixarNoPrimario();
+                Stream<ResiduoLocalizado> localizacoes = residuoPlasticoRepository.streamLocalizacoes()) {
+            localizacoes.forEach(r -> residuoSpatialIndex.carregar(r.id_residuo(), r.coordenadaX(), r.coordenadaY()));
+        }
+        residuoSpatialIndex.concluirCarga();
+        log.info("Índice espacial carregado com {} resíduos em {} ms",
+            residuoSpatialIndex.tamanho(), System.currentTimeMillis() - inicio);
+    }
+
+    /**
+     * Reconstrói o mapa de calor dividindo a faixa de ids em partições, cada
+     * uma lida em paralelo na sua própria transação e contada em um array
+     * próprio. As contagens são somadas no fim e trocadas de uma vez no mapa,
+     * que reaplica as alterações feitas pelos listeners durante a leitura.
+     * Chamado por {@link CargaInicialResiduos} depois do índice espacial, de
+     * onde os listeners tiram a posição anterior de cada resíduo.
+     */
+    public void carregarMapaCalor() {
+        long inicio = System.currentTimeMillis();
+        mapaCalor.iniciarRecarga();
+        Long maiorId = ConsistenciaLeitura.noPrimario(residuoPlasticoRepository::findMaiorId);
+        MapaCalor.Contagem total = mapaCalor.novaContagem();
+        if (maiorId != null) {
+            int particoes = Math.max(1, particoesMapaCalor);
+            long passo = maiorId / particoes + 1;
+            TransactionTemplate leitura = new TransactionTemplate(transactionManager);
+            leitura.setReadOnly(true);
+            ExecutorService executor = Executors.newFixedThreadPool(particoes);
+            try {
+                List<Future<MapaCalor.Contagem>> parciais = new ArrayList<>(particoes);
+                for (int p = 0; p < particoes; p++) {
+                    long de = p * passo;
+                    long ate = de + passo;
+                    parciais.add(executor.submit(() -> leitura.execute(status -> ConsistenciaLeitura.noPrimario(() -> contarEntre(de, ate)))));
+                }
+                for (Future<MapaCalor.Contagem> parcial : parciais) {
+                    total.somar(parcial.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Carga do mapa de calor interrompida", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Falha ao carregar o mapa de calor", e.getCause());
+            } finally {
+                executor.shutdown();
+            }
+        }
+        mapaCalor.substituir(total);
+        log.info("Mapa de calor carregado com {} níveis em {} ms",
+            mapaCalor.quantidadeNiveis(), System.currentTimeMillis() - inicio);
+    }
+
+    private MapaCalor.Contagem contarEntre(long inicio, long fim) {
+        MapaCalor.Contagem contagem = mapaCalor.novaContagem();
+        try (Stream<ResiduoLocalizado> localizacoes = residuoPlasticoRepository.streamLocalizacoesEntre(inicio, fim)) {
+            localizacoes.forEach(r -> contagem.contar(r.coordenadaX(), r.coordenadaY()));
+        }
+        return contagem;
+    }
 }
@@ -0,0 +1,105 @@
+package fiap.com.br.Ocean.Clean.AI.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import fiap.com.br.Ocean.Clean.AI.Dto.TelemetriaDrone;
+import fiap.com.br.Ocean.Clean.AI.Index.EstadoFrota;
+import fiap.com.br.Ocean.Clean.AI.Models.Drone;
+import fiap.com.br.Ocean.Clean.AI.Repository.DroneRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Guarda apenas o último estado reportado por drone e grava periodicamente no
+ * banco. Vários reports do mesmo drone entre dois flushes viram uma única
+ * escrita, então a carga no banco acompanha o tamanho da frota e não a
+ * frequência de telemetria.
+ */
+@Service
+@Slf4j
+public class TelemetriaService {
+
+    public static final Object GRAVACAO_TELEMETRIA = new Object();
+
+    private final Map<Long, TelemetriaDrone> pendentes = new ConcurrentHashMap<>();
+
+    @Autowired
+    private DroneRepository droneRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EstadoFrota estadoFrota;
+
+    /**
+     * @return {@code false} se o drone não existe no {@link EstadoFrota}
+     */
+    public boolean registrar(Long id_drone, TelemetriaDrone telemetria) {
+        if (estadoFrota.aplicarTelemetria(id_drone, telemetria).isEmpty()) {
+            return false;
+        }
+        pendentes.put(id_drone, telemetria);
+        return true;
+    }
+
+    public int pendentes() {
+        return pendentes.size();
+    }
+
+    @Scheduled(fixedDelayString = "${ocean.telemetria.intervalo-flush-ms:1000}")
+    public void gravarPendentes() {
+        if (pendentes.isEmpty()) {
+            return;
+        }
+        Map<Long, TelemetriaDrone> lote = new HashMap<>();
+        for (Long id : pendentes.keySet()) {
+            TelemetriaDrone ultima = pendentes.remove(id);
+            if (ultima != null) {
+                lote.put(id, ultima);
+            }
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                TransactionSynchronizationManager.bindResource(GRAVACAO_TELEMETRIA, Boolean.TRUE);
+                try {
+                    aplicar(lote);
+                    droneRepository.flush();
+                } finally {
+                    TransactionSynchronizationManager.unbindResource(GRAVACAO_TELEMETRIA);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Falha ao gravar telemetria de {} drones, será tentado no próximo ciclo: {}", lote.size(), e.getMessage());
+            lote.forEach(pendentes::putIfAbsent);
+        }
+    }
+
+    @PreDestroy
+    public void gravarAoEncerrar() {
+        gravarPendentes();
+    }
+
+    private void aplicar(Map<Long, TelemetriaDrone> lote) {
+        List<Drone> drones = droneRepository.findAllById(lote.keySet());
+        for (Drone drone : drones) {
+            TelemetriaDrone telemetria = lote.get(drone.getId_drone());
+            drone.setCoordenadaX(telemetria.coordenadaX());
+            drone.setCoordenadaY(telemetria.coordenadaY());
+            drone.setNivelBateria(telemetria.nivelBateria());
+        }
+        if (drones.size() < lote.size()) {
+            log.debug("Telemetria descartada para {} drones inexistentes", lote.size() - drones.size());
+        }
+        log.debug("Telemetria gravada para {} drones", drones.size());
+    }
+}
@@ -0,0 +1,330 @@
+package fiap.com.br.Ocean.Clean.AI.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import fiap.com.br.Ocean.Clean.AI.Dto.EstadoDrone;
+import fiap.com.br.Ocean.Clean.AI.Dto.PosicaoDrone;
+import fiap.com.br.Ocean.Clean.AI.Index.EstadoFrota;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stream SSE das posições da frota. Cada assinante tem um buffer por drone:
+ * estados que chegam antes do próximo envio substituem o anterior, então um
+ * cliente lento recebe só o estado mais recente. Se o buffer passa do limite
+ * ele é descartado e o assinante recebe a frota inteira no próximo envio.
+ * <p>
+ * As conexões ficam em modo assíncrono no servlet; um despachante agendado
+ * entrega os buffers em um pool fixo de threads de envio, que não cresce com
+ * o número de assinantes. Um envio que passa de {@code limite-envio-ms} tem o
+ * assinante desconectado e a thread presa nele é reposta no pool até o envio
+ * voltar, então clientes parados não tomam as threads dos outros.
+ */
+@Service
+@Slf4j
+public class TransmissaoFrotaService {
+
+    @Autowired
+    private EstadoFrota estadoFrota;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${ocean.frota.stream.limite-pendentes:1000}")
+    private int limitePendentes;
+
+    @Value("${ocean.frota.stream.timeout-ms:1800000}")
+    private long timeout;
+
+    @Value("${ocean.frota.stream.intervalo-heartbeat-ms:15000}")
+    private long intervaloHeartbeat;
+
+    @Value("${ocean.frota.stream.limite-envio-ms:5000}")
+    private long limiteEnvio;
+
+    private final Set<Assinante> assinantes = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor envio;
+
+    private Counter conflacoes;
+    private Counter ressincronizacoes;
+    private Counter desconexoes;
+
+    public TransmissaoFrotaService(@Value("${ocean.frota.stream.threads-envio:4}") int threadsEnvio) {
+        this.envio = new ThreadPoolExecutor(threadsEnvio, threadsEnvio, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(), new CustomizableThreadFactory("frota-stream-"));
+    }
+
+    @PostConstruct
+    public void registrar() {
+        estadoFrota.adicionarOuvinte(this::alterado);
+        Gauge.builder("ocean.frota.stream.assinantes", assinantes, Set::size)
+            .description("Conexões abertas no stream da frota")
+            .register(meterRegistry);
+        conflacoes = Counter.builder("ocean.frota.stream.conflacoes")
+            .description("Estados substituídos no buffer de um assinante antes de serem enviados")
+            .register(meterRegistry);
+        ressincronizacoes = Counter.builder("ocean.frota.stream.ressincronizacoes")
+            .description("Buffers descartados por passar do limite, trocados pela frota inteira")
+            .register(meterRegistry);
+        desconexoes = Counter.builder("ocean.frota.stream.desconexoes")
+            .description("Assinantes desconectados por um envio que passou do limite de tempo")
+            .register(meterRegistry);
+    }
+
+    public SseEmitter assinar(Long id_operador) {
+        return assinar(new SseEmitter(timeout), id_operador);
+    }
+
+    SseEmitter assinar(SseEmitter emitter, Long id_operador) {
+        Assinante assinante = new Assinante(emitter, id_operador);
+        emitter.onCompletion(() -> assinantes.remove(assinante));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(erro -> assinantes.remove(assinante));
+        assinantes.add(assinante);
+        return emitter;
+    }
+
+    public int assinantes() {
+        return assinantes.size();
+    }
+
+    @Scheduled(fixedDelayString = "${ocean.frota.stream.intervalo-ms:250}")
+    public void despachar() {
+        long agora = System.currentTimeMillis();
+        for (Assinante assinante : assinantes) {
+            if (assinante.abandonar(agora, limiteEnvio)) {
+                // o envio preso não pode ser interrompido; a thread só volta quando o container desistir da escrita
+                assinantes.remove(assinante);
+                desconexoes.increment();
+                reporThreads(1);
+                log.info("Assinante do stream da frota desconectado: envio parado há mais de {} ms", limiteEnvio);
+                continue;
+            }
+            Lote lote = assinante.retirar(agora, intervaloHeartbeat);
+            if (lote != null) {
+                envio.execute(() -> enviar(assinante, lote));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        for (Assinante assinante : assinantes) {
+            assinante.emitter.complete();
+        }
+        envio.shutdown();
+    }
+
+    private void alterado(EstadoDrone anterior, EstadoDrone atual) {
+        PosicaoDrone posicaoAnterior = anterior != null ? PosicaoDrone.de(anterior) : null;
+        PosicaoDrone posicao = atual != null ? PosicaoDrone.de(atual) : null;
+        for (Assinante assinante : assinantes) {
+            boolean via = anterior != null && assinante.acompanha(anterior);
+            boolean ve = atual != null && assinante.acompanha(atual);
+            if (ve && (!via || !posicao.equals(posicaoAnterior))) {
+                if (assinante.atualizar(posicao, limitePendentes)) {
+                    conflacoes.increment();
+                }
+            } else if (via && !ve) {
+                assinante.remover(anterior.id_drone(), limitePendentes);
+            }
+        }
+    }
+
+    private void enviar(Assinante assinante, Lote lote) {
+        assinante.iniciarEnvio(System.currentTimeMillis());
+        try {
+            SseEmitter emitter = assinante.emitter;
+            if (lote.frota()) {
+                if (lote.descartado()) {
+                    ressincronizacoes.increment();
+                }
+                emitter.send(SseEmitter.event().name("frota").data(frota(assinante), MediaType.APPLICATION_JSON));
+            }
+            if (!lote.posicoes().isEmpty()) {
+                emitter.send(SseEmitter.event().name("posicoes").data(lote.posicoes(), MediaType.APPLICATION_JSON));
+            }
+            if (!lote.removidos().isEmpty()) {
+                emitter.send(SseEmitter.event().name("removidos").data(lote.removidos(), MediaType.APPLICATION_JSON));
+            }
+            if (lote.vazio()) {
+                emitter.send(SseEmitter.event().comment("ping"));
+            }
+        } catch (IOException | IllegalStateException e) {
+            // cliente desconectou: o container avisa o emitter, aqui só paramos de enviar
+            log.debug("Assinante do stream da frota desconectado: {}", e.getMessage());
+            assinantes.remove(assinante);
+        } finally {
+            if (assinante.concluirEnvio(System.currentTimeMillis())) {
+                reporThreads(-1);
+                fechar(assinante.emitter);
+            }
+        }
+    }
+
+    /**
+     * Aumenta ou devolve o tamanho do pool de envio pelas threads presas em
+     * assinantes abandonados, mantendo constante o número de threads livres.
+     */
+    private synchronized void reporThreads(int delta) {
+        if (delta > 0) {
+            envio.setMaximumPoolSize(envio.getMaximumPoolSize() + delta);
+            envio.setCorePoolSize(envio.getCorePoolSize() + delta);
+        } else {
+            envio.setCorePoolSize(envio.getCorePoolSize() + delta);
+            envio.setMaximumPoolSize(envio.getMaximumPoolSize() + delta);
+        }
+    }
+
+    private static void fechar(SseEmitter emitter) {
+        try {
+            emitter.complete();
+        } catch (RuntimeException e) {
+            log.debug("Falha ao encerrar assinante abandonado: {}", e.getMessage());
+        }
+    }
+
+    private List<PosicaoDrone> frota(Assinante assinante) {
+        List<PosicaoDrone> posicoes = new ArrayList<>();
+        for (EstadoDrone estado : estadoFrota.todos()) {
+            if (assinante.acompanha(estado)) {
+                posicoes.add(PosicaoDrone.de(estado));
+            }
+        }
+        return posicoes;
+    }
+
+    private record Lote(boolean frota, boolean descartado, List<PosicaoDrone> posicoes, List<Long> removidos) {
+
+        boolean vazio() {
+            return !frota && posicoes.isEmpty() && removidos.isEmpty();
+        }
+    }
+
+    private static final class Assinante {
+
+        private final SseEmitter emitter;
+        private final Long id_operador;
+
+        private final Map<Long, PosicaoDrone> posicoes = new LinkedHashMap<>();
+        private final Set<Long> removidos = new LinkedHashSet<>();
+        // começa pedindo a frota inteira, que é o primeiro evento do stream
+        private boolean frota = true;
+        private boolean descartado;
+        private boolean enviando;
+        private long ultimoEnvio;
+        // zero enquanto o lote espera uma thread de envio
+        private long inicioEnvio;
+        private boolean abandonado;
+
+        Assinante(SseEmitter emitter, Long id_operador) {
+            this.emitter = emitter;
+            this.id_operador = id_operador;
+        }
+
+        boolean acompanha(EstadoDrone estado) {
+            return id_operador == null || Objects.equals(id_operador, estado.id_operador());
+        }
+
+        /**
+         * @return {@code true} se substituiu um estado ainda não enviado
+         */
+        synchronized boolean atualizar(PosicaoDrone posicao, int limite) {
+            if (frota) {
+                return false;
+            }
+            removidos.remove(posicao.id_drone());
+            boolean substituiu = posicoes.put(posicao.id_drone(), posicao) != null;
+            limitar(limite);
+            return substituiu;
+        }
+
+        synchronized void remover(Long id_drone, int limite) {
+            if (frota) {
+                return;
+            }
+            posicoes.remove(id_drone);
+            removidos.add(id_drone);
+            limitar(limite);
+        }
+
+        private void limitar(int limite) {
+            if (posicoes.size() + removidos.size() > limite) {
+                posicoes.clear();
+                removidos.clear();
+                frota = true;
+                descartado = true;
+            }
+        }
+
+        /**
+         * Esvazia o buffer para um envio, ou devolve {@code null} se ainda há
+         * um envio em andamento ou nada a mandar (nem heartbeat).
+         */
+        synchronized Lote retirar(long agora, long intervaloHeartbeat) {
+            if (enviando) {
+                return null;
+            }
+            boolean pendente = frota || !posicoes.isEmpty() || !removidos.isEmpty();
+            if (!pendente && agora - ultimoEnvio < intervaloHeartbeat) {
+                return null;
+            }
+            Lote lote = new Lote(frota, descartado, List.copyOf(posicoes.values()), List.copyOf(removidos));
+            posicoes.clear();
+            removidos.clear();
+            frota = false;
+            descartado = false;
+            enviando = true;
+            return lote;
+        }
+
+        synchronized void iniciarEnvio(long agora) {
+            inicioEnvio = agora;
+        }
+
+        /**
+         * Marca o assinante como abandonado se o envio em andamento passou do
+         * limite. Só devolve {@code true} uma vez.
+         */
+        synchronized boolean abandonar(long agora, long limite) {
+            if (abandonado || !enviando || inicioEnvio == 0 || agora - inicioEnvio <= limite) {
+                return false;
+            }
+            abandonado = true;
+            return true;
+        }
+
+        /**
+         * @return {@code true} se o assinante foi abandonado durante o envio
+         */
+        synchronized boolean concluirEnvio(long agora) {
+            enviando = false;
+            inicioEnvio = 0;
+            ultimoEnvio = agora;
+            return abandonado;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package fiap.com.br.Ocean.Clean.AI.Service;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import fiap.com.br.Ocean.Clean.AI.Dto.EstadoDrone;
+import fiap.com.br.Ocean.Clean.AI.Dto.ResiduoLocalizado;
+import fiap.com.br.Ocean.Clean.AI.Dto.ZonaPonto;
+import fiap.com.br.Ocean.Clean.AI.Index.EstadoFrota;
+import fiap.com.br.Ocean.Clean.AI.Index.ResiduoSpatialIndex;
+import fiap.com.br.Ocean.Clean.AI.Index.ZonaIndex;
+import fiap.com.br.Ocean.Clean.AI.Index.ZonaIndex.Poligono;
+import fiap.com.br.Ocean.Clean.AI.Listener.AlteracaoEmMassa;
+import fiap.com.br.Ocean.Clean.AI.Models.TipoZona;
+import fiap.com.br.Ocean.Clean.AI.Models.Zona;
+import fiap.com.br.Ocean.Clean.AI.Repository.ResiduoPlasticoRepository;
+import fiap.com.br.Ocean.Clean.AI.Repository.ZonaRepository;
+import fiap.com.br.Ocean.Clean.AI.Roteamento.ConsistenciaLeitura;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mantém o {@link ZonaIndex} e a classificação por zona. Resíduos são
+ * classificados pelo listener ao serem gravados; drones, a cada mudança de
+ * posição no {@link EstadoFrota}. Quando uma zona muda, os resíduos dentro
+ * das caixas da versão anterior e da nova são reclassificados em massa, a
+ * partir do índice espacial em memória.
+ */
+@Service
+@Slf4j
+public class ZonaService {
+
+    private static final long SEM_ZONA = 0;
+
+    @Autowired
+    private ZonaRepository zonaRepository;
+
+    @Autowired
+    private ResiduoPlasticoRepository residuoPlasticoRepository;
+
+    @Autowired
+    private ZonaIndex zonaIndex;
+
+    @Autowired
+    private ResiduoSpatialIndex residuoSpatialIndex;
+
+    @Autowired
+    private EstadoFrota estadoFrota;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private AlteracaoEmMassa alteracaoEmMassa;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${ocean.massa.tamanho-bloco:1000}")
+    private int tamanhoBloco;
+
+    private final Map<Long, Long> zonaDosDrones = new ConcurrentHashMap<>();
+    private final Map<TipoZona, Counter> entradas = new EnumMap<>(TipoZona.class);
+
+    @PostConstruct
+    void registrar() {
+        for (TipoZona tipo : TipoZona.values()) {
+            entradas.put(tipo, Counter.builder("ocean.zonas.entradas")
+                .description("Entradas de drones em zonas")
+                .tag("tipo", tipo.name())
+                .register(meterRegistry));
+        }
+        Gauge.builder("ocean.zonas", zonaIndex, ZonaIndex::tamanho).register(meterRegistry);
+        estadoFrota.adicionarOuvinte(this::alterado);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarZonas() {
+        long inicio = System.currentTimeMillis();
+        List<Zona> zonas = ConsistenciaLeitura.noPrimario(() -> zonaRepository.findAll());
+        zonaIndex.substituir(zonas.stream().map(ZonaService::poligono).toList());
+        estadoFrota.todos().forEach(this::classificarDrone);
+        log.info("Índice de zonas carregado com {} zonas em {} ms", zonaIndex.tamanho(), System.currentTimeMillis() - inicio);
+    }
+
+    public List<Zona> listar() {
+        return zonaRepository.findAll();
+    }
+
+    public Zona buscar(Long id_zona) {
+        return zonaRepository.findById(id_zona).orElseThrow(
+            () -> new ResponseStatusException(NOT_FOUND, "Não existe zona com o id informado"));
+    }
+
+    /**
+     * Cria a zona ou, com {@code id_zona} preenchido, substitui a existente.
+     */
+    public Zona salvar(Zona zona) {
+        validar(zona);
+        if (zona.getId_zona() != null && !zonaRepository.existsById(zona.getId_zona())) {
+            throw new ResponseStatusException(NOT_FOUND, "Não existe zona com o id informado");
+        }
+        Zona salva = transactionTemplate.execute(status -> zonaRepository.save(zona));
+        Poligono novo = poligono(salva);
+        Poligono anterior = zonaIndex.atualizar(novo);
+        reclassificar(anterior, novo);
+        return salva;
+    }
+
+    public void remover(Long id_zona) {
+        if (!zonaRepository.existsById(id_zona)) {
+            throw new ResponseStatusException(NOT_FOUND, "Não existe zona com o id informado");
+        }
+        transactionTemplate.executeWithoutResult(status -> zonaRepository.deleteById(id_zona));
+        reclassificar(zonaIndex.remover(id_zona), null);
+    }
+
+    public ZonaPonto classificar(int x, int y) {
+        return ponto(x, y, zonaIndex.classificar(x, y));
+    }
+
+    /**
+     * A zona vem da classificação feita quando a posição chegou, sem
+     * recalcular.
+     */
+    public ZonaPonto zonaDoDrone(Long id_drone) {
+        EstadoDrone estado = estadoFrota.buscar(id_drone).orElseThrow(
+            () -> new ResponseStatusException(NOT_FOUND, "Não existe drone com o id informado"));
+        Long zona = zonaDosDrones.get(id_drone);
+        Poligono poligono = zona != null ? zonaIndex.buscar(zona).orElse(null) : null;
+        return ponto(estado.coordenadaX(), estado.coordenadaY(), poligono);
+    }
+
+    private void alterado(EstadoDrone anterior, EstadoDrone atual) {
+        if (atual == null) {
+            zonaDosDrones.remove(anterior.id_drone());
+        } else if (anterior == null || anterior.coordenadaX() != atual.coordenadaX() || anterior.coordenadaY() != atual.coordenadaY()) {
+            classificarDrone(atual);
+        }
+    }
+
+    private void classificarDrone(EstadoDrone estado) {
+        Poligono zona = zonaIndex.classificar(estado.coordenadaX(), estado.coordenadaY());
+        if (zona == null) {
+            zonaDosDrones.remove(estado.id_drone());
+            return;
+        }
+        Long anterior = zonaDosDrones.put(estado.id_drone(), zona.getId());
+        if (anterior == null || anterior != zona.getId()) {
+            entradas.get(zona.getTipo()).increment();
+        }
+    }
+
+    private void reclassificar(Poligono anterior, Poligono novo) {
+        int alterados = 0;
+        if (anterior != null) {
+            alterados += reclassificarResiduos(anterior.getMinX(), anterior.getMinY(), anterior.getMaxX(), anterior.getMaxY());
+        }
+        if (novo != null) {
+            alterados += reclassificarResiduos(novo.getMinX(), novo.getMinY(), novo.getMaxX(), novo.getMaxY());
+        }
+        if (alterados > 0) {
+            alteracaoEmMassa.residuosAlterados();
+        }
+        estadoFrota.todos().forEach(this::classificarDrone);
+        log.info("Zonas alteradas: {} resíduos reclassificados", alterados);
+    }
+
+    private int reclassificarResiduos(int minX, int minY, int maxX, int maxY) {
+        Map<Long, List<Long>> porZona = new HashMap<>();
+        for (ResiduoLocalizado residuo : residuoSpatialIndex.area(minX, minY, maxX, maxY, Integer.MAX_VALUE)) {
+            Poligono zona = zonaIndex.classificar(residuo.coordenadaX(), residuo.coordenadaY());
+            porZona.computeIfAbsent(zona != null ? zona.getId() : SEM_ZONA, id -> new ArrayList<>()).add(residuo.id_residuo());
+        }
+        return transactionTemplate.execute(status -> {
+            int alterados = 0;
+            for (Map.Entry<Long, List<Long>> grupo : porZona.entrySet()) {
+                List<Long> ids = grupo.getValue();
+                for (int inicio = 0; inicio < ids.size(); inicio += tamanhoBloco) {
+                    List<Long> bloco = ids.subList(inicio, Math.min(inicio + tamanhoBloco, ids.size()));
+                    alterados += grupo.getKey() == SEM_ZONA
+                        ? residuoPlasticoRepository.desclassificar(bloco)
+                        : residuoPlasticoRepository.classificarNaZona(grupo.getKey(), bloco);
+                }
+            }
+            return alterados;
+        });
+    }
+
+    private static void validar(Zona zona) {
+        try {
+            poligono(zona);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private static Poligono poligono(Zona zona) {
+        int[] xs = zona.getVertices().stream().mapToInt(vertice -> vertice.getX()).toArray();
+        int[] ys = zona.getVertices().stream().mapToInt(vertice -> vertice.getY()).toArray();
+        long id = zona.getId_zona() != null ? zona.getId_zona() : SEM_ZONA;
+        return new Poligono(id, zona.getNome(), zona.getTipo(), xs, ys);
+    }
+
+    private static ZonaPonto ponto(int x, int y, Poligono zona) {
+        return zona == null
+            ? new ZonaPonto(x, y, null, null, null)
+            : new ZonaPonto(x, y, zona.getId(), zona.getNome(), zona.getTipo());
+    }
+}
@@ -0,0 +1,86 @@
+package fiap.com.br.Ocean.Clean.AI.Simulacao;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+
+/**
+ * Chamadas HTTP à API com medição de latência. Cada chamada leva o nome do
+ * endpoint com o caminho genérico (ex.: {@code PUT /drones/{id}}) para
+ * agrupar as medições.
+ */
+final class ClienteApi {
+
+    record Chamada(String endpoint, HttpRequest requisicao) {
+    }
+
+    private final String base;
+    private final HttpClient http;
+
+    ClienteApi(String base) {
+        this.base = base.endsWith("/") ? base.substring(0, base.length() - 1) : base;
+        this.http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    }
+
+    Chamada get(String endpoint, String caminho) {
+        return new Chamada(endpoint, requisicao(caminho).GET().build());
+    }
+
+    Chamada post(String endpoint, String caminho, String json) {
+        return new Chamada(endpoint, requisicao(caminho).header("Content-Type", "application/json")
+            .POST(BodyPublishers.ofString(json)).build());
+    }
+
+    Chamada put(String endpoint, String caminho, String json) {
+        return new Chamada(endpoint, requisicao(caminho).header("Content-Type", "application/json")
+            .PUT(BodyPublishers.ofString(json)).build());
+    }
+
+    Chamada delete(String endpoint, String caminho) {
+        return new Chamada(endpoint, requisicao(caminho).DELETE().build());
+    }
+
+    /**
+     * @return a resposta, ou {@code null} se a conexão falhou; status de erro
+     *         e falhas de conexão contam como erro do endpoint
+     */
+    HttpResponse<String> executar(Chamada chamada, Estatisticas estatisticas) {
+        long inicio = System.nanoTime();
+        HttpResponse<String> resposta = null;
+        try {
+            resposta = http.send(chamada.requisicao(), BodyHandlers.ofString());
+        } catch (IOException e) {
+            // contada como erro abaixo
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        estatisticas.registrar(chamada.endpoint(), System.nanoTime() - inicio, resposta == null || resposta.statusCode() >= 400);
+        return resposta;
+    }
+
+    /**
+     * Executa um POST de criação e devolve o id do header {@code Location}.
+     */
+    long criar(Chamada chamada, Estatisticas estatisticas) {
+        HttpResponse<String> resposta = executar(chamada, estatisticas);
+        if (resposta == null || resposta.statusCode() != 201) {
+            throw new IllegalStateException("Falha ao executar " + chamada.endpoint() + ": "
+                + (resposta == null ? "sem resposta" : resposta.statusCode() + " " + resposta.body()));
+        }
+        String local = resposta.headers().firstValue("Location").orElseThrow(
+            () -> new IllegalStateException(chamada.endpoint() + " não devolveu Location"));
+        return Long.parseLong(local.substring(local.lastIndexOf('/') + 1));
+    }
+
+    private HttpRequest.Builder requisicao(String caminho) {
+        return HttpRequest.newBuilder(URI.create(base + caminho)).timeout(Duration.ofSeconds(60));
+    }
+}
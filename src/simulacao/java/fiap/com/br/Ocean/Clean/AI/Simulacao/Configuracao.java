@@ -0,0 +1,80 @@
+package fiap.com.br.Ocean.Clean.AI.Simulacao;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parâmetros da simulação, lidos de argumentos {@code --chave=valor}. A mesma
+ * configuração com a mesma semente gera exatamente as mesmas requisições.
+ */
+record Configuracao(
+    long semente,
+    String url,
+    int operadores,
+    int missoes,
+    int drones,
+    int alvosPorDrone,
+    int residuos,
+    int tamanhoLote,
+    int ticks,
+    long intervaloTickMs,
+    int leiturasPorTick,
+    int conexoes,
+    int area,
+    int velocidade,
+    double consumoPorUnidade,
+    int bateriaRetorno,
+    int recargaPorTick,
+    String saida) {
+
+    static Configuracao de(String[] args) {
+        Map<String, String> valores = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Argumento inválido, use --chave=valor: " + arg);
+            }
+            int igual = arg.indexOf('=');
+            valores.put(arg.substring(2, igual), arg.substring(igual + 1));
+        }
+        Leitor leitor = new Leitor(valores);
+        Configuracao configuracao = new Configuracao(
+            leitor.numero("semente", 42),
+            leitor.texto("url", null),
+            (int) leitor.numero("operadores", 10),
+            (int) leitor.numero("missoes", 20),
+            (int) leitor.numero("drones", 500),
+            (int) leitor.numero("alvos-por-drone", 2),
+            (int) leitor.numero("residuos", 100_000),
+            (int) leitor.numero("tamanho-lote", 5_000),
+            (int) leitor.numero("ticks", 30),
+            leitor.numero("intervalo-tick-ms", 1000),
+            (int) leitor.numero("leituras-por-tick", 100),
+            (int) leitor.numero("conexoes", 32),
+            (int) leitor.numero("area", 65_536),
+            (int) leitor.numero("velocidade", 400),
+            Double.parseDouble(leitor.texto("consumo-por-unidade", "0.001")),
+            (int) leitor.numero("bateria-retorno", 20),
+            (int) leitor.numero("recarga-por-tick", 10),
+            leitor.texto("saida", null));
+        if (!valores.isEmpty()) {
+            throw new IllegalArgumentException("Argumentos desconhecidos: " + valores.keySet());
+        }
+        if (configuracao.operadores < 1 || configuracao.drones < 1 || configuracao.conexoes < 1 || configuracao.area < 2) {
+            throw new IllegalArgumentException("operadores, drones e conexoes devem ser positivos e area maior que 1");
+        }
+        return configuracao;
+    }
+
+    private record Leitor(Map<String, String> valores) {
+
+        long numero(String chave, long padrao) {
+            String valor = valores.remove(chave);
+            return valor == null ? padrao : Long.parseLong(valor.replace("_", ""));
+        }
+
+        String texto(String chave, String padrao) {
+            String valor = valores.remove(chave);
+            return valor == null ? padrao : valor;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package fiap.com.br.Ocean.Clean.AI.Simulacao;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+
+/**
+ * Estado local de um drone na simulação. O movimento não depende das
+ * respostas da API, então a sequência de requisições é a mesma em toda
+ * execução com a mesma semente.
+ */
+final class DroneSimulado {
+
+    /**
+     * Resíduo criado para ser coletado por este drone.
+     */
+    record Alvo(long id, int x, int y) {
+    }
+
+    final long id;
+    final long idOperador;
+    final String nome;
+    double x;
+    double y;
+    double bateria;
+    int residuosColetados;
+
+    private final Deque<Alvo> alvos = new ArrayDeque<>();
+    private int destinoX;
+    private int destinoY;
+    private boolean retornando;
+
+    DroneSimulado(long id, long idOperador, String nome, int x, int y, int bateria) {
+        this.id = id;
+        this.idOperador = idOperador;
+        this.nome = nome;
+        this.x = x;
+        this.y = y;
+        this.bateria = bateria;
+        this.destinoX = x;
+        this.destinoY = y;
+    }
+
+    void adicionarAlvo(Alvo alvo) {
+        alvos.add(alvo);
+    }
+
+    /**
+     * Move o drone um tick em direção ao alvo atual, à base ou a um ponto de
+     * patrulha.
+     *
+     * @return o alvo coletado neste tick, ou {@code null}
+     */
+    Alvo avancar(Configuracao configuracao, Random random) {
+        if (retornando) {
+            if (x == 0 && y == 0) {
+                bateria = Math.min(100, bateria + configuracao.recargaPorTick());
+                retornando = bateria < 100;
+                return null;
+            }
+            mover(0, 0, configuracao);
+            return null;
+        }
+        if (bateria < configuracao.bateriaRetorno()) {
+            retornando = true;
+            mover(0, 0, configuracao);
+            return null;
+        }
+        Alvo alvo = alvos.peek();
+        if (alvo != null) {
+            if (mover(alvo.x(), alvo.y(), configuracao)) {
+                residuosColetados++;
+                return alvos.poll();
+            }
+            return null;
+        }
+        if (mover(destinoX, destinoY, configuracao)) {
+            // sem resíduos próprios: patrulha pontos aleatórios
+            destinoX = random.nextInt(configuracao.area());
+            destinoY = random.nextInt(configuracao.area());
+        }
+        return null;
+    }
+
+    /**
+     * @return {@code true} se chegou ao destino
+     */
+    private boolean mover(int alvoX, int alvoY, Configuracao configuracao) {
+        double dx = alvoX - x;
+        double dy = alvoY - y;
+        double distancia = Math.sqrt(dx * dx + dy * dy);
+        double passo = Math.min(distancia, configuracao.velocidade());
+        if (distancia <= configuracao.velocidade()) {
+            x = alvoX;
+            y = alvoY;
+        } else {
+            x += dx / distancia * passo;
+            y += dy / distancia * passo;
+        }
+        bateria = Math.max(0, bateria - passo * configuracao.consumoPorUnidade());
+        return x == alvoX && y == alvoY;
+    }
+}
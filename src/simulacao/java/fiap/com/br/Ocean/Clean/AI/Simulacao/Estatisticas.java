@@ -0,0 +1,103 @@
+package fiap.com.br.Ocean.Clean.AI.Simulacao;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Latência por endpoint de uma fase da simulação. Os percentis vêm do
+ * histograma do Micrometer, sem janela de expiração, então cobrem a fase
+ * inteira.
+ */
+final class Estatisticas {
+
+    record Linha(String endpoint, long requisicoes, long erros, double porSegundo, double p50Ms, double p99Ms, double maxMs) {
+    }
+
+    private final String fase;
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> erros = new ConcurrentHashMap<>();
+    private long inicio;
+    private long fim;
+
+    Estatisticas(String fase) {
+        this.fase = fase;
+    }
+
+    void iniciar() {
+        inicio = System.nanoTime();
+    }
+
+    void encerrar() {
+        fim = System.nanoTime();
+    }
+
+    void registrar(String endpoint, long nanos, boolean erro) {
+        timers.computeIfAbsent(endpoint, e -> Timer.builder("simulacao.requisicao")
+            .tag("endpoint", e)
+            .publishPercentiles(0.5, 0.99)
+            .percentilePrecision(2)
+            .distributionStatisticExpiry(Duration.ofDays(1))
+            .distributionStatisticBufferLength(1)
+            .register(registry)).record(nanos, TimeUnit.NANOSECONDS);
+        if (erro) {
+            erros.computeIfAbsent(endpoint, e -> new LongAdder()).increment();
+        }
+    }
+
+    String fase() {
+        return fase;
+    }
+
+    double segundos() {
+        return (fim - inicio) / 1e9;
+    }
+
+    List<Linha> linhas() {
+        double segundos = Math.max(segundos(), 1e-9);
+        List<Linha> linhas = new ArrayList<>();
+        for (Map.Entry<String, Timer> entrada : new TreeMap<>(timers).entrySet()) {
+            HistogramSnapshot snapshot = entrada.getValue().takeSnapshot();
+            double p50 = 0;
+            double p99 = 0;
+            for (ValueAtPercentile percentil : snapshot.percentileValues()) {
+                if (percentil.percentile() == 0.5) {
+                    p50 = percentil.value(TimeUnit.MILLISECONDS);
+                } else {
+                    p99 = percentil.value(TimeUnit.MILLISECONDS);
+                }
+            }
+            LongAdder falhas = erros.get(entrada.getKey());
+            linhas.add(new Linha(entrada.getKey(), snapshot.count(), falhas == null ? 0 : falhas.sum(),
+                snapshot.count() / segundos, p50, p99, snapshot.max(TimeUnit.MILLISECONDS)));
+        }
+        return linhas;
+    }
+
+    String relatorio() {
+        StringBuilder texto = new StringBuilder();
+        texto.append(String.format("%n== %s: %.1f s ==%n", fase, segundos()));
+        texto.append(String.format("%-42s %10s %7s %10s %9s %9s %9s%n", "endpoint", "requisicoes", "erros", "req/s", "p50 ms", "p99 ms", "max ms"));
+        long total = 0;
+        long totalErros = 0;
+        for (Linha linha : linhas()) {
+            texto.append(String.format("%-42s %10d %7d %10.1f %9.2f %9.2f %9.2f%n", linha.endpoint(), linha.requisicoes(),
+                linha.erros(), linha.porSegundo(), linha.p50Ms(), linha.p99Ms(), linha.maxMs()));
+            total += linha.requisicoes();
+            totalErros += linha.erros();
+        }
+        texto.append(String.format("%-42s %10d %7d %10.1f%n", "total", total, totalErros, total / Math.max(segundos(), 1e-9)));
+        return texto.toString();
+    }
+}
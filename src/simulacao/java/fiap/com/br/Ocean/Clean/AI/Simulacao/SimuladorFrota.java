@@ -0,0 +1,266 @@
+package fiap.com.br.Ocean.Clean.AI.Simulacao;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import fiap.com.br.Ocean.Clean.AI.OceanCleanAiApplication;
+import fiap.com.br.Ocean.Clean.AI.Simulacao.ClienteApi.Chamada;
+import fiap.com.br.Ocean.Clean.AI.Simulacao.DroneSimulado.Alvo;
+
+/**
+ * Simulador de frota por ticks contra a API real. Sobe a aplicação com o
+ * perfil de teste (H2 em memória) em uma porta livre, ou usa a instância de
+ * {@code --url}, e executa duas fases:
+ * <ol>
+ * <li>carga: cria operadores, missões, drones e os resíduos que cada drone
+ * vai coletar pelos controllers, e os demais resíduos em lotes por
+ * {@code /residuos-plasticos/lote};</li>
+ * <li>operação: a cada tick envia a telemetria de todos os drones, a coleta
+ * dos que chegaram ao seu resíduo (DELETE do resíduo e PUT do drone) e
+ * {@code leituras-por-tick} consultas.</li>
+ * </ol>
+ * Ao final imprime requisições, erros, vazão e p50/p99 por endpoint de cada
+ * fase. Todo sorteio sai de um único {@link Random} com a semente
+ * configurada, na thread que monta as requisições; só a execução delas é
+ * paralela, em {@code conexoes} threads.
+ * <p>
+ * {@code mvn -Psimulacao -DskipTests verify -Dsimulacao.argumentos="--drones=5000 --residuos=10000000"}
+ */
+public final class SimuladorFrota {
+
+    private final Configuracao configuracao;
+    private final ClienteApi api;
+    private final ExecutorService executor;
+    private final Random random;
+
+    private long[] operadores;
+    private long[] missoes;
+    private final List<DroneSimulado> drones = new ArrayList<>();
+    private int ticksAtrasados;
+
+    SimuladorFrota(Configuracao configuracao, ClienteApi api, ExecutorService executor) {
+        this.configuracao = configuracao;
+        this.api = api;
+        this.executor = executor;
+        this.random = new Random(configuracao.semente());
+    }
+
+    public static void main(String[] args) throws Exception {
+        Configuracao configuracao = Configuracao.de(args);
+        ConfigurableApplicationContext contexto = null;
+        String url = configuracao.url();
+        if (url == null) {
+            // o restart do devtools chamaria este main de novo com os argumentos do Spring
+            System.setProperty("spring.devtools.restart.enabled", "false");
+            contexto = SpringApplication.run(OceanCleanAiApplication.class,
+                "--spring.profiles.active=test",
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.generate_statistics=false",
+                "--logging.level.root=WARN");
+            url = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port");
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(configuracao.conexoes());
+        try {
+            SimuladorFrota simulador = new SimuladorFrota(configuracao, new ClienteApi(url), executor);
+            System.out.printf("Simulação com semente %d contra %s%n", configuracao.semente(), url);
+
+            Estatisticas carga = new Estatisticas("carga");
+            carga.iniciar();
+            simulador.carregar(carga);
+            carga.encerrar();
+            System.out.print(carga.relatorio());
+
+            Estatisticas operacao = new Estatisticas("operacao");
+            operacao.iniciar();
+            simulador.operar(operacao);
+            operacao.encerrar();
+            System.out.print(operacao.relatorio());
+            System.out.printf("%d de %d ticks passaram do intervalo de %d ms%n",
+                simulador.ticksAtrasados, configuracao.ticks(), configuracao.intervaloTickMs());
+
+            if (configuracao.saida() != null) {
+                Map<String, Object> resultado = new LinkedHashMap<>();
+                resultado.put("configuracao", configuracao);
+                resultado.put("ticksAtrasados", simulador.ticksAtrasados);
+                for (Estatisticas fase : List.of(carga, operacao)) {
+                    resultado.put(fase.fase(), Map.of("segundos", fase.segundos(), "endpoints", fase.linhas()));
+                }
+                new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(new File(configuracao.saida()), resultado);
+            }
+        } finally {
+            executor.shutdownNow();
+            if (contexto != null) {
+                contexto.close();
+            }
+        }
+    }
+
+    void carregar(Estatisticas estatisticas) throws Exception {
+        int area = configuracao.area();
+
+        List<Chamada> chamadas = new ArrayList<>();
+        for (int i = 0; i < configuracao.operadores(); i++) {
+            chamadas.add(api.post("POST /operadores", "/operadores", String.format(Locale.ROOT,
+                "{\"nome\":\"Operador simulado %d\",\"email\":\"operador%d@simulacao.oceanclean.com\"}", i, i)));
+        }
+        operadores = criar(chamadas, estatisticas);
+
+        chamadas.clear();
+        for (int i = 0; i < configuracao.missoes(); i++) {
+            chamadas.add(api.post("POST /missoes", "/missoes", String.format(Locale.ROOT,
+                "{\"nome\":\"Missão simulada %d\",\"operador\":{\"id_operador\":%d}}", i, operadores[i % operadores.length])));
+        }
+        missoes = criar(chamadas, estatisticas);
+
+        chamadas.clear();
+        int[][] iniciais = new int[configuracao.drones()][];
+        for (int i = 0; i < configuracao.drones(); i++) {
+            iniciais[i] = new int[] { random.nextInt(area), random.nextInt(area), 30 + random.nextInt(71) };
+            chamadas.add(api.post("POST /drones", "/drones", String.format(Locale.ROOT,
+                "{\"nome\":\"Drone simulado %d\",\"coordenadaX\":%d,\"coordenadaY\":%d,\"nivelBateria\":%d,\"operador\":{\"id_operador\":%d}}",
+                i, iniciais[i][0], iniciais[i][1], iniciais[i][2], operadores[i % operadores.length])));
+        }
+        long[] idsDrones = criar(chamadas, estatisticas);
+        for (int i = 0; i < idsDrones.length; i++) {
+            drones.add(new DroneSimulado(idsDrones[i], operadores[i % operadores.length], "Drone simulado " + i,
+                iniciais[i][0], iniciais[i][1], iniciais[i][2]));
+        }
+
+        chamadas.clear();
+        int[][] alvos = new int[drones.size() * configuracao.alvosPorDrone()][];
+        for (int i = 0; i < alvos.length; i++) {
+            alvos[i] = new int[] { random.nextInt(area), random.nextInt(area) };
+            chamadas.add(api.post("POST /residuos-plasticos", "/residuos-plasticos", corpoResiduo(alvos[i][0], alvos[i][1])));
+        }
+        long[] idsAlvos = criar(chamadas, estatisticas);
+        for (int i = 0; i < idsAlvos.length; i++) {
+            drones.get(i / configuracao.alvosPorDrone()).adicionarAlvo(new Alvo(idsAlvos[i], alvos[i][0], alvos[i][1]));
+        }
+
+        // cada lote tem a própria semente, sorteada aqui, e monta o corpo na thread que o envia
+        List<Callable<Object>> lotes = new ArrayList<>();
+        for (int inicio = 0; inicio < configuracao.residuos(); inicio += configuracao.tamanhoLote()) {
+            int quantidade = Math.min(configuracao.tamanhoLote(), configuracao.residuos() - inicio);
+            long semente = random.nextLong();
+            lotes.add(() -> {
+                Random sorteio = new Random(semente);
+                StringBuilder corpo = new StringBuilder(quantidade * 64).append('[');
+                for (int i = 0; i < quantidade; i++) {
+                    if (i > 0) {
+                        corpo.append(',');
+                    }
+                    corpo.append(corpoResiduo(sorteio.nextInt(area), sorteio.nextInt(area), sorteio));
+                }
+                corpo.append(']');
+                api.executar(api.post("POST /residuos-plasticos/lote", "/residuos-plasticos/lote", corpo.toString()), estatisticas);
+                return null;
+            });
+        }
+        aguardar(executor.invokeAll(lotes));
+    }
+
+    void operar(Estatisticas estatisticas) throws Exception {
+        for (int tick = 0; tick < configuracao.ticks(); tick++) {
+            long inicio = System.nanoTime();
+            List<Chamada> chamadas = new ArrayList<>(drones.size() + configuracao.leiturasPorTick());
+            for (DroneSimulado drone : drones) {
+                Alvo coletado = drone.avancar(configuracao, random);
+                chamadas.add(api.post("POST /drones/{id}/telemetria", "/drones/" + drone.id + "/telemetria", String.format(Locale.ROOT,
+                    "{\"coordenadaX\":%d,\"coordenadaY\":%d,\"nivelBateria\":%d}",
+                    Math.round(drone.x), Math.round(drone.y), (int) drone.bateria)));
+                if (coletado != null) {
+                    chamadas.add(api.delete("DELETE /residuos-plasticos/{id}", "/residuos-plasticos/" + coletado.id()));
+                    chamadas.add(api.put("PUT /drones/{id}", "/drones/" + drone.id, String.format(Locale.ROOT,
+                        "{\"nome\":\"%s\",\"coordenadaX\":%d,\"coordenadaY\":%d,\"nivelBateria\":%d,\"residuosColetados\":%d,\"operador\":{\"id_operador\":%d}}",
+                        drone.nome, Math.round(drone.x), Math.round(drone.y), (int) drone.bateria, drone.residuosColetados, drone.idOperador)));
+                }
+            }
+            for (int i = 0; i < configuracao.leiturasPorTick(); i++) {
+                chamadas.add(leitura());
+            }
+
+            List<Callable<Object>> tarefas = new ArrayList<>(chamadas.size());
+            for (Chamada chamada : chamadas) {
+                tarefas.add(() -> api.executar(chamada, estatisticas));
+            }
+            aguardar(executor.invokeAll(tarefas));
+
+            long restante = configuracao.intervaloTickMs() - (System.nanoTime() - inicio) / 1_000_000;
+            if (restante > 0) {
+                Thread.sleep(restante);
+            } else {
+                ticksAtrasados++;
+            }
+        }
+    }
+
+    private Chamada leitura() {
+        int area = configuracao.area();
+        int tipo = random.nextInt(100);
+        if (tipo < 25) {
+            return api.get("GET /drones/{id}", "/drones/" + drones.get(random.nextInt(drones.size())).id);
+        } else if (tipo < 45) {
+            return api.get("GET /residuos-plasticos/proximos",
+                "/residuos-plasticos/proximos?k=10&x=" + random.nextInt(area) + "&y=" + random.nextInt(area));
+        } else if (tipo < 60) {
+            int x = random.nextInt(area);
+            int y = random.nextInt(area);
+            return api.get("GET /residuos-plasticos/area", "/residuos-plasticos/area?limite=1000&minX=" + x + "&minY=" + y
+                + "&maxX=" + (x + 2000) + "&maxY=" + (y + 2000));
+        } else if (tipo < 70) {
+            return api.get("GET /drones/frota", "/drones/frota");
+        } else if (tipo < 80) {
+            return api.get("GET /residuos-plasticos/heatmap", "/residuos-plasticos/heatmap");
+        } else if (tipo < 90 && missoes.length > 0) {
+            return api.get("GET /missoes/{id}", "/missoes/" + missoes[random.nextInt(missoes.length)]);
+        }
+        return api.get("GET /drones", "/drones?tamanho=50");
+    }
+
+    private String corpoResiduo(int x, int y) {
+        return corpoResiduo(x, y, random);
+    }
+
+    private String corpoResiduo(int x, int y, Random sorteio) {
+        if (missoes.length == 0) {
+            return String.format(Locale.ROOT, "{\"coordenadaX\":%d,\"coordenadaY\":%d}", x, y);
+        }
+        return String.format(Locale.ROOT, "{\"coordenadaX\":%d,\"coordenadaY\":%d,\"missao\":{\"id_missao\":%d}}",
+            x, y, missoes[sorteio.nextInt(missoes.length)]);
+    }
+
+    private long[] criar(List<Chamada> chamadas, Estatisticas estatisticas) throws Exception {
+        List<Callable<Long>> tarefas = new ArrayList<>(chamadas.size());
+        for (Chamada chamada : chamadas) {
+            tarefas.add(() -> api.criar(chamada, estatisticas));
+        }
+        List<Future<Long>> resultados = executor.invokeAll(tarefas);
+        long[] ids = new long[resultados.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = resultados.get(i).get();
+        }
+        return ids;
+    }
+
+    private static void aguardar(List<? extends Future<?>> tarefas) throws Exception {
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package fiap.com.br.Ocean.Clean.AI.Controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import fiap.com.br.Ocean.Clean.AI.Models.Missao;
+import fiap.com.br.Ocean.Clean.AI.Models.ResiduoPlastico;
+import fiap.com.br.Ocean.Clean.AI.Repository.MissaoRepository;
+import fiap.com.br.Ocean.Clean.AI.Repository.ResiduoPlasticoRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AnaliseResiduosTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private MissaoRepository missaoRepository;
+
+	@Autowired
+	private ResiduoPlasticoRepository residuoPlasticoRepository;
+
+	@Test
+	void resumosAcompanhamGravacoesEAlteracoesEmMassa() throws Exception {
+		Missao origem = missao("Origem");
+		Missao destino = missao("Destino");
+		Long primeiro = residuo(61200, 61200, origem);
+		Long segundo = residuo(61210, 61220, origem);
+		residuo(61220, 61240, origem);
+
+		mockMvc.perform(get("/residuos-plasticos/analise").param("missao", origem.getId_missao().toString()))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.residuos").value(3))
+			.andExpect(jsonPath("$.minX").value(61200))
+			.andExpect(jsonPath("$.maxY").value(61240))
+			.andExpect(jsonPath("$.centroX").value(61210))
+			.andExpect(jsonPath("$.centroY").value(61220));
+
+		mockMvc.perform(patch("/residuos-plasticos").param("ids", primeiro.toString(), segundo.toString())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"id_missao\":" + destino.getId_missao() + "}"))
+			.andExpect(status().isOk());
+		mockMvc.perform(get("/residuos-plasticos/analise/missoes").param("minX", "61200").param("minY", "61200")
+				.param("maxX", "61220").param("maxY", "61240"))
+			.andExpect(jsonPath("$.length()").value(2))
+			.andExpect(jsonPath("$[0].id_missao").value(origem.getId_missao()))
+			.andExpect(jsonPath("$[0].residuos").value(1))
+			.andExpect(jsonPath("$[1].id_missao").value(destino.getId_missao()))
+			.andExpect(jsonPath("$[1].residuos").value(2))
+			.andExpect(jsonPath("$[1].maxX").value(61210));
+
+		mockMvc.perform(delete("/residuos-plasticos").param("missao", destino.getId_missao().toString()))
+			.andExpect(status().isOk());
+		mockMvc.perform(get("/residuos-plasticos/analise").param("missao", destino.getId_missao().toString()))
+			.andExpect(jsonPath("$.residuos").value(0))
+			.andExpect(jsonPath("$.minX").doesNotExist());
+		mockMvc.perform(get("/residuos-plasticos/analise").param("missao", "1").param("semMissao", "true"))
+			.andExpect(status().isBadRequest());
+	}
+
+	private Missao missao(String nome) {
+		Missao missao = new Missao();
+		missao.setNome(nome);
+		return missaoRepository.save(missao);
+	}
+
+	private Long residuo(int x, int y, Missao missao) {
+		ResiduoPlastico residuo = new ResiduoPlastico();
+		residuo.setCoordenadaX(x);
+		residuo.setCoordenadaY(y);
+		residuo.setMissao(missao);
+		return residuoPlasticoRepository.save(residuo).getId_residuo();
+	}
+}
@@ -0,0 +1,160 @@
+package fiap.com.br.Ocean.Clean.AI.Controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import fiap.com.br.Ocean.Clean.AI.Models.Drone;
+import fiap.com.br.Ocean.Clean.AI.Models.Missao;
+import fiap.com.br.Ocean.Clean.AI.Models.Operador;
+import fiap.com.br.Ocean.Clean.AI.Models.ResiduoPlastico;
+import fiap.com.br.Ocean.Clean.AI.Repository.DroneRepository;
+import fiap.com.br.Ocean.Clean.AI.Repository.MissaoRepository;
+import fiap.com.br.Ocean.Clean.AI.Repository.OperadorRepository;
+import fiap.com.br.Ocean.Clean.AI.Repository.ResiduoPlasticoRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CacheConsultasTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private OperadorRepository operadorRepository;
+
+	@Autowired
+	private DroneRepository droneRepository;
+
+	@Autowired
+	private MissaoRepository missaoRepository;
+
+	@Autowired
+	private ResiduoPlasticoRepository residuoPlasticoRepository;
+
+	private Statistics estatisticas;
+
+	@BeforeEach
+	void preparar() {
+		estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void detalheDoDroneVemDoCacheAteSerAlterado() throws Exception {
+		Drone drone = new Drone();
+		drone.setNome("Drone cache");
+		drone.setNivelBateria(50);
+		Long id = droneRepository.save(drone).getId_drone();
+		double acertos = meterRegistry.get("cache.gets").tags("cache", "drones", "result", "hit").functionCounter().count();
+
+		assertThat(consultas("/drones/" + id + "?visao=completa")).isEqualTo(1);
+		assertThat(consultas("/drones/" + id + "?visao=completa")).isEqualTo(0);
+		mockMvc.perform(get("/drones/" + id).param("visao", "completa"))
+			.andExpect(jsonPath("$._links.self.href").value("http://localhost/drones/" + id))
+			.andExpect(jsonPath("$._links.delete").exists());
+		assertThat(meterRegistry.get("cache.gets").tags("cache", "drones", "result", "hit").functionCounter().count())
+			.isEqualTo(acertos + 2);
+
+		mockMvc.perform(put("/drones/" + id).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"nome\":\"Drone renomeado\",\"nivelBateria\":40}"))
+			.andExpect(status().isOk());
+		mockMvc.perform(get("/drones/" + id).param("visao", "completa"))
+			.andExpect(jsonPath("$.nome").value("Drone renomeado"))
+			.andExpect(jsonPath("$.nivelBateria").value(40));
+	}
+
+	@Test
+	void visaoRasaDosDronesVemDoEstadoDaFrotaSemConsultarOBanco() throws Exception {
+		Drone drone = new Drone();
+		drone.setNome("Drone painel");
+		drone.setNivelBateria(65);
+		Long id = droneRepository.save(drone).getId_drone();
+
+		assertThat(consultas("/drones/" + id)).isEqualTo(0);
+		assertThat(consultas("/drones?apos=" + (id - 1) + "&tamanho=1")).isEqualTo(0);
+		mockMvc.perform(get("/drones/" + id))
+			.andExpect(jsonPath("$.id_drone").value(id))
+			.andExpect(jsonPath("$.nivelBateria").value(65))
+			.andExpect(jsonPath("$._links.self.href").value("http://localhost/drones/" + id));
+		mockMvc.perform(get("/drones").param("apos", Long.toString(id - 1)).param("tamanho", "1"))
+			.andExpect(jsonPath("$._embedded.*[0].nome").value("Drone painel"));
+		mockMvc.perform(get("/drones/" + (id + 1_000_000)))
+			.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void detalheDoResiduoComMissaoVemDoCacheSemAEntidade() throws Exception {
+		Missao missao = new Missao();
+		missao.setNome("Missão cache");
+		missao = missaoRepository.save(missao);
+		ResiduoPlastico residuo = new ResiduoPlastico();
+		residuo.setCoordenadaX(62500);
+		residuo.setCoordenadaY(62500);
+		residuo.setMissao(missao);
+		Long id = residuoPlasticoRepository.save(residuo).getId_residuo();
+
+		assertThat(consultas("/residuos-plasticos/" + id)).isEqualTo(1);
+		// o acerto no cache é serializado fora de qualquer sessão
+		assertThat(consultas("/residuos-plasticos/" + id)).isEqualTo(0);
+		mockMvc.perform(get("/residuos-plasticos/" + id))
+			.andExpect(jsonPath("$.id_missao").value(missao.getId_missao()))
+			.andExpect(jsonPath("$.coordenadaX").value(62500))
+			.andExpect(jsonPath("$._links.self.href").value("http://localhost/residuos-plasticos/" + id));
+	}
+
+	@Test
+	void listagensDeDronesSaoRemovidasDoCacheAoAlterarDroneOuOperador() throws Exception {
+		Operador operador = new Operador();
+		operador.setNome("Operador cache");
+		operador.setEmail("cache@oceanclean.com");
+		operadorRepository.save(operador);
+		Drone drone = new Drone();
+		drone.setNome("Drone ultimo");
+		drone.setOperador(operador);
+		droneRepository.save(drone);
+
+		mockMvc.perform(get("/drones/ultimos"))
+			.andExpect(jsonPath("$[0].nome").value("Drone ultimo"))
+			.andExpect(jsonPath("$[0].operador.nome").value("Operador cache"));
+		assertThat(consultas("/drones/ultimos")).isEqualTo(0);
+
+		operador.setNome("Operador renomeado");
+		operadorRepository.save(operador);
+		mockMvc.perform(get("/drones/ultimos"))
+			.andExpect(jsonPath("$[0].operador.nome").value("Operador renomeado"));
+
+		Drone novo = new Drone();
+		novo.setNome("Drone novo");
+		droneRepository.save(novo);
+		mockMvc.perform(get("/drones/ultimos"))
+			.andExpect(jsonPath("$[0].nome").value("Drone novo"));
+	}
+
+	private long consultas(String url) throws Exception {
+		estatisticas.clear();
+		mockMvc.perform(get(url)).andExpect(status().isOk());
+		return estatisticas.getPrepareStatementCount();
+	}
+}
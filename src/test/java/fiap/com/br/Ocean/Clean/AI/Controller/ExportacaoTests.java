@@ -0,0 +1,142 @@
+package fiap.com.br.Ocean.Clean.AI.Controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import fiap.com.br.Ocean.Clean.AI.Models.Missao;
+import fiap.com.br.Ocean.Clean.AI.Models.Operador;
+import fiap.com.br.Ocean.Clean.AI.Models.ResiduoPlastico;
+import fiap.com.br.Ocean.Clean.AI.Repository.MissaoRepository;
+import fiap.com.br.Ocean.Clean.AI.Repository.OperadorRepository;
+import fiap.com.br.Ocean.Clean.AI.Repository.ResiduoPlasticoRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ExportacaoTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private OperadorRepository operadorRepository;
+
+	@Autowired
+	private MissaoRepository missaoRepository;
+
+	@Autowired
+	private ResiduoPlasticoRepository residuoPlasticoRepository;
+
+	@Test
+	void residuosEmCsvENdjsonComFiltrosDeMissaoECoordenadas() throws Exception {
+		Missao missao = missao("Missão exportada", null);
+		Long primeiro = residuo(63_000, 63_000, missao);
+		Long segundo = residuo(63_010, 63_005, missao);
+		residuo(63_500, 63_500, missao);
+		Long semMissao = residuo(63_005, 63_100, null);
+
+		List<String> csv = linhas(get("/residuos-plasticos/exportar").param("formato", "csv")
+			.param("missao", missao.getId_missao().toString())
+			.param("minX", "63000").param("minY", "63000").param("maxX", "63100").param("maxY", "63100"),
+			MediaType.parseMediaType("text/csv"));
+		assertThat(csv).containsExactly(
+			"id_residuo,coordenadaX,coordenadaY,id_missao",
+			primeiro + ",63000,63000," + missao.getId_missao(),
+			segundo + ",63010,63005," + missao.getId_missao());
+
+		List<String> ndjson = linhas(get("/residuos-plasticos/exportar")
+			.param("minX", "63000").param("minY", "63000").param("maxX", "63100").param("maxY", "63100"),
+			MediaType.APPLICATION_NDJSON);
+		assertThat(ndjson).hasSize(3);
+		JsonNode linha = objectMapper.readTree(ndjson.get(0));
+		assertThat(linha.get("id_residuo").asLong()).isEqualTo(primeiro);
+		assertThat(linha.get("coordenadaX").asInt()).isEqualTo(63_000);
+		assertThat(linha.get("id_missao").asLong()).isEqualTo(missao.getId_missao());
+		assertThat(objectMapper.readTree(ndjson.get(1)).get("id_residuo").asLong()).isEqualTo(segundo);
+		linha = objectMapper.readTree(ndjson.get(2));
+		assertThat(linha.get("id_residuo").asLong()).isEqualTo(semMissao);
+		assertThat(linha.get("coordenadaY").asInt()).isEqualTo(63_100);
+		assertThat(linha.get("id_missao").isNull()).isTrue();
+	}
+
+	@Test
+	void missoesEmCsvComAspasEVirgulasENdjsonPorOperador() throws Exception {
+		Operador operador = new Operador();
+		operador.setNome("Operador exportação");
+		operador.setEmail("exportacao@oceanclean.com");
+		operador = operadorRepository.save(operador);
+		Missao comAspas = missao("Limpeza \"Baía\", norte", operador);
+		Missao simples = missao("Costa sul", operador);
+		Missao semOperador = missao("Sem operador", null);
+
+		List<String> csv = linhas(get("/missoes/exportar").param("formato", "csv")
+			.param("operador", operador.getId_operador().toString()), MediaType.parseMediaType("text/csv"));
+		assertThat(csv).containsExactly(
+			"id_missao,nome,id_operador",
+			comAspas.getId_missao() + ",\"Limpeza \"\"Baía\"\", norte\"," + operador.getId_operador(),
+			simples.getId_missao() + ",Costa sul," + operador.getId_operador());
+
+		List<String> ndjson = linhas(get("/missoes/exportar")
+			.param("operador", operador.getId_operador().toString()), MediaType.APPLICATION_NDJSON);
+		assertThat(ndjson).hasSize(2);
+		JsonNode linha = objectMapper.readTree(ndjson.get(0));
+		assertThat(linha.get("id_missao").asLong()).isEqualTo(comAspas.getId_missao());
+		assertThat(linha.get("nome").asText()).isEqualTo("Limpeza \"Baía\", norte");
+		assertThat(linha.get("id_operador").asLong()).isEqualTo(operador.getId_operador());
+		assertThat(objectMapper.readTree(ndjson.get(1)).get("nome").asText()).isEqualTo("Costa sul");
+
+		// sem filtro vêm todas as missões, e a sem operador tem a última coluna vazia
+		List<String> todas = linhas(get("/missoes/exportar").param("formato", "csv"), MediaType.parseMediaType("text/csv"));
+		assertThat(todas).contains(semOperador.getId_missao() + ",Sem operador,");
+	}
+
+	private List<String> linhas(MockHttpServletRequestBuilder requisicao, MediaType tipo) throws Exception {
+		MvcResult resultado = mockMvc.perform(requisicao)
+			.andExpect(request().asyncStarted())
+			.andReturn();
+		resultado.getAsyncResult();
+		mockMvc.perform(asyncDispatch(resultado))
+			.andExpect(status().isOk())
+			.andExpect(content().contentTypeCompatibleWith(tipo));
+		String corpo = resultado.getResponse().getContentAsString(StandardCharsets.UTF_8);
+		assertThat(corpo).endsWith("\n");
+		return corpo.lines().toList();
+	}
+
+	private Missao missao(String nome, Operador operador) {
+		Missao missao = new Missao();
+		missao.setNome(nome);
+		missao.setOperador(operador);
+		return missaoRepository.save(missao);
+	}
+
+	private Long residuo(int x, int y, Missao missao) {
+		ResiduoPlastico residuo = new ResiduoPlastico();
+		residuo.setCoordenadaX(x);
+		residuo.setCoordenadaY(y);
+		residuo.setMissao(missao);
+		return residuoPlasticoRepository.save(residuo).getId_residuo();
+	}
+}
@@ -0,0 +1,136 @@
+package fiap.com.br.Ocean.Clean.AI.Controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+import fiap.com.br.Ocean.Clean.AI.Config.FormatosBinariosConfiguracao;
+import fiap.com.br.Ocean.Clean.AI.Dto.EstadoDrone;
+import fiap.com.br.Ocean.Clean.AI.Dto.ResultadoLote;
+import fiap.com.br.Ocean.Clean.AI.Dto.TelemetriaDrone;
+import fiap.com.br.Ocean.Clean.AI.Models.Drone;
+import fiap.com.br.Ocean.Clean.AI.Models.ResiduoPlastico;
+import fiap.com.br.Ocean.Clean.AI.Repository.DroneRepository;
+import fiap.com.br.Ocean.Clean.AI.Repository.ResiduoPlasticoRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class FormatosBinariosTests {
+
+	private final ObjectMapper cbor = new CBORMapper();
+	private final ObjectMapper smile = new SmileMapper();
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private DroneRepository droneRepository;
+
+	@Autowired
+	private ResiduoPlasticoRepository residuoPlasticoRepository;
+
+	@Test
+	void telemetriaEmCborEEstadoDevolvidoEmSmile() throws Exception {
+		Long id = drone();
+
+		mockMvc.perform(post("/drones/" + id + "/telemetria")
+				.contentType(MediaType.APPLICATION_CBOR)
+				.content(cbor.writeValueAsBytes(new TelemetriaDrone(120, 340, 77))))
+			.andExpect(status().is2xxSuccessful());
+
+		byte[] corpo = mockMvc.perform(get("/drones/frota/" + id).accept(FormatosBinariosConfiguracao.APPLICATION_SMILE))
+			.andExpect(status().isOk())
+			.andExpect(content().contentTypeCompatibleWith(FormatosBinariosConfiguracao.APPLICATION_SMILE))
+			.andReturn().getResponse().getContentAsByteArray();
+		EstadoDrone estado = smile.readValue(corpo, EstadoDrone.class);
+
+		assertThat(estado.coordenadaX()).isEqualTo(120);
+		assertThat(estado.coordenadaY()).isEqualTo(340);
+		assertThat(estado.nivelBateria()).isEqualTo(77);
+	}
+
+	@Test
+	void loteEmCborComRespostaEmCbor() throws Exception {
+		byte[] lote = cbor.writeValueAsBytes(List.of(
+			Map.of("coordenadaX", 10, "coordenadaY", 20),
+			Map.of("coordenadaX", -1, "coordenadaY", 20),
+			Map.of("coordenadaX", 30, "coordenadaY", 40)));
+
+		byte[] corpo = mockMvc.perform(post("/residuos-plasticos/lote")
+				.contentType(MediaType.APPLICATION_CBOR)
+				.accept(MediaType.APPLICATION_CBOR)
+				.content(lote))
+			.andExpect(status().isOk())
+			.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+			.andReturn().getResponse().getContentAsByteArray();
+		ResultadoLote resultado = cbor.readValue(corpo, ResultadoLote.class);
+
+		assertThat(resultado.recebidos()).isEqualTo(3);
+		assertThat(resultado.inseridos()).isEqualTo(2);
+		assertThat(resultado.falhas()).singleElement().satisfies(falha -> assertThat(falha.indice()).isEqualTo(1));
+	}
+
+	@Test
+	void detalhesEmCborESmileSaemComLinksHal() throws Exception {
+		Long drone = drone();
+		ResiduoPlastico residuo = new ResiduoPlastico();
+		residuo.setCoordenadaX(62600);
+		residuo.setCoordenadaY(62600);
+		Long id = residuoPlasticoRepository.save(residuo).getId_residuo();
+
+		for (String url : List.of("/drones/" + drone, "/residuos-plasticos/" + id)) {
+			JsonNode emCbor = cbor.readTree(binario(url, MediaType.APPLICATION_CBOR));
+			JsonNode emSmile = smile.readTree(binario(url, FormatosBinariosConfiguracao.APPLICATION_SMILE));
+
+			for (JsonNode modelo : List.of(emCbor, emSmile)) {
+				assertThat(modelo.has("links")).isFalse();
+				assertThat(modelo.at("/_links/self/href").asText()).isEqualTo("http://localhost" + url);
+				assertThat(modelo.at("/_links/delete/href").asText()).isEqualTo("http://localhost" + url);
+			}
+			assertThat(emSmile).isEqualTo(emCbor);
+		}
+	}
+
+	@Test
+	void jsonContinuaOPadrao() throws Exception {
+		Long id = drone();
+
+		mockMvc.perform(get("/drones/frota/" + id))
+			.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+		mockMvc.perform(get("/drones/frota/" + id).accept(MediaType.ALL))
+			.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+	}
+
+	private byte[] binario(String url, MediaType formato) throws Exception {
+		return mockMvc.perform(get(url).accept(formato))
+			.andExpect(status().isOk())
+			.andExpect(content().contentTypeCompatibleWith(formato))
+			.andReturn().getResponse().getContentAsByteArray();
+	}
+
+	private Long drone() {
+		Drone drone = new Drone();
+		drone.setNome("Drone binário");
+		drone.setNivelBateria(90);
+		return droneRepository.save(drone).getId_drone();
+	}
+}
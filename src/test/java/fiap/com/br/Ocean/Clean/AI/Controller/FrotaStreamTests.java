@@ -0,0 +1,83 @@
+package fiap.com.br.Ocean.Clean.AI.Controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import fiap.com.br.Ocean.Clean.AI.Dto.TelemetriaDrone;
+import fiap.com.br.Ocean.Clean.AI.Models.Drone;
+import fiap.com.br.Ocean.Clean.AI.Repository.DroneRepository;
+import fiap.com.br.Ocean.Clean.AI.Service.TelemetriaService;
+import fiap.com.br.Ocean.Clean.AI.Service.TransmissaoFrotaService;
+
+// despacho agendado desligado: o teste chama despachar() para controlar os lotes
+@SpringBootTest(properties = "ocean.frota.stream.intervalo-ms=3600000")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class FrotaStreamTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private DroneRepository droneRepository;
+
+	@Autowired
+	private TelemetriaService telemetriaService;
+
+	@Autowired
+	private TransmissaoFrotaService transmissaoFrotaService;
+
+	@Test
+	void enviaAFrotaEDepoisSoOUltimoEstadoDosDronesAlterados() throws Exception {
+		Drone drone = new Drone();
+		drone.setNome("Drone stream");
+		drone.setNivelBateria(90);
+		Long id = droneRepository.save(drone).getId_drone();
+
+		MockHttpServletResponse resposta = mockMvc.perform(get("/drones/stream"))
+			.andExpect(request().asyncStarted())
+			.andReturn().getResponse();
+
+		transmissaoFrotaService.despachar();
+		String inicio = aguardar(resposta, conteudo -> conteudo.contains("event:frota"));
+		assertThat(inicio).contains("\"id_drone\":" + id).doesNotContain("event:posicoes");
+
+		telemetriaService.registrar(id, new TelemetriaDrone(10, 10, 80));
+		telemetriaService.registrar(id, new TelemetriaDrone(20, 20, 79));
+		telemetriaService.registrar(id, new TelemetriaDrone(30, 30, 78));
+		transmissaoFrotaService.despachar();
+		String delta = aguardar(resposta, conteudo -> conteudo.contains("event:posicoes")).substring(inicio.length());
+
+		assertThat(delta).contains("\"coordenadaX\":30", "\"nivelBateria\":78")
+			.doesNotContain("\"coordenadaX\":10", "\"coordenadaX\":20");
+
+		// mesma posição e bateria não gera evento
+		telemetriaService.registrar(id, new TelemetriaDrone(30, 30, 78));
+		transmissaoFrotaService.despachar();
+		Thread.sleep(200);
+		assertThat(resposta.getContentAsString()).isEqualTo(inicio + delta);
+	}
+
+	private static String aguardar(MockHttpServletResponse resposta, Predicate<String> condicao) throws Exception {
+		for (int tentativa = 0; tentativa < 100; tentativa++) {
+			String conteudo = resposta.getContentAsString();
+			// cada evento é escrito em partes, só está completo com a linha em branco
+			if (condicao.test(conteudo) && conteudo.endsWith("\n\n")) {
+				return conteudo;
+			}
+			Thread.sleep(50);
+		}
+		throw new AssertionError("Evento não recebido: " + resposta.getContentAsString());
+	}
+}
@@ -0,0 +1,76 @@
+package fiap.com.br.Ocean.Clean.AI.Controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import fiap.com.br.Ocean.Clean.AI.Idempotencia.IdempotenciaFiltro;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class IdempotenciaTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void repeticoesComAMesmaChaveDevolvemARespostaOriginal() throws Exception {
+		String residuo = "{\"coordenadaX\":61500,\"coordenadaY\":61500}";
+		MvcResult original = mockMvc.perform(post("/residuos-plasticos").header(IdempotenciaFiltro.CABECALHO, "deteccao-1")
+				.contentType(MediaType.APPLICATION_JSON).content(residuo))
+			.andExpect(status().isCreated())
+			.andExpect(header().doesNotExist(IdempotenciaFiltro.CABECALHO_REPETIDA))
+			.andReturn();
+		mockMvc.perform(post("/residuos-plasticos").header(IdempotenciaFiltro.CABECALHO, "deteccao-1")
+				.contentType(MediaType.APPLICATION_JSON).content(residuo))
+			.andExpect(status().isCreated())
+			.andExpect(header().string(IdempotenciaFiltro.CABECALHO_REPETIDA, "true"))
+			.andExpect(header().string("Location", original.getResponse().getHeader("Location")))
+			.andExpect(content().bytes(original.getResponse().getContentAsByteArray()));
+		mockMvc.perform(post("/residuos-plasticos").header(IdempotenciaFiltro.CABECALHO, "deteccao-1")
+				.contentType(MediaType.APPLICATION_JSON).content("{\"coordenadaX\":61510,\"coordenadaY\":61500}"))
+			.andExpect(status().isUnprocessableEntity());
+		// sem chave, cada envio é uma criação
+		mockMvc.perform(post("/residuos-plasticos").contentType(MediaType.APPLICATION_JSON).content(residuo))
+			.andExpect(status().isCreated());
+
+		mockMvc.perform(get("/residuos-plasticos/analise").param("minX", "61500").param("minY", "61500")
+				.param("maxX", "61520").param("maxY", "61520"))
+			.andExpect(jsonPath("$.residuos").value(2));
+		assertThat(meterRegistry.get("ocean.idempotencia.requisicoes").tag("resultado", "repetida").counter().count())
+			.isGreaterThanOrEqualTo(1);
+	}
+
+	@Test
+	void falhasLiberamAChaveParaNovaTentativa() throws Exception {
+		mockMvc.perform(post("/drones").header(IdempotenciaFiltro.CABECALHO, "drone-1")
+				.contentType(MediaType.APPLICATION_JSON).content("{\"nome\":\"\"}"))
+			.andExpect(status().isBadRequest());
+		String location = mockMvc.perform(post("/drones").header(IdempotenciaFiltro.CABECALHO, "drone-1")
+				.contentType(MediaType.APPLICATION_JSON).content("{\"nome\":\"Reenviado\",\"nivelBateria\":70}"))
+			.andExpect(status().isCreated())
+			.andReturn().getResponse().getHeader("Location");
+		mockMvc.perform(post("/drones").header(IdempotenciaFiltro.CABECALHO, "drone-1")
+				.contentType(MediaType.APPLICATION_JSON).content("{\"nome\":\"Reenviado\",\"nivelBateria\":70}"))
+			.andExpect(status().isCreated())
+			.andExpect(header().string("Location", location));
+	}
+}
@@ -0,0 +1,68 @@
+package fiap.com.br.Ocean.Clean.AI.Controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+// blocos de dois itens, para que válidos e inválidos caiam em blocos diferentes
+@SpringBootTest(properties = "ocean.residuos.lote.tamanho-bloco=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class IngestaoLoteTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void arrayJsonGravaOsValidosEReportaFalhasPorIndice() throws Exception {
+		mockMvc.perform(post("/residuos-plasticos/lote").contentType(MediaType.APPLICATION_JSON)
+				.content("""
+					[{"coordenadaX":62300,"coordenadaY":62300},
+					 {"coordenadaX":-1,"coordenadaY":62300},
+					 {"coordenadaX":62310,"coordenadaY":62300},
+					 {"coordenadaX":"norte","coordenadaY":62300},
+					 {"coordenadaX":62320,"coordenadaY":62300}]
+					"""))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.recebidos").value(5))
+			.andExpect(jsonPath("$.inseridos").value(3))
+			.andExpect(jsonPath("$.falhas.length()").value(2))
+			.andExpect(jsonPath("$.falhas[0].indice").value(1))
+			.andExpect(jsonPath("$.falhas[0].erros").isNotEmpty())
+			.andExpect(jsonPath("$.falhas[1].indice").value(3));
+
+		mockMvc.perform(get("/residuos-plasticos/analise").param("minX", "62300").param("minY", "62300")
+				.param("maxX", "62320").param("maxY", "62300"))
+			.andExpect(jsonPath("$.residuos").value(3))
+			.andExpect(jsonPath("$.minX").value(62300))
+			.andExpect(jsonPath("$.maxX").value(62320));
+	}
+
+	@Test
+	void ndjsonGravaOsValidosEReportaFalhasPorIndice() throws Exception {
+		mockMvc.perform(post("/residuos-plasticos/lote").contentType(MediaType.APPLICATION_NDJSON)
+				.content("""
+					{"coordenadaX":62400,"coordenadaY":62400}
+					{"coordenadaX":62410,"coordenadaY":-5}
+					{"coordenadaX":62420,"coordenadaY":62400}
+					"""))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.recebidos").value(3))
+			.andExpect(jsonPath("$.inseridos").value(2))
+			.andExpect(jsonPath("$.falhas.length()").value(1))
+			.andExpect(jsonPath("$.falhas[0].indice").value(1));
+
+		mockMvc.perform(get("/residuos-plasticos/analise").param("minX", "62400").param("minY", "62400")
+				.param("maxX", "62420").param("maxY", "62400"))
+			.andExpect(jsonPath("$.residuos").value(2));
+	}
+}
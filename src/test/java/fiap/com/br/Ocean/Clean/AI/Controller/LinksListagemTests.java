@@ -0,0 +1,51 @@
+package fiap.com.br.Ocean.Clean.AI.Controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.hateoas.Link;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+class LinksListagemTests {
+
+	@AfterEach
+	void removerRequisicao() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "", "/api" })
+	void linksSaoIguaisAosDoLinkToMethodOn(String contextPath) {
+		MockHttpServletRequest requisicao = new MockHttpServletRequest("GET", contextPath + "/drones");
+		requisicao.setScheme("https");
+		requisicao.setServerName("api.oceanclean.com");
+		requisicao.setServerPort(8443);
+		requisicao.setContextPath(contextPath);
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(requisicao));
+
+		LinksListagem drones = LinksListagem.de(
+			id -> linkTo(methodOn(DroneController.class).show(id, null)).withSelfRel().expand(),
+			linkTo(DroneController.class).withRel("drones"));
+		LinksListagem operadores = LinksListagem.de(
+			id -> linkTo(methodOn(OperadorController.class).show(id, null)).withSelfRel().expand(),
+			linkTo(OperadorController.class).withRel("operadores"));
+
+		for (long id : new long[] { 1L, 42L, Long.MAX_VALUE }) {
+			assertMesmoLink(drones.self(id), linkTo(methodOn(DroneController.class).show(id, null)).withSelfRel().expand());
+			assertMesmoLink(operadores.self(id), linkTo(methodOn(OperadorController.class).show(id, null)).withSelfRel().expand());
+		}
+	}
+
+	// affordances não entram na comparação, o HAL não as serializa
+	private static void assertMesmoLink(Link link, Link esperado) {
+		assertThat(link.getHref()).isEqualTo(esperado.getHref());
+		assertThat(link.getRel()).isEqualTo(esperado.getRel());
+		assertThat(link.isTemplated()).isEqualTo(esperado.isTemplated());
+	}
+}
@@ -0,0 +1,133 @@
+package fiap.com.br.Ocean.Clean.AI.Controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import fiap.com.br.Ocean.Clean.AI.Index.EstadoFrota;
+import fiap.com.br.Ocean.Clean.AI.Index.ResiduoSpatialIndex;
+import fiap.com.br.Ocean.Clean.AI.Models.Drone;
+import fiap.com.br.Ocean.Clean.AI.Models.Missao;
+import fiap.com.br.Ocean.Clean.AI.Models.Operador;
+import fiap.com.br.Ocean.Clean.AI.Models.ResiduoPlastico;
+import fiap.com.br.Ocean.Clean.AI.Repository.DroneRepository;
+import fiap.com.br.Ocean.Clean.AI.Repository.MissaoRepository;
+import fiap.com.br.Ocean.Clean.AI.Repository.OperadorRepository;
+import fiap.com.br.Ocean.Clean.AI.Repository.ResiduoPlasticoRepository;
+import fiap.com.br.Ocean.Clean.AI.Service.ResiduoPlasticoService;
+
+// bloco pequeno para exercitar a divisão das listas de ids
+@SpringBootTest(properties = "ocean.massa.tamanho-bloco=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OperacoesMassaTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private OperadorRepository operadorRepository;
+
+	@Autowired
+	private DroneRepository droneRepository;
+
+	@Autowired
+	private MissaoRepository missaoRepository;
+
+	@Autowired
+	private ResiduoPlasticoRepository residuoPlasticoRepository;
+
+	@Autowired
+	private ResiduoPlasticoService residuoPlasticoService;
+
+	@Autowired
+	private ResiduoSpatialIndex residuoSpatialIndex;
+
+	@Autowired
+	private EstadoFrota estadoFrota;
+
+	@Test
+	void removeOsResiduosDaMissaoEAtualizaIndiceECache() throws Exception {
+		Missao missao = new Missao();
+		missao.setNome("Missão concluída");
+		missao = missaoRepository.save(missao);
+		Long[] ids = new Long[5];
+		for (int i = 0; i < ids.length; i++) {
+			ResiduoPlastico residuo = new ResiduoPlastico();
+			residuo.setCoordenadaX(70_000 + i);
+			residuo.setCoordenadaY(70_000);
+			residuo.setMissao(missao);
+			ids[i] = residuoPlasticoRepository.save(residuo).getId_residuo();
+		}
+		mockMvc.perform(get("/residuos-plasticos/" + ids[0])).andExpect(status().isOk());
+
+		mockMvc.perform(delete("/residuos-plasticos").param("missao", missao.getId_missao().toString()))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.afetados").value(5));
+
+		assertThat(residuoPlasticoRepository.findAllById(List.of(ids))).isEmpty();
+		for (Long id : ids) {
+			assertThat(residuoSpatialIndex.posicao(id)).isEqualTo(ResiduoSpatialIndex.AUSENTE);
+		}
+		// o detalhe estava no cache antes da remoção
+		assertThat(residuoPlasticoService.getResiduoPlasticoById(ids[0])).isEmpty();
+		assertThat(missaoRepository.existsById(missao.getId_missao())).isTrue();
+	}
+
+	@Test
+	void transfereDronesParaOutroOperadorEAtualizaAFrota() throws Exception {
+		Operador origem = operador("origem@ocean.ai");
+		Operador destino = operador("destino@ocean.ai");
+		Long[] ids = new Long[3];
+		for (int i = 0; i < ids.length; i++) {
+			Drone drone = new Drone();
+			drone.setNome("Drone " + i);
+			drone.setNivelBateria(50);
+			drone.setOperador(origem);
+			ids[i] = droneRepository.save(drone).getId_drone();
+		}
+
+		mockMvc.perform(patch("/drones").param("operador", origem.getId_operador().toString())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"id_operador\":" + destino.getId_operador() + ",\"nivelBateria\":100}"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.afetados").value(3));
+
+		for (Long id : ids) {
+			Drone drone = droneRepository.findById(id).orElseThrow();
+			assertThat(drone.getOperador().getId_operador()).isEqualTo(destino.getId_operador());
+			assertThat(drone.getNivelBateria()).isEqualTo(100);
+			assertThat(estadoFrota.buscar(id).orElseThrow().id_operador()).isEqualTo(destino.getId_operador());
+			assertThat(estadoFrota.buscar(id).orElseThrow().nivelBateria()).isEqualTo(100);
+		}
+	}
+
+	@Test
+	void exigeFiltroEDestinoExistente() throws Exception {
+		mockMvc.perform(delete("/drones")).andExpect(status().isBadRequest());
+		mockMvc.perform(patch("/missoes").param("ids", "1", "2")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"id_operador\":" + Long.MAX_VALUE + "}"))
+			.andExpect(status().isNotFound());
+	}
+
+	private Operador operador(String email) {
+		Operador operador = new Operador();
+		operador.setNome("Operador " + email);
+		operador.setEmail(email);
+		return operadorRepository.save(operador);
+	}
+}
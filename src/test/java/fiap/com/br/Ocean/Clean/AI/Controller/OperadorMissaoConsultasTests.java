@@ -0,0 +1,127 @@
+package fiap.com.br.Ocean.Clean.AI.Controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import fiap.com.br.Ocean.Clean.AI.Models.Drone;
+import fiap.com.br.Ocean.Clean.AI.Models.Missao;
+import fiap.com.br.Ocean.Clean.AI.Models.Operador;
+import fiap.com.br.Ocean.Clean.AI.Models.ResiduoPlastico;
+import fiap.com.br.Ocean.Clean.AI.Repository.DroneRepository;
+import fiap.com.br.Ocean.Clean.AI.Repository.MissaoRepository;
+import fiap.com.br.Ocean.Clean.AI.Repository.OperadorRepository;
+import fiap.com.br.Ocean.Clean.AI.Repository.ResiduoPlasticoRepository;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OperadorMissaoConsultasTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private OperadorRepository operadorRepository;
+
+	@Autowired
+	private MissaoRepository missaoRepository;
+
+	@Autowired
+	private DroneRepository droneRepository;
+
+	@Autowired
+	private ResiduoPlasticoRepository residuoPlasticoRepository;
+
+	private Statistics estatisticas;
+
+	@BeforeEach
+	void preparar() {
+		residuoPlasticoRepository.deleteAllInBatch();
+		droneRepository.deleteAllInBatch();
+		missaoRepository.deleteAllInBatch();
+		operadorRepository.deleteAllInBatch();
+		estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void listagemCompletaDeOperadoresUsaQuatroConsultasIndependenteDosFilhos() throws Exception {
+		criarOperadores(2, 2, 3, 2);
+		long poucosFilhos = consultas("/operadores?visao=completa");
+
+		criarOperadores(5, 4, 10, 3);
+		long muitosFilhos = consultas("/operadores?visao=completa");
+
+		assertThat(poucosFilhos).isEqualTo(4);
+		assertThat(muitosFilhos).isEqualTo(4);
+		mockMvc.perform(get("/operadores?visao=completa"))
+			.andExpect(jsonPath("$._embedded.operadors[6].missoes.length()").value(4))
+			.andExpect(jsonPath("$._embedded.operadors[6].missoes[0].residuosPlasticos.length()").value(10))
+			.andExpect(jsonPath("$._embedded.operadors[6].drones.length()").value(3));
+	}
+
+	@Test
+	void listagemRasaEDetalheUsamConsultasFixas() throws Exception {
+		criarOperadores(3, 3, 5, 2);
+		Long id_operador = operadorRepository.findAll().get(0).getId_operador();
+		Long id_missao = missaoRepository.findAll().get(0).getId_missao();
+
+		assertThat(consultas("/operadores")).isEqualTo(1);
+		assertThat(consultas("/missoes")).isEqualTo(1);
+		assertThat(consultas("/missoes?visao=completa")).isEqualTo(2);
+		assertThat(consultas("/operadores/" + id_operador)).isEqualTo(4);
+		assertThat(consultas("/missoes/" + id_missao)).isEqualTo(2);
+		// a parte rasa do detalhe já está no cache
+		assertThat(consultas("/missoes/" + id_missao + "?visao=rasa")).isEqualTo(0);
+	}
+
+	private long consultas(String url) throws Exception {
+		estatisticas.clear();
+		mockMvc.perform(get(url)).andExpect(status().isOk());
+		return estatisticas.getPrepareStatementCount();
+	}
+
+	private void criarOperadores(int operadores, int missoesPorOperador, int residuosPorMissao, int dronesPorOperador) {
+		for (int o = 0; o < operadores; o++) {
+			Operador operador = new Operador();
+			operador.setNome("Operador " + o);
+			operador.setEmail("operador" + o + "@oceanclean.com");
+			operadorRepository.save(operador);
+			for (int m = 0; m < missoesPorOperador; m++) {
+				Missao missao = new Missao();
+				missao.setNome("Missão " + m);
+				missao.setOperador(operador);
+				missaoRepository.save(missao);
+				for (int r = 0; r < residuosPorMissao; r++) {
+					ResiduoPlastico residuo = new ResiduoPlastico();
+					residuo.setCoordenadaX(r);
+					residuo.setCoordenadaY(m);
+					residuo.setMissao(missao);
+					residuoPlasticoRepository.save(residuo);
+				}
+			}
+			for (int d = 0; d < dronesPorOperador; d++) {
+				Drone drone = new Drone();
+				drone.setNome("Drone " + d);
+				drone.setNivelBateria(80);
+				drone.setOperador(operador);
+				droneRepository.save(drone);
+			}
+		}
+	}
+}
@@ -0,0 +1,86 @@
+package fiap.com.br.Ocean.Clean.AI.Controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+
+import fiap.com.br.Ocean.Clean.AI.Models.ResiduoPlastico;
+import fiap.com.br.Ocean.Clean.AI.Repository.ResiduoPlasticoRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PaginacaoKeysetTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ResiduoPlasticoRepository residuoPlasticoRepository;
+
+	@Test
+	void linksNextPercorremTodosOsRegistrosSemRepetirNemPular() throws Exception {
+		for (int i = 0; i < 11; i++) {
+			ResiduoPlastico residuo = new ResiduoPlastico();
+			residuo.setCoordenadaX(62000 + i);
+			residuo.setCoordenadaY(62000);
+			residuoPlasticoRepository.save(residuo);
+		}
+		List<Long> esperados = residuoPlasticoRepository.findAll().stream()
+			.map(ResiduoPlastico::getId_residuo).sorted().toList();
+
+		List<Long> percorridos = new ArrayList<>();
+		String proxima = "/residuos-plasticos?tamanho=4";
+		int paginas = 0;
+		while (proxima != null) {
+			DocumentContext pagina = JsonPath.parse(mockMvc.perform(get(URI.create(proxima)))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString());
+			// o id não é serializado, vem do link self de cada item
+			List<String> selfs = pagina.read("$._embedded.residuoPlasticoes[*]._links.self.href");
+			assertThat(selfs).hasSizeLessThanOrEqualTo(4);
+			selfs.forEach(self -> percorridos.add(Long.valueOf(self.substring(self.lastIndexOf('/') + 1))));
+			Map<String, Object> links = pagina.read("$._links");
+			proxima = links.containsKey("next") ? pagina.read("$._links.next.href") : null;
+			paginas++;
+		}
+
+		assertThat(paginas).isGreaterThanOrEqualTo(3);
+		assertThat(percorridos).isSorted().doesNotHaveDuplicates().isEqualTo(esperados);
+	}
+
+	@Test
+	void tamanhoForaDosLimitesEAjustado() throws Exception {
+		for (int i = 0; i < 2; i++) {
+			ResiduoPlastico residuo = new ResiduoPlastico();
+			residuo.setCoordenadaX(62100 + i);
+			residuo.setCoordenadaY(62100);
+			residuoPlasticoRepository.save(residuo);
+		}
+		mockMvc.perform(get("/residuos-plasticos").param("tamanho", "0"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$._embedded.residuoPlasticoes.length()").value(1))
+			.andExpect(jsonPath("$._links.self.href").value("http://localhost/residuos-plasticos?tamanho=1"))
+			.andExpect(jsonPath("$._links.next.href").exists());
+		mockMvc.perform(get("/residuos-plasticos").param("tamanho", "100000"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$._links.self.href")
+				.value("http://localhost/residuos-plasticos?tamanho=" + PaginacaoKeyset.TAMANHO_MAXIMO));
+	}
+}
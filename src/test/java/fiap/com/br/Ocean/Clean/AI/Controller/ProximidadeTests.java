@@ -0,0 +1,84 @@
+package fiap.com.br.Ocean.Clean.AI.Controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import fiap.com.br.Ocean.Clean.AI.Dto.TelemetriaDrone;
+import fiap.com.br.Ocean.Clean.AI.Models.Drone;
+import fiap.com.br.Ocean.Clean.AI.Repository.DroneRepository;
+import fiap.com.br.Ocean.Clean.AI.Service.ProximidadeService;
+import fiap.com.br.Ocean.Clean.AI.Service.TelemetriaService;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// verificação agendada desligada: o teste chama verificar() depois de posicionar os drones
+@SpringBootTest(properties = "ocean.proximidade.intervalo-ms=3600000")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProximidadeTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private DroneRepository droneRepository;
+
+	@Autowired
+	private TelemetriaService telemetriaService;
+
+	@Autowired
+	private ProximidadeService proximidadeService;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void alertaParesProximosEIgnoraDronesNaBase() throws Exception {
+		Long primeiro = drone(40000, 40000);
+		Long segundo = drone(40003, 40004);
+		Long terceiro = drone(40020, 40000);
+		Long naBase = drone(3, 4);
+		drone(0, 0);
+		double colisoes = meterRegistry.counter("ocean.proximidade.alertas", "risco", "COLISAO").count();
+
+		proximidadeService.verificar();
+
+		mockMvc.perform(get("/drones/frota/alertas").param("id_drone", primeiro.toString()))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.length()").value(2))
+			.andExpect(jsonPath("$[0].id_drone_proximo").value(segundo))
+			.andExpect(jsonPath("$[0].distancia").value(5.0))
+			.andExpect(jsonPath("$[0].risco").value("COLISAO"))
+			.andExpect(jsonPath("$[1].id_drone_proximo").value(terceiro))
+			.andExpect(jsonPath("$[1].risco").value("PROXIMIDADE"));
+		mockMvc.perform(get("/drones/frota/alertas").param("id_drone", naBase.toString()))
+			.andExpect(jsonPath("$.length()").value(0));
+
+		// o par que continua próximo mantém o início do alerta e não é contado de novo
+		String desde = proximidadeService.alertas(segundo).get(0).desde().toString();
+		telemetriaService.registrar(terceiro, new TelemetriaDrone(45000, 45000, 70));
+		proximidadeService.verificar();
+
+		mockMvc.perform(get("/drones/frota/alertas").param("id_drone", primeiro.toString()))
+			.andExpect(jsonPath("$.length()").value(1))
+			.andExpect(jsonPath("$[0].desde").value(desde));
+		assertThat(meterRegistry.counter("ocean.proximidade.alertas", "risco", "COLISAO").count()).isEqualTo(colisoes + 1);
+	}
+
+	private Long drone(int x, int y) {
+		Drone drone = new Drone();
+		drone.setNome("Drone " + x + "," + y);
+		drone.setNivelBateria(90);
+		Long id = droneRepository.save(drone).getId_drone();
+		telemetriaService.registrar(id, new TelemetriaDrone(x, y, 90));
+		return id;
+	}
+}
@@ -0,0 +1,109 @@
+package fiap.com.br.Ocean.Clean.AI.Controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import fiap.com.br.Ocean.Clean.AI.Models.Drone;
+import fiap.com.br.Ocean.Clean.AI.Models.ResiduoPlastico;
+import fiap.com.br.Ocean.Clean.AI.Repository.DroneRepository;
+import fiap.com.br.Ocean.Clean.AI.Repository.ResiduoPlasticoRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ZonasTests {
+
+	private static final String TRIANGULO = "{\"nome\":\"Reserva\",\"tipo\":\"AREA_PROTEGIDA\",\"vertices\":"
+		+ "[{\"x\":50000,\"y\":50000},{\"x\":51000,\"y\":50000},{\"x\":50000,\"y\":51000}]}";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ResiduoPlasticoRepository residuoPlasticoRepository;
+
+	@Autowired
+	private DroneRepository droneRepository;
+
+	@Test
+	void classificaResiduosEDronesEReclassificaQuandoAZonaMuda() throws Exception {
+		Long anterior = residuo(50100, 50100);
+		Long foraDoTriangulo = residuo(50900, 50900);
+
+		String local = mockMvc.perform(post("/zonas").contentType(MediaType.APPLICATION_JSON).content(TRIANGULO))
+			.andExpect(status().isCreated())
+			.andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+		int zona = Integer.parseInt(local.substring(local.lastIndexOf('/') + 1));
+
+		// gravado antes da zona: reclassificado; gravado depois: classificado na ingestão
+		mockMvc.perform(post("/residuos-plasticos").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"coordenadaX\":50200,\"coordenadaY\":50300}"))
+			.andExpect(status().isCreated())
+			.andExpect(jsonPath("$.id_zona").value(zona));
+		mockMvc.perform(get("/zonas/" + zona + "/residuos"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$._embedded.residuos.length()").value(2))
+			.andExpect(jsonPath("$._embedded.residuos[0].id_residuo").value(anterior));
+		mockMvc.perform(get("/zonas/classificar").param("x", "50900").param("y", "50900"))
+			.andExpect(jsonPath("$.id_zona").doesNotExist());
+
+		Drone drone = new Drone();
+		drone.setNome("Drone na reserva");
+		drone.setNivelBateria(90);
+		Long id_drone = droneRepository.save(drone).getId_drone();
+		mockMvc.perform(post("/drones/" + id_drone + "/telemetria").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"coordenadaX\":50010,\"coordenadaY\":50010,\"nivelBateria\":89}"))
+			.andExpect(status().is2xxSuccessful());
+		mockMvc.perform(get("/drones/frota/" + id_drone + "/zona"))
+			.andExpect(jsonPath("$.id_zona").value(zona))
+			.andExpect(jsonPath("$.tipo").value("AREA_PROTEGIDA"));
+
+		// o quadrado passa a cobrir o resíduo de fora e o drone continua dentro
+		mockMvc.perform(put("/zonas/" + zona).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"nome\":\"Reserva ampliada\",\"tipo\":\"AREA_PROTEGIDA\",\"vertices\":"
+					+ "[{\"x\":50000,\"y\":50000},{\"x\":51000,\"y\":50000},{\"x\":51000,\"y\":51000},{\"x\":50000,\"y\":51000}]}"))
+			.andExpect(status().isOk());
+		mockMvc.perform(get("/zonas/" + zona + "/residuos").param("tamanho", "2"))
+			.andExpect(jsonPath("$._embedded.residuos.length()").value(2))
+			.andExpect(jsonPath("$._links.next").exists());
+		mockMvc.perform(get("/residuos-plasticos/" + foraDoTriangulo))
+			.andExpect(jsonPath("$.id_zona").value(zona));
+
+		mockMvc.perform(delete("/zonas/" + zona)).andExpect(status().isNoContent());
+		mockMvc.perform(get("/residuos-plasticos/" + anterior))
+			.andExpect(jsonPath("$.id_zona").doesNotExist());
+		mockMvc.perform(get("/drones/frota/" + id_drone + "/zona"))
+			.andExpect(jsonPath("$.id_zona").doesNotExist());
+	}
+
+	@Test
+	void rejeitaPoligonoInvalido() throws Exception {
+		mockMvc.perform(post("/zonas").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"nome\":\"Linha\",\"tipo\":\"SETOR\",\"vertices\":[{\"x\":0,\"y\":0},{\"x\":10,\"y\":10},{\"x\":20,\"y\":20}]}"))
+			.andExpect(status().isBadRequest());
+		mockMvc.perform(post("/zonas").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"nome\":\"Dois pontos\",\"tipo\":\"SETOR\",\"vertices\":[{\"x\":0,\"y\":0},{\"x\":10,\"y\":10}]}"))
+			.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/zonas/999999")).andExpect(status().isNotFound());
+	}
+
+	private Long residuo(int x, int y) {
+		ResiduoPlastico residuo = new ResiduoPlastico();
+		residuo.setCoordenadaX(x);
+		residuo.setCoordenadaY(y);
+		return residuoPlasticoRepository.save(residuo).getId_residuo();
+	}
+}
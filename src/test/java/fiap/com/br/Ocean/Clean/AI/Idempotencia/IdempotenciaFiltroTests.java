@@ -0,0 +1,96 @@
+package fiap.com.br.Ocean.Clean.AI.Idempotencia;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+
+class IdempotenciaFiltroTests {
+
+	private static final String CORPO = "{\"coordenadaX\":1,\"coordenadaY\":2}";
+
+	@Test
+	void repeticaoSimultaneaRecebe409MesmoComOCacheCheio() throws Exception {
+		// uma chave só no cache: as criações concluídas de outras chaves não podem descartar a reserva
+		IdempotenciaFiltro filtro = new IdempotenciaFiltro(new RespostasIdempotentes(1, 60_000), new SimpleMeterRegistry());
+		CountDownLatch executando = new CountDownLatch(1);
+		CountDownLatch liberar = new CountDownLatch(1);
+		List<String> eventos = new CopyOnWriteArrayList<>();
+		FilterChain lenta = (request, response) -> {
+			ServletInputStream entrada = request.getInputStream();
+			entrada.setReadListener(new ReadListener() {
+				@Override
+				public void onDataAvailable() throws IOException {
+					eventos.add(new String(entrada.readAllBytes(), StandardCharsets.UTF_8));
+				}
+
+				@Override
+				public void onAllDataRead() {
+					eventos.add("fim");
+				}
+
+				@Override
+				public void onError(Throwable t) {
+					eventos.add("erro");
+				}
+			});
+			executando.countDown();
+			try {
+				liberar.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			((HttpServletResponse) response).setStatus(HttpServletResponse.SC_CREATED);
+			response.getWriter().write("criado");
+		};
+
+		CompletableFuture<MockHttpServletResponse> primeira = CompletableFuture.supplyAsync(() -> enviar(filtro, "chave-1", lenta));
+		assertThat(executando.await(5, TimeUnit.SECONDS)).isTrue();
+		for (int i = 0; i < 5; i++) {
+			assertThat(enviar(filtro, "outra-" + i, criar()).getStatus()).isEqualTo(HttpServletResponse.SC_CREATED);
+		}
+
+		assertThat(enviar(filtro, "chave-1", criar()).getStatus()).isEqualTo(HttpServletResponse.SC_CONFLICT);
+
+		liberar.countDown();
+		assertThat(primeira.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(HttpServletResponse.SC_CREATED);
+		assertThat(primeira.get().getContentAsString()).isEqualTo("criado");
+		assertThat(eventos).containsExactly(CORPO, "fim");
+	}
+
+	private static FilterChain criar() {
+		return (request, response) -> {
+			request.getInputStream().readAllBytes();
+			((HttpServletResponse) response).setStatus(HttpServletResponse.SC_CREATED);
+		};
+	}
+
+	private static MockHttpServletResponse enviar(IdempotenciaFiltro filtro, String chave, FilterChain chain) {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/residuos-plasticos");
+		request.addHeader(IdempotenciaFiltro.CABECALHO, chave);
+		request.setContentType("application/json");
+		request.setContent(CORPO.getBytes(StandardCharsets.UTF_8));
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		try {
+			filtro.doFilter(request, response, chain);
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+		return response;
+	}
+}
@@ -0,0 +1,111 @@
+package fiap.com.br.Ocean.Clean.AI.Index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import fiap.com.br.Ocean.Clean.AI.Dto.ResiduoExportado;
+import fiap.com.br.Ocean.Clean.AI.Index.ColunasResiduos.Agregado;
+import fiap.com.br.Ocean.Clean.AI.Index.ColunasResiduos.Filtro;
+
+class ColunasResiduosTests {
+
+	@Test
+	void agregaComoUmaVarreduraSimplesDepoisDeCargaEAlteracoes() {
+		Random random = new Random(5);
+		// id -> {x, y, missao}
+		Map<Long, long[]> esperado = new HashMap<>();
+		List<ResiduoExportado> carga = new ArrayList<>();
+		for (long id = 1; id <= 200_000; id++) {
+			ResiduoExportado residuo = new ResiduoExportado(id, random.nextInt(10_000), random.nextInt(10_000),
+				random.nextInt(4) == 0 ? null : (long) (1 + random.nextInt(20)));
+			carga.add(residuo);
+			esperado.put(id, new long[] { residuo.coordenadaX(), residuo.coordenadaY(),
+				residuo.id_missao() != null ? residuo.id_missao() : ColunasResiduos.SEM_MISSAO });
+		}
+		ColunasResiduos colunas = new ColunasResiduos();
+		colunas.carregar(carga.iterator());
+
+		// remoções suficientes para compactar, inclusões fora de ordem e vínculos
+		for (long id = 1; id <= 200_000; id += 3) {
+			colunas.remover(id);
+			esperado.remove(id);
+		}
+		for (long id = 200_100; id > 200_000; id--) {
+			colunas.gravar(id, id == 200_050 ? -5 : 7, 9, 3);
+			esperado.put(id, new long[] { id == 200_050 ? -5 : 7, 9, 3 });
+		}
+		colunas.gravar(2, 1, 1, 99);
+		esperado.put(2L, new long[] { 1, 1, 99 });
+		List<Long> vinculados = List.of(5L, 6L, 8L, 9L, 11L);
+		colunas.vincular(vinculados, 50, true);
+		for (Long id : vinculados) {
+			if (esperado.get(id)[2] == ColunasResiduos.SEM_MISSAO) {
+				esperado.get(id)[2] = 50;
+			}
+		}
+
+		assertThat(colunas.tamanho()).isEqualTo(esperado.size());
+		Filtro area = new Filtro(ColunasResiduos.QUALQUER_MISSAO, 1000, 2000, 6000, 9000);
+		Filtro semMissao = new Filtro(ColunasResiduos.SEM_MISSAO, Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+		for (Filtro filtro : List.of(Filtro.todos(), area, semMissao, new Filtro(3, -10, 0, 10_000, 10_000))) {
+			Map<Long, long[]> grupos = new HashMap<>();
+			long[] total = novoAgregado();
+			esperado.values().forEach(residuo -> {
+				if ((filtro.missao() == ColunasResiduos.QUALQUER_MISSAO || residuo[2] == filtro.missao())
+						&& residuo[0] >= filtro.minX() && residuo[0] <= filtro.maxX()
+						&& residuo[1] >= filtro.minY() && residuo[1] <= filtro.maxY()) {
+					somar(total, residuo);
+					somar(grupos.computeIfAbsent(residuo[2], missao -> novoAgregado()), residuo);
+				}
+			});
+
+			assertIgual(colunas.resumir(filtro), total);
+			Map<Long, Agregado> porMissao = colunas.porMissao(filtro);
+			assertThat(porMissao.keySet()).isEqualTo(grupos.keySet());
+			grupos.forEach((missao, agregado) -> assertIgual(porMissao.get(missao), agregado));
+		}
+	}
+
+	@Test
+	void ocupaVinteEQuatroBytesPorResiduoMaisAFolga() {
+		List<ResiduoExportado> carga = new ArrayList<>();
+		for (long id = 1; id <= 100_000; id++) {
+			carga.add(new ResiduoExportado(id, 1, 2, null));
+		}
+		ColunasResiduos colunas = new ColunasResiduos();
+		colunas.carregar(carga.iterator());
+
+		assertThat(colunas.bytes()).isBetween(24L * 100_000, 24L * 150_000);
+	}
+
+	// quantidade, minX, minY, maxX, maxY, somaX, somaY
+	private static long[] novoAgregado() {
+		return new long[] { 0, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE, 0, 0 };
+	}
+
+	private static void somar(long[] agregado, long[] residuo) {
+		agregado[0]++;
+		agregado[1] = Math.min(agregado[1], residuo[0]);
+		agregado[2] = Math.min(agregado[2], residuo[1]);
+		agregado[3] = Math.max(agregado[3], residuo[0]);
+		agregado[4] = Math.max(agregado[4], residuo[1]);
+		agregado[5] += residuo[0];
+		agregado[6] += residuo[1];
+	}
+
+	private static void assertIgual(Agregado agregado, long[] esperado) {
+		assertThat(agregado.getQuantidade()).isEqualTo(esperado[0]);
+		if (esperado[0] > 0) {
+			assertThat(new long[] { agregado.getMinX(), agregado.getMinY(), agregado.getMaxX(), agregado.getMaxY(),
+				agregado.getCentroX(), agregado.getCentroY() })
+				.containsExactly(esperado[1], esperado[2], esperado[3], esperado[4], esperado[5] / esperado[0], esperado[6] / esperado[0]);
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package fiap.com.br.Ocean.Clean.AI.Index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import fiap.com.br.Ocean.Clean.AI.Dto.MapaCalorNivel;
+
+class MapaCalorTests {
+
+	@Test
+	void niveisSomamBlocosDoNivelAnterior() {
+		MapaCalor mapa = new MapaCalor(10, 100, 70);
+		Random random = new Random(7);
+		for (int i = 0; i < 2000; i++) {
+			mapa.adicionar(random.nextInt(100), random.nextInt(70));
+		}
+
+		assertThat(mapa.quantidadeNiveis()).isEqualTo(5);
+		for (int n = 1; n < mapa.quantidadeNiveis(); n++) {
+			MapaCalorNivel abaixo = mapa.nivel(n - 1);
+			MapaCalorNivel nivel = mapa.nivel(n);
+			assertThat(nivel.tamanhoCelula()).isEqualTo(abaixo.tamanhoCelula() * 2);
+			int[] esperado = new int[nivel.celulas().length];
+			for (int j = 0; j < abaixo.linhas(); j++) {
+				for (int i = 0; i < abaixo.colunas(); i++) {
+					esperado[(j / 2) * nivel.colunas() + i / 2] += abaixo.celulas()[j * abaixo.colunas() + i];
+				}
+			}
+			assertThat(nivel.celulas()).isEqualTo(esperado);
+		}
+		MapaCalorNivel topo = mapa.nivel(mapa.quantidadeNiveis() - 1);
+		assertThat(topo.celulas()).containsExactly(2000);
+		assertThat(topo.total()).isEqualTo(2000);
+	}
+
+	@Test
+	void moverERemoverAtualizamTodosOsNiveis() {
+		MapaCalor mapa = new MapaCalor(10, 40, 40);
+		mapa.adicionar(5, 5);
+		mapa.adicionar(35, 35);
+		mapa.adicionar(500, 5);
+
+		mapa.mover(5, 5, 25, 5);
+		mapa.remover(35, 35);
+
+		MapaCalorNivel base = mapa.nivel(0);
+		assertThat(base.celulas()[2]).isEqualTo(1);
+		assertThat(Arrays.stream(base.celulas()).sum()).isEqualTo(1);
+		assertThat(mapa.nivel(1).celulas()).containsExactly(0, 1, 0, 0);
+		assertThat(base.total()).isEqualTo(1);
+		assertThat(base.foraDaArea()).isEqualTo(1);
+	}
+
+	@Test
+	void substituirReconstroiAPiramideAPartirDaContagem() {
+		MapaCalor incremental = new MapaCalor(16, 256, 256);
+		MapaCalor reconstruido = new MapaCalor(16, 256, 256);
+		MapaCalor.Contagem a = reconstruido.novaContagem();
+		MapaCalor.Contagem b = reconstruido.novaContagem();
+		Random random = new Random(42);
+		for (int i = 0; i < 5000; i++) {
+			int x = random.nextInt(300);
+			int y = random.nextInt(300);
+			incremental.adicionar(x, y);
+			(i % 2 == 0 ? a : b).contar(x, y);
+		}
+		a.somar(b);
+		reconstruido.substituir(a);
+
+		for (int n = 0; n < incremental.quantidadeNiveis(); n++) {
+			assertThat(reconstruido.nivel(n)).usingRecursiveComparison().isEqualTo(incremental.nivel(n));
+		}
+		assertThat(reconstruido.nivelAte(4)).isEqualTo(2);
+	}
+
+	@Test
+	void alteracoesDuranteARecargaSaoReaplicadasNaContagemNova() {
+		MapaCalor mapa = new MapaCalor(16, 256, 256);
+		MapaCalor esperado = new MapaCalor(16, 256, 256);
+		mapa.iniciarRecarga();
+		// a leitura da tabela vê dois resíduos
+		MapaCalor.Contagem contagem = mapa.novaContagem();
+		contagem.contar(10, 10);
+		contagem.contar(100, 100);
+		esperado.adicionar(10, 10);
+		esperado.adicionar(100, 100);
+
+		// gravações que chegam depois da leitura e antes da troca
+		mapa.adicionar(200, 200);
+		mapa.mover(100, 100, 150, 30);
+		mapa.remover(10, 10);
+		mapa.adicionar(-5, 40);
+		esperado.adicionar(200, 200);
+		esperado.mover(100, 100, 150, 30);
+		esperado.remover(10, 10);
+		esperado.adicionar(-5, 40);
+		mapa.substituir(contagem);
+
+		for (int n = 0; n < mapa.quantidadeNiveis(); n++) {
+			assertThat(mapa.nivel(n)).usingRecursiveComparison().isEqualTo(esperado.nivel(n));
+		}
+		assertThat(mapa.nivel(mapa.quantidadeNiveis() - 1).total()).isEqualTo(2);
+
+		// fora da recarga nada fica guardado: uma nova troca parte só da contagem
+		mapa.adicionar(20, 20);
+		mapa.substituir(mapa.novaContagem());
+		assertThat(mapa.nivel(0).total()).isZero();
+	}
+}
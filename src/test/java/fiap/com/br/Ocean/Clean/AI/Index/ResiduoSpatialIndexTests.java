@@ -0,0 +1,90 @@
+package fiap.com.br.Ocean.Clean.AI.Index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+import fiap.com.br.Ocean.Clean.AI.Dto.ResiduoLocalizado;
+
+class ResiduoSpatialIndexTests {
+
+	@Test
+	void proximosCoincideComBuscaExaustiva() {
+		ResiduoSpatialIndex indice = new ResiduoSpatialIndex(16);
+		Random random = new Random(42);
+		int[][] pontos = new int[5000][];
+		for (int i = 0; i < pontos.length; i++) {
+			pontos[i] = new int[] { random.nextInt(2000), random.nextInt(2000) };
+			indice.indexar(i + 1, pontos[i][0], pontos[i][1]);
+		}
+
+		for (int consulta = 0; consulta < 50; consulta++) {
+			int x = random.nextInt(2200) - 100;
+			int y = random.nextInt(2200) - 100;
+			List<Long> esperado = LongStream.rangeClosed(1, pontos.length).boxed()
+				.sorted(Comparator.comparingLong((Long id) -> distancia(pontos[(int) (id - 1)], x, y)).thenComparing(id -> id))
+				.limit(7)
+				.map(id -> distancia(pontos[(int) (id - 1)], x, y))
+				.collect(Collectors.toList());
+
+			List<Long> obtido = indice.proximos(x, y, 7).stream()
+				.map(r -> distancia(new int[] { r.coordenadaX(), r.coordenadaY() }, x, y))
+				.collect(Collectors.toList());
+
+			assertThat(obtido).isEqualTo(esperado);
+		}
+	}
+
+	@Test
+	void areaRefleteAtualizacoesERemocoes() {
+		ResiduoSpatialIndex indice = new ResiduoSpatialIndex(10);
+		indice.indexar(1, 5, 5);
+		indice.indexar(2, 15, 15);
+		indice.indexar(3, 100, 100);
+
+		assertThat(indice.area(0, 0, 20, 20, 100)).extracting(ResiduoLocalizado::id_residuo).containsExactlyInAnyOrder(1L, 2L);
+
+		indice.indexar(2, 90, 90);
+		indice.remover(1);
+
+		assertThat(indice.area(0, 0, 20, 20, 100)).isEmpty();
+		assertThat(indice.area(80, 80, 120, 120, 100)).extracting(ResiduoLocalizado::id_residuo).containsExactlyInAnyOrder(2L, 3L);
+		assertThat(indice.tamanho()).isEqualTo(2);
+	}
+
+	private static long distancia(int[] ponto, int x, int y) {
+		long dx = ponto[0] - x;
+		long dy = ponto[1] - y;
+		return dx * dx + dy * dy;
+	}
+
+	@Test
+	void cargaNaoDesfazOQueOsListenersFizeramDuranteELa() {
+		ResiduoSpatialIndex indice = new ResiduoSpatialIndex(10);
+		indice.iniciarCarga();
+		indice.carregar(1, 5, 5);
+		// durante a leitura: o 2 é removido e o 3 é movido antes de a leitura chegar neles
+		indice.remover(2);
+		indice.indexar(3, 50, 50);
+		indice.carregar(2, 15, 15);
+		indice.carregar(3, 30, 30);
+		assertThat(indice.carregado()).isFalse();
+		indice.concluirCarga();
+
+		assertThat(indice.carregado()).isTrue();
+		assertThat(indice.posicao(2)).isEqualTo(ResiduoSpatialIndex.AUSENTE);
+		assertThat(indice.area(0, 0, 100, 100, 100)).extracting(ResiduoLocalizado::id_residuo).containsExactlyInAnyOrder(1L, 3L);
+		assertThat(indice.proximos(50, 50, 1)).singleElement().extracting(ResiduoLocalizado::coordenadaX).isEqualTo(50);
+
+		// depois da carga, uma remoção não fica registrada
+		indice.remover(1);
+		indice.indexar(1, 5, 5);
+		assertThat(indice.posicao(1)).isEqualTo(ResiduoSpatialIndex.empacotar(5, 5));
+	}
+}
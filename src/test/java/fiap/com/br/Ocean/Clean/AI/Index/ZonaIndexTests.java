@@ -0,0 +1,82 @@
+package fiap.com.br.Ocean.Clean.AI.Index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import fiap.com.br.Ocean.Clean.AI.Index.ZonaIndex.Poligono;
+import fiap.com.br.Ocean.Clean.AI.Models.TipoZona;
+
+class ZonaIndexTests {
+
+	@Test
+	void classificaPelaZonaMaisEspecificaEConsideraConcavidades() {
+		ZonaIndex indice = new ZonaIndex();
+		indice.substituir(List.of(
+			new Poligono(1, "Setor", TipoZona.SETOR, new int[] { 0, 1000, 1000, 0 }, new int[] { 0, 0, 1000, 1000 }),
+			new Poligono(2, "Reserva", TipoZona.AREA_PROTEGIDA, new int[] { 100, 300, 200 }, new int[] { 100, 100, 300 }),
+			// U: o vão entre as pernas (x 1400..1600, y 1300..2000) fica fora
+			new Poligono(3, "Canal", TipoZona.ROTA_NAVEGACAO,
+				new int[] { 1200, 1800, 1800, 1600, 1600, 1400, 1400, 1200 },
+				new int[] { 1000, 1000, 2000, 2000, 1300, 1300, 2000, 2000 })));
+
+		assertThat(indice.classificar(500, 500).getId()).isEqualTo(1);
+		assertThat(indice.classificar(200, 150).getId()).isEqualTo(2);
+		assertThat(indice.classificar(1300, 1900).getId()).isEqualTo(3);
+		assertThat(indice.classificar(1500, 1900)).isNull();
+		assertThat(indice.classificar(5000, 5000)).isNull();
+
+		indice.remover(2);
+		assertThat(indice.classificar(200, 150).getId()).isEqualTo(1);
+		indice.atualizar(new Poligono(1, "Setor", TipoZona.SETOR, new int[] { 0, 100, 100, 0 }, new int[] { 0, 0, 100, 100 }));
+		assertThat(indice.classificar(500, 500)).isNull();
+	}
+
+	@Test
+	void coincideComBuscaExaustiva() {
+		Random random = new Random(7);
+		List<Poligono> zonas = new ArrayList<>();
+		for (int i = 1; i <= 2000; i++) {
+			zonas.add(estrela(random, i, random.nextInt(65_536), random.nextInt(65_536), 50 + random.nextInt(3000)));
+		}
+		ZonaIndex indice = new ZonaIndex();
+		indice.substituir(zonas);
+
+		for (int consulta = 0; consulta < 20_000; consulta++) {
+			int x = random.nextInt(65_536);
+			int y = random.nextInt(65_536);
+			Poligono esperado = null;
+			for (Poligono zona : zonas) {
+				if (zona.contem(x, y) && (esperado == null || zona.getAreaDupla() < esperado.getAreaDupla()
+						|| (zona.getAreaDupla() == esperado.getAreaDupla() && zona.getId() < esperado.getId()))) {
+					esperado = zona;
+				}
+			}
+			assertThat(indice.classificar(x, y)).isSameAs(esperado);
+		}
+	}
+
+	@Test
+	void rejeitaPoligonoSemArea() {
+		assertThatThrownBy(() -> new Poligono(1, "Linha", TipoZona.SETOR, new int[] { 0, 10, 20 }, new int[] { 0, 10, 20 }))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static Poligono estrela(Random random, long id, int cx, int cy, int raio) {
+		int vertices = 5 + random.nextInt(12);
+		int[] xs = new int[vertices];
+		int[] ys = new int[vertices];
+		for (int i = 0; i < vertices; i++) {
+			double angulo = 2 * Math.PI * i / vertices;
+			double r = raio * (0.4 + 0.6 * random.nextDouble());
+			xs[i] = Math.max(0, (int) (cx + r * Math.cos(angulo)));
+			ys[i] = Math.max(0, (int) (cy + r * Math.sin(angulo)));
+		}
+		return new Poligono(id, "Zona " + id, TipoZona.values()[(int) (id % TipoZona.values().length)], xs, ys);
+	}
+}
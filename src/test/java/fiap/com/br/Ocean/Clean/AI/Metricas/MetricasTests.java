@@ -0,0 +1,50 @@
+package fiap.com.br.Ocean.Clean.AI.Metricas;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+class MetricasTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void listagemRegistraTemposConsultasESerializacao() throws Exception {
+		mockMvc.perform(get("/operadores?visao=completa")).andExpect(status().isOk());
+
+		assertThat(meterRegistry.get("ocean.controller")
+			.tags("class", "fiap.com.br.Ocean.Clean.AI.Controller.OperadorController", "method", "index")
+			.timer().count()).isEqualTo(1);
+		assertThat(meterRegistry.get("spring.data.repository.invocations")
+			.tags("repository", "OperadorRepository", "method", "findVisoesApos")
+			.timer().count()).isEqualTo(1);
+		assertThat(meterRegistry.get("ocean.http.serializacao").tags("uri", "/operadores").timer().count()).isEqualTo(1);
+		assertThat(meterRegistry.get("ocean.http.consultas.sql").tags("uri", "/operadores").summary().totalAmount())
+			.isEqualTo(1);
+
+		mockMvc.perform(get("/actuator/prometheus"))
+			.andExpect(status().isOk())
+			.andExpect(content().string(Matchers.containsString("ocean_http_consultas_sql_bucket")))
+			.andExpect(content().string(Matchers.containsString("ocean_controller_seconds_bucket")));
+	}
+}
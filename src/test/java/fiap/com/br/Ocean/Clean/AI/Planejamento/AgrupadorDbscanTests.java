@@ -0,0 +1,127 @@
+package fiap.com.br.Ocean.Clean.AI.Planejamento;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import fiap.com.br.Ocean.Clean.AI.Planejamento.AgrupadorDbscan.Resultado;
+
+class AgrupadorDbscanTests {
+
+	private final ForkJoinPool pool = new ForkJoinPool(4);
+
+	@AfterEach
+	void encerrar() {
+		pool.shutdown();
+	}
+
+	@Test
+	void coincideComDbscanExaustivo() {
+		Random random = new Random(11);
+		int n = 4000;
+		int[] xs = new int[n];
+		int[] ys = new int[n];
+		for (int i = 0; i < n; i++) {
+			if (i % 4 == 0) {
+				xs[i] = random.nextInt(3000);
+				ys[i] = random.nextInt(3000);
+			} else {
+				// focos densos em volta de 12 centros
+				int foco = random.nextInt(12);
+				xs[i] = 250 * (foco % 4) + 300 + (int) (random.nextGaussian() * 30);
+				ys[i] = 600 * (foco / 4) + 300 + (int) (random.nextGaussian() * 30);
+			}
+		}
+		double raio = 20;
+		int minimo = 6;
+
+		Resultado resultado = new AgrupadorDbscan(pool, raio, minimo).agrupar(xs, ys);
+		int[] rotulos = resultado.rotulos();
+
+		boolean[] nucleo = new boolean[n];
+		for (int i = 0; i < n; i++) {
+			int vizinhos = 0;
+			for (int j = 0; j < n; j++) {
+				if (alcanca(xs, ys, i, j, raio)) {
+					vizinhos++;
+				}
+			}
+			nucleo[i] = vizinhos >= minimo;
+		}
+		int[] esperado = new int[n];
+		Arrays.fill(esperado, -1);
+		int grupos = 0;
+		for (int i = 0; i < n; i++) {
+			if (!nucleo[i] || esperado[i] >= 0) {
+				continue;
+			}
+			ArrayDeque<Integer> fila = new ArrayDeque<>();
+			esperado[i] = grupos;
+			fila.add(i);
+			while (!fila.isEmpty()) {
+				int p = fila.poll();
+				for (int q = 0; q < n; q++) {
+					if (nucleo[q] && esperado[q] < 0 && alcanca(xs, ys, p, q, raio)) {
+						esperado[q] = grupos;
+						fila.add(q);
+					}
+				}
+			}
+			grupos++;
+		}
+
+		assertThat(grupos).isGreaterThanOrEqualTo(12);
+		assertThat(resultado.agrupamentos()).isEqualTo(grupos);
+		Map<Integer, Integer> correspondencia = new HashMap<>();
+		int ruido = 0;
+		for (int i = 0; i < n; i++) {
+			if (nucleo[i]) {
+				assertThat(correspondencia.putIfAbsent(esperado[i], rotulos[i])).isIn(null, rotulos[i]);
+			}
+		}
+		for (int i = 0; i < n; i++) {
+			if (nucleo[i]) {
+				continue;
+			}
+			// borda: qualquer grupo de um núcleo ao alcance é válido
+			boolean temNucleo = false;
+			boolean grupoValido = false;
+			for (int j = 0; j < n; j++) {
+				if (nucleo[j] && alcanca(xs, ys, i, j, raio)) {
+					temNucleo = true;
+					grupoValido |= correspondencia.get(esperado[j]) == rotulos[i];
+				}
+			}
+			if (temNucleo) {
+				assertThat(grupoValido).isTrue();
+			} else {
+				assertThat(rotulos[i]).isEqualTo(AgrupadorDbscan.RUIDO);
+				ruido++;
+			}
+		}
+		assertThat(correspondencia.values()).doesNotHaveDuplicates();
+		assertThat(resultado.ruido()).isEqualTo(ruido);
+	}
+
+	@Test
+	void conjuntoVazio() {
+		Resultado resultado = new AgrupadorDbscan(pool, 10, 3).agrupar(new int[0], new int[0]);
+
+		assertThat(resultado.agrupamentos()).isZero();
+		assertThat(resultado.rotulos()).isEmpty();
+	}
+
+	private static boolean alcanca(int[] xs, int[] ys, int i, int j, double raio) {
+		long dx = xs[i] - xs[j];
+		long dy = ys[i] - ys[j];
+		return dx * dx + dy * dy <= raio * raio;
+	}
+}
@@ -0,0 +1,126 @@
+package fiap.com.br.Ocean.Clean.AI.Planejamento;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import fiap.com.br.Ocean.Clean.AI.Planejamento.Despachante.Estado;
+import fiap.com.br.Ocean.Clean.AI.Planejamento.Despachante.Mudanca;
+import fiap.com.br.Ocean.Clean.AI.Planejamento.Despachante.Situacao;
+
+class DespachanteTests {
+
+	private static final double CONSUMO = 0.001;
+	private static final int RESERVA = 15;
+	private static final double PESO = 10;
+
+	private final Despachante despachante = new Despachante(100, 0, 0, CONSUMO, RESERVA, 80, 5, PESO);
+
+	@Test
+	void melhorCoincideComBuscaExaustiva() {
+		Random random = new Random(5);
+		List<Estado> drones = new ArrayList<>();
+		for (long id = 1; id <= 2000; id++) {
+			drones.add(despachante.atualizar(id, random.nextInt(40_000), random.nextInt(40_000), 20 + random.nextInt(81)).atual());
+		}
+		for (int consulta = 0; consulta < 200; consulta++) {
+			int x = random.nextInt(40_000);
+			int y = random.nextInt(40_000);
+			double esperado = Double.POSITIVE_INFINITY;
+			for (Estado drone : drones) {
+				double ida = Math.hypot(drone.x() - x, drone.y() - y);
+				if (drone.situacao() == Situacao.DISPONIVEL
+						&& drone.bateria() - CONSUMO * (ida + Math.hypot(x, y)) >= RESERVA) {
+					esperado = Math.min(esperado, ida - PESO * drone.bateria());
+				}
+			}
+
+			Estado melhor = despachante.melhor(x, y);
+
+			if (esperado == Double.POSITIVE_INFINITY) {
+				assertThat(melhor).isNull();
+			} else {
+				assertThat(Math.hypot(melhor.x() - x, melhor.y() - y) - PESO * melhor.bateria()).isCloseTo(esperado, within(1e-6));
+			}
+		}
+	}
+
+	@Test
+	void recolheDroneQuandoBateriaPrevistaFicaAbaixoDaReserva() {
+		despachante.atualizar(1, 1000, 1000, 60);
+		Estado emRota = despachante.atribuir(7, 10_000, 10_000);
+		assertThat(emRota.situacao()).isEqualTo(Situacao.EM_ROTA);
+		assertThat(despachante.droneDoResiduo(7)).isEqualTo(1);
+
+		assertThat(despachante.atualizar(1, 5000, 5000, 55).atual().situacao()).isEqualTo(Situacao.EM_ROTA);
+		Mudanca mudanca = despachante.atualizar(1, 6000, 6000, 30);
+
+		assertThat(mudanca.recolhido()).isTrue();
+		assertThat(despachante.droneDoResiduo(7)).isNull();
+		assertThat(despachante.melhor(100, 100)).isNull();
+		assertThat(despachante.atualizar(1, 0, 0, 79).atual().situacao()).isEqualTo(Situacao.RETORNANDO);
+		assertThat(despachante.atualizar(1, 0, 0, 80).atual().situacao()).isEqualTo(Situacao.DISPONIVEL);
+	}
+
+	@Test
+	void chegadaAoAlvoLiberaODrone() {
+		despachante.atualizar(1, 100, 100, 90);
+		despachante.atribuir(3, 500, 500);
+
+		Mudanca mudanca = despachante.atualizar(1, 498, 501, 89);
+
+		assertThat(mudanca.concluido()).isTrue();
+		assertThat(despachante.droneDoResiduo(3)).isNull();
+		assertThat(despachante.disponiveis()).isEqualTo(1);
+	}
+
+	@Test
+	void despachosConcorrentesNuncaRepetemDroneOuResiduo() throws Exception {
+		Random random = new Random(9);
+		for (long id = 1; id <= 500; id++) {
+			despachante.atualizar(id, random.nextInt(10_000), random.nextInt(10_000), 100);
+		}
+		AtomicLong proximoResiduo = new AtomicLong();
+		Set<Long> drones = ConcurrentHashMap.newKeySet();
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<Integer>> tarefas = new ArrayList<>();
+			for (int t = 0; t < 8; t++) {
+				tarefas.add(executor.submit(() -> {
+					int sucessos = 0;
+					for (int i = 0; i < 200; i++) {
+						// metade das tentativas disputa o mesmo resíduo com outra thread
+						long residuo = i % 2 == 0 ? proximoResiduo.incrementAndGet() : 1_000_000 + i;
+						Estado estado = despachante.atribuir(residuo, random.nextInt(10_000), random.nextInt(10_000));
+						if (estado != null) {
+							assertThat(drones.add(estado.id())).isTrue();
+							sucessos++;
+						}
+					}
+					return sucessos;
+				}));
+			}
+			int total = 0;
+			for (Future<Integer> tarefa : tarefas) {
+				total += tarefa.get();
+			}
+
+			assertThat(total).isEqualTo(500);
+			assertThat(despachante.disponiveis()).isZero();
+			assertThat(despachante.emRota()).isEqualTo(500);
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
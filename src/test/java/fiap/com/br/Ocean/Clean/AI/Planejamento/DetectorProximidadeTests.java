@@ -0,0 +1,53 @@
+package fiap.com.br.Ocean.Clean.AI.Planejamento;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class DetectorProximidadeTests {
+
+	@Test
+	void encontraOsMesmosParesQueAComparacaoDeTodosComTodos() {
+		Random random = new Random(11);
+		DetectorProximidade detector = new DetectorProximidade(25);
+		// várias rodadas com o mesmo detector: os vetores são reaproveitados
+		for (int rodada = 0; rodada < 5; rodada++) {
+			int n = 500 + random.nextInt(3000);
+			int[] xs = new int[n];
+			int[] ys = new int[n];
+			for (int i = 0; i < n; i++) {
+				// inclui coordenadas negativas e pontos repetidos
+				xs[i] = random.nextInt(2000) - 1000;
+				ys[i] = random.nextInt(2000) - 1000;
+			}
+			xs[n - 1] = xs[0];
+			ys[n - 1] = ys[0];
+
+			Set<Long> esperados = new HashSet<>();
+			for (int a = 0; a < n; a++) {
+				for (int b = a + 1; b < n; b++) {
+					long dx = xs[a] - xs[b];
+					long dy = ys[a] - ys[b];
+					if (dx * dx + dy * dy <= 625) {
+						esperados.add((long) a * n + b);
+					}
+				}
+			}
+
+			Set<Long> encontrados = new HashSet<>();
+			int pares = detector.detectar(xs, ys, n, (a, b, distancia2) -> {
+				long dx = xs[a] - xs[b];
+				long dy = ys[a] - ys[b];
+				assertThat(distancia2).isEqualTo(dx * dx + dy * dy);
+				assertThat(encontrados.add((long) Math.min(a, b) * n + Math.max(a, b))).isTrue();
+			});
+
+			assertThat(pares).isEqualTo(encontrados.size());
+			assertThat(encontrados).isEqualTo(esperados);
+		}
+	}
+}
@@ -0,0 +1,64 @@
+package fiap.com.br.Ocean.Clean.AI.Planejamento;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import fiap.com.br.Ocean.Clean.AI.Planejamento.PlanejadorRotas.Rota;
+import fiap.com.br.Ocean.Clean.AI.Planejamento.PlanejadorRotas.Veiculo;
+
+class PlanejadorRotasTests {
+
+	private final ForkJoinPool pool = new ForkJoinPool();
+
+	@AfterEach
+	void encerrar() {
+		pool.shutdown();
+	}
+
+	@Test
+	void capacidadeProporcionalABateria() {
+		List<Veiculo> veiculos = List.of(new Veiculo(1, 0, 0, 100), new Veiculo(2, 0, 0, 50), new Veiculo(3, 0, 0, 50));
+
+		assertThat(PlanejadorRotas.capacidades(1000, veiculos)).containsExactly(500, 250, 250);
+		assertThat(PlanejadorRotas.capacidades(7, veiculos)).containsExactly(3, 2, 2);
+	}
+
+	@Test
+	void cadaResiduoEntraEmExatamenteUmaRota() {
+		int n = 5_000;
+		Random random = new Random(7);
+		long[] ids = new long[n];
+		int[] xs = new int[n];
+		int[] ys = new int[n];
+		for (int i = 0; i < n; i++) {
+			ids[i] = i + 1;
+			xs[i] = random.nextInt(10_000);
+			ys[i] = random.nextInt(10_000);
+		}
+		List<Veiculo> veiculos = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			veiculos.add(new Veiculo(i + 1, random.nextInt(10_000), random.nextInt(10_000), 20 + 10 * i));
+		}
+
+		List<Rota> rotas = new PlanejadorRotas(pool, 10, 50, 10).planejar(ids, xs, ys, veiculos);
+
+		Set<Long> visitados = new HashSet<>();
+		int[] capacidades = PlanejadorRotas.capacidades(n, veiculos);
+		for (int i = 0; i < rotas.size(); i++) {
+			assertThat(rotas.get(i).residuos()).hasSize(capacidades[i]);
+			for (long id : rotas.get(i).residuos()) {
+				assertThat(visitados.add(id)).isTrue();
+			}
+		}
+		assertThat(visitados).hasSize(n);
+	}
+}
@@ -0,0 +1,122 @@
+package fiap.com.br.Ocean.Clean.AI.Roteamento;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLFeatureNotSupportedException;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import fiap.com.br.Ocean.Clean.AI.Models.Drone;
+import fiap.com.br.Ocean.Clean.AI.Repository.DroneRepository;
+
+// a segunda réplica não existe: a porta 1 recusa a conexão
+@SpringBootTest(properties = {
+	"ocean.datasource.leitura.habilitada=true",
+	"ocean.datasource.leitura.urls=" + ReplicasLeituraTests.REPLICA + ",jdbc:h2:tcp://localhost:1/indisponivel",
+	"ocean.datasource.leitura.timeout-conexao-ms=250",
+	"ocean.datasource.leitura.intervalo-verificacao-ms=3600000"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReplicasLeituraTests {
+
+	static final String REPLICA = "jdbc:h2:mem:ocean-replica;DB_CLOSE_DELAY=-1";
+
+	private static boolean esquemaCopiado;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	@Qualifier("dataSourcePrimario")
+	private DataSource primario;
+
+	@Autowired
+	private ReplicasLeitura replicasLeitura;
+
+	@Autowired
+	private DroneRepository droneRepository;
+
+	private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA, "sa", ""));
+
+	@BeforeEach
+	void copiarEsquema() {
+		if (esquemaCopiado) {
+			return;
+		}
+		// a réplica de verdade recebe o esquema pela replicação; aqui é copiado do primário
+		for (String comando : new JdbcTemplate(primario).queryForList("SCRIPT NODATA", String.class)) {
+			replica.execute(comando);
+		}
+		esquemaCopiado = true;
+	}
+
+	@Test
+	void leiturasVaoParaAReplicaSaudavelEEscritasParaOPrimario() throws Exception {
+		Drone drone = new Drone();
+		drone.setNome("Só no primário");
+		Long id = droneRepository.save(drone).getId_drone();
+		replica.update("INSERT INTO drone (id_drone, nome, coordenadax, coordenaday, residuos_coletados, nivel_bateria) "
+			+ "VALUES (900000, 'Só na réplica', 0, 0, 0, 50)");
+
+		replicasLeitura.verificar();
+		assertThat(replicasLeitura.saudaveis()).isEqualTo(1);
+
+		for (int i = 0; i < 3; i++) {
+			String listagem = mockMvc.perform(get("/drones").param("tamanho", "500").param("visao", "completa"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+			assertThat(listagem).contains("Só na réplica").doesNotContain("Só no primário");
+		}
+		assertThat(droneRepository.existsById(id)).isFalse();
+		assertThat(droneRepository.count()).isEqualTo(1);
+	}
+
+	@Test
+	void clienteQueReenviaOInstanteDaEscritaLeDoPrimarioDentroDaJanela() throws Exception {
+		String escritaEm = mockMvc.perform(post("/drones").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"nome\":\"Recém criado\",\"nivelBateria\":70}"))
+			.andExpect(status().isCreated())
+			.andExpect(header().exists(LeituraDasEscritasFiltro.CABECALHO))
+			.andReturn().getResponse().getHeader(LeituraDasEscritasFiltro.CABECALHO);
+
+		String comJanela = mockMvc.perform(get("/drones").param("tamanho", "500").param("visao", "completa")
+				.header(LeituraDasEscritasFiltro.CABECALHO, escritaEm))
+			.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+		String semJanela = mockMvc.perform(get("/drones").param("tamanho", "500").param("visao", "completa"))
+			.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+		String expirada = mockMvc.perform(get("/drones").param("tamanho", "500").param("visao", "completa")
+				.header(LeituraDasEscritasFiltro.CABECALHO, Long.parseLong(escritaEm) - 60_000))
+			.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+		assertThat(comJanela).contains("Recém criado");
+		assertThat(semJanela).doesNotContain("Recém criado");
+		assertThat(expirada).doesNotContain("Recém criado");
+	}
+
+	@Test
+	void conexaoComCredenciaisNaoEhSuportadaENaoTiraAReplicaDoRodizio() {
+		replicasLeitura.verificar();
+		assertThatThrownBy(() -> replicasLeitura.getConnection("sa", ""))
+			.isInstanceOf(SQLFeatureNotSupportedException.class);
+		assertThat(replicasLeitura.saudaveis()).isEqualTo(1);
+	}
+}
@@ -0,0 +1,178 @@
+package fiap.com.br.Ocean.Clean.AI.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import fiap.com.br.Ocean.Clean.AI.Dto.HistoricoCelula;
+import fiap.com.br.Ocean.Clean.AI.Dto.ResultadoCompactacao;
+import fiap.com.br.Ocean.Clean.AI.Index.ResiduoSpatialIndex;
+import fiap.com.br.Ocean.Clean.AI.Models.Missao;
+import fiap.com.br.Ocean.Clean.AI.Models.ResiduoPlastico;
+import fiap.com.br.Ocean.Clean.AI.Repository.MissaoRepository;
+import fiap.com.br.Ocean.Clean.AI.Repository.ResiduoPlasticoRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class HistoricoResiduoServiceTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private HistoricoResiduoService historicoResiduoService;
+
+	@Autowired
+	private ResiduoPlasticoRepository residuoPlasticoRepository;
+
+	@Autowired
+	private MissaoRepository missaoRepository;
+
+	@Autowired
+	private ResiduoSpatialIndex residuoSpatialIndex;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Test
+	void recentesLeSoAJanelaPedida() throws Exception {
+		Instant agora = Instant.now();
+		residuo(80_000, 80_000, agora.minus(Duration.ofHours(2)), null);
+		residuo(80_010, 80_010, agora.minus(Duration.ofHours(30)), null);
+		residuo(90_000, 90_000, agora.minus(Duration.ofHours(1)), null);
+
+		mockMvc.perform(get("/residuos-plasticos/recentes")
+				.param("minX", "79000").param("minY", "79000").param("maxX", "81000").param("maxY", "81000"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.length()").value(1))
+			.andExpect(jsonPath("$[0].coordenadaX").value(80_000));
+		assertThat(historicoResiduoService.recentes(48, 79_000, 79_000, 81_000, 81_000, 10)).hasSize(2);
+	}
+
+	@Test
+	void compactaParticoesAntigasEmContagensPorCelula() {
+		// um dia bem no passado, que nenhum outro teste usa
+		Instant antigo = LocalDate.of(2001, 3, 4).atTime(12, 0).toInstant(ZoneOffset.UTC);
+		Missao missao = new Missao();
+		missao.setNome("Missão com resíduo antigo");
+		missao = missaoRepository.save(missao);
+		Long primeiro = residuo(100, 100, antigo, null);
+		residuo(200, 300, antigo, null);
+		residuo(2_000, 100, antigo.plusSeconds(60), null);
+		Long daMissao = residuo(150, 150, antigo, missao);
+
+		ResultadoCompactacao resultado = historicoResiduoService.compactar();
+
+		assertThat(resultado.removidos()).isGreaterThanOrEqualTo(3);
+		assertThat(residuoPlasticoRepository.existsById(primeiro)).isFalse();
+		assertThat(residuoPlasticoRepository.existsById(daMissao)).isTrue();
+		assertThat(residuoSpatialIndex.posicao(primeiro)).isEqualTo(ResiduoSpatialIndex.AUSENTE);
+		assertThat(historicoResiduoService.historico(LocalDate.of(2001, 3, 4), LocalDate.of(2001, 3, 4))).containsExactly(
+			new HistoricoCelula(LocalDate.of(2001, 3, 4), 0, 0, 2),
+			new HistoricoCelula(LocalDate.of(2001, 3, 4), 1024, 0, 1));
+
+		// detecção atrasada soma à célula já compactada
+		residuo(10, 10, antigo, null);
+		historicoResiduoService.compactar();
+		assertThat(historicoResiduoService.historico(LocalDate.of(2001, 3, 4), LocalDate.of(2001, 3, 4)))
+			.first().extracting(HistoricoCelula::quantidade).isEqualTo(3L);
+	}
+
+	@Test
+	void residuoGravadoNaParticaoDepoisDaLeituraSobreviveACompactacao() throws Exception {
+		Instant antigo = LocalDate.of(2003, 7, 8).atTime(9, 0).toInstant(ZoneOffset.UTC);
+		Long lido = residuo(62_800, 62_800, antigo, null);
+
+		CompletableFuture<ResultadoCompactacao> compactacao;
+		Long gravadoDepois;
+		try (Connection trava = dataSource.getConnection()) {
+			trava.setAutoCommit(false);
+			try (PreparedStatement comando = trava.prepareStatement("SELECT id_residuo FROM residuo_plastico WHERE id_residuo = ? FOR UPDATE")) {
+				comando.setLong(1, lido);
+				comando.executeQuery().close();
+			}
+			compactacao = CompletableFuture.supplyAsync(historicoResiduoService::compactar);
+			// a compactação já leu a partição quando o DELETE dela espera pela trava
+			aguardarBloqueio(trava);
+			gravadoDepois = residuo(62_810, 62_810, antigo.plusSeconds(60), null);
+			trava.rollback();
+		}
+		compactacao.get(10, TimeUnit.SECONDS);
+
+		assertThat(residuoPlasticoRepository.existsById(lido)).isFalse();
+		assertThat(residuoPlasticoRepository.existsById(gravadoDepois)).isTrue();
+		assertThat(historicoResiduoService.historico(LocalDate.of(2003, 7, 8), LocalDate.of(2003, 7, 8)))
+			.extracting(HistoricoCelula::quantidade).containsExactly(1L);
+	}
+
+	@Test
+	void atualizacaoSemDetectadoEmMantemAParticao() throws Exception {
+		Instant antigo = LocalDate.of(2002, 5, 6).atTime(8, 0).toInstant(ZoneOffset.UTC);
+		Long id = residuo(62_700, 62_700, antigo, null);
+
+		mockMvc.perform(put("/residuos-plasticos/" + id).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"coordenadaX\":62710,\"coordenadaY\":62710}"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.coordenadaX").value(62_710))
+			.andExpect(jsonPath("$.detectadoEm").value(antigo.toString()));
+
+		ResiduoPlastico gravado = residuoPlasticoRepository.findById(id).orElseThrow();
+		assertThat(gravado.getCoordenadaX()).isEqualTo(62_710);
+		assertThat(gravado.getDetectadoEm()).isEqualTo(antigo);
+		assertThat(gravado.getParticao()).isEqualTo(ResiduoPlastico.particaoDe(antigo));
+	}
+
+	private void aguardarBloqueio(Connection trava) throws Exception {
+		long sessao;
+		try (ResultSet resultado = trava.createStatement().executeQuery("SELECT SESSION_ID()")) {
+			resultado.next();
+			sessao = resultado.getLong(1);
+		}
+		try (Connection consulta = dataSource.getConnection();
+				PreparedStatement comando = consulta.prepareStatement("SELECT COUNT(*) FROM INFORMATION_SCHEMA.SESSIONS WHERE BLOCKER_ID = ?")) {
+			comando.setLong(1, sessao);
+			for (int tentativa = 0; tentativa < 200; tentativa++) {
+				try (ResultSet resultado = comando.executeQuery()) {
+					resultado.next();
+					if (resultado.getInt(1) > 0) {
+						return;
+					}
+				}
+				Thread.sleep(10);
+			}
+		}
+		throw new AssertionError("A compactação não chegou ao DELETE travado");
+	}
+
+	private Long residuo(int x, int y, Instant detectadoEm, Missao missao) {
+		ResiduoPlastico residuo = new ResiduoPlastico();
+		residuo.setCoordenadaX(x);
+		residuo.setCoordenadaY(y);
+		residuo.setDetectadoEm(detectadoEm);
+		residuo.setMissao(missao);
+		return residuoPlasticoRepository.save(residuo).getId_residuo();
+	}
+}
@@ -0,0 +1,140 @@
+package fiap.com.br.Ocean.Clean.AI.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import fiap.com.br.Ocean.Clean.AI.Dto.TelemetriaDrone;
+import fiap.com.br.Ocean.Clean.AI.Index.EstadoFrota;
+import fiap.com.br.Ocean.Clean.AI.Models.Drone;
+import fiap.com.br.Ocean.Clean.AI.Repository.DroneRepository;
+import jakarta.persistence.EntityManagerFactory;
+
+// flush agendado desligado: o teste chama gravarPendentes(); o UPDATE de uma linha travada desiste em meio segundo
+@SpringBootTest(properties = {
+	"ocean.telemetria.intervalo-flush-ms=3600000",
+	"spring.datasource.url=jdbc:h2:mem:ocean-telemetria;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=500"
+})
+@ActiveProfiles("test")
+class TelemetriaServiceTests {
+
+	@Autowired
+	private TelemetriaService telemetriaService;
+
+	@Autowired
+	private EstadoFrota estadoFrota;
+
+	@Autowired
+	private DroneRepository droneRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Test
+	void variosReportsDoMesmoDroneViramUmUpdate() {
+		Long id = drone("Drone telemetria");
+		Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		estatisticas.clear();
+
+		for (int i = 1; i <= 5; i++) {
+			assertThat(telemetriaService.registrar(id, new TelemetriaDrone(100 + i, 200 + i, 90 - i))).isTrue();
+		}
+		assertThat(telemetriaService.pendentes()).isEqualTo(1);
+		telemetriaService.gravarPendentes();
+
+		assertThat(estatisticas.getEntityUpdateCount()).isEqualTo(1);
+		assertThat(telemetriaService.pendentes()).isZero();
+		Drone gravado = droneRepository.findById(id).orElseThrow();
+		assertThat(gravado.getCoordenadaX()).isEqualTo(105);
+		assertThat(gravado.getCoordenadaY()).isEqualTo(205);
+		assertThat(gravado.getNivelBateria()).isEqualTo(85);
+	}
+
+	@Test
+	void reportQueChegaDuranteUmFlushComFalhaVenceOReenfileirado() throws Exception {
+		Long id = drone("Drone reenfileirado");
+		telemetriaService.registrar(id, new TelemetriaDrone(10, 10, 50));
+
+		try (Connection trava = travar(id)) {
+			CompletableFuture<Void> flush = CompletableFuture.runAsync(telemetriaService::gravarPendentes);
+			aguardarLoteSeparado();
+			telemetriaService.registrar(id, new TelemetriaDrone(20, 20, 40));
+			// o UPDATE desiste pela trava e o lote volta para a fila sem passar por cima do report novo
+			flush.get(10, TimeUnit.SECONDS);
+			trava.rollback();
+		}
+		assertThat(telemetriaService.pendentes()).isEqualTo(1);
+		telemetriaService.gravarPendentes();
+
+		Drone gravado = droneRepository.findById(id).orElseThrow();
+		assertThat(gravado.getCoordenadaX()).isEqualTo(20);
+		assertThat(gravado.getNivelBateria()).isEqualTo(40);
+	}
+
+	@Test
+	void flushNaoSobrescreveOEstadoMaisNovoDaFrota() throws Exception {
+		Long id = drone("Drone em voo");
+		telemetriaService.registrar(id, new TelemetriaDrone(30, 30, 70));
+
+		CompletableFuture<Void> flush;
+		try (Connection trava = travar(id)) {
+			flush = CompletableFuture.runAsync(telemetriaService::gravarPendentes);
+			aguardarLoteSeparado();
+			telemetriaService.registrar(id, new TelemetriaDrone(60, 60, 65));
+			trava.rollback();
+		}
+		flush.get(10, TimeUnit.SECONDS);
+
+		assertThat(droneRepository.findById(id).orElseThrow().getCoordenadaX()).isEqualTo(30);
+		assertThat(estadoFrota.buscar(id)).hasValueSatisfying(estado -> {
+			assertThat(estado.coordenadaX()).isEqualTo(60);
+			assertThat(estado.nivelBateria()).isEqualTo(65);
+		});
+		assertThat(telemetriaService.pendentes()).isEqualTo(1);
+	}
+
+	private Long drone(String nome) {
+		Drone drone = new Drone();
+		drone.setNome(nome);
+		drone.setNivelBateria(100);
+		Long id = droneRepository.save(drone).getId_drone();
+		// grava o que os outros testes deixaram pendente
+		telemetriaService.gravarPendentes();
+		return id;
+	}
+
+	/** Trava a linha do drone numa transação à parte, até o rollback. */
+	private Connection travar(Long id) throws Exception {
+		Connection conexao = dataSource.getConnection();
+		conexao.setAutoCommit(false);
+		try (PreparedStatement comando = conexao.prepareStatement("SELECT id_drone FROM drone WHERE id_drone = ? FOR UPDATE")) {
+			comando.setLong(1, id);
+			comando.executeQuery().close();
+		}
+		return conexao;
+	}
+
+	private void aguardarLoteSeparado() throws InterruptedException {
+		for (int tentativa = 0; tentativa < 100 && telemetriaService.pendentes() > 0; tentativa++) {
+			Thread.sleep(10);
+		}
+		assertThat(telemetriaService.pendentes()).isZero();
+		// dá tempo de o flush chegar ao UPDATE travado
+		Thread.sleep(100);
+	}
+}
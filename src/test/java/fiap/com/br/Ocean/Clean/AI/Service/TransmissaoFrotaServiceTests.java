@@ -0,0 +1,102 @@
+package fiap.com.br.Ocean.Clean.AI.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import fiap.com.br.Ocean.Clean.AI.Dto.EstadoDrone;
+import fiap.com.br.Ocean.Clean.AI.Index.EstadoFrota;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// uma thread de envio e despacho agendado desligado: o teste chama despachar()
+@SpringBootTest(properties = {
+	"ocean.frota.stream.intervalo-ms=3600000",
+	"ocean.frota.stream.threads-envio=1",
+	"ocean.frota.stream.limite-envio-ms=200"
+})
+@ActiveProfiles("test")
+class TransmissaoFrotaServiceTests {
+
+	@Autowired
+	private TransmissaoFrotaService transmissaoFrotaService;
+
+	@Autowired
+	private EstadoFrota estadoFrota;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void assinanteParadoEDesconectadoSemTravarOsOutros() throws Exception {
+		CountDownLatch liberar = new CountDownLatch(1);
+		CountDownLatch parado = new CountDownLatch(1);
+		CountDownLatch encerrado = new CountDownLatch(1);
+		SseEmitter lento = new SseEmitter() {
+			@Override
+			public void send(SseEventBuilder evento) throws IOException {
+				// simula a escrita bloqueada de um cliente que parou de ler
+				parado.countDown();
+				try {
+					liberar.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+
+			@Override
+			public void complete() {
+				encerrado.countDown();
+			}
+		};
+		List<String> recebidos = new CopyOnWriteArrayList<>();
+		SseEmitter saudavel = new SseEmitter() {
+			@Override
+			public void send(SseEventBuilder evento) {
+				evento.build().forEach(parte -> recebidos.add(parte.getData().toString()));
+			}
+		};
+		double antes = meterRegistry.get("ocean.frota.stream.desconexoes").counter().count();
+
+		int iniciais = transmissaoFrotaService.assinantes();
+		transmissaoFrotaService.assinar(lento, null);
+		transmissaoFrotaService.despachar();
+		assertThat(parado.await(5, TimeUnit.SECONDS)).isTrue();
+		// a única thread de envio está presa no assinante lento
+		transmissaoFrotaService.assinar(saudavel, null);
+		transmissaoFrotaService.despachar();
+		Thread.sleep(300);
+		assertThat(recebidos).isEmpty();
+
+		transmissaoFrotaService.despachar();
+		aguardar(() -> recebidos.stream().anyMatch(parte -> parte.contains("event:frota")));
+		assertThat(transmissaoFrotaService.assinantes()).isEqualTo(iniciais + 1);
+		assertThat(meterRegistry.get("ocean.frota.stream.desconexoes").counter().count()).isEqualTo(antes + 1);
+
+		// o assinante saudável continua recebendo as alterações
+		estadoFrota.atualizar(new EstadoDrone(9_900_001L, "Drone parado", 5, 5, 60, 0, null));
+		transmissaoFrotaService.despachar();
+		aguardar(() -> recebidos.stream().anyMatch(parte -> parte.contains("event:posicoes")));
+
+		liberar.countDown();
+		assertThat(encerrado.await(5, TimeUnit.SECONDS)).isTrue();
+		estadoFrota.remover(9_900_001L);
+	}
+
+	private static void aguardar(BooleanSupplier condicao) throws InterruptedException {
+		for (int tentativa = 0; tentativa < 100 && !condicao.getAsBoolean(); tentativa++) {
+			Thread.sleep(50);
+		}
+		assertThat(condicao.getAsBoolean()).isTrue();
+	}
+}